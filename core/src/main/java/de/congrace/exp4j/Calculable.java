@@ -28,4 +28,24 @@ public interface Calculable {
 	 *            the value of the variable
 	 */
 	public void setVariable(Variable var);
+
+	/**
+	 * return the names of the variables used in the expression, in the order
+	 * of their first appearance
+	 * 
+	 * @return the names of the used variables
+	 */
+	public String[] getUsedVariableNames();
+
+	/**
+	 * compile the expression for repeated evaluation with double values
+	 * 
+	 * @param variableNames
+	 *            the names of the variables in the order of the value array
+	 *            passed to {@link CompiledExpression#calculate(double[])}
+	 * @return the compiled expression, or null if the expression cannot be
+	 *         compiled because it uses custom functions, which may operate on
+	 *         arrays
+	 */
+	public CompiledExpression compile(String[] variableNames);
 }
@@ -0,0 +1,21 @@
+package de.congrace.exp4j;
+
+/**
+ * An expression compiled for repeated evaluation with double values.<br/>
+ * The expression is parsed once and turned into a tree of operations that
+ * evaluates without creating any objects. The values of the variables are
+ * passed in an array, in the order of the variable names given to
+ * {@link Calculable#compile(String[])}.
+ * 
+ * @see Calculable#compile(String[])
+ */
+public interface CompiledExpression {
+	/**
+	 * calculate the result of the expression
+	 * 
+	 * @param values
+	 *            the values of the variables
+	 * @return the result of the calculation
+	 */
+	public double calculate(double[] values);
+}
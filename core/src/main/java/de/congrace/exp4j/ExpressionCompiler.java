@@ -0,0 +1,204 @@
+package de.congrace.exp4j;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+import de.congrace.exp4j.FunctionToken.Function;
+import de.congrace.exp4j.OperatorToken.Operation;
+
+/**
+ * Compiles the tokens of a postfix expression into a {@link CompiledExpression}.<br/>
+ * Every token is turned into a node that evaluates its operands and applies
+ * its operation directly on doubles. Operations on constant operands are
+ * evaluated at compile time.
+ */
+final class ExpressionCompiler {
+
+	private ExpressionCompiler() {
+	}
+
+	/**
+	 * compile the postfix tokens of an expression
+	 * 
+	 * @param tokens
+	 *            the tokens of the expression in postfix order
+	 * @param variableNames
+	 *            the names of the variables, in the order of the value array
+	 * @return the compiled expression or null if the expression cannot be
+	 *         compiled, because it uses custom functions, an unknown variable
+	 *         or is malformed
+	 */
+	static CompiledExpression compile(Token[] tokens, String[] variableNames) {
+		final Deque<CompiledExpression> stack = new ArrayDeque<CompiledExpression>();
+		for (Token t : tokens) {
+			if (t instanceof NumberToken) {
+				stack.push(new Constant(((NumberToken) t).getDoubleValue()));
+			} else if (t instanceof VariableToken) {
+				final int index = Arrays.asList(variableNames).indexOf(t.getValue());
+				if (index < 0) {
+					return null;
+				}
+				stack.push(values -> values[index]);
+			} else if (t instanceof OperatorToken) {
+				final OperatorToken operator = (OperatorToken) t;
+				if (stack.size() < operator.getOperandCount()) {
+					return null;
+				}
+				if (operator.getOperandCount() == 2) {
+					final CompiledExpression b = stack.pop();
+					final CompiledExpression a = stack.pop();
+					stack.push(binary(operator.getOperation(), a, b));
+				} else {
+					stack.push(unary(operator.getOperation(), stack.pop()));
+				}
+			} else if (t instanceof FunctionToken) {
+				if (stack.isEmpty()) {
+					return null;
+				}
+				stack.push(function(((FunctionToken) t).getFunction(), stack.pop()));
+			} else {
+				// Custom functions operate on Variables, which may be arrays
+				return null;
+			}
+		}
+		if (stack.size() != 1) {
+			return null;
+		}
+		return stack.pop();
+	}
+
+	private static CompiledExpression binary(Operation operation, CompiledExpression a, CompiledExpression b) {
+		final CompiledExpression result;
+		switch (operation) {
+		case ADDITION:
+			result = values -> a.calculate(values) + b.calculate(values);
+			break;
+		case SUBTRACTION:
+			result = values -> a.calculate(values) - b.calculate(values);
+			break;
+		case MULTIPLICATION:
+			result = values -> a.calculate(values) * b.calculate(values);
+			break;
+		case DIVISION:
+			result = values -> a.calculate(values) / b.calculate(values);
+			break;
+		case MODULO:
+			result = values -> a.calculate(values) % b.calculate(values);
+			break;
+		case EXPONENTIATION:
+			result = values -> Math.pow(a.calculate(values), b.calculate(values));
+			break;
+		default:
+			result = values -> 0;
+		}
+		return fold(result, a instanceof Constant && b instanceof Constant);
+	}
+
+	private static CompiledExpression unary(Operation operation, CompiledExpression a) {
+		final CompiledExpression result;
+		switch (operation) {
+		case UNARY_MINUS:
+			result = values -> -a.calculate(values);
+			break;
+		case UNARY_PLUS:
+			result = a;
+			break;
+		default:
+			result = values -> 0;
+		}
+		return fold(result, a instanceof Constant);
+	}
+
+	private static CompiledExpression function(Function function, CompiledExpression a) {
+		final CompiledExpression result;
+		switch (function) {
+		case ABS:
+			result = values -> Math.abs(a.calculate(values));
+			break;
+		case ACOS:
+			result = values -> Math.acos(a.calculate(values));
+			break;
+		case ASIN:
+			result = values -> Math.asin(a.calculate(values));
+			break;
+		case ATAN:
+			result = values -> Math.atan(a.calculate(values));
+			break;
+		case CBRT:
+			result = values -> Math.cbrt(a.calculate(values));
+			break;
+		case CEIL:
+			result = values -> Math.ceil(a.calculate(values));
+			break;
+		case COS:
+			result = values -> Math.cos(a.calculate(values));
+			break;
+		case COSH:
+			result = values -> Math.cosh(a.calculate(values));
+			break;
+		case EXP:
+			result = values -> Math.exp(a.calculate(values));
+			break;
+		case EXPM1:
+			result = values -> Math.expm1(a.calculate(values));
+			break;
+		case FLOOR:
+			result = values -> Math.floor(a.calculate(values));
+			break;
+		case ROUND:
+			result = values -> Math.round(a.calculate(values));
+			break;
+		case RANDOM:
+			// Never constant
+			return values -> Math.random() * a.calculate(values);
+		case LOG:
+			result = values -> Math.log(a.calculate(values));
+			break;
+		case LOG10:
+			result = values -> Math.log10(a.calculate(values));
+			break;
+		case SIN:
+			result = values -> Math.sin(a.calculate(values));
+			break;
+		case SINH:
+			result = values -> Math.sinh(a.calculate(values));
+			break;
+		case SQRT:
+			result = values -> Math.sqrt(a.calculate(values));
+			break;
+		case TAN:
+			result = values -> Math.tan(a.calculate(values));
+			break;
+		case TANH:
+			result = values -> Math.tanh(a.calculate(values));
+			break;
+		default:
+			result = values -> Double.NaN;
+		}
+		return fold(result, a instanceof Constant);
+	}
+
+	/**
+	 * evaluate an operation on constant operands
+	 */
+	private static CompiledExpression fold(CompiledExpression expression, boolean constantOperands) {
+		if (constantOperands && !(expression instanceof Constant)) {
+			return new Constant(expression.calculate(null));
+		}
+		return expression;
+	}
+
+	private static final class Constant implements CompiledExpression {
+		private final double value;
+
+		private Constant(double value) {
+			this.value = value;
+		}
+
+		@Override
+		public double calculate(double[] values) {
+			return value;
+		}
+	}
+}
@@ -16,6 +16,7 @@
  */
 package de.congrace.exp4j;
 
+import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.Stack;
 
@@ -115,4 +116,20 @@ public final class PostfixExpression extends AbstractExpression implements Calcu
 	public void setVariable(Variable value) {
 		variables.add(value);
 	}
+
+	@Override
+	public String[] getUsedVariableNames() {
+		final Set<String> names = new LinkedHashSet<String>();
+		for (final Token t : getTokens()) {
+			if (t instanceof VariableToken) {
+				names.add(t.getValue());
+			}
+		}
+		return names.toArray(new String[0]);
+	}
+
+	@Override
+	public CompiledExpression compile(String[] variableNames) {
+		return ExpressionCompiler.compile(getTokens(), variableNames);
+	}
 }
@@ -0,0 +1,305 @@
+package info.openrocket.core.aerodynamics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import info.openrocket.core.aerodynamics.barrowman.FinSetCalc;
+import info.openrocket.core.aerodynamics.barrowman.RocketComponentCalc;
+import info.openrocket.core.logging.WarningSet;
+import info.openrocket.core.rocketcomponent.ComponentAssembly;
+import info.openrocket.core.rocketcomponent.ExternalComponent;
+import info.openrocket.core.rocketcomponent.ExternalComponent.Finish;
+import info.openrocket.core.rocketcomponent.FinSet;
+import info.openrocket.core.rocketcomponent.FlightConfiguration;
+import info.openrocket.core.rocketcomponent.InstanceContext;
+import info.openrocket.core.rocketcomponent.RocketComponent;
+import info.openrocket.core.rocketcomponent.SymmetricComponent;
+import info.openrocket.core.rocketcomponent.position.AxialMethod;
+import info.openrocket.core.util.Coordinate;
+import info.openrocket.core.util.Transformation;
+
+/**
+ * A flattened snapshot of the aerodynamic geometry of a flight configuration, as used by the
+ * {@link BarrowmanCalculator}.
+ * <p>
+ * The snapshot holds, for each active aerodynamic component and component assembly in the
+ * order of the active instances of the configuration, the component calculator, the instance
+ * transformations and the component data needed for the drag calculations (radii, positions,
+ * neighbouring radii, finish and CD overrides), stored as parallel arrays.  It is built once
+ * when the calculator is first used for a configuration, so the per-step calculations of a
+ * simulation do not walk the mutable component tree.  The geometry warnings of the configuration
+ * are also computed once.
+ * <p>
+ * The arrays are not modified after construction.  The component calculators keep scratch state
+ * between calls, so a snapshot must only be used by the calculator that built it.
+ */
+public final class AerodynamicGeometry {
+
+	private final FlightConfiguration configuration;
+	private final int instancesModID;
+
+	private final int count;
+	private final RocketComponent[] components;
+	private final RocketComponentCalc[] calcs;
+	private final Transformation[][] transforms;
+	private final boolean[] aerodynamic;
+	private final boolean[] assembly;
+	private final boolean[] symmetric;
+	private final boolean[] cdOverridden;
+	private final boolean[] cdOverriddenByAncestor;
+	private final double[] overrideCD;
+	private final Finish[] finish;
+	private final double[] length;
+	private final double[] axialPosition;
+	private final double[] foreRadius;
+	private final double[] aftRadius;
+	private final double[] previousAftRadius;
+	private final double[] nextForeRadius;
+
+	private final int finCount;
+	private final double[] finDampingArea;
+	private final double[] finMidchordX;
+
+	private final double lengthAerodynamic;
+	private final boolean perfectFinish;
+	private final WarningSet geometryWarnings;
+
+	AerodynamicGeometry(FlightConfiguration configuration, Map<RocketComponent, RocketComponentCalc> calcMap,
+			WarningSet geometryWarnings) {
+		this.configuration = configuration;
+		this.instancesModID = configuration.getActiveInstancesModID();
+
+		List<RocketComponent> active = new ArrayList<>();
+		for (RocketComponent c : configuration.getActiveInstances().keySet()) {
+			if (c.isAerodynamic() || c instanceof ComponentAssembly) {
+				active.add(c);
+			}
+		}
+
+		count = active.size();
+		components = active.toArray(new RocketComponent[0]);
+		calcs = new RocketComponentCalc[count];
+		transforms = new Transformation[count][];
+		aerodynamic = new boolean[count];
+		assembly = new boolean[count];
+		symmetric = new boolean[count];
+		cdOverridden = new boolean[count];
+		cdOverriddenByAncestor = new boolean[count];
+		overrideCD = new double[count];
+		finish = new Finish[count];
+		length = new double[count];
+		axialPosition = new double[count];
+		foreRadius = new double[count];
+		aftRadius = new double[count];
+		previousAftRadius = new double[count];
+		nextForeRadius = new double[count];
+
+		for (int i = 0; i < count; i++) {
+			final RocketComponent c = components[i];
+			calcs[i] = calcMap.get(c);
+
+			final List<InstanceContext> contexts = configuration.getActiveInstances().get(c);
+			transforms[i] = new Transformation[contexts.size()];
+			for (int j = 0; j < contexts.size(); j++) {
+				transforms[i][j] = contexts.get(j).transform;
+			}
+
+			aerodynamic[i] = c.isAerodynamic();
+			assembly[i] = c instanceof ComponentAssembly;
+			cdOverridden[i] = c.isCDOverridden();
+			cdOverriddenByAncestor[i] = c.isCDOverriddenByAncestor();
+			// The override CD of a component that is not overridden is calculated from the
+			// force analysis, which would build this geometry again
+			overrideCD[i] = cdOverridden[i] ? c.getOverrideCD() : 0;
+			if (c instanceof ExternalComponent) {
+				finish[i] = ((ExternalComponent) c).getFinish();
+			}
+			length[i] = c.getLength();
+
+			if (c instanceof SymmetricComponent) {
+				final SymmetricComponent s = (SymmetricComponent) c;
+				symmetric[i] = true;
+				axialPosition[i] = c.getAxialOffset(AxialMethod.ABSOLUTE);
+				foreRadius[i] = s.getForeRadius();
+				aftRadius[i] = s.getAftRadius();
+
+				final SymmetricComponent previous = s.getPreviousSymmetricComponent();
+				if (previous != null && configuration.isComponentActive(previous)) {
+					previousAftRadius[i] = previous.getAftRadius();
+				}
+				final SymmetricComponent next = s.getNextSymmetricComponent();
+				if (next != null && configuration.isComponentActive(next)) {
+					nextForeRadius[i] = next.getForeRadius();
+				}
+			}
+		}
+
+		// Fin damping uses the first instance of each active fin set
+		List<FinSet> fins = new ArrayList<>();
+		for (RocketComponent c : configuration.getActiveComponents()) {
+			if (c instanceof FinSet) {
+				fins.add((FinSet) c);
+			}
+		}
+		finCount = fins.size();
+		finDampingArea = new double[finCount];
+		finMidchordX = new double[finCount];
+		for (int i = 0; i < finCount; i++) {
+			final FinSet f = fins.get(i);
+			finDampingArea[i] = Math.min(f.getFinCount(), 4) * f.getPlanformArea();
+			finMidchordX[i] = f.toAbsolute(new Coordinate(((FinSetCalc) calcMap.get(f)).getMidchordPos()))[0].x;
+		}
+
+		this.lengthAerodynamic = configuration.getLengthAerodynamic();
+		this.perfectFinish = configuration.getRocket().isPerfectFinish();
+		this.geometryWarnings = geometryWarnings;
+		this.geometryWarnings.immute();
+	}
+
+	/**
+	 * @return whether this snapshot is still valid for the active instances of the configuration
+	 */
+	boolean isValidFor(FlightConfiguration configuration) {
+		// The modification IDs only track changes of a rocket that fires events
+		return this.configuration == configuration && configuration.getRocket().isEventsEnabled()
+				&& instancesModID == configuration.getActiveInstancesModID();
+	}
+
+	FlightConfiguration getConfiguration() {
+		return configuration;
+	}
+
+	/**
+	 * @return the number of components in the snapshot
+	 */
+	public int getComponentCount() {
+		return count;
+	}
+
+	public RocketComponent getComponent(int index) {
+		return components[index];
+	}
+
+	RocketComponentCalc getCalc(int index) {
+		return calcs[index];
+	}
+
+	/**
+	 * @return the number of active instances of the component
+	 */
+	public int getInstanceCount(int index) {
+		return transforms[index].length;
+	}
+
+	public Transformation getInstanceTransform(int index, int instance) {
+		return transforms[index][instance];
+	}
+
+	Transformation[] getInstanceTransforms(int index) {
+		return transforms[index];
+	}
+
+	public boolean isAerodynamic(int index) {
+		return aerodynamic[index];
+	}
+
+	public boolean isAssembly(int index) {
+		return assembly[index];
+	}
+
+	public boolean isSymmetric(int index) {
+		return symmetric[index];
+	}
+
+	public boolean isCDOverridden(int index) {
+		return cdOverridden[index];
+	}
+
+	public boolean isCDOverriddenByAncestor(int index) {
+		return cdOverriddenByAncestor[index];
+	}
+
+	/**
+	 * @return the override CD of a component, or 0 if its CD is not overridden
+	 */
+	public double getOverrideCD(int index) {
+		return overrideCD[index];
+	}
+
+	/**
+	 * @return the finish of the component, or <code>null</code> if it is not an external component
+	 */
+	public Finish getFinish(int index) {
+		return finish[index];
+	}
+
+	public double getLength(int index) {
+		return length[index];
+	}
+
+	/**
+	 * @return the absolute axial position of a symmetric component
+	 */
+	public double getAxialPosition(int index) {
+		return axialPosition[index];
+	}
+
+	public double getForeRadius(int index) {
+		return foreRadius[index];
+	}
+
+	public double getAftRadius(int index) {
+		return aftRadius[index];
+	}
+
+	/**
+	 * @return the aft radius of the previous active symmetric component, or zero if there is none
+	 */
+	public double getPreviousAftRadius(int index) {
+		return previousAftRadius[index];
+	}
+
+	/**
+	 * @return the fore radius of the next active symmetric component, or zero if there is none
+	 */
+	public double getNextForeRadius(int index) {
+		return nextForeRadius[index];
+	}
+
+	/**
+	 * @return the number of active fin sets
+	 */
+	public int getFinSetCount() {
+		return finCount;
+	}
+
+	/**
+	 * @return the planform area of a fin times the number of fins (at most four) of a fin set
+	 */
+	public double getFinDampingArea(int finSet) {
+		return finDampingArea[finSet];
+	}
+
+	/**
+	 * @return the absolute position of the mean aerodynamic chord midpoint of a fin set
+	 */
+	public double getFinMidchordPosition(int finSet) {
+		return finMidchordX[finSet];
+	}
+
+	public double getLengthAerodynamic() {
+		return lengthAerodynamic;
+	}
+
+	public boolean isPerfectFinish() {
+		return perfectFinish;
+	}
+
+	/**
+	 * @return the (immutable) geometry warnings of the configuration
+	 */
+	public WarningSet getGeometryWarnings() {
+		return geometryWarnings;
+	}
+}
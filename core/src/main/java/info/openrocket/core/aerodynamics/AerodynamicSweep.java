@@ -0,0 +1,215 @@
+package info.openrocket.core.aerodynamics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import info.openrocket.core.logging.WarningSet;
+import info.openrocket.core.rocketcomponent.FlightConfiguration;
+import info.openrocket.core.rocketcomponent.RocketComponent;
+import info.openrocket.core.util.BugException;
+
+/**
+ * Computes the per-component aerodynamic force analysis of a configuration over a grid of
+ * Mach numbers, angles of attack and roll rates.
+ * <p>
+ * The grid points are evaluated in parallel.  The calculators cache state of the configuration
+ * they are used with, so every worker thread uses its own calculator obtained through
+ * {@link AerodynamicCalculator#newInstance()}.  The configuration must not be modified while
+ * the sweep runs; use a copy of the rocket when the original may be edited concurrently.
+ */
+public class AerodynamicSweep {
+
+	/**
+	 * Receives the results of the sweep as they become available.  The points are not
+	 * necessarily delivered in grid order.  The listener is called from the thread that
+	 * runs the sweep.
+	 */
+	public interface Listener {
+		public void pointComputed(SweepPoint point, int computed, int total);
+	}
+
+	/**
+	 * The force analysis at a single grid point.
+	 */
+	public static class SweepPoint {
+		private final int index;
+		private final double mach;
+		private final double aoa;
+		private final double rollRate;
+		private final Map<RocketComponent, AerodynamicForces> forces;
+		private final WarningSet warnings;
+
+		private SweepPoint(int index, double mach, double aoa, double rollRate,
+						   Map<RocketComponent, AerodynamicForces> forces, WarningSet warnings) {
+			this.index = index;
+			this.mach = mach;
+			this.aoa = aoa;
+			this.rollRate = rollRate;
+			this.forces = Collections.unmodifiableMap(forces);
+			this.warnings = warnings;
+		}
+
+		/** @return the index of the point in the grid, Mach varying slowest and roll rate fastest */
+		public int getIndex() {
+			return index;
+		}
+
+		public double getMach() {
+			return mach;
+		}
+
+		public double getAOA() {
+			return aoa;
+		}
+
+		public double getRollRate() {
+			return rollRate;
+		}
+
+		/** @return the force analysis, as returned by {@link AerodynamicCalculator#getForceAnalysis} */
+		public Map<RocketComponent, AerodynamicForces> getForces() {
+			return forces;
+		}
+
+		public WarningSet getWarnings() {
+			return warnings;
+		}
+	}
+
+	private final AerodynamicCalculator calculator;
+	private final FlightConfiguration configuration;
+	private final FlightConditions conditions;
+	private final double[] machs;
+	private final double[] aoas;
+	private final double[] rollRates;
+
+	/**
+	 * @param calculator the calculator whose type to use; the instance itself is not used
+	 * @param configuration the configuration to analyze
+	 * @param conditions the flight conditions of the sweep (reference values, wind direction,
+	 *                   atmosphere), Mach, AOA and roll rate are set for every grid point
+	 * @param machs the Mach numbers of the grid
+	 * @param aoas the angles of attack of the grid
+	 * @param rollRates the roll rates of the grid
+	 */
+	public AerodynamicSweep(AerodynamicCalculator calculator, FlightConfiguration configuration,
+							FlightConditions conditions, double[] machs, double[] aoas, double[] rollRates) {
+		if (machs.length == 0 || aoas.length == 0 || rollRates.length == 0) {
+			throw new IllegalArgumentException("Sweep grid is empty");
+		}
+		this.calculator = calculator;
+		this.configuration = configuration;
+		this.conditions = conditions.clone();
+		this.machs = machs.clone();
+		this.aoas = aoas.clone();
+		this.rollRates = rollRates.clone();
+	}
+
+	/**
+	 * @return the number of grid points
+	 */
+	public int getPointCount() {
+		return machs.length * aoas.length * rollRates.length;
+	}
+
+	/**
+	 * Run the sweep.
+	 *
+	 * @param threadCount the number of worker threads to use
+	 * @param listener the listener to notify of every computed point, or <code>null</code>
+	 * @return the results of all grid points, in grid order
+	 * @throws InterruptedException if the calling thread is interrupted, the remaining
+	 *                              points are then cancelled
+	 */
+	public List<SweepPoint> run(int threadCount, Listener listener) throws InterruptedException {
+		final int total = getPointCount();
+		final List<SweepPoint> results = new ArrayList<>(Collections.nCopies(total, (SweepPoint) null));
+
+		// Evaluate the first point on this thread.  This caches the values that the components
+		// compute lazily, so that the workers only read the configuration.
+		SweepPoint first = compute(calculator.newInstance(), 0);
+		results.set(0, first);
+		if (listener != null) {
+			listener.pointComputed(first, 1, total);
+		}
+		if (total == 1) {
+			return results;
+		}
+
+		final ThreadLocal<AerodynamicCalculator> calculators = ThreadLocal.withInitial(calculator::newInstance);
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threadCount), r -> {
+			Thread t = new Thread(r, "AerodynamicSweep");
+			t.setDaemon(true);
+			return t;
+		});
+		try {
+			CompletionService<SweepPoint> completionService = new ExecutorCompletionService<>(executor);
+			for (int i = 1; i < total; i++) {
+				final int index = i;
+				completionService.submit(() -> compute(calculators.get(), index));
+			}
+
+			for (int computed = 2; computed <= total; computed++) {
+				Future<SweepPoint> future = completionService.take();
+				SweepPoint point;
+				try {
+					point = future.get();
+				} catch (ExecutionException e) {
+					Throwable cause = e.getCause();
+					if (cause instanceof RuntimeException) {
+						throw (RuntimeException) cause;
+					}
+					throw new BugException("Aerodynamic sweep failed", cause);
+				}
+				results.set(point.getIndex(), point);
+				if (listener != null) {
+					listener.pointComputed(point, computed, total);
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		return results;
+	}
+
+	private SweepPoint compute(AerodynamicCalculator calc, int index) {
+		final int rollIndex = index % rollRates.length;
+		final int aoaIndex = (index / rollRates.length) % aoas.length;
+		final int machIndex = index / (rollRates.length * aoas.length);
+
+		FlightConditions cond = conditions.clone();
+		cond.setMach(machs[machIndex]);
+		cond.setAOA(aoas[aoaIndex]);
+		cond.setRollRate(rollRates[rollIndex]);
+
+		WarningSet warnings = new WarningSet();
+		Map<RocketComponent, AerodynamicForces> forces = calc.getForceAnalysis(configuration, cond, warnings);
+		return new SweepPoint(index, machs[machIndex], aoas[aoaIndex], rollRates[rollIndex], forces, warnings);
+	}
+
+	/**
+	 * Return the values from <code>min</code> to <code>max</code> (inclusive) at the given step.
+	 * A non-positive step or <code>max &lt;= min</code> results in the single value <code>min</code>.
+	 */
+	public static double[] range(double min, double max, double step) {
+		if (step <= 0 || max <= min) {
+			return new double[] { min };
+		}
+		// Allow for rounding errors so that the maximum is included
+		final int n = (int) Math.floor((max - min) / step + 1e-9) + 1;
+		double[] values = new double[n];
+		for (int i = 0; i < n; i++) {
+			values[i] = min + i * step;
+		}
+		return values;
+	}
+}
@@ -0,0 +1,450 @@
+package info.openrocket.core.aerodynamics;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * A table of aerodynamic coefficients over a grid of Mach number, angle of attack, roll rate
+ * and altitude, as used by the {@link TabulatedAerodynamicCalculator}.
+ * <p>
+ * The table holds, at every grid point, the normal force coefficient CN, the axial force
+ * coefficient CA, the drag coefficient CD, the pitch moment coefficient Cm about the nose tip
+ * (CN times the CP position over the reference length, without damping), the roll moment
+ * coefficient Cl and the pitch damping
+ * coefficient Cmq.  The pitch damping moment coefficient is Cmq times the square of the pitch
+ * rate divided by the velocity, as in the {@link BarrowmanCalculator}.  The coefficients are
+ * relative to the reference length and area of the table.  All values are in SI units, angles
+ * in radians.
+ * <p>
+ * The values are stored in a single array, the coefficients of a grid point next to each other,
+ * and interpolated multilinearly.  Outside of the grid the values at the nearest edge are used.
+ * Tables are immutable and may be shared between threads.
+ * <p>
+ * The text format read by {@link #read(Reader)} and written by {@link #write(Writer)} is
+ * <pre>
+ * # comment
+ * refLength=0.025
+ * refArea=4.9e-4
+ * mach=0,0.1,0.2
+ * aoa=0,0.05,0.1
+ * rollRate=0
+ * altitude=0,1000
+ * mach,aoa,rollRate,altitude,CN,CA,CD,Cm,Cl,Cmq
+ * 0,0,0,0,0,0.45,0.45,0,0,1.3
+ * ...
+ * </pre>
+ * The axis lines list the grid values in increasing order.  The header line names the columns
+ * of the data lines; it must contain the four axes and CN, CA and Cm, in any order.  A missing
+ * CD column defaults to CA, missing Cl and Cmq columns to zero.  Every grid point must have
+ * exactly one data line, in any order.
+ */
+public final class AerodynamicTable {
+
+	public static final int CN = 0;
+	public static final int CA = 1;
+	public static final int CD = 2;
+	public static final int CM = 3;
+	public static final int CL = 4;
+	public static final int CMQ = 5;
+	public static final int COEFFICIENT_COUNT = 6;
+
+	public static final int MACH = 0;
+	public static final int AOA = 1;
+	public static final int ROLL_RATE = 2;
+	public static final int ALTITUDE = 3;
+	public static final int AXIS_COUNT = 4;
+
+	private static final String[] COEFFICIENT_NAMES = { "CN", "CA", "CD", "Cm", "Cl", "Cmq" };
+	private static final String[] AXIS_NAMES = { "mach", "aoa", "rollRate", "altitude" };
+
+	/** Relative tolerance when matching the axis values of a data line to the grid */
+	private static final double AXIS_TOLERANCE = 1e-9;
+
+	private final double refLength;
+	private final double refArea;
+	private final double[][] axes;
+	private final double[] values;
+
+	/**
+	 * Create a table.  The arrays are copied.
+	 *
+	 * @param refLength	the reference length of the coefficients
+	 * @param refArea	the reference area of the coefficients
+	 * @param mach		the Mach numbers of the grid, increasing
+	 * @param aoa		the angles of attack of the grid, increasing
+	 * @param rollRate	the roll rates of the grid, increasing
+	 * @param altitude	the altitudes of the grid, increasing
+	 * @param values	the coefficients, {@link #COEFFICIENT_COUNT} per grid point, in the order
+	 * 					of {@link #getIndex(int, int, int, int)}
+	 */
+	public AerodynamicTable(double refLength, double refArea, double[] mach, double[] aoa, double[] rollRate,
+			double[] altitude, double[] values) {
+		if (!(refLength > 0) || !(refArea > 0)) {
+			throw new IllegalArgumentException("Reference length and area must be positive, refLength=" +
+					refLength + " refArea=" + refArea);
+		}
+		this.refLength = refLength;
+		this.refArea = refArea;
+		this.axes = new double[][] { mach.clone(), aoa.clone(), rollRate.clone(), altitude.clone() };
+
+		int points = 1;
+		for (int k = 0; k < AXIS_COUNT; k++) {
+			checkAxis(AXIS_NAMES[k], axes[k]);
+			points *= axes[k].length;
+		}
+		if (values.length != points * COEFFICIENT_COUNT) {
+			throw new IllegalArgumentException("Expected " + points * COEFFICIENT_COUNT + " values, got " +
+					values.length);
+		}
+		this.values = values.clone();
+	}
+
+	private static void checkAxis(String name, double[] axis) {
+		if (axis.length == 0) {
+			throw new IllegalArgumentException("Axis " + name + " is empty");
+		}
+		for (int i = 0; i < axis.length; i++) {
+			if (Double.isNaN(axis[i]) || Double.isInfinite(axis[i]) || (i > 0 && axis[i] <= axis[i - 1])) {
+				throw new IllegalArgumentException("Axis " + name + " is not finite and strictly increasing: " +
+						Arrays.toString(axis));
+			}
+		}
+	}
+
+	public double getRefLength() {
+		return refLength;
+	}
+
+	public double getRefArea() {
+		return refArea;
+	}
+
+	/**
+	 * @param axis	one of {@link #MACH}, {@link #AOA}, {@link #ROLL_RATE} and {@link #ALTITUDE}
+	 * @return a copy of the grid values of the axis
+	 */
+	public double[] getAxis(int axis) {
+		return axes[axis].clone();
+	}
+
+	/**
+	 * @return the index of the first coefficient of a grid point in the value array
+	 */
+	public int getIndex(int mach, int aoa, int rollRate, int altitude) {
+		return (((mach * axes[AOA].length + aoa) * axes[ROLL_RATE].length + rollRate) *
+				axes[ALTITUDE].length + altitude) * COEFFICIENT_COUNT;
+	}
+
+	/**
+	 * @return a coefficient at a grid point
+	 */
+	public double getValue(int mach, int aoa, int rollRate, int altitude, int coefficient) {
+		return values[getIndex(mach, aoa, rollRate, altitude) + coefficient];
+	}
+
+	/**
+	 * Interpolate all coefficients at a point.
+	 *
+	 * @param mach		the Mach number
+	 * @param aoa		the angle of attack
+	 * @param rollRate	the roll rate
+	 * @param altitude	the altitude
+	 * @param result	the array to store the {@link #COEFFICIENT_COUNT} coefficients in
+	 */
+	public void interpolate(double mach, double aoa, double rollRate, double altitude, double[] result) {
+		final double pm = locate(axes[MACH], mach);
+		final double pa = locate(axes[AOA], aoa);
+		final double pr = locate(axes[ROLL_RATE], rollRate);
+		final double ph = locate(axes[ALTITUDE], altitude);
+		final int im = (int) pm;
+		final int ia = (int) pa;
+		final int ir = (int) pr;
+		final int ih = (int) ph;
+		final double tm = pm - im;
+		final double ta = pa - ia;
+		final double tr = pr - ir;
+		final double th = ph - ih;
+
+		Arrays.fill(result, 0, COEFFICIENT_COUNT, 0);
+		for (int corner = 0; corner < 16; corner++) {
+			final int bm = corner >> 3;
+			final int ba = (corner >> 2) & 1;
+			final int br = (corner >> 1) & 1;
+			final int bh = corner & 1;
+			final double weight = (bm == 0 ? 1 - tm : tm) * (ba == 0 ? 1 - ta : ta) *
+					(br == 0 ? 1 - tr : tr) * (bh == 0 ? 1 - th : th);
+			if (weight == 0) {
+				// Also skips the corners past the end of an axis
+				continue;
+			}
+			final int base = getIndex(im + bm, ia + ba, ir + br, ih + bh);
+			for (int c = 0; c < COEFFICIENT_COUNT; c++) {
+				result[c] += weight * values[base + c];
+			}
+		}
+	}
+
+	/**
+	 * Return the fractional grid index of a value, clamped to the grid.  At the last grid value
+	 * the fraction is zero, so the following (nonexistent) grid value gets zero weight.
+	 */
+	private static double locate(double[] axis, double x) {
+		final int n = axis.length;
+		if (n == 1 || !(x > axis[0])) {
+			return 0;
+		}
+		if (x >= axis[n - 1]) {
+			return n - 1;
+		}
+		int low = 0;
+		int high = n - 1;
+		while (high - low > 1) {
+			final int mid = (low + high) >>> 1;
+			if (axis[mid] <= x) {
+				low = mid;
+			} else {
+				high = mid;
+			}
+		}
+		return low + (x - axis[low]) / (axis[high] - axis[low]);
+	}
+
+
+	////////  Text format
+
+	/**
+	 * Read a table in the text format.
+	 *
+	 * @param reader	the source of the table
+	 * @return the table
+	 * @throws IOException	if reading fails or the table is malformed
+	 */
+	public static AerodynamicTable read(Reader reader) throws IOException {
+		final BufferedReader in = new BufferedReader(reader);
+		double refLength = Double.NaN;
+		double refArea = Double.NaN;
+		final double[][] axes = new double[AXIS_COUNT][];
+		int[] columnAxis = null;
+		int[] columnCoefficient = null;
+		double[] values = null;
+		boolean[] present = null;
+		boolean hasCD = false;
+
+		String line;
+		int lineNumber = 0;
+		while ((line = in.readLine()) != null) {
+			lineNumber++;
+			line = line.trim();
+			if (line.isEmpty() || line.startsWith("#")) {
+				continue;
+			}
+
+			try {
+				final int eq = line.indexOf('=');
+				if (eq >= 0) {
+					if (columnAxis != null) {
+						throw new IOException("Parameter after header line");
+					}
+					final String key = line.substring(0, eq).trim();
+					final String value = line.substring(eq + 1).trim();
+					if (key.equals("refLength")) {
+						refLength = Double.parseDouble(value);
+					} else if (key.equals("refArea")) {
+						refArea = Double.parseDouble(value);
+					} else {
+						final int axis = indexOf(AXIS_NAMES, key);
+						if (axis < 0) {
+							throw new IOException("Unknown parameter '" + key + "'");
+						}
+						axes[axis] = parseValues(value);
+						checkAxis(key, axes[axis]);
+					}
+				} else if (columnAxis == null) {
+					final String[] names = line.split(",");
+					columnAxis = new int[names.length];
+					columnCoefficient = new int[names.length];
+					final boolean[] seen = new boolean[AXIS_COUNT + COEFFICIENT_COUNT];
+					for (int i = 0; i < names.length; i++) {
+						final String name = names[i].trim();
+						columnAxis[i] = indexOf(AXIS_NAMES, name);
+						columnCoefficient[i] = indexOf(COEFFICIENT_NAMES, name);
+						final int id = columnAxis[i] >= 0 ? columnAxis[i] : AXIS_COUNT + columnCoefficient[i];
+						if (columnAxis[i] < 0 && columnCoefficient[i] < 0) {
+							throw new IOException("Unknown column '" + name + "'");
+						}
+						if (seen[id]) {
+							throw new IOException("Duplicate column '" + name + "'");
+						}
+						seen[id] = true;
+					}
+					for (int k = 0; k < AXIS_COUNT; k++) {
+						if (axes[k] == null) {
+							throw new IOException("Axis " + AXIS_NAMES[k] + " not defined before the header line");
+						}
+						if (!seen[k]) {
+							throw new IOException("Missing column " + AXIS_NAMES[k]);
+						}
+					}
+					for (int c : new int[] { CN, CA, CM }) {
+						if (!seen[AXIS_COUNT + c]) {
+							throw new IOException("Missing column " + COEFFICIENT_NAMES[c]);
+						}
+					}
+					hasCD = seen[AXIS_COUNT + CD];
+
+					final int points = axes[MACH].length * axes[AOA].length * axes[ROLL_RATE].length *
+							axes[ALTITUDE].length;
+					values = new double[points * COEFFICIENT_COUNT];
+					present = new boolean[points];
+				} else {
+					final double[] row = parseValues(line);
+					if (row.length != columnAxis.length) {
+						throw new IOException("Expected " + columnAxis.length + " values, got " + row.length);
+					}
+					final int[] node = new int[AXIS_COUNT];
+					for (int i = 0; i < row.length; i++) {
+						if (columnAxis[i] >= 0) {
+							node[columnAxis[i]] = findNode(axes[columnAxis[i]], row[i], AXIS_NAMES[columnAxis[i]]);
+						}
+					}
+					final int point = ((node[MACH] * axes[AOA].length + node[AOA]) * axes[ROLL_RATE].length +
+							node[ROLL_RATE]) * axes[ALTITUDE].length + node[ALTITUDE];
+					if (present[point]) {
+						throw new IOException("Duplicate grid point");
+					}
+					present[point] = true;
+					for (int i = 0; i < row.length; i++) {
+						if (columnCoefficient[i] >= 0) {
+							values[point * COEFFICIENT_COUNT + columnCoefficient[i]] = row[i];
+						}
+					}
+					if (!hasCD) {
+						values[point * COEFFICIENT_COUNT + CD] = values[point * COEFFICIENT_COUNT + CA];
+					}
+				}
+			} catch (NumberFormatException e) {
+				throw new IOException("Invalid number on line " + lineNumber + ": " + e.getMessage(), e);
+			} catch (IOException | IllegalArgumentException e) {
+				throw new IOException("Line " + lineNumber + ": " + e.getMessage(), e);
+			}
+		}
+
+		if (columnAxis == null) {
+			throw new IOException("No header line");
+		}
+		final int missing = present.length - countPresent(present);
+		if (missing > 0) {
+			throw new IOException("Missing data for " + missing + " grid points");
+		}
+		try {
+			return new AerodynamicTable(refLength, refArea, axes[MACH], axes[AOA], axes[ROLL_RATE],
+					axes[ALTITUDE], values);
+		} catch (IllegalArgumentException e) {
+			throw new IOException(e.getMessage(), e);
+		}
+	}
+
+	private static int countPresent(boolean[] present) {
+		int count = 0;
+		for (boolean p : present) {
+			if (p) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private static int indexOf(String[] names, String name) {
+		for (int i = 0; i < names.length; i++) {
+			if (names[i].equals(name)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static double[] parseValues(String text) {
+		final String[] parts = text.split(",");
+		final double[] result = new double[parts.length];
+		for (int i = 0; i < parts.length; i++) {
+			result[i] = Double.parseDouble(parts[i].trim());
+		}
+		return result;
+	}
+
+	private static int findNode(double[] axis, double value, String name) throws IOException {
+		final double tolerance = AXIS_TOLERANCE * Math.max(1, Math.abs(value));
+		for (int i = 0; i < axis.length; i++) {
+			if (Math.abs(axis[i] - value) <= tolerance) {
+				return i;
+			}
+		}
+		throw new IOException("Value " + value + " is not on the " + name + " axis");
+	}
+
+	/**
+	 * Write the table in the text format.  The values are written with full precision, so
+	 * reading the output gives an identical table.
+	 *
+	 * @param writer	the destination
+	 * @throws IOException	if writing fails
+	 */
+	public void write(Writer writer) throws IOException {
+		final StringBuilder sb = new StringBuilder();
+		sb.append("# OpenRocket aerodynamic coefficient table\n");
+		sb.append("# SI units, angles in radians; Cm about the nose tip\n");
+		sb.append("refLength=").append(refLength).append('\n');
+		sb.append("refArea=").append(refArea).append('\n');
+		for (int k = 0; k < AXIS_COUNT; k++) {
+			sb.append(AXIS_NAMES[k]).append('=');
+			appendValues(sb, axes[k], 0, axes[k].length);
+			sb.append('\n');
+		}
+		sb.append(String.join(",", AXIS_NAMES)).append(',').append(String.join(",", COEFFICIENT_NAMES)).append('\n');
+		writer.write(sb.toString());
+
+		for (int m = 0; m < axes[MACH].length; m++) {
+			for (int a = 0; a < axes[AOA].length; a++) {
+				for (int r = 0; r < axes[ROLL_RATE].length; r++) {
+					for (int h = 0; h < axes[ALTITUDE].length; h++) {
+						sb.setLength(0);
+						sb.append(axes[MACH][m]).append(',').append(axes[AOA][a]).append(',')
+								.append(axes[ROLL_RATE][r]).append(',').append(axes[ALTITUDE][h]).append(',');
+						appendValues(sb, values, getIndex(m, a, r, h), COEFFICIENT_COUNT);
+						sb.append('\n');
+						writer.write(sb.toString());
+					}
+				}
+			}
+		}
+		writer.flush();
+	}
+
+	private static void appendValues(StringBuilder sb, double[] array, int offset, int count) {
+		for (int i = 0; i < count; i++) {
+			if (i > 0) {
+				sb.append(',');
+			}
+			sb.append(array[offset + i]);
+		}
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!(obj instanceof AerodynamicTable))
+			return false;
+		final AerodynamicTable other = (AerodynamicTable) obj;
+		return refLength == other.refLength && refArea == other.refArea &&
+				Arrays.deepEquals(axes, other.axes) && Arrays.equals(values, other.values);
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.deepHashCode(axes) * 31 + Arrays.hashCode(values);
+	}
+}
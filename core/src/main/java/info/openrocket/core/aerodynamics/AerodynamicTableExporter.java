@@ -0,0 +1,87 @@
+package info.openrocket.core.aerodynamics;
+
+import info.openrocket.core.logging.WarningSet;
+import info.openrocket.core.masscalc.MassCalculator;
+import info.openrocket.core.models.atmosphere.AtmosphericModel;
+import info.openrocket.core.models.atmosphere.ExtendedISAModel;
+import info.openrocket.core.rocketcomponent.FlightConfiguration;
+
+/**
+ * Builds an {@link AerodynamicTable} from the {@link BarrowmanCalculator} results of a
+ * configuration, for use with the {@link TabulatedAerodynamicCalculator} or for comparison with
+ * external aerodynamics databases.
+ * <p>
+ * The coefficients are evaluated directly (without the drag table of the calculator) at every
+ * grid point, with the atmospheric conditions of the atmospheric model at the altitude of the
+ * grid point and no pitch or yaw rate.  The pitch damping coefficient is evaluated about the
+ * given center of mass.  The reference length and area are those of the configuration.
+ */
+public final class AerodynamicTableExporter {
+
+	private AerodynamicTableExporter() {
+	}
+
+	/**
+	 * Export the coefficients of a configuration in the standard atmosphere, with the damping
+	 * about the launch center of mass.
+	 *
+	 * @see #export(FlightConfiguration, AtmosphericModel, double, double[], double[], double[], double[])
+	 */
+	public static AerodynamicTable export(FlightConfiguration configuration, double[] mach, double[] aoa,
+			double[] rollRate, double[] altitude) {
+		final double cgx = MassCalculator.calculateLaunch(configuration).getCM().x;
+		return export(configuration, new ExtendedISAModel(), cgx, mach, aoa, rollRate, altitude);
+	}
+
+	/**
+	 * Export the coefficients of a configuration.
+	 *
+	 * @param configuration	the configuration, which must not be modified during the export
+	 * @param atmosphere	the atmospheric model giving the conditions at each altitude
+	 * @param cgx			the axial position of the center of mass for the pitch damping
+	 * @param mach			the Mach numbers of the grid, increasing
+	 * @param aoa			the angles of attack of the grid, increasing
+	 * @param rollRate		the roll rates of the grid, increasing
+	 * @param altitude		the altitudes of the grid, increasing
+	 * @return the table of the coefficients
+	 */
+	public static AerodynamicTable export(FlightConfiguration configuration, AtmosphericModel atmosphere,
+			double cgx, double[] mach, double[] aoa, double[] rollRate, double[] altitude) {
+		final BarrowmanCalculator calculator = new BarrowmanCalculator();
+		calculator.setDragTableEnabled(false);
+		final WarningSet warnings = new WarningSet();
+		final FlightConditions conditions = new FlightConditions(configuration);
+		final int n = AerodynamicTable.COEFFICIENT_COUNT;
+		final double[] values = new double[mach.length * aoa.length * rollRate.length * altitude.length * n];
+
+		int index = 0;
+		for (double m : mach) {
+			conditions.setMach(m);
+			for (double a : aoa) {
+				conditions.setAOA(a);
+				for (double r : rollRate) {
+					conditions.setRollRate(r);
+					for (double h : altitude) {
+						conditions.setAtmosphericConditions(atmosphere.getConditions(h));
+						conditions.setAltitude(h);
+
+						final AerodynamicForces forces = calculator.getAerodynamicForces(configuration, conditions,
+								warnings);
+						values[index + AerodynamicTable.CN] = forces.getCN();
+						values[index + AerodynamicTable.CA] = forces.getCDaxial();
+						values[index + AerodynamicTable.CD] = forces.getCD();
+						// The tabulated pitch moment excludes the damping moment
+						values[index + AerodynamicTable.CM] = forces.getCm() + forces.getPitchDampingMoment();
+						values[index + AerodynamicTable.CL] = forces.getCroll();
+						values[index + AerodynamicTable.CMQ] = calculator.getDampingCoefficient(configuration,
+								conditions, cgx);
+						index += n;
+					}
+				}
+			}
+		}
+
+		return new AerodynamicTable(conditions.getRefLength(), conditions.getRefArea(), mach, aoa, rollRate,
+				altitude, values);
+	}
+}
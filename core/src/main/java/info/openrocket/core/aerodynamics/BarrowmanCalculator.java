@@ -30,6 +30,7 @@ import info.openrocket.core.util.Coordinate;
 import info.openrocket.core.util.MathUtil;
 import info.openrocket.core.util.PolyInterpolator;
 import info.openrocket.core.util.Reflection;
+import info.openrocket.core.util.Transformation;
 
 /**
  * An aerodynamic calculator that uses the extended Barrowman method to
@@ -44,6 +45,11 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 	private static final String BARROWMAN_SUFFIX = "Calc";
 	
 	private Map<RocketComponent, RocketComponentCalc> calcMap = null;
+	private AerodynamicGeometry geometry = null;
+	private DragCoefficientTable dragTable = null;
+	private DragCoefficientTable.DragFunction dragFunction = null;
+	private AerodynamicGeometry dragTableGeometry = null;
+	private boolean dragTableEnabled = true;
 	
 	private double cacheDiameter = -1;
 	private double cacheLength = -1;
@@ -55,7 +61,9 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 	
 	@Override
 	public BarrowmanCalculator newInstance() {
-		return new BarrowmanCalculator();
+		BarrowmanCalculator calculator = new BarrowmanCalculator();
+		calculator.dragTableEnabled = this.dragTableEnabled;
+		return calculator;
 	}
 	
 	
@@ -76,9 +84,7 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 	public Map<RocketComponent, AerodynamicForces> getForceAnalysis(FlightConfiguration configuration,
 			FlightConditions conditions,
 			WarningSet warnings) {
-		if (calcMap == null) {
-			buildCalcMap(configuration);
-		}
+		final AerodynamicGeometry geometry = getGeometry(configuration);
 
 		InstanceMap instMap = configuration.getActiveInstances();
 		Map<RocketComponent, AerodynamicForces> eachMap = new LinkedHashMap<>();
@@ -89,21 +95,20 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 
 		// Calculate drag coefficient data
 		AerodynamicForces rocketForces = assemblyMap.get(configuration.getRocket());
-		rocketForces.setFrictionCD(calculateFrictionCD(configuration, conditions, eachMap, warnings));
-		rocketForces.setPressureCD(calculatePressureCD(configuration, conditions, eachMap, warnings));
-		rocketForces.setBaseCD(calculateBaseCD(configuration, conditions, eachMap, warnings));
-		rocketForces.setOverrideCD(calculateOverrideCD(configuration, conditions, eachMap, assemblyMap, warnings));
+		rocketForces.setFrictionCD(calculateFrictionCD(geometry, conditions, eachMap, warnings));
+		rocketForces.setPressureCD(calculatePressureCD(geometry, conditions, eachMap, warnings));
+		rocketForces.setBaseCD(calculateBaseCD(geometry, conditions, eachMap, warnings));
+		rocketForces.setOverrideCD(calculateOverrideCD(geometry, eachMap, assemblyMap));
 
 		Map<RocketComponent, AerodynamicForces> finalMap = new LinkedHashMap<>();
-		for (final RocketComponent comp : instMap.keySet()) {
+		for (int i = 0; i < geometry.getComponentCount(); i++) {
+			final RocketComponent comp = geometry.getComponent(i);
 
 			AerodynamicForces f;
-			if (comp instanceof ComponentAssembly) {
+			if (geometry.isAssembly(i)) {
 				f = assemblyMap.get(comp);
-			} else if (comp.isAerodynamic()) {
-				f = eachMap.get(comp);
 			} else {
-				continue;
+				f = eachMap.get(comp);
 			}
 
 			if (Double.isNaN(f.getCNa())) {
@@ -191,19 +196,20 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 		
 		// Calculate non-axial force data
 		AerodynamicForces total = calculateNonAxialForces(configuration, conditions, warnings);
+		final AerodynamicGeometry geometry = getGeometry(configuration);
 		
 		// Calculate friction data
-		total.setFrictionCD(calculateFrictionCD(configuration, conditions, null, warnings));
-		total.setPressureCD(calculatePressureCD(configuration, conditions, null, warnings));
-		total.setBaseCD(calculateBaseCD(configuration, conditions, null, warnings));
-		total.setOverrideCD(calculateOverrideCD(configuration, conditions, null, null, warnings));
+		total.setFrictionCD(calculateFrictionCD(geometry, conditions, null, warnings));
+		total.setPressureCD(calculatePressureCD(geometry, conditions, null, warnings));
+		total.setBaseCD(calculateBaseCD(geometry, conditions, null, warnings));
+		total.setOverrideCD(calculateOverrideCD(geometry, null, null));
 		
 		total.setCD(total.getFrictionCD() + total.getPressureCD() + total.getBaseCD() + total.getOverrideCD());
 		
 		total.setCDaxial(calculateAxialCD(conditions, total.getCD()));
 		
 		// Calculate pitch and yaw damping moments
-		calculateDampingMoments(configuration, conditions, total);
+		calculateDampingMoments(configuration, geometry, conditions, total);
 		total.setCm(total.getCm() - total.getPitchDampingMoment());
 		total.setCyaw(total.getCyaw() - total.getYawDampingMoment());
 
@@ -215,17 +221,29 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 			RocketComponentCalc calcObj,
 			List<InstanceContext> contextList,
 			WarningSet warnings) {
+		final Transformation[] transforms = new Transformation[contextList.size()];
+		for (int i = 0; i < transforms.length; i++) {
+			transforms[i] = contextList.get(i).transform;
+		}
+		return calculateComponentNonAxialForces(conditions, comp, calcObj, transforms, warnings);
+	}
+
+	private AerodynamicForces calculateComponentNonAxialForces(FlightConditions conditions,
+			RocketComponent comp,
+			RocketComponentCalc calcObj,
+			Transformation[] transforms,
+			WarningSet warnings) {
 		// across every instance of this component:
 		final AerodynamicForces componentForces = new AerodynamicForces().zero();
 
 		// iterate across component instances
-		for (InstanceContext context : contextList) {
+		for (Transformation transform : transforms) {
 			// specific to this _instance_ of this component:
 			AerodynamicForces instanceForces = new AerodynamicForces().zero();
-			calcObj.calculateNonaxialForces(conditions, context.transform, instanceForces, warnings);
+			calcObj.calculateNonaxialForces(conditions, transform, instanceForces, warnings);
 
 			Coordinate cp_inst = instanceForces.getCP();
-			Coordinate cp_abs = context.transform.transform(cp_inst);
+			Coordinate cp_abs = transform.transform(cp_inst);
 			cp_abs = cp_abs.setY(0.0).setZ(0.0);
 
 			instanceForces.setCP(cp_abs);
@@ -253,25 +271,18 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 		if (conditions.getAOA() > 17.5 * Math.PI / 180)
 			warnings.add(new Warning.LargeAOA(conditions.getAOA()));
 
-		if (calcMap == null)
-			buildCalcMap(configuration);
-
-		checkGeometry(configuration, configuration.getRocket(), warnings);
-		
-		final InstanceMap imap = configuration.getActiveInstances();
+		final AerodynamicGeometry geometry = getGeometry(configuration);
+		warnings.addAll(geometry.getGeometryWarnings());
 
 		// across the _entire_ assembly -- like a rocket, or a stage
 		final AerodynamicForces assemblyForces = new AerodynamicForces().zero();
 
-		for (Map.Entry<RocketComponent, ArrayList<InstanceContext>> mapEntry : imap.entrySet()) {
-			final RocketComponent comp = mapEntry.getKey();
-			final List<InstanceContext> contextList = mapEntry.getValue();
-
-			RocketComponentCalc calcObj = calcMap.get(comp);
+		for (int i = 0; i < geometry.getComponentCount(); i++) {
+			RocketComponentCalc calcObj = geometry.getCalc(i);
 			if (null != calcObj) {
 				// calculated across all component instances
-				final AerodynamicForces componentForces = calculateComponentNonAxialForces(conditions, comp, calcObj,
-						contextList, warnings);
+				final AerodynamicForces componentForces = calculateComponentNonAxialForces(conditions,
+						geometry.getComponent(i), calcObj, geometry.getInstanceTransforms(i), warnings);
 
 				assemblyForces.merge(componentForces);
 			}
@@ -420,23 +431,55 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 	/**
 	 * Calculation of drag coefficient due to air friction
 	 * 
-	 * @param configuration Rocket configuration
+	 * @param geometry      Aerodynamic geometry of the configuration
 	 * @param conditions    Flight conditions taken into account
 	 * @param map           ?
 	 * @param warningSet    Set to handle warnings
 	 * @return friction drag for entire rocket
 	 */
-	private double calculateFrictionCD(FlightConfiguration configuration, FlightConditions conditions,
+	private double calculateFrictionCD(AerodynamicGeometry geometry, FlightConditions conditions,
 			Map<RocketComponent, AerodynamicForces> forceMap, WarningSet warningSet) {
 		
 		double mach = conditions.getMach();
-		double Re = calculateReynoldsNumber(configuration, conditions);
-		double Cf = calculateFrictionCoefficient(configuration, mach, Re);
+		double Re = calculateReynoldsNumber(geometry, conditions);
+
+		// Totals are looked up from the drag table when within its grid
+		if (forceMap == null) {
+			final DragCoefficientTable table = getDragTable(geometry);
+			if (table != null) {
+				final double cd = table.getFrictionCD(mach, Re, conditions.getRefArea(), dragFunction);
+				if (!Double.isNaN(cd)) {
+					if (!table.hasDirectComponents()) {
+						return cd;
+					}
+					return cd + calculateFrictionCD(geometry, conditions, mach, Re, table.getDirectComponents(),
+							null, warningSet);
+				}
+			}
+		}
+
+		return calculateFrictionCD(geometry, conditions, mach, Re, null, forceMap, warningSet);
+	}
+
+	/**
+	 * Calculation of drag coefficient due to air friction at the given Mach and Reynolds numbers
+	 *
+	 * @param geometry      Aerodynamic geometry of the configuration
+	 * @param conditions    Flight conditions taken into account
+	 * @param mach          Mach number
+	 * @param Re            Reynolds number
+	 * @param include       the components to include, indexed as in the geometry, or null for all
+	 * @param forceMap      the per-component forces to update, or null
+	 * @param warningSet    Set to handle warnings
+	 * @return friction drag of the included components
+	 */
+	private double calculateFrictionCD(AerodynamicGeometry geometry, FlightConditions conditions,
+			double mach, double Re, boolean[] include,
+			Map<RocketComponent, AerodynamicForces> forceMap, WarningSet warningSet) {
+
+		double Cf = calculateFrictionCoefficient(geometry, mach, Re);
 		double roughnessCorrection = calculateRoughnessCorrection(mach);
 		
-		if (calcMap == null)
-			buildCalcMap(configuration);
-		
 		/*
 		 * Calculate the friction drag coefficient.
 		 * 
@@ -452,24 +495,23 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 		double[] roughnessLimited = new double[Finish.values().length];
 		Arrays.fill(roughnessLimited, Double.NaN);
 
-		final InstanceMap imap = configuration.getActiveInstances();
-		for (Map.Entry<RocketComponent, ArrayList<InstanceContext>> entry : imap.entrySet()) {
-			final RocketComponent c = entry.getKey();
-
-			if (!c.isAerodynamic()) {
+		for (int i = 0; i < geometry.getComponentCount(); i++) {
+			if (!geometry.isAerodynamic(i) || (include != null && !include[i])) {
 				continue;
 			}
 			
-			if (c.isCDOverridden() ||
-					c.isCDOverriddenByAncestor()) {
+			if (geometry.isCDOverridden(i) ||
+					geometry.isCDOverriddenByAncestor(i)) {
 				continue;
 			}
 
+			final RocketComponent c = geometry.getComponent(i);
+
 			// Calculate the roughness-limited friction coefficient
-			Finish finish = ((ExternalComponent) c).getFinish();
+			Finish finish = geometry.getFinish(i);
 			if (Double.isNaN(roughnessLimited[finish.ordinal()])) {
 				roughnessLimited[finish.ordinal()] = 0.032
-						* Math.pow(finish.getRoughnessSize() / configuration.getLengthAerodynamic(), 0.2) *
+						* Math.pow(finish.getRoughnessSize() / geometry.getLengthAerodynamic(), 0.2) *
 						roughnessCorrection;
 			}
 			
@@ -478,7 +520,7 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 			 * For perfect finish require additionally that Re > 1e6
 			 */
 			double componentCf;
-			if (configuration.getRocket().isPerfectFinish()) {
+			if (geometry.isPerfectFinish()) {
 				
 				// For perfect finish require Re > 1e6
 				if ((Re > 1.0e6) && (roughnessLimited[finish.ordinal()] > Cf)) {
@@ -494,21 +536,19 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 				
 			}
 
-			double componentFrictionCD = calcMap.get(c).calculateFrictionCD(conditions, componentCf, warningSet);
-			int instanceCount = entry.getValue().size();
+			double componentFrictionCD = geometry.getCalc(i).calculateFrictionCD(conditions, componentCf, warningSet);
+			int instanceCount = geometry.getInstanceCount(i);
 			
-			if (c instanceof SymmetricComponent) {
-				SymmetricComponent s = (SymmetricComponent) c;
-
+			if (geometry.isSymmetric(i)) {
 				bodyFrictionCD += instanceCount * componentFrictionCD;
 				
-				final double componentMinX = c.getAxialOffset(AxialMethod.ABSOLUTE);
+				final double componentMinX = geometry.getAxialPosition(i);
 				minX = Math.min(minX, componentMinX);
 
-				final double componentMaxX = componentMinX + c.getLength();
+				final double componentMaxX = componentMinX + geometry.getLength(i);
 				maxX = Math.max(maxX, componentMaxX);
 
-				final double componentMaxR = Math.max(s.getForeRadius(), s.getAftRadius());
+				final double componentMaxR = Math.max(geometry.getForeRadius(i), geometry.getAftRadius(i));
 				maxR = Math.max(maxR, componentMaxR);
 
 			} else {
@@ -540,12 +580,12 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 	/**
 	 * Calculation of Reynolds Number
 	 * 
-	 * @param configuration Rocket configuration
+	 * @param geometry      Aerodynamic geometry of the configuration
 	 * @param conditions    Flight conditions taken into account
 	 * @return Reynolds Number
 	 */
-	private double calculateReynoldsNumber(FlightConfiguration configuration, FlightConditions conditions) {
-		return conditions.getVelocity() * configuration.getLengthAerodynamic() /
+	private double calculateReynoldsNumber(AerodynamicGeometry geometry, FlightConditions conditions) {
+		return conditions.getVelocity() * geometry.getLengthAerodynamic() /
 				conditions.getAtmosphericConditions().getKinematicViscosity();
 	}
 	
@@ -555,12 +595,12 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 	 *
 	 * return skin friction coefficient
 	 */
-	private double calculateFrictionCoefficient(FlightConfiguration configuration, double mach, double Re) {
+	private double calculateFrictionCoefficient(AerodynamicGeometry geometry, double mach, double Re) {
 		double Cf;
 		double c1 = 1.0, c2 = 1.0;
 		
 		// Calculate the skin friction coefficient (assume non-roughness limited)
-		if (configuration.getRocket().isPerfectFinish()) {
+		if (geometry.isPerfectFinish()) {
 
 			// Assume partial laminar layer. Roughness-limitation is checked later.
 			if (Re < 1e4) {
@@ -667,40 +707,66 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 	/**
 	 * Calculation of drag coefficient due to pressure
 	 * 
-	 * @param configuration Rocket configuration
+	 * @param geometry      Aerodynamic geometry of the configuration
 	 * @param conditions    Flight conditions taken into account
 	 * @param forceMap
 	 * @param warningSet    all current warnings
 	 * @return
 	 */
-	private double calculatePressureCD(FlightConfiguration configuration, FlightConditions conditions,
+	private double calculatePressureCD(AerodynamicGeometry geometry, FlightConditions conditions,
 			Map<RocketComponent, AerodynamicForces> forceMap, WarningSet warningSet) {
 
+		// Totals are looked up from the drag table when within its grid
+		if (forceMap == null) {
+			final DragCoefficientTable table = getDragTable(geometry);
+			if (table != null) {
+				final double cd = table.getPressureCD(conditions.getMach(), conditions.getRefArea(), dragFunction);
+				if (!Double.isNaN(cd)) {
+					if (!table.hasDirectComponents()) {
+						return cd;
+					}
+					return cd + calculatePressureCD(geometry, conditions, table.getDirectComponents(), null, warningSet);
+				}
+			}
+		}
+
+		return calculatePressureCD(geometry, conditions, null, forceMap, warningSet);
+	}
+
+	/**
+	 * Calculation of drag coefficient due to pressure of the given components
+	 *
+	 * @param geometry      Aerodynamic geometry of the configuration
+	 * @param conditions    Flight conditions taken into account
+	 * @param include       the components to include, indexed as in the geometry, or null for all
+	 * @param forceMap      the per-component forces to update, or null
+	 * @param warningSet    all current warnings
+	 * @return pressure drag of the included components
+	 */
+	private double calculatePressureCD(AerodynamicGeometry geometry, FlightConditions conditions,
+			boolean[] include, Map<RocketComponent, AerodynamicForces> forceMap, WarningSet warningSet) {
+
 		double total, stagnation, base;
-		if (calcMap == null)
-			buildCalcMap(configuration);
 		
 		stagnation = calculateStagnationCD(conditions.getMach());
 		base = calculateBaseCD(conditions.getMach());
 
 		total = 0;
-		final InstanceMap imap = configuration.getActiveInstances();
-		for (Map.Entry<RocketComponent, ArrayList<InstanceContext>> entry : imap.entrySet()) {
-			final RocketComponent c = entry.getKey();
-
-			if (!c.isAerodynamic()) {
+		for (int i = 0; i < geometry.getComponentCount(); i++) {
+			if (!geometry.isAerodynamic(i) || (include != null && !include[i])) {
 				continue;
 			}
 				
-			if (c.isCDOverridden() ||
-				c.isCDOverriddenByAncestor()) {
+			if (geometry.isCDOverridden(i) ||
+				geometry.isCDOverriddenByAncestor(i)) {
 				continue;
 			}
 			
-			int instanceCount = entry.getValue().size();
+			final RocketComponent c = geometry.getComponent(i);
+			int instanceCount = geometry.getInstanceCount(i);
 
 			// Pressure drag of this component
-			double cd = calcMap.get(c).calculatePressureCD(conditions, stagnation, base,
+			double cd = geometry.getCalc(i).calculatePressureCD(conditions, stagnation, base,
 					warningSet);
 
 			if (forceMap != null) {
@@ -712,19 +778,15 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 			// Stagnation drag caused by difference in radius between this component
 			// and previous component (increasing radii. Decreasing radii handled in
 			// base drag calculation
-			if (c instanceof SymmetricComponent) {
-				SymmetricComponent s = (SymmetricComponent) c;
-				double foreRadius = s.getForeRadius();
-				double aftRadius = s.getAftRadius();
+			if (geometry.isSymmetric(i)) {
+				double foreRadius = geometry.getForeRadius(i);
+				double aftRadius = geometry.getAftRadius(i);
 				// If length is zero, the component is a disk, i.e. a zero-length tube, so match
 				// the fore and aft diameter
-				if (s.getLength() == 0) {
+				if (geometry.getLength(i) == 0) {
 					foreRadius = Math.max(foreRadius, aftRadius);
 				}
-				double radius = 0;
-				final SymmetricComponent prevComponent = s.getPreviousSymmetricComponent();
-				if (prevComponent != null && configuration.isComponentActive(prevComponent))
-					radius = prevComponent.getAftRadius();
+				final double radius = geometry.getPreviousAftRadius(i);
 					
 				if (radius < foreRadius) {
 					double area = Math.PI * (pow2(foreRadius) - pow2(radius));
@@ -745,57 +807,45 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 	/**
 	 * Calculation of drag coefficient due to base
 	 * 
-	 * @param configuration Rocket configuration
+	 * @param geometry      Aerodynamic geometry of the configuration
 	 * @param conditions    Flight conditions taken into account
 	 * @param map           ?
 	 * @param warnings      all current warnings
 	 * @return
 	 */
-	private double calculateBaseCD(FlightConfiguration configuration, FlightConditions conditions,
+	private double calculateBaseCD(AerodynamicGeometry geometry, FlightConditions conditions,
 			Map<RocketComponent, AerodynamicForces> forceMap, WarningSet warnings) {
 
 		double base, total;
 		
-		if (calcMap == null)
-			buildCalcMap(configuration);
-		
 		base = calculateBaseCD(conditions.getMach());
 		total = 0;
 		
-		final InstanceMap imap = configuration.getActiveInstances();
-		for (Map.Entry<RocketComponent, ArrayList<InstanceContext>> entry : imap.entrySet()) {
-			final RocketComponent c = entry.getKey();
-
-			if (!(c instanceof SymmetricComponent)) {
+		for (int i = 0; i < geometry.getComponentCount(); i++) {
+			if (!geometry.isSymmetric(i)) {
 				continue;
 			}
 
 			
-			if (c.isCDOverridden() ||
-					c.isCDOverriddenByAncestor()) {
+			if (geometry.isCDOverridden(i) ||
+					geometry.isCDOverriddenByAncestor(i)) {
 				continue;
 			}
 			
-			SymmetricComponent s = (SymmetricComponent) c;
-			double foreRadius = s.getForeRadius();
-			double aftRadius = s.getAftRadius();
+			final RocketComponent s = geometry.getComponent(i);
+			double foreRadius = geometry.getForeRadius(i);
+			double aftRadius = geometry.getAftRadius(i);
 			// If length is zero, the component is a disk, i.e. a zero-length tube, so match
 			// the fore and aft diameter
-			if (s.getLength() == 0) {
+			if (geometry.getLength(i) == 0) {
 				final double componentMaxR = Math.max(foreRadius, aftRadius);
 				foreRadius = aftRadius = componentMaxR;
 			}
 
-			int instanceCount = entry.getValue().size();
+			int instanceCount = geometry.getInstanceCount(i);
 
 			// get forward radius of next component
-			final SymmetricComponent nextComponent = s.getNextSymmetricComponent();
-			double nextRadius;
-			if ((nextComponent != null) && configuration.isComponentActive(nextComponent)) {
-				nextRadius = nextComponent.getForeRadius();
-			} else {
-				nextRadius = 0.0;
-			}
+			final double nextRadius = geometry.getNextForeRadius(i);
 
 			// if fore radius of next component is less than my aft radius, set my
 			// base CD
@@ -891,35 +941,25 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 	/**
 	 * add together CD overrides for active components
 	 * 
-	 * @param configuration Rocket configuration
+	 * @param geometry      Aerodynamic geometry of the configuration
 	 * @param conditions    Flight conditions taken into account
 	 * @param forceMap
 	 * @param warningSet    all current warnings
 	 * @return
 	 */
-	private double calculateOverrideCD(FlightConfiguration configuration, FlightConditions conditions,
+	private double calculateOverrideCD(AerodynamicGeometry geometry,
 			Map<RocketComponent, AerodynamicForces> eachMap,
-			Map<RocketComponent, AerodynamicForces> assemblyMap,
-			WarningSet warningSet) {
-
-		if (calcMap == null)
-			buildCalcMap(configuration);
+			Map<RocketComponent, AerodynamicForces> assemblyMap) {
 
 		double total = 0;
-		final InstanceMap imap = configuration.getActiveInstances();
-		for (Map.Entry<RocketComponent, ArrayList<InstanceContext>> entry : imap.entrySet()) {
-			final RocketComponent c = entry.getKey();
-			int instanceCount = entry.getValue().size();
-
-			if (!c.isAerodynamic() &&
-					!(c instanceof ComponentAssembly)) {
-				continue;
-			}
-
-			if (c.isCDOverridden() &&
-					!c.isCDOverriddenByAncestor()) {
-				double cd = instanceCount * c.getOverrideCD();
-				Map<RocketComponent, AerodynamicForces> forceMap = (c instanceof ComponentAssembly) ? assemblyMap
+		for (int i = 0; i < geometry.getComponentCount(); i++) {
+			final RocketComponent c = geometry.getComponent(i);
+			int instanceCount = geometry.getInstanceCount(i);
+
+			if (geometry.isCDOverridden(i) &&
+					!geometry.isCDOverriddenByAncestor(i)) {
+				double cd = instanceCount * geometry.getOverrideCD(i);
+				Map<RocketComponent, AerodynamicForces> forceMap = geometry.isAssembly(i) ? assemblyMap
 						: eachMap;
 				if (forceMap != null) {
 					forceMap.get(c).setOverrideCD(cd);
@@ -935,21 +975,20 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 	 * get damping moments from a rocket in a flight
 	 *
 	 * @param configuration Rocket configuration
+	 * @param geometry      Aerodynamic geometry of the configuration
 	 * @param conditions    flight conditions in consideration
 	 * @param total         acting aerodynamic forces
 	 */
-	private void calculateDampingMoments(FlightConfiguration configuration, FlightConditions conditions,
-			AerodynamicForces total) {
+	private void calculateDampingMoments(FlightConfiguration configuration, AerodynamicGeometry geometry,
+			FlightConditions conditions, AerodynamicForces total) {
 		
 		// Calculate pitch and yaw damping moments
-		double mul = getDampingMultiplier(configuration, conditions,
+		double mul = getDampingCoefficient(configuration, geometry, conditions,
 				conditions.getPitchCenter().x);
 		double pitchRate = conditions.getPitchRate();
 		double yawRate = conditions.getYawRate();
 		double velocity = conditions.getVelocity();
 		
-		mul *= 3; // TODO: Higher damping yields much more realistic apogee turn
-		
 		// find magnitude of damping moments, and clamp so they can't
 		// exceed magnitude of pitch and yaw moments
 		double pitchDampingMomentMagnitude = MathUtil.min(mul * pow2(pitchRate / velocity), total.getCm());
@@ -960,8 +999,28 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 		total.setYawDampingMoment(MathUtil.sign(yawRate) * yawDampingMomentMagnitude);
 	}
 
-	private double getDampingMultiplier(FlightConfiguration configuration, FlightConditions conditions,
-			double cgx) {
+	/**
+	 * Return the pitch damping coefficient, the pitch damping moment coefficient per squared
+	 * pitch rate over velocity, about an axial position.
+	 *
+	 * @param configuration Rocket configuration
+	 * @param conditions    flight conditions, for the reference length and area
+	 * @param cgx           the axial position of the pitch axis
+	 * @return the pitch damping coefficient
+	 */
+	double getDampingCoefficient(FlightConfiguration configuration, FlightConditions conditions, double cgx) {
+		checkCache(configuration);
+		return getDampingCoefficient(configuration, getGeometry(configuration), conditions, cgx);
+	}
+
+	private double getDampingCoefficient(FlightConfiguration configuration, AerodynamicGeometry geometry,
+			FlightConditions conditions, double cgx) {
+		// TODO: Higher damping yields much more realistic apogee turn
+		return 3 * getDampingMultiplier(configuration, geometry, conditions, cgx);
+	}
+
+	private double getDampingMultiplier(FlightConfiguration configuration, AerodynamicGeometry geometry,
+			FlightConditions conditions, double cgx) {
 		if (cacheDiameter < 0) {
 			double area = 0;
 			cacheLength = 0;
@@ -985,16 +1044,10 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 		mul *= (MathUtil.pow4(cgx) + MathUtil.pow4(cacheLength - cgx));
 		
 		// Fins
-		// TODO: LOW: This could be optimized a lot...
-		for (RocketComponent c : configuration.getActiveComponents()) {
-			if (c instanceof FinSet) {
-				FinSet f = (FinSet) c;
-				mul += 0.6 * Math.min(f.getFinCount(), 4) * f.getPlanformArea() *
-						MathUtil.pow3(Math.abs(f.toAbsolute(new Coordinate(
-								((FinSetCalc) calcMap.get(f)).getMidchordPos()))[0].x
-								- cgx)) /
-						(conditions.getRefArea() * conditions.getRefLength());
-			}
+		for (int i = 0; i < geometry.getFinSetCount(); i++) {
+			mul += 0.6 * geometry.getFinDampingArea(i) *
+					MathUtil.pow3(Math.abs(geometry.getFinMidchordPosition(i) - cgx)) /
+					(conditions.getRefArea() * conditions.getRefLength());
 		}
 		
 		return mul;
@@ -1009,11 +1062,79 @@ public class BarrowmanCalculator extends AbstractAerodynamicCalculator {
 		super.voidAerodynamicCache();
 		
 		calcMap = null;
+		geometry = null;
+		dragTable = null;
+		dragFunction = null;
+		dragTableGeometry = null;
 		cacheDiameter = -1;
 		cacheLength = -1;
 	}
 	
 	
+	/**
+	 * Return the aerodynamic geometry snapshot of the configuration.  The snapshot is built on first use
+	 * and rebuilt when the rocket or the active stages of the configuration change.
+	 *
+	 * @param configuration the configuration
+	 * @return the geometry snapshot of the configuration
+	 */
+	public AerodynamicGeometry getGeometry(FlightConfiguration configuration) {
+		checkCache(configuration);
+		if (geometry == null || !geometry.isValidFor(configuration)) {
+			if (calcMap == null) {
+				buildCalcMap(configuration);
+			}
+			WarningSet geometryWarnings = new WarningSet();
+			checkGeometry(configuration, configuration.getRocket(), geometryWarnings);
+			geometry = new AerodynamicGeometry(configuration, calcMap, geometryWarnings);
+		}
+		return geometry;
+	}
+
+	/**
+	 * Return the drag table of the configuration of the geometry, or null if drag tables are disabled.
+	 * The parts of the table that the lookups of this calculator need are calculated by this calculator.
+	 */
+	DragCoefficientTable getDragTable(final AerodynamicGeometry geometry) {
+		if (!dragTableEnabled) {
+			return null;
+		}
+		if (dragTable == null || dragTableGeometry != geometry) {
+			dragTable = DragCoefficientTable.getInstance(geometry.getConfiguration(), geometry);
+			dragFunction = new DragCoefficientTable.DragFunction() {
+				@Override
+				public double frictionCD(FlightConditions conditions, double mach, double Re, boolean[] include) {
+					return calculateFrictionCD(geometry, conditions, mach, Re, include, null, ignoreWarningSet);
+				}
+
+				@Override
+				public double pressureCD(FlightConditions conditions, boolean[] include) {
+					return calculatePressureCD(geometry, conditions, include, null, ignoreWarningSet);
+				}
+			};
+			dragTableGeometry = geometry;
+		}
+		return dragTable;
+	}
+
+	/**
+	 * Set whether the total friction and pressure drag are interpolated from a {@link DragCoefficientTable}
+	 * of the configuration, instead of being calculated at every call.  Enabled by default.
+	 * The per-component drag of {@link #getForceAnalysis} is always calculated directly.
+	 *
+	 * @param enabled whether to use drag tables
+	 */
+	public void setDragTableEnabled(boolean enabled) {
+		this.dragTableEnabled = enabled;
+		dragTable = null;
+		dragFunction = null;
+		dragTableGeometry = null;
+	}
+
+	public boolean isDragTableEnabled() {
+		return dragTableEnabled;
+	}
+
 	private void buildCalcMap(FlightConfiguration configuration) {
 		calcMap = new HashMap<>();
 
@@ -0,0 +1,340 @@
+package info.openrocket.core.aerodynamics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import info.openrocket.core.aerodynamics.barrowman.TubeCalc;
+import info.openrocket.core.rocketcomponent.AxialStage;
+import info.openrocket.core.rocketcomponent.FlightConfiguration;
+import info.openrocket.core.rocketcomponent.Rocket;
+
+/**
+ * Friction and pressure drag of a configuration, precomputed on a Mach / Reynolds number grid.
+ * <p>
+ * Apart from the reference area, the friction drag of the components depends only on the Mach
+ * and Reynolds numbers, and their pressure drag (including the stagnation drag of increasing
+ * body radii) only on the Mach number.  The table evaluates the exact Barrowman friction drag on
+ * a grid of Mach and log10(Re) values, with the breakpoints of the friction formulae as grid
+ * points, and the pressure drag on a grid of Mach values.  Between the grid points it interpolates
+ * with piecewise cubic Hermite polynomials, with the slopes limited so that the interpolation is
+ * monotone between grid points.  This keeps it from overshooting at the kinks of the drag formulae
+ * (for example at Mach 1).  Values are stored multiplied by the reference area, so the table
+ * is independent of the reference area of the flight conditions.
+ * <p>
+ * Tube components ({@link TubeCalc}) depend on the atmospheric conditions through the flow inside
+ * the tube, and are not tabulated; they are evaluated directly, see {@link #isTabulated(int)}.
+ * Outside of the grid the table returns NaN and the drag is calculated directly.
+ * <p>
+ * The grid is filled lazily: the pressure drag of a Mach row, and the friction drag of a row within
+ * a Reynolds number segment, are calculated when a lookup first needs them.  Only the part of the
+ * grid within the flight envelope is therefore calculated, a few rows around the Mach numbers and
+ * Reynolds numbers actually reached.  The values are calculated by the drag function of the calculator
+ * doing the lookup, so the calculators of concurrent simulations never share component calculations.
+ * <p>
+ * Tables are thread-safe and kept in a small cache keyed on the rocket, its aerodynamic and tree
+ * modification IDs and the active stages, so simulations of the same configuration (including
+ * simulations of copies of the rocket) share one table.
+ */
+public final class DragCoefficientTable {
+
+	/** Step of the Mach grid */
+	static final double MACH_STEP = 0.02;
+	/** Largest Mach number of the grid */
+	static final double MACH_MAX = 5.0;
+	/** Largest step of the log10(Re) grid */
+	static final double LOG_RE_STEP = 0.05;
+	/**
+	 * Breakpoints of the log10(Re) grid: the grid limits, and the Reynolds numbers at which the
+	 * friction coefficient of a perfect finish changes formula (laminar to transitional at 5.39e5,
+	 * the roughness limit and compressibility correction at 1e6 and 3e6).  The friction drag is
+	 * discontinuous at 1e6, so the grid is split into segments that each hold the limit of the
+	 * drag from within the segment.
+	 */
+	static final double[] LOG_RE_BREAKPOINTS = { 4.0, Math.log10(5.39e5), 6.0, Math.log10(3e6), 10.0 };
+
+	private static final int CACHE_SIZE = 16;
+
+	private static final Map<String, DragCoefficientTable> cache =
+			new LinkedHashMap<String, DragCoefficientTable>(CACHE_SIZE, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, DragCoefficientTable> eldest) {
+					return size() > CACHE_SIZE;
+				}
+			};
+
+	/**
+	 * The drag calculation that is tabulated.  Both methods return drag coefficients for a unit
+	 * reference area, summed over the components marked in <code>include</code>.
+	 */
+	interface DragFunction {
+		double frictionCD(FlightConditions conditions, double mach, double Re, boolean[] include);
+
+		double pressureCD(FlightConditions conditions, boolean[] include);
+	}
+
+	private final int machCount;
+	private final int[] reCount;
+	private final double[] reStep;
+	private final boolean[] tabulated;
+	private final boolean[] direct;
+	private final boolean hasDirect;
+
+	/** The rows of the grid by Mach index, null until first used */
+	private final AtomicReferenceArray<Row> rows;
+
+	/**
+	 * A Mach row of the grid: the pressure drag, and the friction drag at the log10(Re) grid
+	 * points of each Reynolds number segment, null until first used.
+	 */
+	private static final class Row {
+		final double pressure;
+		final AtomicReferenceArray<double[]> friction;
+
+		Row(double pressure, int segments) {
+			this.pressure = pressure;
+			this.friction = new AtomicReferenceArray<>(segments);
+		}
+	}
+
+	DragCoefficientTable(AerodynamicGeometry geometry) {
+		final int n = geometry.getComponentCount();
+		tabulated = new boolean[n];
+		direct = new boolean[n];
+		boolean anyDirect = false;
+		for (int i = 0; i < n; i++) {
+			direct[i] = geometry.getCalc(i) instanceof TubeCalc;
+			tabulated[i] = !direct[i];
+			anyDirect |= direct[i];
+		}
+		hasDirect = anyDirect;
+
+		machCount = (int) Math.round(MACH_MAX / MACH_STEP) + 1;
+		rows = new AtomicReferenceArray<>(machCount);
+
+		final int segments = LOG_RE_BREAKPOINTS.length - 1;
+		reCount = new int[segments];
+		reStep = new double[segments];
+		for (int s = 0; s < segments; s++) {
+			final double width = LOG_RE_BREAKPOINTS[s + 1] - LOG_RE_BREAKPOINTS[s];
+			final int steps = (int) Math.ceil(width / LOG_RE_STEP - 1e-9);
+			reCount[s] = steps + 1;
+			reStep[s] = width / steps;
+		}
+	}
+
+	private static FlightConditions getConditions(double mach) {
+		final FlightConditions conditions = new FlightConditions(null);
+		conditions.setRefArea(1.0);
+		conditions.setMach(mach);
+		return conditions;
+	}
+
+	/**
+	 * Return a Mach row of the grid, calculating its pressure drag if necessary.
+	 */
+	private Row getRow(int m, DragFunction function) {
+		Row row = rows.get(m);
+		if (row == null) {
+			synchronized (this) {
+				row = rows.get(m);
+				if (row == null) {
+					row = new Row(function.pressureCD(getConditions(m * MACH_STEP), tabulated), reCount.length);
+					rows.set(m, row);
+				}
+			}
+		}
+		return row;
+	}
+
+	/**
+	 * Return the friction drag of a Mach row within a Reynolds number segment, calculating it if necessary.
+	 */
+	private double[] getFriction(int m, int s, DragFunction function) {
+		final Row row = getRow(m, function);
+		double[] values = row.friction.get(s);
+		if (values == null) {
+			synchronized (this) {
+				values = row.friction.get(s);
+				if (values == null) {
+					final double mach = m * MACH_STEP;
+					final FlightConditions conditions = getConditions(mach);
+					values = new double[reCount[s]];
+					for (int r = 0; r < reCount[s]; r++) {
+						final double Re;
+						if (r == 0) {
+							// Limit from above of the lower breakpoint
+							Re = Math.nextUp(Math.pow(10, LOG_RE_BREAKPOINTS[s]));
+						} else if (r == reCount[s] - 1) {
+							Re = Math.pow(10, LOG_RE_BREAKPOINTS[s + 1]);
+						} else {
+							Re = Math.pow(10, LOG_RE_BREAKPOINTS[s] + r * reStep[s]);
+						}
+						values[r] = function.frictionCD(conditions, mach, Re, tabulated);
+					}
+					row.friction.set(s, values);
+				}
+			}
+		}
+		return values;
+	}
+
+	/**
+	 * @return the number of Mach rows of the grid that have been calculated
+	 */
+	int getCalculatedRowCount() {
+		int count = 0;
+		for (int m = 0; m < machCount; m++) {
+			if (rows.get(m) != null) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Return the cached table of a configuration, building it if necessary.
+	 *
+	 * @param configuration	the configuration
+	 * @param geometry		the aerodynamic geometry of the configuration
+	 * @return the drag table of the configuration
+	 */
+	static DragCoefficientTable getInstance(FlightConfiguration configuration, AerodynamicGeometry geometry) {
+		final String key = getKey(configuration);
+		synchronized (cache) {
+			final DragCoefficientTable table = cache.get(key);
+			if (table != null && table.tabulated.length == geometry.getComponentCount()) {
+				return table;
+			}
+		}
+
+		final DragCoefficientTable table = new DragCoefficientTable(geometry);
+		synchronized (cache) {
+			cache.put(key, table);
+		}
+		return table;
+	}
+
+	private static String getKey(FlightConfiguration configuration) {
+		final Rocket rocket = configuration.getRocket();
+		final StringBuilder key = new StringBuilder();
+		key.append(rocket.getID()).append(':')
+				.append(rocket.getAerodynamicModID()).append(':')
+				.append(rocket.getTreeModID());
+		for (AxialStage stage : configuration.getActiveStages()) {
+			key.append(':').append(stage.getStageNumber());
+		}
+		return key.toString();
+	}
+
+	/**
+	 * @return whether the drag of the component at the geometry index is included in the table
+	 */
+	public boolean isTabulated(int index) {
+		return tabulated[index];
+	}
+
+	/**
+	 * @return the components that are not tabulated, indexed as in the geometry
+	 */
+	boolean[] getDirectComponents() {
+		return direct;
+	}
+
+	/**
+	 * @return whether some components are not tabulated
+	 */
+	boolean hasDirectComponents() {
+		return hasDirect;
+	}
+
+	/**
+	 * Return the friction drag coefficient of the tabulated components, including the body
+	 * fineness ratio correction.
+	 *
+	 * @param mach		the Mach number
+	 * @param Re		the Reynolds number, based on the aerodynamic length of the rocket
+	 * @param refArea	the reference area
+	 * @param function	the drag calculation used to fill the grid
+	 * @return the friction drag coefficient, or NaN if outside of the grid
+	 */
+	double getFrictionCD(double mach, double Re, double refArea, DragFunction function) {
+		if (!(mach >= 0 && mach <= MACH_MAX && Re > 0)) {
+			return Double.NaN;
+		}
+		final double logRe = Math.log10(Re);
+		final int segments = LOG_RE_BREAKPOINTS.length - 1;
+		if (!(logRe > LOG_RE_BREAKPOINTS[0] && logRe <= LOG_RE_BREAKPOINTS[segments])) {
+			return Double.NaN;
+		}
+
+		int s = 0;
+		while (s < segments - 1 && logRe > LOG_RE_BREAKPOINTS[s + 1]) {
+			s++;
+		}
+		final int count = reCount[s];
+		final double y = (logRe - LOG_RE_BREAKPOINTS[s]) / reStep[s];
+		final int r = Math.min((int) y, count - 2);
+		final double tr = y - r;
+
+		final double x = mach / MACH_STEP;
+		final int m = Math.min((int) x, machCount - 2);
+		final double p1 = interpolateRe(getFriction(m, s, function), r, tr);
+		final double p2 = interpolateRe(getFriction(m + 1, s, function), r, tr);
+		final double p0 = m > 0 ? interpolateRe(getFriction(m - 1, s, function), r, tr) : 2 * p1 - p2;
+		final double p3 = m + 2 < machCount ? interpolateRe(getFriction(m + 2, s, function), r, tr) : 2 * p2 - p1;
+		return cubic(p0, p1, p2, p3, x - m) / refArea;
+	}
+
+	private static double interpolateRe(double[] friction, int r, double t) {
+		final double p1 = friction[r];
+		final double p2 = friction[r + 1];
+		final double p0 = r > 0 ? friction[r - 1] : 2 * p1 - p2;
+		final double p3 = r + 2 < friction.length ? friction[r + 2] : 2 * p2 - p1;
+		return cubic(p0, p1, p2, p3, t);
+	}
+
+	/**
+	 * Return the pressure drag coefficient of the tabulated components, including the stagnation
+	 * drag of increasing body radii.
+	 *
+	 * @param mach		the Mach number
+	 * @param refArea	the reference area
+	 * @param function	the drag calculation used to fill the grid
+	 * @return the pressure drag coefficient, or NaN if outside of the grid
+	 */
+	double getPressureCD(double mach, double refArea, DragFunction function) {
+		if (!(mach >= 0 && mach <= MACH_MAX)) {
+			return Double.NaN;
+		}
+		final double x = mach / MACH_STEP;
+		final int m = Math.min((int) x, machCount - 2);
+		final double p1 = getRow(m, function).pressure;
+		final double p2 = getRow(m + 1, function).pressure;
+		final double p0 = m > 0 ? getRow(m - 1, function).pressure : 2 * p1 - p2;
+		final double p3 = m + 2 < machCount ? getRow(m + 2, function).pressure : 2 * p2 - p1;
+		return cubic(p0, p1, p2, p3, x - m) / refArea;
+	}
+
+	/**
+	 * Cubic Hermite interpolation between p1 and p2 on a uniform grid, with the slopes limited
+	 * to keep the interpolant monotone (Fritsch-Butland).
+	 */
+	private static double cubic(double p0, double p1, double p2, double p3, double t) {
+		final double d0 = p1 - p0;
+		final double d1 = p2 - p1;
+		final double d2 = p3 - p2;
+		final double m1 = slope(d0, d1);
+		final double m2 = slope(d1, d2);
+		final double t2 = t * t;
+		final double t3 = t2 * t;
+		return (2 * t3 - 3 * t2 + 1) * p1 + (t3 - 2 * t2 + t) * m1 + (-2 * t3 + 3 * t2) * p2 + (t3 - t2) * m2;
+	}
+
+	private static double slope(double a, double b) {
+		if (a * b <= 0) {
+			return 0;
+		}
+		return 2 * a * b / (a + b);
+	}
+}
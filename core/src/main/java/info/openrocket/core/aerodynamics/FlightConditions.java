@@ -69,6 +69,9 @@ public class FlightConditions implements Cloneable, ChangeSource, Monitorable {
 
 	private AtmosphericConditions atmosphericConditions = new AtmosphericConditions();
 
+	/** Altitude above sea level, used by calculators that depend on it directly. */
+	private double altitude = 0;
+
 	private int modID;
 	private int modIDadd = 0;
 
@@ -375,6 +378,25 @@ public class FlightConditions implements Cloneable, ChangeSource, Monitorable {
 		fireChangeEvent();
 	}
 
+	/**
+	 * @return the altitude above sea level at which the atmospheric conditions apply.
+	 */
+	public double getAltitude() {
+		return altitude;
+	}
+
+	/**
+	 * Set the altitude above sea level.  The altitude is informational, it does not
+	 * change the atmospheric conditions.
+	 * fires change event if it's different from previous
+	 */
+	public void setAltitude(double altitude) {
+		if (MathUtil.equals(this.altitude, altitude))
+			return;
+		this.altitude = altitude;
+		fireChangeEvent();
+	}
+
 	/**
 	 * Retrieve the modification count of this object. Each time it is modified
 	 * the modification count is increased by one.
@@ -397,10 +419,11 @@ public class FlightConditions implements Cloneable, ChangeSource, Monitorable {
 				"pitchRate=%.2f," +
 				"yawRate=%.2f," +
 				"refLength=%.3f," +
+				"altitude=%.1f," +
 				"pitchCenter=" + pitchCenter.toString() + "," +
 				"atmosphericConditions=" + atmosphericConditions.toString() +
 				"]",
-				aoa * 180 / Math.PI, theta * 180 / Math.PI, mach, rollRate, pitchRate, yawRate, refLength);
+				aoa * 180 / Math.PI, theta * 180 / Math.PI, mach, rollRate, pitchRate, yawRate, refLength, altitude);
 	}
 
 	/**
@@ -436,6 +459,7 @@ public class FlightConditions implements Cloneable, ChangeSource, Monitorable {
 				MathUtil.equals(this.rollRate, other.rollRate) &&
 				MathUtil.equals(this.pitchRate, other.pitchRate) &&
 				MathUtil.equals(this.yawRate, other.yawRate) &&
+				MathUtil.equals(this.altitude, other.altitude) &&
 				this.pitchCenter.equals(other.pitchCenter)
 				&& this.atmosphericConditions.equals(other.atmosphericConditions));
 	}
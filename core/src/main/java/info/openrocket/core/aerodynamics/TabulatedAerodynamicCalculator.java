@@ -0,0 +1,148 @@
+package info.openrocket.core.aerodynamics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import info.openrocket.core.logging.Warning;
+import info.openrocket.core.logging.WarningSet;
+import info.openrocket.core.rocketcomponent.FlightConfiguration;
+import info.openrocket.core.rocketcomponent.RocketComponent;
+import info.openrocket.core.util.Coordinate;
+import info.openrocket.core.util.MathUtil;
+
+/**
+ * An aerodynamic calculator that interpolates the coefficients from an {@link AerodynamicTable},
+ * for example one exported from an external aerodynamics database or by the
+ * {@link AerodynamicTableExporter}.
+ * <p>
+ * The rocket is assumed to be axisymmetric: the normal force acts in the plane of the angle of
+ * attack regardless of the lateral wind direction, and there are no side force and yaw moment
+ * apart from the yaw damping.  The pitch and yaw damping moments are calculated from the
+ * tabulated Cmq as in the {@link BarrowmanCalculator}; they are relative to the center of mass
+ * the table was made for, not the current pitch center.  The coefficients are scaled from the
+ * reference of the table to the reference of the flight conditions.
+ * <p>
+ * The calculator does not depend on the configuration apart from the component used as the
+ * key of the force analysis.
+ */
+public class TabulatedAerodynamicCalculator extends AbstractAerodynamicCalculator {
+
+	private final AerodynamicTable table;
+	/** The smallest non-zero angle of attack of the table, or zero if there is none */
+	private final double cpAOA;
+	private final double[] coefficients = new double[AerodynamicTable.COEFFICIENT_COUNT];
+
+	public TabulatedAerodynamicCalculator(AerodynamicTable table) {
+		this.table = table;
+		double aoa = 0;
+		for (double a : table.getAxis(AerodynamicTable.AOA)) {
+			if (a > MathUtil.EPSILON) {
+				aoa = a;
+				break;
+			}
+		}
+		this.cpAOA = aoa;
+	}
+
+	@Override
+	public TabulatedAerodynamicCalculator newInstance() {
+		// The table is immutable, only the scratch array is per instance
+		return new TabulatedAerodynamicCalculator(table);
+	}
+
+	public AerodynamicTable getTable() {
+		return table;
+	}
+
+	private void interpolate(FlightConditions conditions, double aoa) {
+		table.interpolate(conditions.getMach(), aoa, conditions.getRollRate(), conditions.getAltitude(),
+				coefficients);
+	}
+
+	/**
+	 * Return the CP of the tabulated normal force.  At angles of attack below the first non-zero
+	 * tabulated angle, the CP at that angle is used.  The weight of the CP is the normal force
+	 * coefficient derivative estimated from the normal force at that angle.
+	 */
+	@Override
+	public Coordinate getCP(FlightConfiguration configuration, FlightConditions conditions, WarningSet warnings) {
+		final double aoa = Math.max(conditions.getAOA(), cpAOA);
+		if (!(aoa > MathUtil.EPSILON)) {
+			return Coordinate.ZERO;
+		}
+
+		interpolate(conditions, aoa);
+		final double cn = coefficients[AerodynamicTable.CN];
+		if (Math.abs(cn) < MathUtil.EPSILON) {
+			return Coordinate.ZERO;
+		}
+		final double x = coefficients[AerodynamicTable.CM] / cn * table.getRefLength();
+		final double cna = cn / Math.sin(aoa) * table.getRefArea() / conditions.getRefArea();
+		return new Coordinate(x, 0, 0, cna);
+	}
+
+	@Override
+	public AerodynamicForces getAerodynamicForces(FlightConfiguration configuration, FlightConditions conditions,
+			WarningSet warnings) {
+		if (warnings == null)
+			warnings = ignoreWarningSet;
+
+		if (conditions.getAOA() > 17.5 * Math.PI / 180)
+			warnings.add(new Warning.LargeAOA(conditions.getAOA()));
+
+		final Coordinate cp = getCP(configuration, conditions, warnings);
+
+		interpolate(conditions, conditions.getAOA());
+		final double forceScale = table.getRefArea() / conditions.getRefArea();
+		final double momentScale = forceScale * table.getRefLength() / conditions.getRefLength();
+
+		final AerodynamicForces total = new AerodynamicForces().zero();
+		total.setComponent(configuration.getRocket());
+		total.setAxisymmetric(true);
+		total.setCP(cp);
+		total.setCNa(cp.weight);
+		total.setCN(coefficients[AerodynamicTable.CN] * forceScale);
+		total.setCm(coefficients[AerodynamicTable.CM] * momentScale);
+		total.setCroll(coefficients[AerodynamicTable.CL] * momentScale);
+		total.setCD(coefficients[AerodynamicTable.CD] * forceScale);
+		total.setCDaxial(coefficients[AerodynamicTable.CA] * forceScale);
+
+		// Damping moments as in BarrowmanCalculator, clamped to the pitch and yaw moments
+		final double velocity = conditions.getVelocity();
+		if (velocity > 0) {
+			final double mul = coefficients[AerodynamicTable.CMQ] * momentScale;
+			final double pitchRate = conditions.getPitchRate();
+			final double yawRate = conditions.getYawRate();
+			final double pitchDamping = MathUtil.min(mul * MathUtil.pow2(pitchRate / velocity), total.getCm());
+			final double yawDamping = MathUtil.min(mul * MathUtil.pow2(yawRate / velocity), total.getCyaw());
+			total.setPitchDampingMoment(MathUtil.sign(pitchRate) * pitchDamping);
+			total.setYawDampingMoment(MathUtil.sign(yawRate) * yawDamping);
+			total.setCm(total.getCm() - total.getPitchDampingMoment());
+			total.setCyaw(total.getCyaw() - total.getYawDampingMoment());
+		}
+
+		return total;
+	}
+
+	/**
+	 * Return the tabulated forces as the forces of the rocket; the table has no component breakdown.
+	 */
+	@Override
+	public Map<RocketComponent, AerodynamicForces> getForceAnalysis(FlightConfiguration configuration,
+			FlightConditions conditions, WarningSet warnings) {
+		final Map<RocketComponent, AerodynamicForces> map = new LinkedHashMap<>();
+		map.put(configuration.getRocket(), getAerodynamicForces(configuration, conditions, warnings));
+		return map;
+	}
+
+	@Override
+	public void checkGeometry(FlightConfiguration configuration, RocketComponent component, WarningSet warnings) {
+		// The geometry is not used
+	}
+
+	@Override
+	public int getModID() {
+		// The table is immutable, return constant mod ID
+		return 0;
+	}
+}
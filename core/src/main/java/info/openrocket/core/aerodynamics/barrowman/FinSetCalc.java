@@ -10,6 +10,7 @@ import info.openrocket.core.aerodynamics.FlightConditions;
 import info.openrocket.core.logging.Warning;
 import info.openrocket.core.logging.WarningSet;
 import info.openrocket.core.rocketcomponent.FinSet;
+import info.openrocket.core.rocketcomponent.FinSetGeometry;
 import info.openrocket.core.rocketcomponent.RocketComponent;
 import info.openrocket.core.util.BugException;
 import info.openrocket.core.util.Coordinate;
@@ -230,21 +231,23 @@ public class FinSetCalc extends RocketComponentCalc {
 	 */
 	protected void calculateFinGeometry(FinSet component) {
 		
-		span = component.getSpan();
+		final FinSetGeometry geometry = component.getFinGeometry();
+		span = geometry.getSpan();
 		finArea = component.getPlanformArea();
 		ar = 2 * pow2(span) / finArea;
 		
 		// Check geometry; don't consider points along fin root for this
 		// (doing so will cause spurious jagged fin warnings)
-		Coordinate[] points = component.getFinPoints();
 		geometryWarnings.clear();
 		boolean down = false;
-		for (int i = 1; i < points.length; i++) {
-			if ((points[i].y > points[i - 1].y + 0.001) && down) {
+		for (int i = 1; i < geometry.getFinPointCount(); i++) {
+			final double y = geometry.getFinY(i);
+			final double yPrev = geometry.getFinY(i - 1);
+			if ((y > yPrev + 0.001) && down) {
 				geometryWarnings.add(Warning.JAGGED_EDGED_FIN, component);
 				break;
 			}
-			if (points[i].y < points[i - 1].y - 0.001) {
+			if (y < yPrev - 0.001) {
 				down = true;
 			}
 		}
@@ -260,7 +263,7 @@ public class FinSetCalc extends RocketComponentCalc {
 		
 		// Calculate the chord lead and trail positions and length.  We do need the points
 		// along the root for this
-		points = component.getFinPointsWithRoot();
+		Coordinate[] points = geometry.getFinPointsWithRoot();
 		Arrays.fill(chordLead, Double.POSITIVE_INFINITY);
 		Arrays.fill(chordTrail, Double.NEGATIVE_INFINITY);
 		Arrays.fill(chordLength, 0);
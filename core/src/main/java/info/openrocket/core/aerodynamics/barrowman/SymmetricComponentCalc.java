@@ -84,6 +84,8 @@ public class SymmetricComponentCalc extends RocketComponentCalc {
 			param = ((Transition) component).getShapeParameter();
 			frontalArea = Math.abs(Math.PI * (foreRadius * foreRadius - aftRadius * aftRadius));
 
+			// The aft angle depends on a radius difference much smaller than the interpolation
+			// error of the radius profile, so it is evaluated from the exact shape
 			double r = component.getRadius(0.99 * length);
 			sinphi = (aftRadius - r) / MathUtil.hypot(aftRadius - r, 0.01 * length);
 		} else {
@@ -1,5 +1,7 @@
 package info.openrocket.core.database;
 
+import info.openrocket.core.startup.StartupTimeline;
+
 /**
  * A class that manages calling a DatabaseLoader in the background.
  * 
@@ -34,7 +36,7 @@ public abstract class AsynchronousDatabaseLoader {
 	 * 
 	 * @throws IllegalStateException if this method has already been called.
 	 */
-	public void startLoading() {
+	public synchronized void startLoading() {
 		if (startedLoading) {
 			throw new IllegalStateException("Already called startLoading");
 		}
@@ -42,6 +44,16 @@ public abstract class AsynchronousDatabaseLoader {
 		new LoadingThread().start();
 	}
 
+	/**
+	 * Start loading the database unless it has already been started.  This allows loading
+	 * databases that are not needed at startup lazily, when they are first used.
+	 */
+	public synchronized void startLoadingIfNeeded() {
+		if (!startedLoading) {
+			startLoading();
+		}
+	}
+
 	/**
 	 * @return whether loading the database has ended.
 	 */
@@ -93,7 +105,9 @@ public abstract class AsynchronousDatabaseLoader {
 		// Pause for indicated startup time
 		pauseForStartupTime();
 
-		loadDatabase();
+		try (StartupTimeline.Phase phase = StartupTimeline.begin(getClass().getSimpleName())) {
+			loadDatabase();
+		}
 
 		synchronized (this) {
 			endedLoading = true;
@@ -2,7 +2,13 @@ package info.openrocket.core.database;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.slf4j.Logger;
@@ -11,62 +17,125 @@ import org.slf4j.LoggerFactory;
 import info.openrocket.core.preset.ComponentPreset;
 import info.openrocket.core.startup.Application;
 
+/**
+ * The database of component presets.
+ * <p>
+ * The presets are indexed by type and by part number.  Presets of a {@link ComponentPresetIndex} are only loaded
+ * when presets of their type are first requested.
+ */
 public class ComponentPresetDatabase extends Database<ComponentPreset> implements ComponentPresetDao {
 
 	private static final Logger logger = LoggerFactory.getLogger(ComponentPresetDatabase.class);
 
+	/** the presets of each type, in natural order */
+	private final Map<ComponentPreset.Type, List<ComponentPreset>> byType = new EnumMap<>(ComponentPreset.Type.class);
+	/** the presets with each part number */
+	private final Map<String, List<ComponentPreset>> byPartNo = new HashMap<>();
+
+	private final List<ComponentPresetIndex> indexes = new ArrayList<>();
+	/** the types whose presets have not been loaded from the indexes yet */
+	private final Set<ComponentPreset.Type> unloadedTypes = EnumSet.noneOf(ComponentPreset.Type.class);
+
 	public ComponentPresetDatabase() {
 		super();
 	}
 
+	/**
+	 * Add the presets of a preset index to the database.  The presets are loaded when presets of their
+	 * type are first requested.  No add events are fired for them.
+	 *
+	 * @param index the preset index
+	 */
+	public synchronized void addIndex(ComponentPresetIndex index) {
+		indexes.add(index);
+		unloadedTypes.addAll(index.getTypes());
+	}
+
 	@Override
-	public List<ComponentPreset> listAll() {
+	public synchronized List<ComponentPreset> listAll() {
+		loadAllTypes();
 		return list;
 	}
 
 	@Override
-	public void insert(ComponentPreset preset) {
+	public synchronized void insert(ComponentPreset preset) {
+		loadType(preset.getType());
 		list.add(preset);
+		addToIndex(preset);
 	}
 
 	@Override
-	public List<ComponentPreset> listForType(ComponentPreset.Type type) {
-		if (type == null) {
-			return Collections.emptyList();
+	public synchronized boolean add(ComponentPreset preset) {
+		// Load the presets of the type first so that duplicates of them are detected
+		loadType(preset.getType());
+		List<ComponentPreset> presets = byType.get(preset.getType());
+		if (presets != null && presets.contains(preset)) {
+			return false;
 		}
+		// Index before adding, the listeners notified by super.add may query the database
+		addToIndex(preset);
+		return super.add(preset);
+	}
 
-		List<ComponentPreset> result = new ArrayList<ComponentPreset>(list.size() / 6);
+	@Override
+	public synchronized Iterator<ComponentPreset> iterator() {
+		loadAllTypes();
+		return super.iterator();
+	}
 
-		for (ComponentPreset preset : list) {
-			if (preset.get(ComponentPreset.TYPE).equals(type)) {
-				result.add(preset);
-			}
+	@Override
+	public synchronized int size() {
+		loadAllTypes();
+		return super.size();
+	}
+
+	@Override
+	public synchronized ComponentPreset get(int index) {
+		loadAllTypes();
+		return super.get(index);
+	}
+
+	@Override
+	public synchronized int indexOf(ComponentPreset m) {
+		loadAllTypes();
+		return super.indexOf(m);
+	}
+
+	@Override
+	public synchronized List<ComponentPreset> listForType(ComponentPreset.Type type) {
+		if (type == null) {
+			return Collections.emptyList();
 		}
-		return result;
 
+		loadType(type);
+		List<ComponentPreset> presets = byType.get(type);
+		if (presets == null) {
+			return new ArrayList<>();
+		}
+		return new ArrayList<>(presets);
 	}
 
 	/**
 	 * Return a list of component presets based on the type.
 	 * All components returned will be of Type type.
-	 * 
+	 *
 	 * @param type
 	 * @param favorite if true, only return the favorites. otherwise return all
 	 *                 matching.
 	 * @return
 	 */
 	@Override
-	public List<ComponentPreset> listForType(ComponentPreset.Type type, boolean favorite) {
+	public synchronized List<ComponentPreset> listForType(ComponentPreset.Type type, boolean favorite) {
 		if (!favorite) {
 			return listForType(type);
 		}
 
-		List<ComponentPreset> result = new ArrayList<ComponentPreset>(list.size() / 6);
+		List<ComponentPreset> result = new ArrayList<ComponentPreset>();
 
 		Set<String> favorites = Application.getPreferences().getComponentFavorites(type);
 
-		for (ComponentPreset preset : list) {
-			if (preset.get(ComponentPreset.TYPE).equals(type) && favorites.contains(preset.preferenceKey())) {
+		for (ComponentPreset preset : listForType(type)) {
+			if (favorites.contains(preset.preferenceKey())) {
 				result.add(preset);
 			}
 		}
@@ -74,7 +143,7 @@ public class ComponentPresetDatabase extends Database<ComponentPreset> implement
 	}
 
 	@Override
-	public List<ComponentPreset> listForTypes(ComponentPreset.Type... type) {
+	public synchronized List<ComponentPreset> listForTypes(ComponentPreset.Type... type) {
 		if (type == null || type.length == 0) {
 			return Collections.emptyList();
 		}
@@ -83,18 +152,12 @@ public class ComponentPresetDatabase extends Database<ComponentPreset> implement
 			return listForType(type[0]);
 		}
 
-		List<ComponentPreset> result = new ArrayList<ComponentPreset>(list.size() / 6);
-
-		for (ComponentPreset preset : list) {
-			ComponentPreset.Type presetType = preset.get(ComponentPreset.TYPE);
-			typeLoop: for (int i = 0; i < type.length; i++) {
-				if (presetType.equals(type[i])) {
-					result.add(preset);
-					break typeLoop; // from inner loop.
-				}
-			}
-
+		List<ComponentPreset> result = new ArrayList<ComponentPreset>();
+		for (ComponentPreset.Type t : EnumSet.of(type[0], type)) {
+			result.addAll(listForType(t));
 		}
+		// Keep the natural order of the database
+		Collections.sort(result);
 		return result;
 	}
 
@@ -104,10 +167,21 @@ public class ComponentPresetDatabase extends Database<ComponentPreset> implement
 	}
 
 	@Override
-	public List<ComponentPreset> find(String manufacturer, String partNo) {
+	public synchronized List<ComponentPreset> find(String manufacturer, String partNo) {
+		// Only load the types that contain the part
+		for (ComponentPresetIndex index : indexes) {
+			for (ComponentPreset.Type type : index.getTypes(manufacturer, partNo)) {
+				loadType(type);
+			}
+		}
+
 		List<ComponentPreset> presets = new ArrayList<ComponentPreset>();
-		for (ComponentPreset preset : list) {
-			if (preset.getManufacturer().matches(manufacturer) && preset.getPartNo().equals(partNo)) {
+		List<ComponentPreset> candidates = byPartNo.get(partNo);
+		if (candidates == null) {
+			return presets;
+		}
+		for (ComponentPreset preset : candidates) {
+			if (preset.getManufacturer().matches(manufacturer)) {
 				presets.add(preset);
 			}
 		}
@@ -120,4 +194,65 @@ public class ComponentPresetDatabase extends Database<ComponentPreset> implement
 		this.fireAddEvent(preset);
 	}
 
+	@Override
+	protected void fireRemoveEvent(ComponentPreset element) {
+		// Called when a preset is removed through the iterator
+		removeFromIndex(element);
+		super.fireRemoveEvent(element);
+	}
+
+	/**
+	 * Load the presets of the given type from the preset indexes, unless already loaded.
+	 */
+	private void loadType(ComponentPreset.Type type) {
+		if (!unloadedTypes.remove(type)) {
+			return;
+		}
+
+		long start = System.currentTimeMillis();
+		List<ComponentPreset> presets = byType.get(type);
+		Set<ComponentPreset> existing = presets == null ? Collections.emptySet() : new HashSet<>(presets);
+		int count = 0;
+		for (ComponentPresetIndex index : indexes) {
+			for (ComponentPreset preset : index.load(type)) {
+				if (existing.contains(preset)) {
+					continue;
+				}
+				list.add(preset);
+				byType.computeIfAbsent(type, t -> new ArrayList<>()).add(preset);
+				byPartNo.computeIfAbsent(preset.getPartNo(), p -> new ArrayList<>(1)).add(preset);
+				count++;
+			}
+		}
+		Collections.sort(list);
+		if (byType.containsKey(type)) {
+			Collections.sort(byType.get(type));
+		}
+		logger.debug("Loaded " + count + " " + type + " presets in " + (System.currentTimeMillis() - start) + "ms");
+	}
+
+	private void loadAllTypes() {
+		for (ComponentPreset.Type type : new ArrayList<>(unloadedTypes)) {
+			loadType(type);
+		}
+	}
+
+	private void addToIndex(ComponentPreset preset) {
+		List<ComponentPreset> presets = byType.computeIfAbsent(preset.getType(), t -> new ArrayList<>());
+		int index = Collections.binarySearch(presets, preset);
+		presets.add(index < 0 ? -(index + 1) : index, preset);
+		byPartNo.computeIfAbsent(preset.getPartNo(), p -> new ArrayList<>(1)).add(preset);
+	}
+
+	private void removeFromIndex(ComponentPreset preset) {
+		List<ComponentPreset> presets = byType.get(preset.getType());
+		if (presets != null) {
+			presets.remove(preset);
+		}
+		presets = byPartNo.get(preset.getPartNo());
+		if (presets != null) {
+			presets.remove(preset);
+		}
+	}
+
 }
@@ -3,6 +3,9 @@ package info.openrocket.core.database;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Path;
 import java.util.Collection;
 
 import info.openrocket.core.file.iterator.DirectoryIterator;
@@ -26,6 +29,8 @@ public class ComponentPresetDatabaseLoader extends AsynchronousDatabaseLoader {
 	private final static Logger log = LoggerFactory.getLogger(ComponentPresetDatabaseLoader.class);
 	
 	private static final String SYSTEM_PRESET_DIR = "datafiles/components";
+	/** the index of the system presets, generated by the build */
+	private static final String SYSTEM_PRESET_INDEX = "datafiles/presets.idx";
 	private int fileCount = 0;
 	private int presetCount = 0;
 	
@@ -87,6 +92,10 @@ public class ComponentPresetDatabaseLoader extends AsynchronousDatabaseLoader {
 	 * uses the file directory from "datafiles/components"
 	 */
 	private void loadPresetComponents() {
+		if (loadPresetIndex()) {
+			return;
+		}
+
 		log.info("Loading component presets from " + SYSTEM_PRESET_DIR);
 		FileIterator iterator = DirectoryIterator.findDirectory(SYSTEM_PRESET_DIR, new SimpleFileFilter("", false, "orc"));
 		
@@ -102,6 +111,39 @@ public class ComponentPresetDatabaseLoader extends AsynchronousDatabaseLoader {
 		}
 	}
 	
+	/**
+	 * adds the presets of the preset index generated by the build to the database.
+	 * the presets are loaded when first needed.
+	 * 
+	 * @return	whether the index was available
+	 */
+	private boolean loadPresetIndex() {
+		URL url = ComponentPresetDatabaseLoader.class.getClassLoader().getResource(SYSTEM_PRESET_INDEX);
+		if (url == null) {
+			log.info("Component preset index not found, parsing the preset files");
+			return false;
+		}
+		
+		try {
+			ComponentPresetIndex index;
+			if ("file".equals(url.getProtocol())) {
+				index = ComponentPresetIndex.open(Path.of(url.toURI()));
+			} else {
+				try (InputStream stream = url.openStream()) {
+					index = ComponentPresetIndex.read(stream);
+				}
+			}
+			componentPresetDao.addIndex(index);
+			fileCount++;
+			presetCount += index.size();
+			log.info("Using component preset index " + url + " with " + index.size() + " presets");
+			return true;
+		} catch (IOException | URISyntaxException e) {
+			log.warn("Unable to read component preset index " + url + ", parsing the preset files", e);
+			return false;
+		}
+	}
+	
 	/**
 	 * load components from a custom component file
 	 * uses an OpenRocketComponentLoader for the job
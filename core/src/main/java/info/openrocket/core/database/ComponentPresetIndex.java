@@ -0,0 +1,288 @@
+package info.openrocket.core.database;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import info.openrocket.core.file.iterator.DirectoryIterator;
+import info.openrocket.core.file.iterator.FileIterator;
+import info.openrocket.core.gui.util.SimpleFileFilter;
+import info.openrocket.core.motor.Manufacturer;
+import info.openrocket.core.preset.ComponentPreset;
+import info.openrocket.core.preset.xml.OpenRocketComponentLoader;
+import info.openrocket.core.util.BugException;
+import info.openrocket.core.util.Pair;
+
+/**
+ * A precompiled index of component presets.
+ * <p>
+ * The index is generated from the <code>.orc</code> files at build time (see {@link #main(String[])}), so that the
+ * presets don't need to be parsed at startup.  It consists of a table with the type, manufacturer and part number of
+ * every preset, followed by the serialized presets themselves.  Only the table is read when the index is opened;
+ * the presets (including their image data) are deserialized when they are requested.
+ * <p>
+ * Materials are stored by their untranslated name and looked up in the material database when a preset is
+ * deserialized, so the index does not depend on the language it was built in.
+ * <p>
+ * The index file is memory mapped when it is available as a file, otherwise its contents are read into memory.
+ */
+public class ComponentPresetIndex {
+
+	private static final int MAGIC = 0x4f524349; // "ORCI"
+	private static final int VERSION = 2;
+
+	private final ByteBuffer data;
+	private final int payloadStart;
+
+	private final ComponentPreset.Type[] types;
+	private final String[] manufacturers;
+	private final String[] partNos;
+	private final int[] offsets;
+	private final int[] lengths;
+
+	private ComponentPresetIndex(ByteBuffer data) throws IOException {
+		this.data = data;
+		try {
+			ByteBuffer buf = data.duplicate();
+			if (buf.getInt() != MAGIC) {
+				throw new IOException("Not a component preset index");
+			}
+			int version = buf.getInt();
+			if (version != VERSION) {
+				throw new IOException("Unsupported component preset index version " + version);
+			}
+
+			final ComponentPreset.Type[] allTypes = ComponentPreset.Type.values();
+			final int count = buf.getInt();
+			types = new ComponentPreset.Type[count];
+			manufacturers = new String[count];
+			partNos = new String[count];
+			offsets = new int[count];
+			lengths = new int[count];
+			for (int i = 0; i < count; i++) {
+				types[i] = allTypes[buf.get()];
+				manufacturers[i] = readString(buf);
+				partNos[i] = readString(buf);
+				offsets[i] = buf.getInt();
+				lengths[i] = buf.getInt();
+			}
+			payloadStart = buf.position();
+		} catch (BufferUnderflowException | ArrayIndexOutOfBoundsException e) {
+			throw new IOException("Corrupt component preset index", e);
+		}
+	}
+
+	/**
+	 * Open an index file by memory mapping it.
+	 *
+	 * @param file the index file
+	 * @return the index
+	 * @throws IOException if the file cannot be read or is not a valid index
+	 */
+	public static ComponentPresetIndex open(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			return new ComponentPresetIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	/**
+	 * Read an index from a stream, for example a resource within a jar file.
+	 *
+	 * @param stream the stream to read, it is not closed
+	 * @return the index
+	 * @throws IOException if the stream cannot be read or is not a valid index
+	 */
+	public static ComponentPresetIndex read(InputStream stream) throws IOException {
+		return new ComponentPresetIndex(ByteBuffer.wrap(stream.readAllBytes()));
+	}
+
+	/**
+	 * @return the number of presets in the index
+	 */
+	public int size() {
+		return types.length;
+	}
+
+	/**
+	 * @return the types of the presets in the index
+	 */
+	public Set<ComponentPreset.Type> getTypes() {
+		Set<ComponentPreset.Type> result = EnumSet.noneOf(ComponentPreset.Type.class);
+		Collections.addAll(result, types);
+		return result;
+	}
+
+	/**
+	 * Return the types of the presets with the given manufacturer and part number, without loading them.
+	 *
+	 * @param manufacturer the manufacturer name, matched against all names of the manufacturer
+	 * @param partNo the part number
+	 * @return the types of the matching presets
+	 */
+	public Set<ComponentPreset.Type> getTypes(String manufacturer, String partNo) {
+		Set<ComponentPreset.Type> result = EnumSet.noneOf(ComponentPreset.Type.class);
+		for (int i = 0; i < partNos.length; i++) {
+			if (partNos[i].equals(partNo) && Manufacturer.getManufacturer(manufacturers[i]).matches(manufacturer)) {
+				result.add(types[i]);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Load all presets of the given type.  Every call deserializes new preset instances.
+	 *
+	 * @param type the preset type
+	 * @return the presets of the type, in index order
+	 */
+	public List<ComponentPreset> load(ComponentPreset.Type type) {
+		List<ComponentPreset> result = new ArrayList<>();
+		for (int i = 0; i < types.length; i++) {
+			if (types[i] == type) {
+				result.add(loadPreset(i));
+			}
+		}
+		return result;
+	}
+
+	private ComponentPreset loadPreset(int index) {
+		ByteBuffer buf = data.duplicate();
+		buf.position(payloadStart + offsets[index]);
+		buf.limit(payloadStart + offsets[index] + lengths[index]);
+		try (ObjectInputStream ois = new ObjectInputStream(new ByteBufferInputStream(buf))) {
+			return (ComponentPreset) ois.readObject();
+		} catch (IOException | ClassNotFoundException e) {
+			throw new BugException("Unable to read preset " + partNos[index] + " from component preset index", e);
+		}
+	}
+
+	/**
+	 * Write an index of the given presets.
+	 *
+	 * @param presets the presets to write
+	 * @param stream the stream to write to, it is not closed
+	 * @throws IOException if an IO error occurs
+	 */
+	public static void write(Collection<ComponentPreset> presets, OutputStream stream) throws IOException {
+		// Every preset is serialized on its own so that it can be deserialized independently of the others
+		List<byte[]> payloads = new ArrayList<>(presets.size());
+		for (ComponentPreset preset : presets) {
+			ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+				oos.writeObject(preset);
+			}
+			payloads.add(bos.toByteArray());
+		}
+
+		DataOutputStream os = new DataOutputStream(stream);
+		os.writeInt(MAGIC);
+		os.writeInt(VERSION);
+		os.writeInt(presets.size());
+		int offset = 0;
+		int i = 0;
+		for (ComponentPreset preset : presets) {
+			os.writeByte(preset.getType().ordinal());
+			writeString(os, preset.getManufacturer().getSimpleName());
+			writeString(os, preset.getPartNo());
+			os.writeInt(offset);
+			os.writeInt(payloads.get(i).length);
+			offset += payloads.get(i).length;
+			i++;
+		}
+		for (byte[] payload : payloads) {
+			os.write(payload);
+		}
+		os.flush();
+	}
+
+	private static void writeString(DataOutputStream os, String s) throws IOException {
+		byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+		os.writeInt(bytes.length);
+		os.write(bytes);
+	}
+
+	private static String readString(ByteBuffer buf) {
+		byte[] bytes = new byte[buf.getInt()];
+		buf.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Build the index of all <code>.orc</code> files in a directory.  Run by the build.
+	 */
+	public static void main(String[] args) throws Exception {
+		if (args.length != 2) {
+			System.out.println("Usage:  java " + ComponentPresetIndex.class.getCanonicalName()
+					+ " <input-dir> <output-file>");
+			System.exit(1);
+		}
+
+		List<ComponentPreset> presets = new ArrayList<>();
+		FileIterator iterator = new DirectoryIterator(new File(args[0]), new SimpleFileFilter("", false, "orc"), true);
+		while (iterator.hasNext()) {
+			Pair<File, InputStream> f = iterator.next();
+			try (InputStream stream = f.getV()) {
+				presets.addAll(new OpenRocketComponentLoader().load(stream, f.getU().getName()));
+			}
+		}
+
+		Path output = Path.of(args[1]);
+		if (output.getParent() != null) {
+			Files.createDirectories(output.getParent());
+		}
+		try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(output))) {
+			write(presets, os);
+		}
+		System.out.println("Wrote " + presets.size() + " component presets to " + output);
+	}
+
+	/**
+	 * An input stream reading the remaining contents of a byte buffer.
+	 */
+	private static class ByteBufferInputStream extends InputStream {
+		private final ByteBuffer buf;
+
+		private ByteBufferInputStream(ByteBuffer buf) {
+			this.buf = buf;
+		}
+
+		@Override
+		public int read() {
+			return buf.hasRemaining() ? buf.get() & 0xff : -1;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) {
+			if (!buf.hasRemaining()) {
+				return -1;
+			}
+			len = Math.min(len, buf.remaining());
+			buf.get(b, off, len);
+			return len;
+		}
+
+		@Override
+		public int available() {
+			return buf.remaining();
+		}
+	}
+}
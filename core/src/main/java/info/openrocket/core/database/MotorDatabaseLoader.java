@@ -57,6 +57,8 @@ public class MotorDatabaseLoader extends AsynchronousDatabaseLoader {
 	protected void loadDatabase() {
 		loadSerializedMotorDatabase();
 		loadUserDefinedMotors();
+		// Build the search index in the loader thread
+		database.getIndex();
 	}
 
 
@@ -1,6 +1,7 @@
 package info.openrocket.core.database.motor;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
 
@@ -20,6 +21,7 @@ public class ThrustCurveMotorSetDatabase implements MotorDatabase {
 	private static final Logger log = LoggerFactory.getLogger(ThrustCurveMotorSetDatabase.class);
 
 	private final List<ThrustCurveMotorSet> motorSets = new ArrayList<ThrustCurveMotorSet>();
+	private ThrustCurveMotorSetIndex index = null;
 
 	@Override
 	public List<ThrustCurveMotor> findMotors(String digest, Motor.Type type, String manufacturer, String designation,
@@ -28,41 +30,46 @@ public class ThrustCurveMotorSetDatabase implements MotorDatabase {
 		ArrayList<ThrustCurveMotor> digestMatches = new ArrayList<ThrustCurveMotor>();
 		ArrayList<ThrustCurveMotor> descriptionMatches = new ArrayList<ThrustCurveMotor>();
 
+		ThrustCurveMotorSetIndex index = getIndex();
+
+		// unlike the description, digest must be present in search criteria to get a
+		// match
+		if (digest != null) {
+			digestMatches.addAll(index.findByDigest(digest));
+		}
+
+		// Only the motor sets of matching size can match the description.  The motors of a set may
+		// differ in size by the comparison tolerance, so the motors are checked individually below.
+		BitSet candidates = index.all();
+		if (!Double.isNaN(diameter)) {
+			candidates.and(getCandidates(index, ThrustCurveMotorSetIndex.Field.DIAMETER, diameter));
+		}
+		if (!Double.isNaN(length)) {
+			candidates.and(getCandidates(index, ThrustCurveMotorSetIndex.Field.LENGTH, length));
+		}
+
 		// Apply filters to see if we can find any motors that match the given criteria.
 		// We'll return
 		// the most restrictive nonempty list we find, or empty list if no matches at
 		// all
-		for (ThrustCurveMotorSet set : motorSets) {
+		for (ThrustCurveMotorSet set : index.getMotorSets(candidates)) {
+			if (type != null && type != set.getType())
+				continue;
 			for (ThrustCurveMotor m : set.getMotors()) {
-				boolean matchDescription = true;
-				boolean matchDigest = true;
-
-				// unlike the description, digest must be present in search criteria to get a
-				// match
-				if (digest == null || digest != m.getDigest())
-					matchDigest = false;
-
-				// match description
-				if (type != null && type != set.getType())
-					matchDescription = false;
-				else if (manufacturer != null && !m.getManufacturer().matches(manufacturer))
-					matchDescription = false;
+				if (manufacturer != null && !m.getManufacturer().matches(manufacturer))
+					continue;
 				else if (designation != null &&
 						!m.getDesignation().toUpperCase().contains(designation.toUpperCase()) &&
 						!designation.toUpperCase().contains(m.getCommonName().toUpperCase()))
-					matchDescription = false;
+					continue;
 				else if (!Double.isNaN(diameter) && (Math.abs(diameter - m.getDiameter()) > 0.005))
-					matchDescription = false;
+					continue;
 				else if (!Double.isNaN(length) && (Math.abs(length - m.getLength()) > 0.005))
-					matchDescription = false;
+					continue;
 
-				if (matchDigest)
-					digestMatches.add(m);
+				descriptionMatches.add(m);
 
-				if (matchDescription)
-					descriptionMatches.add(m);
-
-				if (matchDigest && matchDescription)
+				if (digest != null && digest == m.getDigest())
 					fullMatches.add(m);
 			}
 		}
@@ -77,6 +84,30 @@ public class ThrustCurveMotorSetDatabase implements MotorDatabase {
 
 	}
 
+	/**
+	 * Return the motor sets that may match a size.  Motor sets without a value for the size always
+	 * match, as the size comparison of their motors never fails.
+	 */
+	private static BitSet getCandidates(ThrustCurveMotorSetIndex index, ThrustCurveMotorSetIndex.Field field,
+			double value) {
+		BitSet result = index.range(field, value - 0.006, value + 0.006);
+		result.or(index.undefined(field));
+		return result;
+	}
+
+	/**
+	 * Return an index of the motor sets.  The index is built when first requested
+	 * and rebuilt after motors have been added.
+	 */
+	public synchronized ThrustCurveMotorSetIndex getIndex() {
+		if (index == null) {
+			long t0 = System.currentTimeMillis();
+			index = new ThrustCurveMotorSetIndex(motorSets);
+			log.debug("Indexed " + motorSets.size() + " motor sets in " + (System.currentTimeMillis() - t0) + "ms");
+		}
+		return index;
+	}
+
 	/**
 	 * Return a list of all ThrustCurveMotorSets.
 	 */
@@ -92,7 +123,8 @@ public class ThrustCurveMotorSetDatabase implements MotorDatabase {
 	 * 
 	 * @param motor the motor to add
 	 */
-	public void addMotor(ThrustCurveMotor motor) {
+	public synchronized void addMotor(ThrustCurveMotor motor) {
+		index = null;
 		// Iterate from last to first, as this is most likely to hit early when loading
 		// files
 		for (int i = motorSets.size() - 1; i >= 0; i--) {
@@ -0,0 +1,307 @@
+package info.openrocket.core.database.motor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import info.openrocket.core.motor.ThrustCurveMotor;
+
+/**
+ * An immutable in-memory index of motor sets.
+ * <p>
+ * The designation, common name, manufacturer names and case info of the motor sets are indexed by
+ * their n-grams of up to {@value #GRAM_LENGTH} characters, so case-insensitive substring searches
+ * only need to verify the candidates sharing the n-grams of the search term.  The diameter, length,
+ * total impulse and burn time are indexed by sorted arrays for range queries.
+ * <p>
+ * Query results are bit sets of motor set positions in {@link #getMotorSets()}, which can be
+ * combined with the bit set operations.  The index does not depend on the GUI and can be shared
+ * between threads.
+ */
+public class ThrustCurveMotorSetIndex {
+
+	/** The numeric fields of the index */
+	public enum Field {
+		/** diameter, in meters */
+		DIAMETER,
+		/** length, in meters */
+		LENGTH,
+		/** estimated total impulse, in Ns */
+		TOTAL_IMPULSE,
+		/** estimated burn time of the first thrust curve, in seconds */
+		BURN_TIME;
+	}
+
+	private static final int GRAM_LENGTH = 3;
+	private static final int[] EMPTY = new int[0];
+
+	private final List<ThrustCurveMotorSet> motorSets;
+	/** the lower case searchable text of each motor set, the fields separated by newlines */
+	private final String[] text;
+	/** n-gram to sorted motor set positions */
+	private final Map<String, int[]> grams;
+	/** for each field, the motor set positions sorted by value and the sorted values */
+	private final int[][] sortedPositions = new int[Field.values().length][];
+	private final double[][] sortedValues = new double[Field.values().length][];
+	/** motors by digest; digests are compared by reference as in the linear search */
+	private final Map<String, List<ThrustCurveMotor>> digests = new IdentityHashMap<>();
+
+	/**
+	 * Index a list of motor sets.  The motor sets must not be modified afterwards.
+	 *
+	 * @param motorSets the motor sets
+	 */
+	public ThrustCurveMotorSetIndex(List<ThrustCurveMotorSet> motorSets) {
+		this.motorSets = Collections.unmodifiableList(new ArrayList<>(motorSets));
+		final int n = this.motorSets.size();
+
+		// Text index
+		this.text = new String[n];
+		Map<String, BitSet> gramSets = new HashMap<>();
+		for (int i = 0; i < n; i++) {
+			ThrustCurveMotorSet set = this.motorSets.get(i);
+			StringBuilder sb = new StringBuilder();
+			append(sb, set.getDesignation());
+			append(sb, set.getCommonName());
+			append(sb, set.getCaseInfo());
+			if (set.getManufacturer() != null) {
+				append(sb, set.getManufacturer().getDisplayName());
+				for (String name : set.getManufacturer().getAllNames()) {
+					append(sb, name);
+				}
+			}
+			text[i] = sb.toString();
+			for (String field : text[i].split("\n")) {
+				for (int start = 0; start < field.length(); start++) {
+					for (int len = 1; len <= GRAM_LENGTH && start + len <= field.length(); len++) {
+						gramSets.computeIfAbsent(field.substring(start, start + len), g -> new BitSet(n)).set(i);
+					}
+				}
+			}
+		}
+		this.grams = new HashMap<>(gramSets.size() * 2);
+		for (Map.Entry<String, BitSet> e : gramSets.entrySet()) {
+			grams.put(e.getKey(), e.getValue().stream().toArray());
+		}
+
+		// Numeric indexes
+		for (Field field : Field.values()) {
+			final double[] values = new double[n];
+			for (int i = 0; i < n; i++) {
+				values[i] = getValue(this.motorSets.get(i), field);
+			}
+			Integer[] order = new Integer[n];
+			for (int i = 0; i < n; i++) {
+				order[i] = i;
+			}
+			Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+			int[] positions = new int[n];
+			double[] sorted = new double[n];
+			for (int i = 0; i < n; i++) {
+				positions[i] = order[i];
+				sorted[i] = values[order[i]];
+			}
+			sortedPositions[field.ordinal()] = positions;
+			sortedValues[field.ordinal()] = sorted;
+		}
+
+		// Digests
+		for (ThrustCurveMotorSet set : this.motorSets) {
+			for (ThrustCurveMotor m : set.getMotors()) {
+				digests.computeIfAbsent(m.getDigest(), d -> new ArrayList<>(1)).add(m);
+			}
+		}
+	}
+
+	private static void append(StringBuilder sb, String s) {
+		if (s == null || s.isEmpty()) {
+			return;
+		}
+		if (sb.length() > 0) {
+			sb.append('\n');
+		}
+		sb.append(s.toLowerCase(Locale.ROOT).replace('\n', ' '));
+	}
+
+	/**
+	 * Return the value of a numeric field of a motor set.
+	 */
+	public static double getValue(ThrustCurveMotorSet set, Field field) {
+		switch (field) {
+			case DIAMETER:
+				return set.getDiameter();
+			case LENGTH:
+				return set.getLength();
+			case TOTAL_IMPULSE:
+				return set.getTotalImpulse();
+			case BURN_TIME:
+				return set.getMotorCount() == 0 ? Double.NaN : set.getMotors().get(0).getBurnTimeEstimate();
+			default:
+				throw new IllegalArgumentException("Unknown field " + field);
+		}
+	}
+
+	/**
+	 * Return the indexed motor sets.  The positions of the query results refer to this list.
+	 */
+	public List<ThrustCurveMotorSet> getMotorSets() {
+		return motorSets;
+	}
+
+	/**
+	 * Return the number of indexed motor sets.
+	 */
+	public int size() {
+		return motorSets.size();
+	}
+
+	/**
+	 * Return the motor sets at the set positions of a query result, in index order.
+	 */
+	public List<ThrustCurveMotorSet> getMotorSets(BitSet positions) {
+		List<ThrustCurveMotorSet> result = new ArrayList<>(positions.cardinality());
+		for (int i = positions.nextSetBit(0); i >= 0; i = positions.nextSetBit(i + 1)) {
+			result.add(motorSets.get(i));
+		}
+		return result;
+	}
+
+	/**
+	 * Return a bit set containing all motor set positions.
+	 */
+	public BitSet all() {
+		BitSet result = new BitSet(size());
+		result.set(0, size());
+		return result;
+	}
+
+	/**
+	 * Return the motor sets whose designation, common name, manufacturer or case info contains
+	 * the given term, ignoring case.  An empty term matches all motor sets.
+	 *
+	 * @param term the search term
+	 * @return the positions of the matching motor sets
+	 */
+	public BitSet search(String term) {
+		term = term.trim().toLowerCase(Locale.ROOT);
+		if (term.isEmpty()) {
+			return all();
+		}
+		if (term.length() <= GRAM_LENGTH) {
+			// All substrings of up to GRAM_LENGTH characters are indexed
+			return toBitSet(grams.getOrDefault(term, EMPTY));
+		}
+
+		// Candidates contain all n-grams of the term, verify them
+		int[] candidates = null;
+		for (int start = 0; start + GRAM_LENGTH <= term.length(); start += GRAM_LENGTH - 1) {
+			int[] postings = grams.getOrDefault(term.substring(start, start + GRAM_LENGTH), EMPTY);
+			candidates = (candidates == null) ? postings : intersect(candidates, postings);
+			if (candidates.length == 0) {
+				return new BitSet();
+			}
+		}
+		int[] last = grams.getOrDefault(term.substring(term.length() - GRAM_LENGTH), EMPTY);
+		candidates = intersect(candidates, last);
+
+		BitSet result = new BitSet(size());
+		for (int i : candidates) {
+			if (text[i].contains(term)) {
+				result.set(i);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Return the motor sets for which the value of a field is within a range.
+	 *
+	 * @param field the field
+	 * @param min   the minimum value, inclusive
+	 * @param max   the maximum value, inclusive
+	 * @return the positions of the matching motor sets
+	 */
+	public BitSet range(Field field, double min, double max) {
+		double[] values = sortedValues[field.ordinal()];
+		int[] positions = sortedPositions[field.ordinal()];
+		BitSet result = new BitSet(size());
+		for (int i = lowerBound(values, min); i < values.length && values[i] <= max; i++) {
+			result.set(positions[i]);
+		}
+		return result;
+	}
+
+	/**
+	 * Return the motor sets for which the value of a field is not defined (NaN).  These are never
+	 * included in the results of {@link #range(Field, double, double)}.
+	 *
+	 * @param field the field
+	 * @return the positions of the motor sets without a value
+	 */
+	public BitSet undefined(Field field) {
+		double[] values = sortedValues[field.ordinal()];
+		int[] positions = sortedPositions[field.ordinal()];
+		BitSet result = new BitSet(size());
+		// NaN is sorted after all other values
+		for (int i = values.length - 1; i >= 0 && Double.isNaN(values[i]); i--) {
+			result.set(positions[i]);
+		}
+		return result;
+	}
+
+	/**
+	 * Return the motors with the given digest.  Digests are compared by reference.
+	 */
+	List<ThrustCurveMotor> findByDigest(String digest) {
+		List<ThrustCurveMotor> motors = digests.get(digest);
+		return motors == null ? Collections.emptyList() : motors;
+	}
+
+	/**
+	 * Return the first index whose value is not less than the key.
+	 */
+	private static int lowerBound(double[] values, double key) {
+		int low = 0;
+		int high = values.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (values[mid] < key) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	private static int[] intersect(int[] a, int[] b) {
+		int[] result = new int[Math.min(a.length, b.length)];
+		int n = 0;
+		for (int i = 0, j = 0; i < a.length && j < b.length;) {
+			if (a[i] < b[j]) {
+				i++;
+			} else if (a[i] > b[j]) {
+				j++;
+			} else {
+				result[n++] = a[i];
+				i++;
+				j++;
+			}
+		}
+		return Arrays.copyOf(result, n);
+	}
+
+	private static BitSet toBitSet(int[] positions) {
+		BitSet result = new BitSet();
+		for (int i : positions) {
+			result.set(i);
+		}
+		return result;
+	}
+}
@@ -4,6 +4,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.util.EventListener;
 import java.util.EventObject;
 import java.util.List;
+import java.util.Set;
 
 import info.openrocket.core.simulation.FlightEvent;
 import org.slf4j.Logger;
@@ -16,6 +17,7 @@ import info.openrocket.core.formatting.RocketDescriptor;
 import info.openrocket.core.masscalc.MassCalculator;
 import info.openrocket.core.rocketcomponent.FlightConfiguration;
 import info.openrocket.core.rocketcomponent.FlightConfigurationId;
+import info.openrocket.core.rocketcomponent.ReadOnlyRocket;
 import info.openrocket.core.rocketcomponent.Rocket;
 import info.openrocket.core.simulation.BasicEventSimulationEngine;
 import info.openrocket.core.simulation.DefaultSimulationOptionFactory;
@@ -24,7 +26,9 @@ import info.openrocket.core.simulation.RK4SimulationStepper;
 import info.openrocket.core.simulation.SimulationConditions;
 import info.openrocket.core.simulation.SimulationEngine;
 import info.openrocket.core.simulation.SimulationOptions;
+import info.openrocket.core.simulation.SimulationResultCache;
 import info.openrocket.core.simulation.SimulationStepper;
+import info.openrocket.core.simulation.SummaryValue;
 import info.openrocket.core.simulation.exception.SimulationException;
 import info.openrocket.core.simulation.extension.SimulationExtension;
 import info.openrocket.core.simulation.listeners.SimulationListener;
@@ -168,6 +172,13 @@ public class Simulation implements ChangeSource, Cloneable {
 		return rocket.getFlightConfiguration(this.configId);
 	}
 
+	/**
+	 * Return the document of this simulation, or <code>null</code> if it was created without one.
+	 */
+	public OpenRocketDocument getDocument() {
+		return document;
+	}
+
 	/**
 	 * Return the rocket associated with this simulation.
 	 *
@@ -398,6 +409,82 @@ public class Simulation implements ChangeSource, Cloneable {
 	 */
 	public void simulate(SimulationListener... additionalListeners)
 			throws SimulationException {
+		simulate((ReadOnlyRocket) null, additionalListeners);
+	}
+
+	/**
+	 * Simulate the flight, or take the flight data from a cache if a simulation with the same
+	 * content has been run before.  A new result is stored in the cache, unless the simulation
+	 * fails.  The additional listeners are not called when the result is taken from the cache,
+	 * so they should not change the result, with the exception of a listener that evaluates the
+	 * custom expressions of the document, which are part of the cache key.
+	 *
+	 * @param cache					the cache to use, or <code>null</code> to always simulate
+	 * @param additionalListeners	additional simulation listeners (those defined by the simulation are used in any case)
+	 * @throws SimulationException	if a problem occurs during simulation
+	 * @see SimulationResultCache#getKey(Simulation)
+	 */
+	public void simulate(SimulationResultCache cache, SimulationListener... additionalListeners)
+			throws SimulationException {
+		if (cache == null || this.status == Status.EXTERNAL) {
+			simulate(additionalListeners);
+			return;
+		}
+
+		final String key = SimulationResultCache.getKey(this);
+		final FlightData cached = cache.get(key, rocket);
+		if (cached != null) {
+			log.debug("Simulation: using cached result " + key);
+			mutex.lock("simulate");
+			try {
+				simulatedData = cached;
+				simulatedConditions = options.clone();
+				simulatedConfigurationDescription = descriptor.format(this.rocket, getId());
+				simulatedConfigurationID = getActiveConfiguration().getModID();
+				status = Status.UPTODATE;
+				fireChangeEvent();
+			} finally {
+				mutex.unlock("simulate");
+			}
+			return;
+		}
+
+		simulate(additionalListeners);
+		cache.put(key, simulatedData);
+	}
+
+	/**
+	 * Simulate the flight only as far as needed for some summary values of the flight.  The
+	 * flight data then contains only the main branch of the flight, with only the data types
+	 * needed for the summary values, and ends when the values are determined.
+	 *
+	 * @param summaryValues			the summary values to determine, or <code>null</code> to simulate
+	 * 								the complete flight
+	 * @param additionalListeners	additional simulation listeners (those defined by the simulation are used in any case)
+	 * @throws SimulationException	if a problem occurs during simulation
+	 * @see SummaryValue
+	 */
+	public void simulate(Set<SummaryValue> summaryValues, SimulationListener... additionalListeners)
+			throws SimulationException {
+		simulate(null, summaryValues, additionalListeners);
+	}
+
+	/**
+	 * Simulate the flight of a read-only copy of the rocket, which may be shared with other
+	 * simulations running concurrently.  The rocket is not copied by the simulation engine.
+	 *
+	 * @param rocket				a read-only copy of the rocket of this simulation, or <code>null</code>
+	 * 								to simulate (a copy of) the rocket of this simulation
+	 * @param additionalListeners	additional simulation listeners (those defined by the simulation are used in any case)
+	 * @throws SimulationException	if a problem occurs during simulation
+	 */
+	public void simulate(ReadOnlyRocket rocket, SimulationListener... additionalListeners)
+			throws SimulationException {
+		simulate(rocket, null, additionalListeners);
+	}
+
+	private void simulate(ReadOnlyRocket rocket, Set<SummaryValue> summaryValues,
+			SimulationListener... additionalListeners) throws SimulationException {
 		mutex.lock("simulate");
 		SimulationEngine simulator = null;
 		simulatedData = null;
@@ -419,6 +506,8 @@ public class Simulation implements ChangeSource, Cloneable {
 
 			SimulationConditions simulationConditions = options.toSimulationConditions();
 			simulationConditions.setSimulation(this);
+			simulationConditions.setSharedRocket(rocket);
+			simulationConditions.setSummaryValues(summaryValues);
 			
 			for (SimulationExtension extension : simulationExtensions) {
 				extension.initialize(simulationConditions);
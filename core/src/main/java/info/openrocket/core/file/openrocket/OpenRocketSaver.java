@@ -115,6 +115,20 @@ public class OpenRocketSaver extends RocketSaver {
 		dest.flush();
 	}
 	
+	/**
+	 * Write the XML of the rocket structure alone, as it is stored in the .ork file.
+	 *
+	 * @param output	the writer to write to, which is flushed but not closed
+	 * @param rocket	the rocket to write
+	 * @throws IOException in case of an I/O error
+	 */
+	public void saveRocket(Writer output, Rocket rocket) throws IOException {
+		dest = output;
+		this.indent = 0;
+		saveComponent(rocket);
+		dest.flush();
+	}
+	
 	/*
 	 * Save all the custom expressions
 	 */
@@ -333,6 +347,7 @@ public class OpenRocketSaver extends RocketSaver {
 		writeElement("launchlatitude", cond.getLaunchLatitude());
 		writeElement("launchlongitude", cond.getLaunchLongitude());
 		writeElement("geodeticmethod", cond.getGeodeticComputation().name().toLowerCase(Locale.ENGLISH));
+		writeElement("recordingprofile", cond.getRecordingProfile().name().toLowerCase(Locale.ENGLISH));
 		
 		if (cond.isISAAtmosphere()) {
 			writeln("<atmosphere model=\"isa\"/>");
@@ -9,6 +9,7 @@ import info.openrocket.core.file.simplesax.ElementHandler;
 import info.openrocket.core.file.simplesax.PlainTextHandler;
 import info.openrocket.core.rocketcomponent.FlightConfigurationId;
 import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.simulation.RecordingProfile;
 import info.openrocket.core.simulation.SimulationOptions;
 import info.openrocket.core.util.GeodeticComputationStrategy;
 
@@ -107,6 +108,13 @@ class SimulationConditionsHandler extends AbstractElementHandler {
 			} else {
 				warnings.add("Unknown geodetic computation method '" + content + "'");
 			}
+		} else if (element.equals("recordingprofile")) {
+			RecordingProfile profile = (RecordingProfile) DocumentConfig.findEnum(content, RecordingProfile.class);
+			if (profile != null) {
+				options.setRecordingProfile(profile);
+			} else {
+				warnings.add("Unknown recording profile '" + content + "'");
+			}
 		} else if (element.equals("atmosphere")) {
 			atmosphereHandler.storeSettings(options, warnings);
 		} else if (element.equals("timestep")) {
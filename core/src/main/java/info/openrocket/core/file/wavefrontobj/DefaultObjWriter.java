@@ -0,0 +1,145 @@
+package info.openrocket.core.file.wavefrontobj;
+
+import de.javagl.obj.FloatTuple;
+import de.javagl.obj.FloatTuples;
+import de.javagl.obj.ObjFace;
+import de.javagl.obj.ReadableObj;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Writes one or more {@link ReadableObj} objects to a single OBJ file, one after the other.
+ * <p>
+ * Every object has its own zero-based vertex, texture coordinate and normal indices.  The indices of the faces are
+ * renumbered while writing so that they refer to the vertices of their own object in the combined file.  The objects
+ * therefore don't need to be merged in memory first, and can be discarded once they are written.
+ * The output is the same as {@link de.javagl.obj.ObjWriter} would produce for each object.
+ */
+public class DefaultObjWriter implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Writer writer;
+
+    private int vertexOffset = 0;
+    private int texCoordOffset = 0;
+    private int normalOffset = 0;
+    private boolean skipWritingDefaultGroup = true;
+
+    /**
+     * Open a new OBJ file for writing.  An existing file is overwritten.
+     * @param path The file to write to
+     * @param mtlFileNames The MTL files to reference in the OBJ file (may be empty)
+     * @throws IOException If an IO error occurs
+     */
+    public DefaultObjWriter(Path path, List<String> mtlFileNames) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+        if (mtlFileNames != null && !mtlFileNames.isEmpty()) {
+            writer.write("mtllib ");
+            writer.write(String.join(" ", mtlFileNames));
+            writer.write("\n");
+        }
+    }
+
+    /**
+     * Append the vertices, texture coordinates, normals and faces of the given object to the file.
+     * @param obj The object to write
+     * @throws IOException If an IO error occurs
+     */
+    public void write(ReadableObj obj) throws IOException {
+        for (int i = 0; i < obj.getNumVertices(); i++) {
+            writeTuple("v ", obj.getVertex(i));
+        }
+        for (int i = 0; i < obj.getNumTexCoords(); i++) {
+            writeTuple("vt ", obj.getTexCoord(i));
+        }
+        for (int i = 0; i < obj.getNumNormals(); i++) {
+            writeTuple("vn ", obj.getNormal(i));
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < obj.getNumFaces(); i++) {
+            ObjFace face = obj.getFace(i);
+
+            String activatedMaterialGroupName = obj.getActivatedMaterialGroupName(face);
+            if (activatedMaterialGroupName != null) {
+                writer.write("usemtl ");
+                writer.write(activatedMaterialGroupName);
+                writer.write("\n");
+            }
+
+            Set<String> activatedGroupNames = obj.getActivatedGroupNames(face);
+            if (activatedGroupNames != null) {
+                boolean isDefaultGroup = activatedGroupNames.size() == 1 &&
+                        activatedGroupNames.iterator().next().equals("default");
+                if (!skipWritingDefaultGroup || !isDefaultGroup) {
+                    writer.write("g ");
+                    for (String activatedGroupName : activatedGroupNames) {
+                        writer.write(activatedGroupName);
+                        writer.write(" ");
+                    }
+                    writer.write("\n");
+                }
+                skipWritingDefaultGroup = false;
+            }
+
+            sb.setLength(0);
+            sb.append("f ");
+            appendFace(sb, face);
+            sb.append("\n");
+            writer.write(sb.toString());
+        }
+
+        vertexOffset += obj.getNumVertices();
+        texCoordOffset += obj.getNumTexCoords();
+        normalOffset += obj.getNumNormals();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private void writeTuple(String prefix, FloatTuple tuple) throws IOException {
+        writer.write(prefix);
+        writer.write(FloatTuples.createString(tuple));
+        writer.write("\n");
+    }
+
+    /**
+     * Append the (one-based) indices of the face, offset by the number of elements of the objects that were
+     * written before.
+     */
+    private void appendFace(StringBuilder sb, ObjFace face) {
+        final boolean hasTexCoords = face.containsTexCoordIndices();
+        final boolean hasNormals = face.containsNormalIndices();
+        for (int i = 0; i < face.getNumVertices(); i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(face.getVertexIndex(i) + vertexOffset + 1);
+            if (hasTexCoords || hasNormals) {
+                sb.append('/');
+            }
+            if (hasTexCoords) {
+                sb.append(face.getTexCoordIndex(i) + texCoordOffset + 1);
+            }
+            if (hasNormals) {
+                sb.append('/');
+                sb.append(face.getNormalIndex(i) + normalOffset + 1);
+            }
+        }
+    }
+}
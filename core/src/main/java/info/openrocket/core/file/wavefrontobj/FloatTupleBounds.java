@@ -26,6 +26,15 @@ public class FloatTupleBounds {
         max = new DefaultFloatTuple(Math.max(max.getX(), tuple.getX()), Math.max(max.getY(), tuple.getY()), Math.max(max.getZ(), tuple.getZ()));
     }
 
+    /**
+     * Expands the bounds to include the given bounds.
+     * @param bounds The bounds to update the bounds with.
+     */
+    public void updateBounds(FloatTupleBounds bounds) {
+        updateBounds(bounds.getMin());
+        updateBounds(bounds.getMax());
+    }
+
     /**
      * Resets the bounds to the maximum and minimum values of a float.
      */
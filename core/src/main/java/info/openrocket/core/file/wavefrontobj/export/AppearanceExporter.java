@@ -88,8 +88,11 @@ public class AppearanceExporter {
             DecalImage decal = texture.getImage();
             String decalName = FileUtils.getFileNameFromPath(decal.getName());
             decalFile = new File(decalDir.toString(), decalName);       // TODO: should name be unique?
-            decalFile.createNewFile();                                  // TODO: check if you want to overwrite?
-            decal.exportImage(decalFile);
+            // Components are exported concurrently, and several of them may share the same decal
+            synchronized (AppearanceExporter.class) {
+                decalFile.createNewFile();                              // TODO: check if you want to overwrite?
+                decal.exportImage(decalFile);
+            }
             log.info("Exported decal image to {}", decalFile.getAbsolutePath());
         } catch (Exception e) {
             log.error("Failed to export decal image", e);
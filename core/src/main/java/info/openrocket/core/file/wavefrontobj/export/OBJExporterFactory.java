@@ -1,12 +1,14 @@
 package info.openrocket.core.file.wavefrontobj.export;
 
-import de.javagl.obj.ObjWriter;
+import de.javagl.obj.FloatTuple;
 import info.openrocket.core.appearance.Appearance;
 import info.openrocket.core.appearance.defaults.DefaultAppearance;
 import info.openrocket.core.file.wavefrontobj.CoordTransform;
 import info.openrocket.core.file.wavefrontobj.DefaultMtl;
 import info.openrocket.core.file.wavefrontobj.DefaultMtlWriter;
 import info.openrocket.core.file.wavefrontobj.DefaultObj;
+import info.openrocket.core.file.wavefrontobj.DefaultObjWriter;
+import info.openrocket.core.file.wavefrontobj.FloatTupleBounds;
 import info.openrocket.core.file.wavefrontobj.ObjUtils;
 import info.openrocket.core.file.wavefrontobj.TriangulationHelper;
 import info.openrocket.core.file.wavefrontobj.export.components.BodyTubeExporter;
@@ -26,31 +28,40 @@ import info.openrocket.core.rocketcomponent.BodyTube;
 import info.openrocket.core.rocketcomponent.ComponentAssembly;
 import info.openrocket.core.rocketcomponent.FinSet;
 import info.openrocket.core.rocketcomponent.FlightConfiguration;
-import info.openrocket.core.rocketcomponent.InstanceContext;
-import info.openrocket.core.rocketcomponent.InstanceMap;
 import info.openrocket.core.rocketcomponent.LaunchLug;
 import info.openrocket.core.rocketcomponent.MassObject;
 import info.openrocket.core.rocketcomponent.MotorMount;
 import info.openrocket.core.rocketcomponent.RailButton;
+import info.openrocket.core.rocketcomponent.ReadOnlyRocket;
 import info.openrocket.core.rocketcomponent.RingComponent;
+import info.openrocket.core.rocketcomponent.Rocket;
 import info.openrocket.core.rocketcomponent.RocketComponent;
 import info.openrocket.core.rocketcomponent.Transition;
 import info.openrocket.core.rocketcomponent.TubeFinSet;
+import info.openrocket.core.util.BugException;
 import info.openrocket.core.util.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Closeable;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Deque;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Exporter for rocket components to a Wavefront OBJ file.
@@ -72,6 +83,10 @@ public class OBJExporterFactory {
     private final OBJExportOptions options;
     private final File file;
     private final WarningSet warnings;
+    // Number of threads used for generating the component meshes
+    private final int threadCount;
+    // Maximum number of component meshes that are generated ahead of the file writer
+    private final int maxPendingMeshes;
 
     private static final Logger log = LoggerFactory.getLogger(OBJExporterFactory.class);
 
@@ -90,6 +105,8 @@ public class OBJExporterFactory {
     /**
      * Exports a list of rocket components to a Wavefront OBJ file.
      * <b>NOTE: </b> you must call {@link #doExport()} to actually perform the export.
+     * <p>
+     * The rocket is copied when the exporter is created, so later changes to the design are not exported.
      * @param components List of components to export
      * @param configuration Flight configuration to use for the export
      * @param options Options to use for the export
@@ -97,29 +114,39 @@ public class OBJExporterFactory {
      */
     public OBJExporterFactory(List<RocketComponent> components, FlightConfiguration configuration, File file,
                               OBJExportOptions options, WarningSet warnings) {
-        this.components = components;
-        this.configuration = configuration;
+        this(components, configuration, file, options, warnings, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Exports a list of rocket components to a Wavefront OBJ file, generating the meshes with the given number of
+     * threads.
+     */
+    OBJExporterFactory(List<RocketComponent> components, FlightConfiguration configuration, File file,
+                       OBJExportOptions options, WarningSet warnings, int threadCount) {
+        // The meshes are generated on worker threads, which must not read the live design while it is being edited
+        Rocket rocket = new ReadOnlyRocket(configuration.getRocket()).getRocket();
+        this.components = new ArrayList<>(components.size());
+        for (RocketComponent component : components) {
+            RocketComponent copy = rocket.findComponent(component.getID());
+            if (copy != null) {
+                this.components.add(copy);
+            }
+        }
+        this.configuration = configuration.clone(rocket);
         this.file = file;
         this.options = options;
         this.warnings = warnings;
+        this.threadCount = threadCount;
+        this.maxPendingMeshes = 2 * threadCount;
     }
 
     /**
      * Performs the actual exporting.
+     * <p>
+     * The meshes of the components are generated in parallel, each in its own OBJ, and are then written to the
+     * output file(s) in component tree order.  Only a limited number of component meshes is kept in memory at a time.
      */
     public void doExport() {
-        DefaultObj obj = new DefaultObj();
-        Map<String, DefaultObj> objFileMap;
-        Map<DefaultObj, List<DefaultMtl>> materials = new HashMap<>();
-        materials.put(obj, new ArrayList<>());
-        boolean exportAsSeparateFiles = this.options.isExportAsSeparateFiles();
-
-        if (exportAsSeparateFiles) {
-            objFileMap = new HashMap<>();
-        } else {
-            objFileMap = Map.of(this.file.getAbsolutePath(), obj);
-        }
-
         // Get all the components to export
         Set<RocketComponent> componentsToExport = new HashSet<>(this.components);
         if (this.options.isExportChildren()) {
@@ -131,6 +158,7 @@ public class OBJExporterFactory {
         // Sort the components according to how they are ordered in the rocket (component tree)
         Set<RocketComponent> sortedComponents = sortComponents(componentsToExport);
 
+        List<ComponentTask> tasks = new ArrayList<>();
         int idx = 1;
         for (RocketComponent component : sortedComponents) {
             if (component instanceof ComponentAssembly) {
@@ -142,95 +170,167 @@ public class OBJExporterFactory {
                 continue;
             }
 
-            // Get the instance transforms
-            InstanceMap map = configuration.getActiveInstances();
-            ArrayList<InstanceContext> contexts = map.get(component);
-            contexts.get(0).transform.getXrotation();
-
-            // If separate export, create a new OBJ for each component
-            if (exportAsSeparateFiles) {
-                obj = new DefaultObj();
-                materials.put(obj, new ArrayList<>());
-            }
-
-            // Component exporting
             String groupName = idx + "_" + component.getName();
             groupName = sanitizeGroupName(groupName);
-            handleComponent(obj, this.configuration, this.options.getTransformer(), component, groupName,
-                    materials.get(obj), this.options.getLOD(), options, warnings);
-
-            // If separate export, add this object to the map of objects to export
-            if (exportAsSeparateFiles) {
-                String path = FileUtils.removeExtension(this.file.getAbsolutePath()) + "_" + groupName + ".obj";
-                objFileMap.put(path, obj);
-            }
+            tasks.add(new ComponentTask(component, groupName));
 
             idx++;
         }
 
-        // Apply export options and write the OBJ files
-        for (Map.Entry<String, DefaultObj> entry : objFileMap.entrySet()) {
-            String filePath = entry.getKey();
-            obj = entry.getValue();
-
-            // Triangulate mesh
-            if (this.options.isTriangulate()) {
-                ObjUtils.TriangulationMethod triangulationMethod = this.options.getTriangulationMethod();
-                if (triangulationMethod == ObjUtils.TriangulationMethod.DELAUNAY) {
-                    obj = TriangulationHelper.constrainedDelaunayTriangulate(obj);
-                } else if (triangulationMethod == ObjUtils.TriangulationMethod.SIMPLE) {
-                    obj = TriangulationHelper.simpleTriangulate(obj);
-                } else {
-                    throw new IllegalArgumentException("Unsupported triangulation method: " + triangulationMethod);
-                }
+        ExecutorService executor = Executors.newFixedThreadPool(this.threadCount, r -> {
+            Thread t = new Thread(r, "OBJExporter");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            if (this.options.isExportAsSeparateFiles()) {
+                exportSeparateFiles(tasks, executor);
+            } else {
+                exportSingleFile(tasks, executor);
             }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 
-            // Remove position offset
-            if (this.options.isRemoveOffset()) {
-                // Because of some rotation and translation operations when creating the meshes, the bounds can be inaccurate.
-                // Therefore, we will recalculate them to be sure.
-                // Is a bit computationally expensive, but it's the only way to be sure...
-                obj.recalculateAllVertexBounds();
-
-                ObjUtils.removeVertexOffset(obj, this.options.getTransformer());
+    /**
+     * Export each component to its own OBJ (and MTL) file.
+     */
+    private void exportSeparateFiles(List<ComponentTask> tasks, ExecutorService executor) throws IOException {
+        String basePath = FileUtils.removeExtension(this.file.getAbsolutePath());
+        forEachMesh(tasks, executor, task -> {
+            ComponentMesh mesh = generateMesh(task);
+
+            // Each file is centered on its own component
+            if (this.options.isRemoveOffset() && mesh.obj().getNumVertices() > 0) {
+                mesh.obj().recalculateAllVertexBounds();
+                ObjUtils.removeVertexOffset(mesh.obj(), this.options.getTransformer());
             }
-
-            // Perform scaling
-            if (Float.compare(options.getScaling(), 1) != 0) {
-                ObjUtils.scaleVertices(obj, options.getScaling());
+            scaleMesh(mesh);
+            return mesh;
+        }, mesh -> {
+            String filePath = basePath + "_" + mesh.task().groupName() + ".obj";
+            try (MeshWriter writer = new MeshWriter(filePath)) {
+                writer.write(mesh);
             }
+        });
+    }
 
-            // Export materials
-            if (options.isExportAppearance()) {
-                String mtlFilePath = FileUtils.removeExtension(filePath) + ".mtl";
-                List<DefaultMtl> mtls = materials.get(obj);
-                if (mtls != null) {
-                    try (OutputStream mtlOutputStream = new FileOutputStream(mtlFilePath, false)) {
-                        DefaultMtlWriter.write(mtls, mtlOutputStream);
-                    } catch (IOException e) {
-                        throw new RuntimeException(e);
+    /**
+     * Export all components to a single OBJ (and MTL) file, streaming the component meshes to the file.
+     */
+    private void exportSingleFile(List<ComponentTask> tasks, ExecutorService executor) throws IOException {
+        // The offset depends on the bounds of all components, so they need to be known before writing.  The meshes
+        // are generated twice rather than all being kept in memory.
+        final FloatTuple offset;
+        if (this.options.isRemoveOffset()) {
+            // Because of some rotation and translation operations when creating the meshes, the bounds can be inaccurate.
+            // Therefore, we will recalculate them to be sure.
+            final FloatTupleBounds bounds = new FloatTupleBounds();
+            forEachMesh(tasks, executor, task -> {
+                ComponentMesh mesh = generateMesh(task, false);
+                mesh.obj().recalculateAllVertexBounds();
+                return mesh;
+            }, mesh -> {
+                if (mesh.obj().getNumVertices() > 0) {
+                    bounds.updateBounds(mesh.obj().getVertexBounds());
+                }
+            });
+            offset = ObjUtils.getVertexOffset(bounds, this.options.getTransformer());
+        } else {
+            offset = null;
+        }
+
+        String filePath = this.file.getAbsolutePath();
+        try (MeshWriter writer = new MeshWriter(filePath)) {
+            forEachMesh(tasks, executor, task -> {
+                ComponentMesh mesh = generateMesh(task);
+                if (offset != null && mesh.obj().getNumVertices() > 0) {
+                    ObjUtils.translateVertices(mesh.obj(), 0, mesh.obj().getNumVertices() - 1,
+                            -offset.getX(), -offset.getY(), -offset.getZ());
+                }
+                scaleMesh(mesh);
+                return mesh;
+            }, writer::write);
+        }
+    }
+
+    /**
+     * Generate the meshes of the tasks in parallel, and pass them to the consumer in task order.
+     * At most {@link #maxPendingMeshes} meshes are generated ahead of the consumer.
+     */
+    private void forEachMesh(List<ComponentTask> tasks, ExecutorService executor, MeshGenerator generator,
+                             MeshConsumer consumer) throws IOException {
+        Deque<Future<ComponentMesh>> pending = new ArrayDeque<>();
+        Iterator<ComponentTask> iterator = tasks.iterator();
+        try {
+            while (iterator.hasNext() || !pending.isEmpty()) {
+                while (iterator.hasNext() && pending.size() < this.maxPendingMeshes) {
+                    ComponentTask task = iterator.next();
+                    pending.add(executor.submit(() -> generator.generate(task)));
+                }
+
+                ComponentMesh mesh;
+                try {
+                    mesh = pending.poll().get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("OBJ export was interrupted", e);
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
                     }
-                } else {
-                    log.debug("No materials to export for {}", filePath);
+                    throw new BugException("Unexpected exception while exporting component", cause);
                 }
-                obj.setMtlFileNames(List.of(mtlFilePath));
+
+                this.warnings.addAll(mesh.warnings());
+                consumer.accept(mesh);
             }
+        } finally {
+            for (Future<ComponentMesh> future : pending) {
+                future.cancel(true);
+            }
+        }
+    }
 
-            // Write the OBJ file
-            writeObj(obj, filePath);
+    private ComponentMesh generateMesh(ComponentTask task) {
+        return generateMesh(task, options.isTriangulate());
+    }
 
-            // Reset the material
-            if (options.isExportAppearance()) {
-                obj.resetToBlankMaterial();
+    /**
+     * Generate the mesh (and materials) of a single component.  This is called concurrently for different components.
+     * @param task the component to export
+     * @param triangulate whether to triangulate the mesh
+     */
+    private ComponentMesh generateMesh(ComponentTask task, boolean triangulate) {
+        DefaultObj obj = new DefaultObj();
+        List<DefaultMtl> materials = new ArrayList<>();
+        WarningSet componentWarnings = new WarningSet();
+
+        handleComponent(obj, this.configuration, this.options.getTransformer(), task.component(), task.groupName(),
+                materials, this.options.getLOD(), options, componentWarnings);
+
+        // Triangulate mesh
+        if (triangulate) {
+            ObjUtils.TriangulationMethod triangulationMethod = this.options.getTriangulationMethod();
+            if (triangulationMethod == ObjUtils.TriangulationMethod.DELAUNAY) {
+                obj = TriangulationHelper.constrainedDelaunayTriangulate(obj);
+            } else if (triangulationMethod == ObjUtils.TriangulationMethod.SIMPLE) {
+                obj = TriangulationHelper.simpleTriangulate(obj);
+            } else {
+                throw new IllegalArgumentException("Unsupported triangulation method: " + triangulationMethod);
             }
         }
+
+        return new ComponentMesh(task, obj, materials, componentWarnings);
     }
 
-    private static void writeObj(DefaultObj obj, String filePath) {
-        try (OutputStream objOutputStream = new FileOutputStream(filePath, false)) {
-            ObjWriter.write(obj, objOutputStream);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+    private void scaleMesh(ComponentMesh mesh) {
+        if (Float.compare(options.getScaling(), 1) != 0 && mesh.obj().getNumVertices() > 0) {
+            ObjUtils.scaleVertices(mesh.obj(), options.getScaling());
         }
     }
 
@@ -325,6 +425,59 @@ public class OBJExporterFactory {
         }
     }
 
+    /**
+     * Writes component meshes to an OBJ file, and their materials to the accompanying MTL file.
+     */
+    private class MeshWriter implements Closeable {
+        private final DefaultObjWriter objWriter;
+        private final Writer mtlWriter;
+
+        MeshWriter(String filePath) throws IOException {
+            if (options.isExportAppearance()) {
+                String mtlFilePath = FileUtils.removeExtension(filePath) + ".mtl";
+                this.mtlWriter = Files.newBufferedWriter(Path.of(mtlFilePath));
+                this.objWriter = new DefaultObjWriter(Path.of(filePath), List.of(mtlFilePath));
+            } else {
+                this.mtlWriter = null;
+                this.objWriter = new DefaultObjWriter(Path.of(filePath), null);
+            }
+        }
+
+        void write(ComponentMesh mesh) throws IOException {
+            if (mtlWriter != null) {
+                for (DefaultMtl mtl : mesh.materials()) {
+                    DefaultMtlWriter.write(mtl, mtlWriter);
+                }
+            }
+            objWriter.write(mesh.obj());
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                objWriter.close();
+            } finally {
+                if (mtlWriter != null) {
+                    mtlWriter.close();
+                }
+            }
+        }
+    }
+
+    private record ComponentTask(RocketComponent component, String groupName) {
+    }
+
+    private record ComponentMesh(ComponentTask task, DefaultObj obj, List<DefaultMtl> materials, WarningSet warnings) {
+    }
+
+    private interface MeshGenerator {
+        ComponentMesh generate(ComponentTask task);
+    }
+
+    private interface MeshConsumer {
+        void accept(ComponentMesh mesh) throws IOException;
+    }
+
     interface ExporterFactory<T extends RocketComponent> {
         RocketComponentExporter<T> create(DefaultObj obj, FlightConfiguration config, CoordTransform transformer,
                                           T component, String groupName, ObjUtils.LevelOfDetail LOD, WarningSet warnings);
@@ -9,6 +9,7 @@ import info.openrocket.core.file.wavefrontobj.export.shapes.PolygonExporter;
 import info.openrocket.core.logging.Warning;
 import info.openrocket.core.logging.WarningSet;
 import info.openrocket.core.rocketcomponent.FinSet;
+import info.openrocket.core.rocketcomponent.FinSetGeometry;
 import info.openrocket.core.rocketcomponent.FlightConfiguration;
 import info.openrocket.core.rocketcomponent.InstanceContext;
 import info.openrocket.core.util.Coordinate;
@@ -26,8 +27,9 @@ public class FinSetExporter extends RocketComponentExporter<FinSet> {
     public void addToObj() {
         obj.setActiveGroupNames(groupName);
 
-        final Coordinate[] points = component.getFinPointsWithRoot();
-        final Coordinate[] tabPoints = component.getTabPointsWithRoot();
+        final FinSetGeometry geometry = component.getFinGeometry();
+        final Coordinate[] points = geometry.getFinPointsWithRoot();
+        final Coordinate[] tabPoints = geometry.getTabPointsWithRoot();
         final Coordinate[] tabPointsReversed = new Coordinate[tabPoints.length];        // We need clockwise points for the PolygonExporter
         for (int i = 0; i < tabPoints.length; i++) {
             tabPointsReversed[i] = tabPoints[tabPoints.length - i - 1];
@@ -14,6 +14,7 @@ import info.openrocket.core.logging.Warning;
 import info.openrocket.core.logging.WarningSet;
 import info.openrocket.core.rocketcomponent.FlightConfiguration;
 import info.openrocket.core.rocketcomponent.InstanceContext;
+import info.openrocket.core.rocketcomponent.SymmetricComponentProfile;
 import info.openrocket.core.rocketcomponent.Transition;
 import info.openrocket.core.startup.Application;
 import info.openrocket.core.util.Coordinate;
@@ -24,12 +25,14 @@ import java.util.List;
 public class TransitionExporter extends RocketComponentExporter<Transition> {
     private static final double RADIUS_EPSILON = 1e-4;
     private final int nrOfSides;
+    private final SymmetricComponentProfile profile;
     private static final Translator trans = Application.getTranslator();
 
     public TransitionExporter(@NotNull DefaultObj obj, FlightConfiguration config, @NotNull CoordTransform transformer,
                               Transition component, String groupName, ObjUtils.LevelOfDetail LOD, WarningSet warnings) {
         super(obj, config, transformer, component, groupName, LOD, warnings);
         this.nrOfSides = LOD.getNrOfSides(Math.max(component.getForeRadius(), component.getAftRadius()));
+        this.profile = component.getRadiusProfile();
     }
 
     @Override
@@ -177,8 +180,8 @@ public class TransitionExporter extends RocketComponentExporter<Transition> {
             xNext = Math.min(xNext, (float) component.getLength());
 
             // Calculate the radius at this height
-            r = Math.max(0, component.getRadius(x) + offsetRadius);
-            double rNext = Math.max(0, component.getRadius(xNext) + offsetRadius);
+            r = Math.max(0, profile.interpolateRadius(x) + offsetRadius);
+            double rNext = Math.max(0, profile.interpolateRadius(xNext) + offsetRadius);
 
 
             /*
@@ -578,7 +581,7 @@ public class TransitionExporter extends RocketComponentExporter<Transition> {
         float actualLength = 0;
 
         while (x < component.getLength()) {
-            final double r = component.getRadius(x) + offsetRadius;
+            final double r = profile.interpolateRadius(x) + offsetRadius;
 
             if (Double.compare(r, 0) > 0) {
                 actualLength += increment;
@@ -603,11 +606,11 @@ public class TransitionExporter extends RocketComponentExporter<Transition> {
             throw new IllegalArgumentException("Invalid parameters");
         }
 
-        boolean isStartSmaller = component.getRadius(xStart) < component.getRadius(xEnd);
+        boolean isStartSmaller = profile.interpolateRadius(xStart) < profile.interpolateRadius(xEnd);
 
         if (isStartSmaller) {
             for (float x = xEnd; x >= xStart; x -= epsilon) {
-                double r = Math.max(0, component.getRadius(x) + offsetRadius);
+                double r = Math.max(0, profile.interpolateRadius(x) + offsetRadius);
                 if (Double.compare(r, 0) == 0) {
                     return x;
                 }
@@ -616,7 +619,7 @@ public class TransitionExporter extends RocketComponentExporter<Transition> {
             return xStart;
         } else {
             for (float x = xStart; x <= xEnd; x += epsilon) {
-                double r = Math.max(0, component.getRadius(x) + offsetRadius);
+                double r = Math.max(0, profile.interpolateRadius(x) + offsetRadius);
                 if (Double.compare(r, 0) == 0) {
                     return x;
                 }
@@ -1,10 +1,12 @@
 package info.openrocket.core.optimization.rocketoptimization.parameters;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 import info.openrocket.core.l10n.Translator;
 import info.openrocket.core.simulation.FlightData;
 import info.openrocket.core.simulation.FlightDataType;
-import info.openrocket.core.simulation.listeners.SimulationListener;
-import info.openrocket.core.simulation.listeners.system.RecoveryDeviceDeploymentEndListener;
+import info.openrocket.core.simulation.SummaryValue;
 import info.openrocket.core.startup.Application;
 import info.openrocket.core.unit.UnitGroup;
 
@@ -23,8 +25,8 @@ public class DeploymentVelocityParameter extends SimulationBasedParameter {
 	}
 
 	@Override
-	protected SimulationListener[] getSimulationListeners() {
-		return new SimulationListener[] { new RecoveryDeviceDeploymentEndListener() };
+	protected Set<SummaryValue> getSummaryValues() {
+		return EnumSet.of(SummaryValue.DEPLOYMENT_VELOCITY);
 	}
 
 	@Override
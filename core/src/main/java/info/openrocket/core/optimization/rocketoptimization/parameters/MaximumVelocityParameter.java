@@ -1,10 +1,12 @@
 package info.openrocket.core.optimization.rocketoptimization.parameters;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 import info.openrocket.core.l10n.Translator;
 import info.openrocket.core.simulation.FlightData;
 import info.openrocket.core.simulation.FlightDataType;
-import info.openrocket.core.simulation.listeners.SimulationListener;
-import info.openrocket.core.simulation.listeners.system.ApogeeEndListener;
+import info.openrocket.core.simulation.SummaryValue;
 import info.openrocket.core.startup.Application;
 import info.openrocket.core.unit.UnitGroup;
 
@@ -24,8 +26,8 @@ public class MaximumVelocityParameter extends SimulationBasedParameter {
 	}
 
 	@Override
-	protected SimulationListener[] getSimulationListeners() {
-		return new SimulationListener[] { new ApogeeEndListener() };
+	protected Set<SummaryValue> getSummaryValues() {
+		return EnumSet.of(SummaryValue.MAX_VELOCITY);
 	}
 
 	@Override
@@ -1,6 +1,7 @@
 package info.openrocket.core.optimization.rocketoptimization.parameters;
 
 import java.util.Arrays;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,6 +10,7 @@ import info.openrocket.core.document.Simulation;
 import info.openrocket.core.optimization.general.OptimizationException;
 import info.openrocket.core.optimization.rocketoptimization.OptimizableParameter;
 import info.openrocket.core.simulation.FlightData;
+import info.openrocket.core.simulation.SummaryValue;
 import info.openrocket.core.simulation.exception.SimulationCalculationException;
 import info.openrocket.core.simulation.exception.SimulationCancelledException;
 import info.openrocket.core.simulation.exception.SimulationException;
@@ -17,7 +19,8 @@ import info.openrocket.core.simulation.listeners.system.InterruptListener;
 
 /**
  * An abstract optimization parameter that simulates a rocket flight and obtains
- * a value from the simulation result.
+ * a value from the simulation result.  The flight is simulated only as far as
+ * needed for the summary values of the parameter.
  * 
  * @author Sampo Niskanen <sampo.niskanen@iki.fi>
  */
@@ -33,7 +36,7 @@ public abstract class SimulationBasedParameter implements OptimizableParameter {
 			SimulationListener[] listeners = getSimulationListeners();
 			listeners = Arrays.copyOf(listeners, listeners.length + 1);
 			listeners[listeners.length - 1] = new InterruptListener();
-			simulation.simulate(listeners);
+			simulation.simulate(getSummaryValues(), listeners);
 			
 			double value = getResultValue(simulation.getSimulatedData());
 			log.debug("Parameter '" + getName() + " was " + value);
@@ -59,6 +62,16 @@ public abstract class SimulationBasedParameter implements OptimizableParameter {
 	 */
 	protected abstract double getResultValue(FlightData simulatedData);
 	
+	/**
+	 * Return the summary values the parameter is obtained from.  The simulation
+	 * then ends as soon as these are determined and records only the data they need.
+	 * 
+	 * @return	the summary values, or <code>null</code> to simulate the complete flight.
+	 */
+	protected Set<SummaryValue> getSummaryValues() {
+		return null;
+	}
+	
 	/**
 	 * Return an array of simulation listeners to provide to the simulation.
 	 * This may include a listener that stops the simulation after the necessary value
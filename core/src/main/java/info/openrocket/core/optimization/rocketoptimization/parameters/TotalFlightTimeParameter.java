@@ -1,8 +1,12 @@
 package info.openrocket.core.optimization.rocketoptimization.parameters;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 import info.openrocket.core.l10n.Translator;
 import info.openrocket.core.simulation.FlightData;
 import info.openrocket.core.simulation.FlightDataType;
+import info.openrocket.core.simulation.SummaryValue;
 import info.openrocket.core.startup.Application;
 import info.openrocket.core.unit.UnitGroup;
 
@@ -20,6 +24,11 @@ public class TotalFlightTimeParameter extends SimulationBasedParameter {
 		return trans.get("name");
 	}
 
+	@Override
+	protected Set<SummaryValue> getSummaryValues() {
+		return EnumSet.of(SummaryValue.FLIGHT_TIME);
+	}
+
 	@Override
 	protected double getResultValue(FlightData simulatedData) {
 		return simulatedData.getBranch(0).getLast(FlightDataType.TYPE_TIME);
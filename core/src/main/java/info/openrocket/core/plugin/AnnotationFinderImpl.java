@@ -1,24 +1,143 @@
 package info.openrocket.core.plugin;
 
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.lang.annotation.Annotation;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.jar.JarFile;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import io.github.classgraph.ClassGraph;
 import io.github.classgraph.ScanResult;
 
 /**
- * An AnnotationFinder that uses annotation-detector library to scan
- * the class path. Compatible with the JIJ loader.
+ * An AnnotationFinder that looks up {@link Plugin} classes in the plugin indexes
+ * ({@value #PLUGIN_INDEX}) generated at build time by the plugin index annotation processor,
+ * one per class path entry, and uses ClassGraph to scan the class path otherwise.
+ * <p>
+ * Only the external plugin JARs that do not contain an index are scanned with ClassGraph.  If no
+ * index is found on the class path (e.g. when running from an IDE that does not run the annotation
+ * processor), or for other annotations than {@link Plugin}, the whole class path is scanned.
  */
 public class AnnotationFinderImpl implements AnnotationFinder {
+	private static final Logger log = LoggerFactory.getLogger(AnnotationFinderImpl.class);
+
+	/** Must match PluginIndexProcessor.PLUGIN_INDEX */
+	public static final String PLUGIN_INDEX = "META-INF/openrocket/plugins.idx";
 
 	@Override
 	public List<Class<?>> findAnnotatedTypes(Class<? extends Annotation> annotation) {
+		if (annotation == Plugin.class) {
+			List<Class<?>> classes = findIndexedTypes(annotation);
+			if (classes != null) {
+				return classes;
+			}
+			log.info("No plugin index found, scanning the class path");
+		}
+		return scanClassPath(annotation);
+	}
+
+	private static List<Class<?>> scanClassPath(Class<? extends Annotation> annotation) {
 		List<Class<?>> classes;
 		try (ScanResult scanResult = new ClassGraph().enableAllInfo().scan()) {
 			classes = new ArrayList<>(scanResult.getClassesWithAnnotation(annotation.getName()).loadClasses());
 		}
 		return classes;
 	}
+
+	/**
+	 * Find the annotated types from the plugin indexes and the unindexed plugin JARs.
+	 *
+	 * @return the annotated types, or <code>null</code> if there is no index on the class path
+	 */
+	private static List<Class<?>> findIndexedTypes(Class<? extends Annotation> annotation) {
+		ClassLoader loader = getClassLoader();
+		Set<String> names = new LinkedHashSet<>();
+		try {
+			Enumeration<URL> indexes = loader.getResources(PLUGIN_INDEX);
+			if (!indexes.hasMoreElements()) {
+				return null;
+			}
+			while (indexes.hasMoreElements()) {
+				URL url = indexes.nextElement();
+				try (InputStream is = url.openStream()) {
+					names.addAll(readIndex(is));
+				}
+			}
+		} catch (IOException e) {
+			log.warn("Unable to read plugin index, scanning the class path", e);
+			return null;
+		}
+
+		List<File> unindexed = new ArrayList<>();
+		for (File jar : PluginHelper.getPluginJars()) {
+			if (!hasIndex(jar)) {
+				unindexed.add(jar);
+			}
+		}
+		if (!unindexed.isEmpty()) {
+			log.info("Scanning {} plugin JARs without a plugin index", unindexed.size());
+			try (ScanResult scanResult = new ClassGraph().enableAnnotationInfo().overrideClasspath(unindexed).scan()) {
+				names.addAll(scanResult.getClassesWithAnnotation(annotation.getName()).getNames());
+			}
+		}
+
+		List<Class<?>> classes = new ArrayList<>(names.size());
+		for (String name : names) {
+			try {
+				Class<?> c = Class.forName(name, false, loader);
+				// Guard against stale indexes
+				if (c.isAnnotationPresent(annotation)) {
+					classes.add(c);
+				}
+			} catch (ClassNotFoundException | LinkageError e) {
+				log.warn("Unable to load plugin class " + name, e);
+			}
+		}
+		return classes;
+	}
+
+	/**
+	 * Read the class names from a plugin index.  Empty lines and lines starting with '#' are ignored.
+	 *
+	 * @param is the stream to read, it is not closed
+	 * @return the class names in the index
+	 */
+	static List<String> readIndex(InputStream is) throws IOException {
+		List<String> names = new ArrayList<>();
+		BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8));
+		String line;
+		while ((line = reader.readLine()) != null) {
+			line = line.trim();
+			if (!line.isEmpty() && !line.startsWith("#")) {
+				names.add(line);
+			}
+		}
+		return names;
+	}
+
+	private static boolean hasIndex(File jar) {
+		try (JarFile jarFile = new JarFile(jar)) {
+			return jarFile.getEntry(PLUGIN_INDEX) != null;
+		} catch (IOException e) {
+			log.warn("Unable to read plugin JAR " + jar, e);
+			return false;
+		}
+	}
+
+	private static ClassLoader getClassLoader() {
+		ClassLoader loader = Thread.currentThread().getContextClassLoader();
+		return (loader != null) ? loader : AnnotationFinderImpl.class.getClassLoader();
+	}
 }
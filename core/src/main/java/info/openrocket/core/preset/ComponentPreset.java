@@ -17,10 +17,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
+import info.openrocket.core.database.Databases;
 import info.openrocket.core.material.Material;
 import info.openrocket.core.motor.Manufacturer;
 import info.openrocket.core.rocketcomponent.ExternalComponent.Finish;
 import info.openrocket.core.rocketcomponent.Transition.Shape;
+import info.openrocket.core.startup.Application;
 import info.openrocket.core.unit.UnitGroup;
 import info.openrocket.core.util.BugException;
 import info.openrocket.core.util.TextUtil;
@@ -475,6 +477,8 @@ public class ComponentPreset implements Comparable<ComponentPreset>, Serializabl
 		 */
 		private static final long serialVersionUID = 8704894438168047622L;
 		String name;
+		/** the untranslated material name, used to find the material in the material database */
+		String baseName;
 		String type;
 		boolean userDefined;
 		Double density;
@@ -493,6 +497,7 @@ public class ComponentPreset implements Comparable<ComponentPreset>, Serializabl
 				Material material = (Material) value;
 				MaterialSerializationProxy m = new MaterialSerializationProxy();
 				m.name = material.getName();
+				m.baseName = Application.getTranslator().getBaseText("material", material.getName());
 				m.type = material.getType().name();
 				m.density = material.getDensity();
 				m.userDefined = material.isUserDefined();
@@ -520,7 +525,13 @@ public class ComponentPreset implements Comparable<ComponentPreset>, Serializabl
 
 			if (value instanceof MaterialSerializationProxy) {
 				MaterialSerializationProxy m = (MaterialSerializationProxy) value;
-				value = Material.newMaterial(Material.Type.valueOf(m.type), m.name, m.density, m.userDefined);
+				if (m.baseName != null) {
+					// Resolve the material the same way as when reading a preset file, so that the material
+					// is the instance from the material database and has a name in the current language
+					value = Databases.findMaterial(Material.Type.valueOf(m.type), m.baseName, m.density);
+				} else {
+					value = Material.newMaterial(Material.Type.valueOf(m.type), m.name, m.density, m.userDefined);
+				}
 			}
 			if (TYPE.getName().equals(keyName)) {
 				this.properties.put(TYPE, (ComponentPreset.Type) value);
@@ -292,6 +292,11 @@ public class BodyTube extends SymmetricComponent implements BoxBounded, MotorMou
 		else
 			return Math.max(getOuterRadius() - thickness, 0);
 	}
+
+	@Override
+	protected boolean hasLinearProfile() {
+		return true;
+	}
 	
 	
 	/**
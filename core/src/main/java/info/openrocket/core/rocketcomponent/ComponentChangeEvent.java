@@ -1,6 +1,8 @@
 package info.openrocket.core.rocketcomponent;
 
+import java.util.Collections;
 import java.util.EventObject;
+import java.util.Map;
 
 public class ComponentChangeEvent extends EventObject {
 	private static final long serialVersionUID = 1L;
@@ -68,10 +70,27 @@ public class ComponentChangeEvent extends EventObject {
 	// public static final int ALL_CHANGE = 0xFFFFFFFF;
 
 	private final int type;
+	/** the merged changes per component of a batch event, null for a single change */
+	private final transient Map<RocketComponent, Integer> changes;
 
 	public ComponentChangeEvent(RocketComponent component, final int type) {
 		super(component);
 		this.type = type;
+		this.changes = null;
+	}
+
+	/**
+	 * Create the consolidated event of a change batch.
+	 *
+	 * @param component the source of the event
+	 * @param type the combined type of all changes
+	 * @param changes the combined change types per changed component, by identity
+	 * @see Rocket#beginChangeBatch()
+	 */
+	ComponentChangeEvent(RocketComponent component, final int type, final Map<RocketComponent, Integer> changes) {
+		super(component);
+		this.type = type;
+		this.changes = Collections.unmodifiableMap(changes);
 	}
 
 	public ComponentChangeEvent(RocketComponent component, final ComponentChangeEvent.TYPE type) {
@@ -80,6 +99,7 @@ public class ComponentChangeEvent extends EventObject {
 			throw new IllegalArgumentException("no event type provided");
 		}
 		this.type = type.value;
+		this.changes = null;
 	}
 
 	public static TYPE getTypeEnum(final int typeNumber) {
@@ -99,6 +119,35 @@ public class ComponentChangeEvent extends EventObject {
 		return (RocketComponent) super.getSource();
 	}
 
+	/**
+	 * Return whether this event merges the changes of a change batch.
+	 */
+	public boolean isBatch() {
+		return changes != null;
+	}
+
+	/**
+	 * Return the changed components and the types of their changes.  For a single change this
+	 * contains only the source; for the event of a change batch it contains every component
+	 * that fired an event during the batch, with the combined type of its events.
+	 */
+	public Map<RocketComponent, Integer> getChanges() {
+		if (changes == null) {
+			return Collections.singletonMap(getSource(), type);
+		}
+		return changes;
+	}
+
+	/**
+	 * Return whether the given component fired this event, or any of the events merged into it.
+	 */
+	public boolean hasSource(RocketComponent component) {
+		if (changes == null) {
+			return getSource() == component;
+		}
+		return changes.containsKey(component);
+	}
+
 	public boolean isAerodynamicChange() {
 		return TYPE.AERODYNAMIC.matches(this.type);
 	}
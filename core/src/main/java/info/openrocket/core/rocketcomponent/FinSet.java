@@ -34,7 +34,7 @@ public abstract class FinSet extends ExternalComponent
 	 * Maximum number of root points in the root geometry.
 	 */
 	private static final int MAX_ROOT_DIVISIONS = 100;
-	private static final int MAX_ROOT_DIVISIONS_LOW_RES = MAX_ROOT_DIVISIONS / 5;
+	static final int MAX_ROOT_DIVISIONS_LOW_RES = MAX_ROOT_DIVISIONS / 5;
 
     public void setOverrideMass() {
     }
@@ -129,6 +129,7 @@ public abstract class FinSet extends ExternalComponent
 	private double singlePlanformArea = Double.NaN;
 	private double totalVolume = Double.NaN;
 	private Coordinate centerOfMass = Coordinate.NaN;
+	private volatile FinSetGeometry finGeometry = null;
 
 	private InsideColorComponentHandler insideColorComponentHandler = new InsideColorComponentHandler(this);
 	
@@ -721,11 +722,11 @@ public abstract class FinSet extends ExternalComponent
 	 *
 	 * @return area centroid coordinates (weight is the area)
 	 */
-	private Coordinate calculateSinglePlanformCentroid(){
+	Coordinate calculateSinglePlanformCentroid(final Coordinate[] finPoints){
 		final Coordinate finLead = getFinFront();
 		final double xFinTrail = finLead.x+getLength();
 
-		final Coordinate[] upperCurve = translatePoints(getFinPoints(), 0, finLead.y);
+		final Coordinate[] upperCurve = translatePoints(finPoints, 0, finLead.y);
 		final Coordinate[] lowerCurve = getMountPoints( finLead.x, xFinTrail, -finLead.x, 0);
 		final Coordinate[] totalCurve = combineCurves( upperCurve, lowerCurve);
 
@@ -744,7 +745,7 @@ public abstract class FinSet extends ExternalComponent
 	 * @param c2  backward curve
 	 * @return combined curve
 	 */
-	private Coordinate[] combineCurves( final Coordinate[] c1, final Coordinate[] c2){
+	static Coordinate[] combineCurves( final Coordinate[] c1, final Coordinate[] c2){
 		Coordinate[] combined = new Coordinate[ c1.length + c2.length];
 
 		// copy the first array to the start of the return array...
@@ -760,7 +761,7 @@ public abstract class FinSet extends ExternalComponent
 	
 	
 	// simply return a reversed copy of the source array
-	public Coordinate[] reverse( Coordinate[] source){
+	public static Coordinate[] reverse( Coordinate[] source){
 		Coordinate[] reverse = new Coordinate[ source.length ];
 		
 		int readIndex = 0;
@@ -789,40 +790,7 @@ public abstract class FinSet extends ExternalComponent
 	 */
 	@Override
 	public double getLongitudinalUnitInertia() {
-		if(Double.isNaN(this.singlePlanformArea)){
-			calculateCM();
-		}
-
-		// Approximate fin with a rectangular fin
-		// w2 and h2 are squares of the fin width and height
-		double w = getLength();
-		double h = getSpan();
-		double w2, h2;
-
-		// If either h or w is 0, we punt and treat the fin as square
-		if (MathUtil.equals(h * w, 0)) {
-			w2 = singlePlanformArea;
-			h2 = singlePlanformArea;
-		} else {
-			w2 = w * singlePlanformArea / h;
-			h2 = h * singlePlanformArea / w;
-		}
-
-		// Iyy = h * w^3 / 12, so Iyy/M = w^2 / 12
-		// Izz = h * w * (h^2 + w^2) / 12, so Izz/M = (h^2 + w^2) / 12
-		// (Iyy / M + Izz / M) / 2 = (h^2 + 2 * w^2)/24
-		final double inertia = (h2 + 2 * w2) / 24;
-
-		
-		if (finCount == 1)
-			return inertia;
-
-		// Move axis to center of FinSet.  We need to apply the Parallel Axis Theorem
-		// to Izz, but not to Iyy (as the displacement as we move to the new axis
-		// is along Y).  Since our moment of inertia is the average of Iyy and Izz,
-		// this is accomplished by just weighting the transformation from the theorem
-		// by 1/2
-		return inertia + MathUtil.pow2(MathUtil.safeSqrt(h2) / 2 + getBodyRadius()) / 2;
+		return getFinGeometry().getLongitudinalUnitInertia();
 	}
 	
 	
@@ -840,38 +808,14 @@ public abstract class FinSet extends ExternalComponent
 	 */
 	@Override
 	public double getRotationalUnitInertia() {
-		if(Double.isNaN(this.singlePlanformArea)){
-			calculateCM();
-		}
-
-		// Approximate fin with a rectangular fin
-		// h2 is square of fin height
-		double w = getLength();
-		double h = getSpan();
-		double h2;
-		
-		// If either h or w is 0, punt and treat it as a square fin
-		if (MathUtil.equals(w * h, 0)) {
-			h2 = singlePlanformArea;
-		} else {
-			h2 = h * singlePlanformArea / w;
-		}
-
-		// Ixx = w * h^3 / 12, so Ixx / M = h^2 / 12
-		final double inertia = h2 / 12;
-
-		if (finCount == 1)
-			return inertia;
-
-		// Move axis to center of FinSet using Parallel Axis Theorem
-		return inertia + MathUtil.pow2(MathUtil.safeSqrt(h2) / 2 + getBodyRadius());
+		return getFinGeometry().getRotationalUnitInertia();
 	}
 	
 
 	public BoundingBox getInstanceBoundingBox(){
 		final BoundingBox singleFinBounds = new BoundingBox();
 
-		singleFinBounds.update(getFinPoints());
+		singleFinBounds.update(getFinGeometry().getFinPoints());
 
 		singleFinBounds.update(new Coordinate( 0, 0, -this.thickness/2));
 		singleFinBounds.update(new Coordinate( 0, 0,  this.thickness/2));
@@ -891,23 +835,10 @@ public abstract class FinSet extends ExternalComponent
 		
 		// should simply return this component's bounds in this component's body frame.
 		
-		double x_min = Double.MAX_VALUE;
-		double x_max = Double.MIN_VALUE;
-		double r_max = 0.0;
-		
-		for (Coordinate point : getFinPoints()) {
-			double hypot = MathUtil.hypot(point.y, point.z);
-			double x_cur = point.x;
-			if (x_min > x_cur) {
-				x_min = x_cur;
-			}
-			if (x_max < x_cur) {
-				x_max = x_cur;
-			}
-			if (r_max < hypot) {
-				r_max = hypot;
-			}
-		}
+		final FinSetGeometry geometry = getFinGeometry();
+		double x_min = geometry.getMinX();
+		double x_max = geometry.getMaxX();
+		double r_max = geometry.getMaxRadius();
 		
 		Coordinate location = this.getLocations()[0];
 		x_max += location.x;
@@ -927,10 +858,48 @@ public abstract class FinSet extends ExternalComponent
 			this.centerOfMass = Coordinate.NaN;
 			this.totalVolume = Double.NaN;
 			this.cantRotation = null;
+			this.finGeometry = null;
 		}
 		
 		super.componentChanged(e);
 	}
+
+	/**
+	 * Invalidates the cached fin geometry before the event is fired, so that it is also
+	 * invalidated when the fin set is not part of a rocket or the rocket is in a change batch.
+	 */
+	@Override
+	protected void fireComponentChangeEvent(ComponentChangeEvent e) {
+		if (e.isAerodynamicChange() || e.isMassChange()) {
+			this.finGeometry = null;
+		}
+		super.fireComponentChangeEvent(e);
+	}
+
+	/**
+	 * Return the geometry of a single fin.  The geometry is cached until the modification ID of
+	 * this fin set changes, so consumers that need the fin outline, area or bounds repeatedly
+	 * should prefer it over {@link #getFinPoints()} and the related methods, which compute the
+	 * points on every call.
+	 * <p>
+	 * The modification ID only follows the changes of the other components when the fin set is
+	 * part of a rocket that is not in a change batch, otherwise the geometry is computed on every call.
+	 *
+	 * @return the fin geometry, shared by all callers
+	 */
+	public FinSetGeometry getFinGeometry() {
+		final RocketComponent root = getRoot();
+		if (!(root instanceof Rocket) || ((Rocket) root).isInChangeBatch()) {
+			return new FinSetGeometry(this);
+		}
+
+		FinSetGeometry geometry = this.finGeometry;
+		if (geometry == null || geometry.getModID() != getModID()) {
+			geometry = new FinSetGeometry(this);
+			this.finGeometry = geometry;
+		}
+		return geometry;
+	}
 	
 	
 	/**
@@ -1529,9 +1498,18 @@ public abstract class FinSet extends ExternalComponent
 		this.tabLength = src.tabLength;
 		this.tabOffsetMethod = src.tabOffsetMethod;
 		this.tabPosition = src.tabPosition;
+		this.finGeometry = null;
 		
 		return super.copyFrom(c);
 	}
+
+	@Override
+	protected RocketComponent copyWithOriginalID() {
+		FinSet copy = (FinSet) super.copyWithOriginalID();
+		// The cached geometry refers to this fin set
+		copy.finGeometry = null;
+		return copy;
+	}
 	
 	/*
 	 * Handle fin fillet mass properties	
@@ -1632,7 +1610,7 @@ public abstract class FinSet extends ExternalComponent
 	}
 
 	private void calculateCM(){
-		final Coordinate wettedCentroid = calculateSinglePlanformCentroid();
+		final Coordinate wettedCentroid = getFinGeometry().getPlanformCentroid();
 		this.singlePlanformArea = wettedCentroid.weight;
 		final double wettedVolume = wettedCentroid.weight * thickness * crossSection.getRelativeVolume();
 		final double finBulkMass = wettedVolume * material.getDensity();
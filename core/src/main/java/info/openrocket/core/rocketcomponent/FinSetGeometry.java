@@ -0,0 +1,231 @@
+package info.openrocket.core.rocketcomponent;
+
+import info.openrocket.core.util.Coordinate;
+import info.openrocket.core.util.MathUtil;
+
+/**
+ * The geometry of a single fin of a {@link FinSet}: the fin outline, the root and tab curves,
+ * the planform area and centroid, the bounds and the unit inertia terms.
+ * <p>
+ * The geometry is computed by {@link FinSet#getFinGeometry()} and cached by the fin set until its
+ * modification ID changes or the fin set fires a change event, so the aerodynamic and mass
+ * calculations, the figures and the exporters share a single instance instead of re-deriving
+ * the fin points on every call.  Instances are immutable.  Methods returning arrays return
+ * copies; use the indexed accessors of the fin outline to avoid allocating.  The curves that
+ * are only needed for rendering and export (the outlines including the root, the tab) are
+ * computed when first requested.
+ */
+public final class FinSetGeometry {
+
+	private final FinSet finSet;
+	private final int modID;
+
+	private final Coordinate[] finPoints;
+	private final double[] finX;
+	private final double[] finY;
+	private final Coordinate[] rootPoints;
+
+	private final Coordinate planformCentroid;
+	private final double span;
+	private final double xMin;
+	private final double xMax;
+	private final double rMax;
+	private final double longitudinalUnitInertia;
+	private final double rotationalUnitInertia;
+
+	private volatile Coordinate[] finPointsWithRoot = null;
+	private volatile Coordinate[] finPointsWithLowResRoot = null;
+	private volatile Coordinate[] tabPointsWithRoot = null;
+	private volatile Coordinate[] tabPointsWithLowResRoot = null;
+
+	FinSetGeometry(FinSet finSet) {
+		this.finSet = finSet;
+		this.modID = finSet.getModID();
+
+		this.finPoints = finSet.getFinPoints();
+		this.rootPoints = finSet.getRootPoints();
+
+		final int n = finPoints.length;
+		this.finX = new double[n];
+		this.finY = new double[n];
+		double xMin = Double.MAX_VALUE;
+		double xMax = Double.MIN_VALUE;
+		double rMax = 0;
+		for (int i = 0; i < n; i++) {
+			final Coordinate p = finPoints[i];
+			finX[i] = p.x;
+			finY[i] = p.y;
+			xMin = Math.min(xMin, p.x);
+			xMax = Math.max(xMax, p.x);
+			rMax = Math.max(rMax, MathUtil.hypot(p.y, p.z));
+		}
+		this.xMin = xMin;
+		this.xMax = xMax;
+		this.rMax = rMax;
+
+		this.planformCentroid = finSet.calculateSinglePlanformCentroid(finPoints);
+		this.span = finSet.getSpan();
+
+		// Approximate the fin with a rectangular thin plate, see FinSet.getLongitudinalUnitInertia()
+		final double area = planformCentroid.weight;
+		final double w = finSet.getLength();
+		final double h = span;
+		final double w2, h2;
+		if (MathUtil.equals(h * w, 0)) {
+			w2 = area;
+			h2 = area;
+		} else {
+			w2 = w * area / h;
+			h2 = h * area / w;
+		}
+		double longitudinal = (h2 + 2 * w2) / 24;
+		double rotational = h2 / 12;
+		if (finSet.getFinCount() != 1) {
+			final double armToCenter = MathUtil.pow2(MathUtil.safeSqrt(h2) / 2 + finSet.getBodyRadius());
+			longitudinal += armToCenter / 2;
+			rotational += armToCenter;
+		}
+		this.longitudinalUnitInertia = longitudinal;
+		this.rotationalUnitInertia = rotational;
+	}
+
+	/**
+	 * @return the modification ID of the fin set this geometry was computed for
+	 */
+	public int getModID() {
+		return modID;
+	}
+
+	/**
+	 * @return the number of points of the fin outline
+	 */
+	public int getFinPointCount() {
+		return finX.length;
+	}
+
+	public double getFinX(int index) {
+		return finX[index];
+	}
+
+	public double getFinY(int index) {
+		return finY[index];
+	}
+
+	/**
+	 * @return a copy of the fin outline, see {@link FinSet#getFinPoints()}
+	 */
+	public Coordinate[] getFinPoints() {
+		return finPoints.clone();
+	}
+
+	/**
+	 * @return a copy of the fin root curve, see {@link FinSet#getRootPoints()}
+	 */
+	public Coordinate[] getRootPoints() {
+		return rootPoints.clone();
+	}
+
+	/**
+	 * @return a copy of the fin outline including the root, see {@link FinSet#getFinPointsWithRoot()}
+	 */
+	public Coordinate[] getFinPointsWithRoot() {
+		Coordinate[] points = finPointsWithRoot;
+		if (points == null) {
+			points = FinSet.combineCurves(finPoints, rootPoints);
+			finPointsWithRoot = points;
+		}
+		return points.clone();
+	}
+
+	/**
+	 * @return a copy of the fin outline including a low resolution root, see
+	 * 			{@link FinSet#getFinPointsWithLowResRoot()}
+	 */
+	public Coordinate[] getFinPointsWithLowResRoot() {
+		Coordinate[] points = finPointsWithLowResRoot;
+		if (points == null) {
+			points = FinSet.combineCurves(finPoints, finSet.getRootPoints(FinSet.MAX_ROOT_DIVISIONS_LOW_RES));
+			finPointsWithLowResRoot = points;
+		}
+		return points.clone();
+	}
+
+	/**
+	 * @return a copy of the tab outline including the root, see {@link FinSet#getTabPointsWithRoot()}
+	 */
+	public Coordinate[] getTabPointsWithRoot() {
+		Coordinate[] points = tabPointsWithRoot;
+		if (points == null) {
+			points = finSet.getTabPointsWithRoot();
+			tabPointsWithRoot = points;
+		}
+		return points.clone();
+	}
+
+	/**
+	 * @return a copy of the tab outline including a low resolution root, see
+	 * 			{@link FinSet#getTabPointsWithRootLowRes()}
+	 */
+	public Coordinate[] getTabPointsWithLowResRoot() {
+		Coordinate[] points = tabPointsWithLowResRoot;
+		if (points == null) {
+			points = finSet.getTabPointsWithRootLowRes();
+			tabPointsWithLowResRoot = points;
+		}
+		return points.clone();
+	}
+
+	/**
+	 * @return the one-sided planform area of a single fin
+	 */
+	public double getPlanformArea() {
+		return planformCentroid.weight;
+	}
+
+	/**
+	 * @return the centroid of the planform relative to the fin leading edge and the body centerline,
+	 * 			with the planform area as weight
+	 */
+	public Coordinate getPlanformCentroid() {
+		return planformCentroid;
+	}
+
+	public double getSpan() {
+		return span;
+	}
+
+	/**
+	 * @return the smallest x coordinate of the fin outline
+	 */
+	public double getMinX() {
+		return xMin;
+	}
+
+	/**
+	 * @return the largest x coordinate of the fin outline
+	 */
+	public double getMaxX() {
+		return xMax;
+	}
+
+	/**
+	 * @return the largest distance of the fin outline from the fin root
+	 */
+	public double getMaxRadius() {
+		return rMax;
+	}
+
+	/**
+	 * @return the longitudinal unit inertia of the fin set, see {@link FinSet#getLongitudinalUnitInertia()}
+	 */
+	public double getLongitudinalUnitInertia() {
+		return longitudinalUnitInertia;
+	}
+
+	/**
+	 * @return the rotational unit inertia of the fin set, see {@link FinSet#getRotationalUnitInertia()}
+	 */
+	public double getRotationalUnitInertia() {
+		return rotationalUnitInertia;
+	}
+}
@@ -81,6 +81,7 @@ public class FlightConfiguration implements FlightConfigurableParameter<FlightCo
 	private double cachedRefLength = -1;
 
 	private int modID = 0;
+	private int activeInstancesModID = 0;
 
 	/**
 	 * Create a Default configuration with the specified <code>Rocket</code>.
@@ -400,6 +401,17 @@ public class FlightConfiguration implements FlightConfigurableParameter<FlightCo
 		return activeInstances;
 	}
 
+	/**
+	 * Returns a counter that changes whenever the active instances are regenerated, e.g. when a
+	 * stage is activated or deactivated.  The instance map returned by {@link #getActiveInstances()}
+	 * is updated in place, so this can be used to tell whether data derived from it is still valid.
+	 *
+	 * @return the modification count of the active instances
+	 */
+	public int getActiveInstancesModID() {
+		return activeInstancesModID;
+	}
+
 	/**
 	 * Returns the InstanceMap of instances that need to be rendered, but are not
 	 * present in {@link #getActiveInstances()}.
@@ -421,6 +433,7 @@ public class FlightConfiguration implements FlightConfigurableParameter<FlightCo
 	 * ONLY WHEN READY / MATURE!
 	 */
 	private void updateActiveInstances() {
+		activeInstancesModID++;
 		activeInstances.clear();
 		extraRenderInstances.clear();
 		getActiveContextListAt(this.rocket, activeInstances, Transformation.IDENTITY);
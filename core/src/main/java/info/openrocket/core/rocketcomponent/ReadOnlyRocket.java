@@ -0,0 +1,88 @@
+package info.openrocket.core.rocketcomponent;
+
+import info.openrocket.core.util.SafetyMutex;
+
+/**
+ * A read-only copy of a {@link Rocket} that can be shared by several simulations running
+ * concurrently, instead of each simulation taking its own deep copy of the rocket.
+ * <p>
+ * The rocket is copied once when the read-only rocket is created.  The safety mutexes of the copied
+ * components are replaced with unchecked ones, and the lazily computed component data (mass, CG,
+ * inertia, volumes, areas, radius profiles and fin geometry) is computed up front, so that
+ * concurrent readers only ever read the component tree.  Any attempt to modify the copy fires a
+ * change event, which throws an <code>IllegalStateException</code>.
+ * <p>
+ * The state that changes during a flight is kept per simulation: each simulation uses its own
+ * {@link FlightConfiguration}, created with {@link #newConfiguration(FlightConfigurationId)}, for
+ * the stage separations, and its <code>SimulationStatus</code> for the motor states and the
+ * deployed recovery devices.
+ */
+public final class ReadOnlyRocket {
+
+	private final Rocket rocket;
+
+	/**
+	 * Create a read-only copy of a rocket.  Later changes to the original rocket are not reflected
+	 * in the copy.
+	 *
+	 * @param original	the rocket to copy
+	 */
+	public ReadOnlyRocket(Rocket original) {
+		final Rocket copy = original.copyWithOriginalID();
+		for (RocketComponent c : copy) {
+			c.mutex = SafetyMutex.newUncheckedInstance();
+			warm(c);
+		}
+		copy.setReadOnly();
+		this.rocket = copy;
+	}
+
+	/**
+	 * Compute the cached data of a component, which would otherwise be computed, and written,
+	 * by the first simulation that needs it.
+	 */
+	private static void warm(RocketComponent c) {
+		c.getComponentMass();
+		c.getComponentCG();
+		c.getLongitudinalUnitInertia();
+		c.getRotationalUnitInertia();
+		if (c instanceof SymmetricComponent) {
+			final SymmetricComponent s = (SymmetricComponent) c;
+			s.getRadiusProfile();
+			s.getComponentVolume();
+			s.getFullVolume();
+			s.getComponentWetArea();
+			s.getComponentPlanformArea();
+			s.getComponentPlanformCenter();
+		}
+		if (c instanceof FinSet) {
+			final FinSet f = (FinSet) c;
+			f.getFinGeometry();
+			f.getPlanformArea();
+			f.getComponentVolume();
+			f.getCantRotation();
+		}
+	}
+
+	/**
+	 * @return the shared, read-only rocket
+	 */
+	public Rocket getRocket() {
+		return rocket;
+	}
+
+	/**
+	 * Create a new flight configuration of the shared rocket, with the stage activeness of the
+	 * configuration of the same ID.  The returned configuration is owned by the caller and may be
+	 * modified freely, for example when stages separate during a simulation.
+	 *
+	 * @param fcid	the flight configuration ID
+	 * @return a new flight configuration of the shared rocket
+	 */
+	public FlightConfiguration newConfiguration(FlightConfigurationId fcid) {
+		final FlightConfiguration shared = rocket.getFlightConfiguration(fcid);
+		final FlightConfiguration config = shared.clone(rocket);
+		config.copyStages(shared);
+		return config;
+	}
+}
@@ -37,10 +37,10 @@ public class Rocket extends ComponentAssembly {
 	private Set<EventListener> listenerList = new HashSet<>();
 	
 	/**
-	 * When freezeList != null, events are not dispatched but stored in the list.
-	 * When the structure is thawed, a single combined event will be fired.
+	 * When changeBatch != null, events are not dispatched but merged into the batch.
+	 * When the outermost batch is committed, a single consolidated event will be fired.
 	 */
-	private List<ComponentChangeEvent> freezeList = null;
+	private ChangeBatch changeBatch = null;
 	
 	
 	private int modID;
@@ -51,6 +51,9 @@ public class Rocket extends ComponentAssembly {
 
 	private boolean eventsEnabled = false;
 
+	/** Whether this rocket is shared read-only by a {@link ReadOnlyRocket} */
+	private boolean readOnly = false;
+
 	private ReferenceType refType = ReferenceType.MAXIMUM; // Set in constructor
 	private double customReferenceLength = DEFAULT_REFERENCE_LENGTH;
 	
@@ -148,6 +151,7 @@ public class Rocket extends ComponentAssembly {
 	 *
 	 * @return   a unique ID number for this modification state.
 	 */
+	@Override
 	public int getModID() {
 		return modID;
 	}
@@ -398,6 +402,8 @@ public class Rocket extends ComponentAssembly {
 
 		copyRocket.selectedConfiguration = copyRocket.configSet.get( this.getSelectedConfiguration().getId());
 		copyRocket.listenerList = new HashSet<>();
+		copyRocket.changeBatch = null;
+		copyRocket.readOnly = false;
 		
 		return copyRocket;
 	}
@@ -537,6 +543,9 @@ public class Rocket extends ComponentAssembly {
 	}
 
 	protected void fireComponentChangeEvent(ComponentChangeEvent cce, final FlightConfigurationId[] ids) {
+		if (this.readOnly) {
+			throw new IllegalStateException("Attempted to modify a read-only rocket, event=" + cce);
+		}
 		if (!this.eventsEnabled) {
 			return;
 		}
@@ -556,14 +565,16 @@ public class Rocket extends ComponentAssembly {
 					treeModID = modID;
 				if (cce.isFunctionalChange()) {
 					functionalModID = modID;
-					updateConfigurationsModID(ids);
+					// Updated once when the batch is committed
+					if (changeBatch == null) {
+						updateConfigurationsModID(ids);
+					}
 				}
 			}
 
-			// Check whether frozen
-			if (freezeList != null) {
-				log.debug("Rocket is in frozen state, adding event " + cce + " info freeze list");
-				freezeList.add(cce);
+			// Check whether in a change batch
+			if (changeBatch != null) {
+				changeBatch.add(cce, ids);
 				return;
 			}
 
@@ -677,6 +688,74 @@ public class Rocket extends ComponentAssembly {
 		}
 	}
 	
+	/**
+	 * Begins a change batch.  Until the batch is committed, the change events fired by the
+	 * components of the rocket are not dispatched, but merged by component and type.  When the
+	 * outermost batch is committed, a single consolidated event is fired, so the flight
+	 * configurations, the components and the listeners are updated once for all changes.
+	 * <p>
+	 * Batches may be nested, only committing the outermost batch fires the event.
+	 * <code>commitChangeBatch()</code> must always be called afterwards:
+	 * <pre>
+	 *     Rocket r = c.getRocket();
+	 *     r.beginChangeBatch();
+	 *     try {
+	 *         // do stuff
+	 *     } finally {
+	 *         r.commitChangeBatch();
+	 *     }
+	 * </pre>
+	 *
+	 * @see #commitChangeBatch()
+	 */
+	public void beginChangeBatch() {
+		checkState();
+		if (changeBatch == null) {
+			changeBatch = new ChangeBatch();
+			log.debug("Beginning change batch");
+		} else {
+			changeBatch.depth++;
+		}
+	}
+
+	/**
+	 * Commits a change batch.  If this ends the outermost batch, the changes made during
+	 * the batch are fired as a single event.  The type of the event is the combination of
+	 * the types fired, the source is the last component to have been an event source, and
+	 * {@link ComponentChangeEvent#getChanges()} contains the changes of every component.
+	 *
+	 * @see #beginChangeBatch()
+	 */
+	public void commitChangeBatch() {
+		checkState();
+		if (changeBatch == null) {
+			Application.getExceptionHandler().handleErrorCondition("Attempting to commit a change batch when none is open");
+			return;
+		}
+		if (--changeBatch.depth > 0) {
+			return;
+		}
+
+		final ChangeBatch batch = changeBatch;
+		changeBatch = null;
+		if (batch.changes.isEmpty()) {
+			log.debug("Committing change batch with no changes made");
+			return;
+		}
+
+		log.debug("Committing change batch, type=" + batch.type + " components=" + batch.changes.size());
+		final FlightConfigurationId[] ids = batch.allConfigurations ? null
+				: batch.ids.toArray(new FlightConfigurationId[0]);
+		fireComponentChangeEvent(new ComponentChangeEvent(batch.source, batch.type, batch.changes), ids);
+	}
+
+	/**
+	 * Return whether a change batch is open.
+	 */
+	public boolean isInChangeBatch() {
+		return changeBatch != null;
+	}
+
 	/**
 	 * Freezes the rocket structure from firing any events.  This may be performed to
 	 * combine several actions on the structure into a single large action.
@@ -693,50 +772,49 @@ public class Rocket extends ComponentAssembly {
 	 *     }
 	 * </pre>
 	 *
+	 * This is the same as beginning a change batch.
+	 *
 	 * @see #thaw()
+	 * @see #beginChangeBatch()
 	 */
 	public void freeze() {
-		checkState();
-		if (freezeList == null) {
-			freezeList = new LinkedList<>();
-			log.debug("Freezing Rocket");
-		} else {
-			Application.getExceptionHandler()
-					.handleErrorCondition("Attempting to freeze Rocket when it is already frozen, " +
-							"freezeList=" + freezeList);
-		}
+		beginChangeBatch();
 	}
 	
 	/**
 	 * Thaws a frozen rocket structure and fires a combination of the events fired during
-	 * the freeze.  The event type is a combination of those fired and the source is the
-	 * last component to have been an event source.
+	 * the freeze.  This is the same as committing a change batch.
 	 *
 	 * @see #freeze()
+	 * @see #commitChangeBatch()
 	 */
 	public void thaw() {
-		checkState();
-		if (freezeList == null) {
-			Application.getExceptionHandler().handleErrorCondition("Attempting to thaw Rocket when it is not frozen");
-			return;
-		}
-		if (freezeList.size() == 0) {
-			log.warn("Thawing rocket with no changes made");
-			freezeList = null;
-			return;
-		}
-		
-		log.debug("Thawing rocket, freezeList=" + freezeList);
-		
-		int type = 0;
-		Object c = null;
-		for (ComponentChangeEvent e : freezeList) {
-			type = type | e.getType();
-			c = e.getSource();
+		commitChangeBatch();
+	}
+
+	/**
+	 * The changes made during a change batch, merged by component.
+	 */
+	private static class ChangeBatch {
+		private int depth = 1;
+		private int type = 0;
+		private RocketComponent source = null;
+		private final Map<RocketComponent, Integer> changes = new IdentityHashMap<>();
+		private boolean allConfigurations = false;
+		private final Set<FlightConfigurationId> ids = new LinkedHashSet<>();
+
+		private void add(ComponentChangeEvent cce, FlightConfigurationId[] eventIds) {
+			type |= cce.getType();
+			source = cce.getSource();
+			for (Map.Entry<RocketComponent, Integer> e : cce.getChanges().entrySet()) {
+				changes.merge(e.getKey(), e.getValue(), (a, b) -> a | b);
+			}
+			if (eventIds == null) {
+				allConfigurations = true;
+			} else if (!allConfigurations) {
+				ids.addAll(Arrays.asList(eventIds));
+			}
 		}
-		freezeList = null;
-		
-		fireComponentChangeEvent(new ComponentChangeEvent((RocketComponent) c, type));
 	}
 	
 	
@@ -989,6 +1067,34 @@ public class Rocket extends ComponentAssembly {
 		}
 	}
 
+	/**
+	 * Return whether this rocket fires change events.  The modification IDs of a rocket
+	 * without events do not change when the rocket is modified.
+	 *
+	 * @return whether change events are enabled
+	 */
+	public boolean isEventsEnabled() {
+		return this.eventsEnabled;
+	}
+
+	/**
+	 * Return whether this rocket is a read-only copy shared by concurrent simulations.
+	 * Modifying a read-only rocket throws an <code>IllegalStateException</code>.
+	 * 
+	 * @return whether this rocket is read-only
+	 * @see ReadOnlyRocket
+	 */
+	public boolean isReadOnly() {
+		return readOnly;
+	}
+
+	/**
+	 * Mark this rocket read-only.  Used by {@link ReadOnlyRocket}.
+	 */
+	void setReadOnly() {
+		this.readOnly = true;
+	}
+
 	public String toDebugConfigs() {
 		StringBuilder buf = new StringBuilder();
 		buf.append(String.format("====== Dumping %d Configurations from rocket: %s ======\n",
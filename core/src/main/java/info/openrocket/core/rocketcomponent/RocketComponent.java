@@ -134,6 +134,9 @@ public abstract class RocketComponent implements ChangeSource, Cloneable, Iterab
 	
 	// Unique ID of the component
 	private String id = null;
+
+	// Modification ID of the component, see getModID()
+	private int modID = UniqueID.next();
 	
 	// Preset component this component is based upon
 	private ComponentPreset presetComponent = null;
@@ -332,10 +335,30 @@ public abstract class RocketComponent implements ChangeSource, Cloneable, Iterab
 	 * @param e  The event fired
 	 */
 	protected void componentChanged(ComponentChangeEvent e) {
-		// No-op
 		checkState();
+		if (e.hasSource(this) || e.isMassChange() || e.isAerodynamicChange() ||
+				e.isTreeChange() || e.isUndoChange()) {
+			modID = UniqueID.next();
+		}
 		update();
 	}
+
+	/**
+	 * Return the modification ID of this component.  The ID changes every time this
+	 * component fires a change event, and every time any component in the rocket
+	 * fires a change that may affect the geometry of other components (mass, aerodynamic,
+	 * tree and undo changes), since the shape of e.g. automatically sized components
+	 * depends on their neighbours.
+	 * <p>
+	 * This can be used to key per-component cached data (rendered geometry, shapes, ...)
+	 * so that it survives changes that do not affect this component, such as
+	 * non-functional changes of other components.
+	 *
+	 * @return   a unique ID number for the modification state of this component.
+	 */
+	public int getModID() {
+		return modID;
+	}
 	
 	
 	
@@ -36,6 +36,7 @@ public abstract class SymmetricComponent extends BodyComponent implements BoxBou
 	protected double longitudinalUnitInertia = Double.NaN;
 	protected double rotationalUnitInertia = Double.NaN;
 	protected Coordinate cg = null;
+	private SymmetricComponentProfile profile = null;
 
 	public SymmetricComponent() {
 		super();
@@ -428,9 +429,43 @@ public abstract class SymmetricComponent extends BodyComponent implements BoxBou
 		return moi;
 	}
 
+	/**
+	 * Return the outer radius profile of the component, as used when integrating the volume, CG and
+	 * inertia.  The profile is sampled at equally spaced divisions and refined where the error estimate
+	 * requires it, and straight parts of the profile are merged into single segments.  The profile is
+	 * cached until the component changes, and is shared by the aerodynamic calculation, the figures and
+	 * the exporters.
+	 *
+	 * @return the radius profile of the component
+	 */
+	public SymmetricComponentProfile getRadiusProfile() {
+		SymmetricComponentProfile p = profile;
+		if (p == null) {
+			p = new SymmetricComponentProfile(this, DIVISIONS);
+			profile = p;
+		}
+		return p;
+	}
+
+	/**
+	 * Return whether the outer radius is a linear function of the position, i.e. the component is
+	 * a cylinder or a cone.  Such components are integrated in closed form without sampling the profile.
+	 * Subclasses with a linear profile should override this method.
+	 *
+	 * @return whether the outer radius profile is a straight line
+	 */
+	protected boolean hasLinearProfile() {
+		return false;
+	}
+
 	/**
 	 * Performs integration over the length of the component and updates the cached
 	 * variables.
+	 * <p>
+	 * The component is integrated as a series of (possibly hollow) conical frustums, one for each
+	 * segment of the radius profile.  The frustum formulas are exact for straight segments, so
+	 * cylinders, cones and straight parts of curved profiles are evaluated in closed form, while
+	 * curved parts are integrated at the full resolution of the profile.
 	 */
 	protected void calculateProperties() {
 		wetArea = 0;
@@ -449,77 +484,32 @@ public abstract class SymmetricComponent extends BodyComponent implements BoxBou
 		}
 
 		// Integrate for volume, CG, wetted area, planform area, and moments of inertia
-		for (int n = 0; n < DIVISIONS; n++) {
-			/*
-			 * x1 and x2 are the bounds on this division
-			 * hyp is the length of the hypotenuse from r1 to r2
-			 * height is the y-axis height of the component if not filled
-			 * r1o and r2o are the outer radii
-			 * r1i and r2i are the inner radii
-			 */
-
-			// get x bounds and length for this division
-			final double x1 = n * getLength() / DIVISIONS;
-			final double x2 = (n + 1) * getLength() / DIVISIONS;
-			final double l = x2 - x1;
-
-			// get outer and inner radii
-			final double r1o = getRadius(x1);
-			final double r2o = getRadius(x2);
-
-			// use thickness and angle of outer wall to get height of ring
-			final double hyp = MathUtil.hypot(r2o - r1o, l);
-			final double height = thickness * hyp / l;
-
-			// get inner radii.
-			final double r1i;
-			final double r2i;
-			if (filled) {
-				r1i = 0;
-				r2i = 0;
-			} else {
-				// Tiny inaccuracy is introduced on a division where one end is closed and other is open.
-				r1i = MathUtil.max(r1o - height, 0);
-				r2i = MathUtil.max(r2o - height, 0);
+		final SymmetricComponentProfile profile = getRadiusProfile();
+		final double division = getLength() / DIVISIONS;
+		for (int n = 0; n < profile.getPointCount() - 1; n++) {
+			final double x1 = profile.getX(n);
+			final double x2 = profile.getX(n + 1);
+			final double r1o = profile.getRadius(n);
+			final double r2o = profile.getRadius(n + 1);
+
+			// A merged segment where the inner wall closes is split at the division containing
+			// the closing point, which is integrated as before with a clamped inner radius.
+			if (!filled && (x2 - x1) > division * 1.5) {
+				final double height = thickness * MathUtil.hypot(r2o - r1o, x2 - x1) / (x2 - x1);
+				if ((r1o - height > 0) != (r2o - height > 0)) {
+					final double xc = x1 + (x2 - x1) * (height - r1o) / (r2o - r1o);
+					final double xa = MathUtil.clamp(Math.floor(xc / division) * division, x1, x2);
+					final double xb = MathUtil.clamp(xa + division, x1, x2);
+					final double ra = r1o + (r2o - r1o) * (xa - x1) / (x2 - x1);
+					final double rb = r1o + (r2o - r1o) * (xb - x1) / (x2 - x1);
+					cgx += integrateFrustum(x1, xa, r1o, ra);
+					cgx += integrateFrustum(xa, xb, ra, rb);
+					cgx += integrateFrustum(xb, x2, rb, r2o);
+					continue;
+				}
 			}
 
-			// find volume and CG of (possibly hollow) frustum
-			final Coordinate fullCG = calculateCG(l, r1o, r2o);
-			final Coordinate innerCG = calculateCG(l, r1i, r2i);
-
-			final double dFullV = fullCG.weight;
-			final double dV = fullCG.weight - innerCG.weight;
-			final double dCG = (fullCG.x * fullCG.weight - innerCG.x * innerCG.weight) / dV;
-
-			// First moment, used later for CG calculation
-			final double dCGx = dV * (x1 + dCG);
-
-			// rotational moment of inertia
-			final double Ixxo = calculateUnitRotMOI(r1o, r2o);
-			final double Ixxi = calculateUnitRotMOI(r1i, r2i);
-			final double Ixx = Ixxo * fullCG.weight - Ixxi * innerCG.weight;
-
-			// longitudinal moment of inertia -- axis through CG of division
-			double Iyy = calculateLongMOI(l, r1o, r2o, fullCG) - calculateLongMOI(l, r1i, r2i, innerCG);
-
-			// move to axis through forward end of component
-			Iyy += dV * pow2(x1 + dCG);
-
-			// Add to the volume-related components
-			volume += dV;
-			fullVolume += dFullV;
-			cgx += dCGx;
-			rotationalUnitInertia += Ixx;
-			longitudinalUnitInertia += Iyy;
-
-			// Wetted area ( * PI at the end)
-			wetArea += (r1o + r2o) * Math.sqrt(pow2(r1o - r2o) + pow2(l));
-
-			// Planform area & moment
-			final double dA = l * (r1o + r2o);
-			planArea += dA;
-			final double planMoment = dA * x1 + 2.0 * pow2(l) * (r1o / 6.0 + r2o / 3.0);
-			planCenter += planMoment;
+			cgx += integrateFrustum(x1, x2, r1o, r2o);
 		}
 
 		if (planArea > 0)
@@ -558,6 +548,84 @@ public abstract class SymmetricComponent extends BodyComponent implements BoxBou
 
 	}
 
+	/**
+	 * helper method for calculateProperties(). Adds the volume, wetted area, planform area and
+	 * moments of inertia of a (possibly hollow) conical frustum to the cached variables, before
+	 * correction of the deferred constant factors.  Empty frustums are ignored.
+	 *
+	 * @param x1  position of the fore end of the frustum
+	 * @param x2  position of the aft end of the frustum
+	 * @param r1o outer radius of the fore end of the frustum
+	 * @param r2o outer radius of the aft end of the frustum
+	 * @return the first moment of the frustum volume, used later for CG calculation
+	 */
+	private double integrateFrustum(double x1, double x2, double r1o, double r2o) {
+		/*
+		 * l is the length of the frustum
+		 * hyp is the length of the hypotenuse from r1 to r2
+		 * height is the y-axis height of the component if not filled
+		 * r1i and r2i are the inner radii
+		 */
+		final double l = x2 - x1;
+		if (l <= 0) {
+			return 0;
+		}
+
+		// use thickness and angle of outer wall to get height of ring
+		final double hyp = MathUtil.hypot(r2o - r1o, l);
+		final double height = thickness * hyp / l;
+
+		// get inner radii.
+		final double r1i;
+		final double r2i;
+		if (filled) {
+			r1i = 0;
+			r2i = 0;
+		} else {
+			// Tiny inaccuracy is introduced on a division where one end is closed and other is open.
+			r1i = MathUtil.max(r1o - height, 0);
+			r2i = MathUtil.max(r2o - height, 0);
+		}
+
+		// find volume and CG of (possibly hollow) frustum
+		final Coordinate fullCG = calculateCG(l, r1o, r2o);
+		final Coordinate innerCG = calculateCG(l, r1i, r2i);
+
+		final double dFullV = fullCG.weight;
+		final double dV = fullCG.weight - innerCG.weight;
+		final double dCG = (fullCG.x * fullCG.weight - innerCG.x * innerCG.weight) / dV;
+
+		// First moment, used later for CG calculation
+		final double dCGx = dV * (x1 + dCG);
+
+		// rotational moment of inertia
+		final double Ixxo = calculateUnitRotMOI(r1o, r2o);
+		final double Ixxi = calculateUnitRotMOI(r1i, r2i);
+		final double Ixx = Ixxo * fullCG.weight - Ixxi * innerCG.weight;
+
+		// longitudinal moment of inertia, moving the outer and inner frustums separately from
+		// their own CG to the axis through the forward end of the component
+		final double Iyy = calculateLongMOI(l, r1o, r2o, fullCG) + fullCG.weight * pow2(x1 + fullCG.x)
+				- calculateLongMOI(l, r1i, r2i, innerCG) - innerCG.weight * pow2(x1 + innerCG.x);
+
+		// Add to the volume-related components
+		volume += dV;
+		fullVolume += dFullV;
+		rotationalUnitInertia += Ixx;
+		longitudinalUnitInertia += Iyy;
+
+		// Wetted area ( * PI at the end)
+		wetArea += (r1o + r2o) * Math.sqrt(pow2(r1o - r2o) + pow2(l));
+
+		// Planform area & moment
+		final double dA = l * (r1o + r2o);
+		planArea += dA;
+		final double planMoment = dA * x1 + 2.0 * pow2(l) * (r1o / 6.0 + r2o / 3.0);
+		planCenter += planMoment;
+
+		return dCGx;
+	}
+
 	/**
 	 * Invalidates the cached volume and CG information.
 	 */
@@ -573,6 +641,7 @@ public abstract class SymmetricComponent extends BodyComponent implements BoxBou
 			longitudinalUnitInertia = Double.NaN;
 			rotationalUnitInertia = Double.NaN;
 			cg = null;
+			profile = null;
 		}
 	}
 
@@ -0,0 +1,210 @@
+package info.openrocket.core.rocketcomponent;
+
+import java.util.Arrays;
+
+/**
+ * The outer radius profile of a {@link SymmetricComponent}, sampled once along the length of the component.
+ * <p>
+ * The profile is first sampled at a fixed number of equally spaced divisions.  Each division is then
+ * checked against the radius at its midpoint: where the midpoint deviates from the chord by more than
+ * {@link #REFINE_TOLERANCE} of the largest radius, the division is bisected recursively until the error
+ * estimate is met.  Smooth profiles stay at the division resolution, while tips with an infinite slope
+ * (ellipsoid, power series and Haack series) are refined locally.  Finally, runs of samples that lie on a
+ * straight line (within {@link #TOLERANCE} of the largest radius) are merged into a single segment, so
+ * straight parts of the profile, such as a body tube or a conical transition, are represented by their end
+ * points only.  Each segment of the profile is a conical frustum, which the volume, CG and inertia
+ * integration of the component evaluates in closed form.
+ * <p>
+ * The profile is computed by {@link SymmetricComponent#getRadiusProfile()} and cached until the component
+ * changes.  Instances are immutable.
+ */
+public final class SymmetricComponentProfile {
+
+	/** Relative deviation from a straight line below which samples are merged */
+	static final double TOLERANCE = 1e-9;
+
+	/** Relative deviation of the midpoint of a division from its chord above which the division is bisected */
+	static final double REFINE_TOLERANCE = 1e-4;
+
+	/** Maximum number of times a single division is bisected */
+	static final int MAX_REFINEMENT = 16;
+
+	private final double length;
+	private final int divisions;
+	private final double[] x;
+	private final double[] r;
+
+	SymmetricComponentProfile(SymmetricComponent component, int divisions) {
+		this.length = component.getLength();
+		this.divisions = divisions;
+
+		if (length <= 0 || component.hasLinearProfile()) {
+			this.x = new double[] { 0, Math.max(length, 0) };
+			this.r = new double[] { component.getRadius(0), component.getRadius(Math.max(length, 0)) };
+			return;
+		}
+
+		final double[] bx = new double[divisions + 1];
+		final double[] br = new double[divisions + 1];
+		double rMax = 0;
+		for (int n = 0; n <= divisions; n++) {
+			bx[n] = n * length / divisions;
+			br[n] = component.getRadius(bx[n]);
+			rMax = Math.max(rMax, Math.abs(br[n]));
+		}
+
+		// Bisect the divisions whose error estimate exceeds the refinement tolerance
+		final Samples samples = new Samples(divisions + 1);
+		samples.add(bx[0], br[0]);
+		for (int n = 0; n < divisions; n++) {
+			refine(component, samples, bx[n], br[n], bx[n + 1], br[n + 1], REFINE_TOLERANCE * rMax, 0);
+			samples.add(bx[n + 1], br[n + 1]);
+		}
+		final double[] sx = samples.x;
+		final double[] sr = samples.r;
+		final int last = samples.count - 1;
+		final double tolerance = TOLERANCE * rMax;
+
+		// Greedily extend each segment as long as all samples within it lie on the chord
+		final int[] keep = new int[last + 1];
+		int count = 0;
+		int start = 0;
+		keep[count++] = 0;
+		while (start < last) {
+			int end = start + 1;
+			while (end < last && isStraight(sx, sr, start, end + 1, tolerance)) {
+				end++;
+			}
+			keep[count++] = end;
+			start = end;
+		}
+
+		this.x = new double[count];
+		this.r = new double[count];
+		for (int i = 0; i < count; i++) {
+			x[i] = sx[keep[i]];
+			r[i] = sr[keep[i]];
+		}
+	}
+
+	/**
+	 * Adds the interior samples of the interval (x1, x2) to the samples.  The interval is bisected if the
+	 * radius at its midpoint deviates from the chord by more than the tolerance, which estimates the error
+	 * of integrating the interval as a single frustum.
+	 */
+	private static void refine(SymmetricComponent component, Samples samples, double x1, double r1,
+			double x2, double r2, double tolerance, int depth) {
+		if (depth >= MAX_REFINEMENT) {
+			return;
+		}
+		final double xm = (x1 + x2) / 2;
+		final double rm = component.getRadius(xm);
+		if (!(Math.abs(rm - (r1 + r2) / 2) > tolerance)) {
+			return;
+		}
+		refine(component, samples, x1, r1, xm, rm, tolerance, depth + 1);
+		samples.add(xm, rm);
+		refine(component, samples, xm, rm, x2, r2, tolerance, depth + 1);
+	}
+
+	private static boolean isStraight(double[] sx, double[] sr, int start, int end, double tolerance) {
+		final double slope = (sr[end] - sr[start]) / (sx[end] - sx[start]);
+		for (int n = start + 1; n < end; n++) {
+			final double chord = sr[start] + slope * (sx[n] - sx[start]);
+			if (Math.abs(sr[n] - chord) > tolerance) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return the length of the component the profile was sampled for
+	 */
+	public double getLength() {
+		return length;
+	}
+
+	/**
+	 * @return the number of equally spaced divisions the profile was sampled at before refinement
+	 */
+	public int getDivisions() {
+		return divisions;
+	}
+
+	/**
+	 * @return the number of points of the profile, at least two
+	 */
+	public int getPointCount() {
+		return x.length;
+	}
+
+	/**
+	 * @return the position of a point of the profile, increasing from 0 to the component length
+	 */
+	public double getX(int index) {
+		return x[index];
+	}
+
+	/**
+	 * @return the outer radius at a point of the profile
+	 */
+	public double getRadius(int index) {
+		return r[index];
+	}
+
+	/**
+	 * Return the outer radius at a position along the component, interpolated linearly between the points
+	 * of the profile.  Positions outside the component are clamped to its ends.
+	 *
+	 * @param position the position from the fore end of the component
+	 * @return the interpolated outer radius
+	 */
+	public double interpolateRadius(double position) {
+		if (!(position > x[0])) {
+			return r[0];
+		}
+		final int last = x.length - 1;
+		if (position >= x[last]) {
+			return r[last];
+		}
+		int index = Arrays.binarySearch(x, position);
+		if (index >= 0) {
+			return r[index];
+		}
+		index = -index - 1;
+		final double t = (position - x[index - 1]) / (x[index] - x[index - 1]);
+		return r[index - 1] + t * (r[index] - r[index - 1]);
+	}
+
+	/**
+	 * @return whether the whole profile is a single straight segment (a cylinder or a cone)
+	 */
+	public boolean isLinear() {
+		return x.length == 2;
+	}
+
+	/**
+	 * Growable list of profile samples, in increasing position.
+	 */
+	private static final class Samples {
+		private double[] x;
+		private double[] r;
+		private int count = 0;
+
+		Samples(int capacity) {
+			x = new double[capacity];
+			r = new double[capacity];
+		}
+
+		void add(double position, double radius) {
+			if (count == x.length) {
+				x = Arrays.copyOf(x, count * 2);
+				r = Arrays.copyOf(r, count * 2);
+			}
+			x[count] = position;
+			r[count] = radius;
+			count++;
+		}
+	}
+}
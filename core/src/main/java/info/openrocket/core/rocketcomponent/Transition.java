@@ -656,6 +656,14 @@ public class Transition extends SymmetricComponent implements InsideColorCompone
 		return Math.max(getRadius(x) - thickness, 0);
 	}
 
+	/**
+	 * Conical transitions and transitions with equal fore and aft radii have a linear profile.
+	 */
+	@Override
+	protected boolean hasLinearProfile() {
+		return type == Shape.CONICAL || getForeRadius() == getAftRadius();
+	}
+
 	@Override
 	public Collection<Coordinate> getComponentBounds() {
 		Collection<Coordinate> bounds = super.getComponentBounds();
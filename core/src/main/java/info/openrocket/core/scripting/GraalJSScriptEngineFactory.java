@@ -8,6 +8,7 @@ import java.util.*;
 import com.oracle.truffle.js.scriptengine.GraalJSScriptEngine;
 
 import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
 import org.graalvm.polyglot.HostAccess;
 
 public class GraalJSScriptEngineFactory implements ScriptEngineFactory {
@@ -24,13 +25,30 @@ public class GraalJSScriptEngineFactory implements ScriptEngineFactory {
     private static final List mimeTypes;
     private static final List extensions;
 
+    /**
+     * The polyglot engine shared by all script engines.  Each script engine has its own context,
+     * but the parsed and compiled code of identical sources is cached by the shared engine, so a
+     * script is only compiled once for all simulations and threads.
+     */
+    private static Engine sharedEngine;
+
     public GraalJSScriptEngineFactory() {
     }
 
+    /**
+     * Return the polyglot engine shared by the script engines created by this factory.
+     */
+    public static synchronized Engine getSharedEngine() {
+        if (sharedEngine == null) {
+            sharedEngine = Engine.newBuilder().build();
+        }
+        return sharedEngine;
+    }
+
     public ScriptEngine getScriptEngine() {
         // https://github.com/oracle/graaljs/blob/master/docs/user/RunOnJDK.md
         // https://github.com/oracle/graaljs/blob/master/docs/user/ScriptEngine.md#setting-options-via-bindings
-        ScriptEngine engine = GraalJSScriptEngine.create(null,
+        ScriptEngine engine = GraalJSScriptEngine.create(getSharedEngine(),
                 Context.newBuilder("js")
                         .allowHostAccess(HostAccess.ALL)
                         .allowHostClassLookup(s -> true)
@@ -49,7 +67,7 @@ public class GraalJSScriptEngineFactory implements ScriptEngineFactory {
     }
 
     public String getEngineVersion() {
-        return ((GraalJSScriptEngine) getScriptEngine()).getPolyglotEngine().getVersion();
+        return getSharedEngine().getVersion();
     }
 
     public List<String> getExtensions() {
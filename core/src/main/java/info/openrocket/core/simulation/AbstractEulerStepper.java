@@ -189,11 +189,13 @@ public abstract class AbstractEulerStepper extends AbstractSimulationStepper {
 		dataBranch.addPoint();
 		status.storeData();
 
-		airSpeed = status.getRocketVelocity().add(store.windVelocity);
-		final double Re = airSpeed.length() *
-			status.getConfiguration().getLengthAerodynamic() /
-			store.atmosphericConditions.getKinematicViscosity();
-		dataBranch.setValue(FlightDataType.TYPE_REYNOLDS_NUMBER, Re);
+		if (dataBranch.isRecorded(FlightDataType.TYPE_REYNOLDS_NUMBER)) {
+			airSpeed = status.getRocketVelocity().add(store.windVelocity);
+			final double Re = airSpeed.length() *
+				status.getConfiguration().getLengthAerodynamic() /
+				store.atmosphericConditions.getKinematicViscosity();
+			dataBranch.setValue(FlightDataType.TYPE_REYNOLDS_NUMBER, Re);
+		}
 
 		log.trace("time " + dataBranch.getLast(FlightDataType.TYPE_TIME) + ", altitude " + dataBranch.getLast(FlightDataType.TYPE_ALTITUDE) + ", velocity " + dataBranch.getLast(FlightDataType.TYPE_VELOCITY_Z));
 	}
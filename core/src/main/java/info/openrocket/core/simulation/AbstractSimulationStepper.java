@@ -259,29 +259,42 @@ public abstract class AbstractSimulationStepper implements SimulationStepper {
 		
 		public Rotation2D thetaRotation;
 
+		/**
+		 * Store the values of the data store in the flight data branch of the status.  Values
+		 * of types that are not recorded in the branch are not computed.
+		 */
 		void storeData(SimulationStatus status) {
 		
 			FlightDataBranch dataBranch = status.getFlightDataBranch();
 
 			dataBranch.setValue(FlightDataType.TYPE_THRUST_FORCE, thrustForce);
 			dataBranch.setValue(FlightDataType.TYPE_GRAVITY, gravity);
-			double weight = rocketMass.getMass() * gravity;
-			dataBranch.setValue(FlightDataType.TYPE_THRUST_WEIGHT_RATIO, thrustForce / weight);
+			if (dataBranch.isRecorded(FlightDataType.TYPE_THRUST_WEIGHT_RATIO)) {
+				double weight = rocketMass.getMass() * gravity;
+				dataBranch.setValue(FlightDataType.TYPE_THRUST_WEIGHT_RATIO, thrustForce / weight);
+			}
 			dataBranch.setValue(FlightDataType.TYPE_DRAG_FORCE, dragForce);
 		
-			dataBranch.setValue(FlightDataType.TYPE_WIND_VELOCITY, windVelocity.length());
+			if (dataBranch.isRecorded(FlightDataType.TYPE_WIND_VELOCITY)) {
+				dataBranch.setValue(FlightDataType.TYPE_WIND_VELOCITY, windVelocity.length());
+			}
 			dataBranch.setValue(FlightDataType.TYPE_TIME_STEP, timeStep);
 			
-			if (GeodeticComputationStrategy.FLAT != status.getSimulationConditions().getGeodeticComputation()) {
+			if (GeodeticComputationStrategy.FLAT != status.getSimulationConditions().getGeodeticComputation() &&
+					dataBranch.isRecorded(FlightDataType.TYPE_CORIOLIS_ACCELERATION)) {
 				dataBranch.setValue(FlightDataType.TYPE_CORIOLIS_ACCELERATION, coriolisAcceleration.length());
 			}
 			
 			if (null != accelerationData) {
-				dataBranch.setValue(FlightDataType.TYPE_ACCELERATION_XY,
-									MathUtil.hypot(accelerationData.getLinearAccelerationWC().x, accelerationData.getLinearAccelerationWC().y));
-				
-				dataBranch.setValue(FlightDataType.TYPE_ACCELERATION_TOTAL, accelerationData.getLinearAccelerationWC().length());
-				dataBranch.setValue(FlightDataType.TYPE_ACCELERATION_Z, accelerationData.getLinearAccelerationWC().z);
+				final Coordinate linearAcceleration = accelerationData.getLinearAccelerationWC();
+				if (dataBranch.isRecorded(FlightDataType.TYPE_ACCELERATION_XY)) {
+					dataBranch.setValue(FlightDataType.TYPE_ACCELERATION_XY,
+										MathUtil.hypot(linearAcceleration.x, linearAcceleration.y));
+				}
+				if (dataBranch.isRecorded(FlightDataType.TYPE_ACCELERATION_TOTAL)) {
+					dataBranch.setValue(FlightDataType.TYPE_ACCELERATION_TOTAL, linearAcceleration.length());
+				}
+				dataBranch.setValue(FlightDataType.TYPE_ACCELERATION_Z, linearAcceleration.z);
 			}
 			
 			if (null != rocketMass) {
@@ -296,10 +309,12 @@ public abstract class AbstractSimulationStepper implements SimulationStepper {
 			}
 			
 			if (null != flightConditions) {
-				double Re = (flightConditions.getVelocity() *
-							 status.getConfiguration().getLengthAerodynamic() /
-							 flightConditions.getAtmosphericConditions().getKinematicViscosity());
-				dataBranch.setValue(FlightDataType.TYPE_REYNOLDS_NUMBER, Re);
+				if (dataBranch.isRecorded(FlightDataType.TYPE_REYNOLDS_NUMBER)) {
+					double Re = (flightConditions.getVelocity() *
+								 status.getConfiguration().getLengthAerodynamic() /
+								 flightConditions.getAtmosphericConditions().getKinematicViscosity());
+					dataBranch.setValue(FlightDataType.TYPE_REYNOLDS_NUMBER, Re);
+				}
 				dataBranch.setValue(FlightDataType.TYPE_MACH_NUMBER, flightConditions.getMach());
 				dataBranch.setValue(FlightDataType.TYPE_REFERENCE_LENGTH, flightConditions.getRefLength());
 				dataBranch.setValue(FlightDataType.TYPE_REFERENCE_AREA, flightConditions.getRefArea());
@@ -339,12 +354,18 @@ public abstract class AbstractSimulationStepper implements SimulationStepper {
 				dataBranch.setValue(FlightDataType.TYPE_PITCH_DAMPING_MOMENT_COEFF,	forces.getPitchDampingMoment());
 				
 				if (null != rocketMass && null != flightConditions) {
-					dataBranch.setValue(FlightDataType.TYPE_STABILITY,
-										(forces.getCP().x - rocketMass.getCM().x) / flightConditions.getRefLength());
-					dataBranch.setValue(FlightDataType.TYPE_PITCH_MOMENT_COEFF,
-										forces.getCm() - forces.getCN() * rocketMass.getCM().x / flightConditions.getRefLength());
-					dataBranch.setValue(FlightDataType.TYPE_YAW_MOMENT_COEFF,
-										forces.getCyaw() - forces.getCside() * rocketMass.getCM().x / flightConditions.getRefLength());
+					if (dataBranch.isRecorded(FlightDataType.TYPE_STABILITY)) {
+						dataBranch.setValue(FlightDataType.TYPE_STABILITY,
+											(forces.getCP().x - rocketMass.getCM().x) / flightConditions.getRefLength());
+					}
+					if (dataBranch.isRecorded(FlightDataType.TYPE_PITCH_MOMENT_COEFF)) {
+						dataBranch.setValue(FlightDataType.TYPE_PITCH_MOMENT_COEFF,
+											forces.getCm() - forces.getCN() * rocketMass.getCM().x / flightConditions.getRefLength());
+					}
+					if (dataBranch.isRecorded(FlightDataType.TYPE_YAW_MOMENT_COEFF)) {
+						dataBranch.setValue(FlightDataType.TYPE_YAW_MOMENT_COEFF,
+											forces.getCyaw() - forces.getCside() * rocketMass.getCM().x / flightConditions.getRefLength());
+					}
 				}
 			}
 		}
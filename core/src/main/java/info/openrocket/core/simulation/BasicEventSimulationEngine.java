@@ -2,6 +2,9 @@ package info.openrocket.core.simulation;
 
 import java.util.ArrayDeque;
 import java.util.Deque;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
 
 import info.openrocket.core.logging.SimulationAbort;
 import info.openrocket.core.motor.ThrustCurveMotor;
@@ -21,6 +24,7 @@ import info.openrocket.core.rocketcomponent.FlightConfiguration;
 import info.openrocket.core.rocketcomponent.FlightConfigurationId;
 import info.openrocket.core.rocketcomponent.MotorMount;
 import info.openrocket.core.rocketcomponent.RecoveryDevice;
+import info.openrocket.core.rocketcomponent.Rocket;
 import info.openrocket.core.rocketcomponent.RocketComponent;
 import info.openrocket.core.rocketcomponent.StageSeparationConfiguration;
 import info.openrocket.core.simulation.exception.SimulationException;
@@ -60,6 +64,20 @@ public class BasicEventSimulationEngine implements SimulationEngine {
 	Deque<SimulationStatus> toSimulate = new ArrayDeque<SimulationStatus>();
 
 	FlightData flightData;
+
+	/**
+	 * The data types that are recorded even if the recorded types are limited: the time, and
+	 * the values used to detect tumbling.
+	 */
+	static final Set<FlightDataType> REQUIRED_TYPES = Set.of(
+			FlightDataType.TYPE_TIME,
+			FlightDataType.TYPE_CP_LOCATION,
+			FlightDataType.TYPE_CG_LOCATION,
+			FlightDataType.TYPE_AOA,
+			FlightDataType.TYPE_THRUST_FORCE);
+
+	/** the events that end a summary-only simulation once they all have occurred, or null */
+	private Set<FlightEvent.Type> summaryEndEvents = null;
 	
 	@Override
 	public void simulate(SimulationConditions simulationConditions) throws SimulationException {
@@ -70,8 +88,16 @@ public class BasicEventSimulationEngine implements SimulationEngine {
 		try {
 			// Set up rocket configuration
 			this.fcid = simulationConditions.getFlightConfigurationID();
-			FlightConfiguration origConfig = simulationConditions.getRocket().getFlightConfiguration(this.fcid);
-			FlightConfiguration simulationConfig = origConfig.clone(simulationConditions.getRocket().copyWithOriginalID());
+			final Rocket rocket = simulationConditions.getRocket();
+			FlightConfiguration origConfig = rocket.getFlightConfiguration(this.fcid);
+			FlightConfiguration simulationConfig;
+			if (rocket.isReadOnly()) {
+				// A read-only rocket is shared read-only between simulations, only the configuration is our own.
+				// Stage separations are applied to the configuration, deployed recovery devices are kept in the status.
+				simulationConfig = origConfig.clone(rocket);
+			} else {
+				simulationConfig = origConfig.clone(rocket.copyWithOriginalID());
+			}
 			simulationConfig.copyStages(origConfig); // Clone the stage activation configuration
 			
 			currentStatus = new SimulationStatus(simulationConfig, simulationConditions);
@@ -85,6 +111,17 @@ public class BasicEventSimulationEngine implements SimulationEngine {
 			}
 			FlightDataBranch initialBranch = new FlightDataBranch( branchName, FlightDataType.TYPE_TIME);
 			currentStatus.setFlightDataBranch(initialBranch);
+
+			// A summary-only simulation records only what the summary values need
+			final Set<SummaryValue> summaryValues = simulationConditions.getSummaryValues();
+			if (summaryValues != null) {
+				initialBranch.setRecordedTypes(SummaryValue.getRecordedTypes(summaryValues));
+				summaryEndEvents = SummaryValue.getEndEvents(summaryValues);
+			} else if (simulationConditions.getRecordedTypes() != null) {
+				Set<FlightDataType> recorded = new HashSet<>(simulationConditions.getRecordedTypes());
+				recorded.addAll(REQUIRED_TYPES);
+				initialBranch.setRecordedTypes(recorded);
+			}
 			
 			// put a point on it so we can plot if we get an early abort event
 			initialBranch.addPoint();
@@ -119,6 +156,11 @@ public class BasicEventSimulationEngine implements SimulationEngine {
 				if (toSimulate.peek() == null) {
 					break;
 				}
+				// The summary values are taken from the main branch, the other branches are not needed
+				if (summaryValues != null && flightData.getBranchCount() > 0) {
+					log.info("Summary-only simulation, not simulating the remaining " + toSimulate.size() + " branches");
+					break;
+				}
 				currentStatus = toSimulate.pop();
 				FlightDataBranch dataBranch = currentStatus.getFlightDataBranch();
 				flightData.addBranch(dataBranch);
@@ -636,6 +678,12 @@ public class BasicEventSimulationEngine implements SimulationEngine {
 				currentStatus.getFlightDataBranch().addEvent(event);
 				break;
 			}
+
+			// End a summary-only simulation when the summary values are determined
+			if (summaryEndEvents != null && summaryEndEvents.contains(event.getType()) && isSummaryDetermined()) {
+				log.debug("Summary values determined at " + event.getType() + ", ending simulation");
+				currentStatus.addEvent(new FlightEvent(FlightEvent.Type.SIMULATION_END, currentStatus.getSimulationTime()));
+			}
 			
 		}
 
@@ -740,10 +788,24 @@ public class BasicEventSimulationEngine implements SimulationEngine {
 		}
 	}
 	
+	/**
+	 * Return whether all the events a summary-only simulation waits for have occurred in the current branch.
+	 */
+	private boolean isSummaryDetermined() {
+		for (FlightEvent.Type type : summaryEndEvents) {
+			if (currentStatus.getFlightDataBranch().getFirstEvent(type) == null) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
 	private FlightData computeCoastTime() throws SimulationException {
 		try {
 			SimulationConditions conds = currentStatus.getSimulationConditions().clone();
 			conds.getSimulationListenerList().add(OptimumCoastListener.INSTANCE);
+			// Only the apogee of the coast is needed
+			conds.setSummaryValues(EnumSet.of(SummaryValue.MAX_ALTITUDE, SummaryValue.TIME_TO_APOGEE));
 			BasicEventSimulationEngine coastEngine = new BasicEventSimulationEngine();
 		
 			coastEngine.simulate(conds);
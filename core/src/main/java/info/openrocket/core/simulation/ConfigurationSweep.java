@@ -0,0 +1,319 @@
+package info.openrocket.core.simulation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.l10n.Translator;
+import info.openrocket.core.rocketcomponent.FlightConfigurationId;
+import info.openrocket.core.rocketcomponent.ReadOnlyRocket;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.simulation.exception.SimulationException;
+import info.openrocket.core.startup.Application;
+import info.openrocket.core.unit.UnitGroup;
+import info.openrocket.core.util.BugException;
+
+/**
+ * Simulates every flight configuration of a rocket.
+ * <p>
+ * The configurations are simulated in parallel on a single {@link ReadOnlyRocket}, so the
+ * component geometry and mass data are computed once and shared by all simulations.
+ * Configurations that differ only by their motors also share the tabulated drag of the
+ * aerodynamic calculator.  The simulations are created for the rocket itself, with the
+ * options and extensions of a template simulation, and keep their flight data, so they can
+ * be added to the document.
+ */
+public class ConfigurationSweep {
+	private static final Logger log = LoggerFactory.getLogger(ConfigurationSweep.class);
+	private static final Translator trans = Application.getTranslator();
+
+	/**
+	 * Receives the results of the sweep as they become available.  The results are not
+	 * necessarily delivered in the order of the configurations.  The listener is called from
+	 * the thread that runs the sweep.
+	 */
+	public interface Listener {
+		public void configurationSimulated(Result result, int computed, int total);
+	}
+
+	/**
+	 * The simulation of a single flight configuration and its summary values.  Values that are
+	 * not available are NaN.
+	 */
+	public static class Result {
+		private final int index;
+		private final FlightConfigurationId fcid;
+		private final String name;
+		private final Simulation simulation;
+		private final double apogee;
+		private final double maxVelocity;
+		private final double maxMach;
+		private final double railExitVelocity;
+		private final double railExitStability;
+		private final double minStability;
+		private final double optimumDelay;
+		private final double flightTime;
+		private final double groundHitVelocity;
+		private final int warningCount;
+		private final String error;
+
+		private Result(int index, FlightConfigurationId fcid, String name, Simulation simulation, String error) {
+			this.index = index;
+			this.fcid = fcid;
+			this.name = name;
+			this.simulation = simulation;
+			this.error = error;
+
+			FlightData data = simulation.getSimulatedData();
+			if (data == null || data.getBranchCount() == 0) {
+				apogee = Double.NaN;
+				maxVelocity = Double.NaN;
+				maxMach = Double.NaN;
+				railExitVelocity = Double.NaN;
+				railExitStability = Double.NaN;
+				minStability = Double.NaN;
+				optimumDelay = Double.NaN;
+				flightTime = Double.NaN;
+				groundHitVelocity = Double.NaN;
+				warningCount = 0;
+				return;
+			}
+
+			apogee = data.getMaxAltitude();
+			maxVelocity = data.getMaxVelocity();
+			maxMach = data.getMaxMachNumber();
+			railExitVelocity = data.getLaunchRodVelocity();
+			optimumDelay = data.getOptimumDelay();
+			flightTime = data.getFlightTime();
+			groundHitVelocity = data.getGroundHitVelocity();
+			warningCount = data.getWarningSet().size();
+
+			double[] stability = MotorSweep.getStabilityToApogee(data);
+			railExitStability = stability[0];
+			minStability = stability[1];
+		}
+
+		/** @return the index of the configuration in the configuration list of the sweep */
+		public int getIndex() {
+			return index;
+		}
+
+		public FlightConfigurationId getFlightConfigurationId() {
+			return fcid;
+		}
+
+		/** @return the name of the flight configuration */
+		public String getName() {
+			return name;
+		}
+
+		/** @return the simulation of the configuration, including its flight data */
+		public Simulation getSimulation() {
+			return simulation;
+		}
+
+		public double getApogee() {
+			return apogee;
+		}
+
+		public double getMaxVelocity() {
+			return maxVelocity;
+		}
+
+		public double getMaxMach() {
+			return maxMach;
+		}
+
+		/** @return the velocity at launch rod clearance */
+		public double getRailExitVelocity() {
+			return railExitVelocity;
+		}
+
+		/** @return the stability margin at launch rod clearance, in calibers */
+		public double getRailExitStability() {
+			return railExitStability;
+		}
+
+		/** @return the minimum stability margin between launch rod clearance and apogee, in calibers */
+		public double getMinStability() {
+			return minStability;
+		}
+
+		public double getOptimumDelay() {
+			return optimumDelay;
+		}
+
+		public double getFlightTime() {
+			return flightTime;
+		}
+
+		public double getGroundHitVelocity() {
+			return groundHitVelocity;
+		}
+
+		public int getWarningCount() {
+			return warningCount;
+		}
+
+		/** @return the error message if the simulation failed or was aborted, otherwise <code>null</code> */
+		public String getError() {
+			return error;
+		}
+	}
+
+	private final List<FlightConfigurationId> ids;
+	private final ReadOnlyRocket shared;
+	private final List<Simulation> simulations;
+
+	/**
+	 * Prepare the sweep.  The rocket is copied and the simulations are created here, so the
+	 * sweep must be created on the thread that may modify the rocket; the rocket may be
+	 * modified while the sweep runs.
+	 *
+	 * @param template the simulation whose rocket, options and extensions to use
+	 */
+	public ConfigurationSweep(Simulation template) {
+		final Rocket rocket = template.getRocket();
+		this.ids = Collections.unmodifiableList(new ArrayList<>(rocket.getIds()));
+		this.shared = new ReadOnlyRocket(rocket);
+		this.simulations = new ArrayList<>(ids.size());
+		for (FlightConfigurationId fcid : ids) {
+			Simulation sim = template.duplicateSimulation(rocket);
+			sim.setFlightConfigurationId(fcid);
+			sim.setName(rocket.getFlightConfiguration(fcid).getName());
+			simulations.add(sim);
+		}
+	}
+
+	/**
+	 * @return the flight configurations to simulate
+	 */
+	public List<FlightConfigurationId> getConfigurationIds() {
+		return ids;
+	}
+
+	/**
+	 * Run the sweep.  A sweep should be run only once.
+	 *
+	 * @param threadCount the number of worker threads to use
+	 * @param listener the listener to notify of every simulated configuration, or <code>null</code>
+	 * @return the results of all configurations, in the order of the configurations
+	 * @throws InterruptedException if the calling thread is interrupted, the remaining
+	 *                              simulations are then cancelled
+	 */
+	public List<Result> run(int threadCount, Listener listener) throws InterruptedException {
+		final int total = ids.size();
+		final List<Result> results = new ArrayList<>(Collections.nCopies(total, (Result) null));
+		if (total == 0) {
+			return results;
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threadCount, total)), r -> {
+			Thread t = new Thread(r, "ConfigurationSweep");
+			t.setDaemon(true);
+			return t;
+		});
+		try {
+			CompletionService<Result> completionService = new ExecutorCompletionService<>(executor);
+			for (int i = 0; i < total; i++) {
+				final int index = i;
+				final Simulation sim = simulations.get(i);
+				completionService.submit(() -> simulate(sim, index));
+			}
+
+			for (int computed = 1; computed <= total; computed++) {
+				Future<Result> future = completionService.take();
+				Result result;
+				try {
+					result = future.get();
+				} catch (ExecutionException e) {
+					Throwable cause = e.getCause();
+					if (cause instanceof RuntimeException) {
+						throw (RuntimeException) cause;
+					}
+					throw new BugException("Configuration sweep failed", cause);
+				}
+				results.set(result.getIndex(), result);
+				if (listener != null) {
+					listener.configurationSimulated(result, computed, total);
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		return results;
+	}
+
+	private Result simulate(Simulation sim, int index) {
+		final FlightConfigurationId fcid = ids.get(index);
+		try {
+			sim.simulate(shared);
+			return new Result(index, fcid, sim.getName(), sim, MotorSweep.getAbortMessage(sim.getSimulatedData()));
+		} catch (SimulationException e) {
+			log.info("Simulation of configuration " + sim.getName() + " failed: " + e.getMessage());
+			return new Result(index, fcid, sim.getName(), sim, e.getMessage());
+		}
+	}
+
+	/**
+	 * Return a comparison of the results as tab-separated text, one line per configuration,
+	 * with the values in the default units.
+	 */
+	public static String getSummary(List<Result> results) {
+		StringBuilder sb = new StringBuilder();
+		sb.append(String.join("\t",
+				trans.get("ConfigurationSweepDialog.Col.configuration"),
+				trans.get("simpanel.col.Apogee"),
+				trans.get("ConfigurationSweepDialog.Col.maxVelocity"),
+				trans.get("ConfigurationSweepDialog.Col.maxMach"),
+				trans.get("simpanel.col.Velocityoffrod"),
+				trans.get("ConfigurationSweepDialog.Col.railExitStability"),
+				trans.get("ConfigurationSweepDialog.Col.minStability"),
+				trans.get("simpanel.col.OptimumCoastTime"),
+				trans.get("simpanel.col.Flighttime"),
+				trans.get("ConfigurationSweepDialog.Col.groundHitVelocity"),
+				trans.get("simpanel.col.Status"))).append('\n');
+		for (Result r : results) {
+			if (r == null) {
+				continue;
+			}
+			sb.append(r.getName());
+			append(sb, UnitGroup.UNITS_DISTANCE, r.getApogee());
+			append(sb, UnitGroup.UNITS_VELOCITY, r.getMaxVelocity());
+			append(sb, UnitGroup.UNITS_COEFFICIENT, r.getMaxMach());
+			append(sb, UnitGroup.UNITS_VELOCITY, r.getRailExitVelocity());
+			append(sb, UnitGroup.UNITS_STABILITY_CALIBERS, r.getRailExitStability());
+			append(sb, UnitGroup.UNITS_STABILITY_CALIBERS, r.getMinStability());
+			append(sb, UnitGroup.UNITS_SHORT_TIME, r.getOptimumDelay());
+			append(sb, UnitGroup.UNITS_FLIGHT_TIME, r.getFlightTime());
+			append(sb, UnitGroup.UNITS_VELOCITY, r.getGroundHitVelocity());
+			sb.append('\t');
+			if (r.getError() != null) {
+				sb.append(r.getError());
+			} else if (r.getWarningCount() > 0) {
+				sb.append(trans.get("ConfigurationSweepDialog.status.warnings").replace("{0}",
+						Integer.toString(r.getWarningCount())));
+			}
+			sb.append('\n');
+		}
+		return sb.toString();
+	}
+
+	private static void append(StringBuilder sb, UnitGroup group, double value) {
+		sb.append('\t');
+		if (!Double.isNaN(value)) {
+			sb.append(group.toStringUnit(value));
+		}
+	}
+}
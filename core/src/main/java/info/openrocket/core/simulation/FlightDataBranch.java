@@ -1,10 +1,13 @@
 package info.openrocket.core.simulation;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import info.openrocket.core.rocketcomponent.AxialStage;
 import info.openrocket.core.rocketcomponent.Rocket;
@@ -24,6 +27,9 @@ import info.openrocket.core.util.Mutable;
  * not defined in the constructor can be added using {@link #setValue(FlightDataType, double)}, they
  * will be created and all previous values will be set to NaN.
  * <p>
+ * The types that are recorded can be limited using {@link #setRecordedTypes(Set)}, values of
+ * other types are then ignored.
+ * <p>
  * After populating a FlightDataBranch object it can be made immutable by calling {@link #immute()}.
  * 
  * @author Sampo Niskanen <sampo.niskanen@iki.fi>
@@ -51,6 +57,9 @@ public class FlightDataBranch implements Monitorable {
 	
 	private final Mutable mutable = new Mutable();
 	
+	/** The types whose values are recorded, or <code>null</code> to record all types. */
+	private Set<FlightDataType> recordedTypes = null;
+	
 	private int modID = 0;
 	
 	/**
@@ -89,6 +98,9 @@ public class FlightDataBranch implements Monitorable {
 	 */
 	public FlightDataBranch(String name, RocketComponent srcComponent, FlightDataBranch parent) {
 		this.name = name;
+		if (parent != null) {
+			this.recordedTypes = parent.recordedTypes;
+		}
 
 		// Copy all the values from the parent
 		copyValuesFromBranch(parent, srcComponent);
@@ -135,16 +147,57 @@ public class FlightDataBranch implements Monitorable {
 		}
 	}
 
+	/**
+	 * Limit the variable types recorded by {@link #setValue(FlightDataType, double)}.  Values of
+	 * other types are ignored, so they do not take up memory.  Types already included in the
+	 * branch are kept.
+	 *
+	 * @param types		the types to record, or <code>null</code> to record all types.
+	 * @throws IllegalStateException	if this object has been made immutable.
+	 */
+	public void setRecordedTypes(Set<FlightDataType> types) {
+		mutable.check();
+		this.recordedTypes = types;
+	}
+
+	/**
+	 * Add variable types to the types recorded by {@link #setValue(FlightDataType, double)}.  Does
+	 * nothing if all types are recorded.
+	 *
+	 * @param types		the types to record in addition to the current ones.
+	 * @throws IllegalStateException	if this object has been made immutable.
+	 */
+	public void addRecordedTypes(Collection<FlightDataType> types) {
+		mutable.check();
+		if (recordedTypes != null && !recordedTypes.containsAll(types)) {
+			Set<FlightDataType> recorded = new HashSet<>(recordedTypes);
+			recorded.addAll(types);
+			this.recordedTypes = recorded;
+		}
+	}
+
+	/**
+	 * Return whether values of a variable type are recorded by {@link #setValue(FlightDataType, double)}.
+	 */
+	public boolean isRecorded(FlightDataType type) {
+		return recordedTypes == null || recordedTypes.contains(type);
+	}
+
 	/**
 	 * Set the value for a specific data type at the latest point.  New variable types can be
-	 * added to the FlightDataBranch transparently.
+	 * added to the FlightDataBranch transparently.  The value is ignored if the type is not
+	 * recorded.
 	 *
 	 * @param type		the variable to set.
 	 * @param value		the value to set.
 	 * @throws IllegalStateException	if this object has been made immutable.
+	 * @see #setRecordedTypes(Set)
 	 */
 	public void setValue(FlightDataType type, double value) {
 		mutable.check();
+		if (recordedTypes != null && !recordedTypes.contains(type)) {
+			return;
+		}
 
 		sanityCheckValues(type, value);
 		ArrayList<Double> list = values.get(type);
@@ -165,6 +218,44 @@ public class FlightDataBranch implements Monitorable {
 		modID++;
 	}
 
+	/**
+	 * Set the values of a specific data type for all points of the branch at once.  The
+	 * type is added to the branch if it isn't included yet, otherwise its values are replaced.
+	 *
+	 * @param type		the variable to set.
+	 * @param data		the values, one for every point of the branch.
+	 * @throws IllegalStateException	if this object has been made immutable.
+	 * @throws IllegalArgumentException	if the number of values does not match the length of the branch.
+	 */
+	public void setValues(FlightDataType type, double[] data) {
+		mutable.check();
+
+		if (data.length != getLength()) {
+			throw new IllegalArgumentException("Branch has " + getLength() + " points, got " + data.length +
+					" values for " + type);
+		}
+
+		ArrayList<Double> list = new ArrayList<>(data.length);
+		double min = Double.NaN;
+		double max = Double.NaN;
+		for (double value : data) {
+			list.add(value);
+			if (Double.isNaN(min) || (value < min)) {
+				min = value;
+			}
+			if (Double.isNaN(max) || (value > max)) {
+				max = value;
+			}
+		}
+
+		// Remove first, so that the type itself is replaced as well
+		values.remove(type);
+		values.put(type, list);
+		minValues.put(type, min);
+		maxValues.put(type, max);
+		modID++;
+	}
+
 	/**
 	 * Clears all the current values in the branch and copies the values from the given branch.
 	 * @param srcBranch 	the branch to copy values from
@@ -243,7 +334,14 @@ public class FlightDataBranch implements Monitorable {
 		Arrays.sort(array);
 		return array;
 	}
-	
+
+	/**
+	 * Return the number of variable types included in this branch.
+	 */
+	public int getTypeCount() {
+		return values.size();
+	}
+
 	/**
 	 * Return the number of data points in this branch.
 	 */
@@ -456,6 +554,7 @@ public class FlightDataBranch implements Monitorable {
 		clone.events.addAll(events);
 		clone.timeToOptimumAltitude = timeToOptimumAltitude;
 		clone.optimumAltitude = optimumAltitude;
+		clone.recordedTypes = recordedTypes;
 		clone.modID = modID;
 		return clone;
 	}
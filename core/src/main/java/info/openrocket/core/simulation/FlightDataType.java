@@ -1,5 +1,6 @@
 package info.openrocket.core.simulation;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
@@ -29,6 +30,11 @@ import info.openrocket.core.util.StringUtils;
  * specific priority
  * numbers, and other types have a default priority number that is after all
  * other types.
+ * <p>
+ * The registry of types is copy-on-write:  looking up an existing type does not lock, only
+ * registering or replacing a type does.  Every type has an ordinal, a small integer that
+ * is the same for all types with the same symbol, so that data per type can be kept in arrays
+ * indexed by {@link #getOrdinal()}.
  * 
  * @author Sampo Niskanen <sampo.niskanen@iki.fi>
  */
@@ -39,9 +45,18 @@ public class FlightDataType implements Comparable<FlightDataType> {
 	/** Priority of custom-created variables */
 	private static final int DEFAULT_PRIORITY = 999;
 
+	/** Lock for modifying the registry */
+	private static final Object REGISTRY_LOCK = new Object();
+
 	/** List of existing types. MUST BE DEFINED BEFORE ANY TYPES!! */
-	/** NOTE: The String key here is now the symbol */
-	private static final Map<String, FlightDataType> EXISTING_TYPES = new HashMap<String, FlightDataType>();
+	/** NOTE: The String key here is now the symbol.  The map is replaced, never modified. */
+	private static volatile Map<String, FlightDataType> EXISTING_TYPES = new HashMap<String, FlightDataType>();
+
+	/** The ordinals of the symbols, only accessed while holding the lock */
+	private static final Map<String, Integer> ORDINALS = new HashMap<String, Integer>();
+
+	/** The latest type of each ordinal.  The array is replaced, never modified. */
+	private static volatile FlightDataType[] TYPES_BY_ORDINAL = new FlightDataType[0];
 
 	//// Time
 	public static final FlightDataType TYPE_TIME = newType(trans.get("FlightDataType.TYPE_TIME"), "t",
@@ -373,53 +388,77 @@ public class FlightDataType implements Comparable<FlightDataType> {
 	 *          created.
 	 * @return a data type.
 	 */
-	public static synchronized FlightDataType getType(String s, String symbol, UnitGroup u) {
-
-		// if symbol is null : try finding by name
-		// if unit is null : don't do anything to the unit if found, just return
-		// datatype if found and generate an error and an empty unit otherwise
-		int oldPriority = DEFAULT_PRIORITY;
-
-		// FlightDataType type = findFromSymbol(symbol);
+	public static FlightDataType getType(String s, String symbol, UnitGroup u) {
+		// Lock-free lookup of an unchanged type
 		FlightDataType type = EXISTING_TYPES.get(symbol);
+		if (type != null && (s == null || StringUtils.isEmpty(s) || s.equals(type.getName()))
+				&& (u == null || u.equals(type.getUnitGroup()))) {
+			return type;
+		}
 
-		if (type != null) {
-			// found it from symbol
-
-			// if name was not given (empty string), can use the one we found
-			if (s == null || StringUtils.isEmpty(s)) {
-				s = type.getName();
+		synchronized (REGISTRY_LOCK) {
+			// if symbol is null : try finding by name
+			// if unit is null : don't do anything to the unit if found, just return
+			// datatype if found and generate an error and an empty unit otherwise
+			int oldPriority = DEFAULT_PRIORITY;
+
+			type = EXISTING_TYPES.get(symbol);
+
+			if (type != null) {
+				// found it from symbol
+
+				// if name was not given (empty string), can use the one we found
+				if (s == null || StringUtils.isEmpty(s)) {
+					s = type.getName();
+				}
+				if (u == null) {
+					u = type.getUnitGroup();
+				}
+
+				// if something has changed, then we need to replace the old one
+				// otherwise, just return what we found
+				if (!u.equals(type.getUnitGroup())) {
+					oldPriority = type.priority;
+					log.info("Unitgroup of type " + type.getName() +
+							", has changed from " + type.getUnitGroup().toString() +
+							" to " + u.toString() +
+							". Removing old version.");
+				} else if (!s.equals(type.getName())) {
+					oldPriority = type.priority;
+					log.info("Name of type " + type.getName() + ", has changed to " + s + ". Removing old version.");
+				} else {
+					return type;
+				}
 			}
+
 			if (u == null) {
-				u = type.getUnitGroup();
+				u = UnitGroup.UNITS_NONE;
+				log.error("Made a new flightdatatype, but did not know what units to use.");
 			}
 
-			// if something has changed, then we need to remove the old one
-			// otherwise, just return what we found
-			if (!u.equals(type.getUnitGroup())) {
-				oldPriority = type.priority;
-				EXISTING_TYPES.remove(type);
-				log.info("Unitgroup of type " + type.getName() +
-						", has changed from " + type.getUnitGroup().toString() +
-						" to " + u.toString() +
-						". Removing old version.");
-			} else if (!s.equals(type.getName())) {
-				oldPriority = type.priority;
-				EXISTING_TYPES.remove(type);
-				log.info("Name of type " + type.getName() + ", has changed to " + s + ". Removing old version.");
-			} else {
-				return type;
-			}
+			// make a new one
+			return newType(s, symbol, u, oldPriority);
 		}
+	}
 
-		if (u == null) {
-			u = UnitGroup.UNITS_NONE;
-			log.error("Made a new flightdatatype, but did not know what units to use.");
+	/**
+	 * Return the type that currently has the given ordinal, or <code>null</code> if the
+	 * ordinal has not been assigned.
+	 */
+	public static FlightDataType getType(int ordinal) {
+		FlightDataType[] types = TYPES_BY_ORDINAL;
+		if (ordinal < 0 || ordinal >= types.length) {
+			return null;
 		}
+		return types[ordinal];
+	}
 
-		// make a new one
-		type = newType(s, symbol, u, oldPriority);
-		return type;
+	/**
+	 * Return the number of ordinals assigned so far.  All ordinals are less than this,
+	 * so it is a sufficient length for arrays indexed by ordinal.  The count only grows.
+	 */
+	public static int getOrdinalCount() {
+		return TYPES_BY_ORDINAL.length;
 	}
 
 	/*
@@ -437,7 +476,8 @@ public class FlightDataType implements Comparable<FlightDataType> {
 	 */
 
 	/**
-	 * Used while initializing the class.
+	 * Register a new type, replacing any type with the same symbol.  Used while initializing
+	 * the class.
 	 * 
 	 * @param s        the name of the type.
 	 * @param symbol   the mathematical symbol of the type.
@@ -445,19 +485,34 @@ public class FlightDataType implements Comparable<FlightDataType> {
 	 * @param group    the group of the type.
 	 * @param priority the priority of the type within the group.
 	 */
-	private static synchronized FlightDataType newType(String s, String symbol, UnitGroup u, FlightDataTypeGroup group,
+	private static FlightDataType newType(String s, String symbol, UnitGroup u, FlightDataTypeGroup group,
 			int priority) {
-		FlightDataType type = new FlightDataType(s, symbol, u, group, priority);
-		// EXISTING_TYPES.put(s.toLowerCase(Locale.ENGLISH), type);
-		EXISTING_TYPES.put(symbol, type);
-		return type;
+		synchronized (REGISTRY_LOCK) {
+			Integer ordinal = ORDINALS.get(symbol);
+			FlightDataType[] types = TYPES_BY_ORDINAL;
+			if (ordinal == null) {
+				ordinal = types.length;
+				ORDINALS.put(symbol, ordinal);
+				types = Arrays.copyOf(types, ordinal + 1);
+			} else {
+				types = types.clone();
+			}
+
+			FlightDataType type = new FlightDataType(s, symbol, u, group, priority, ordinal);
+			types[ordinal] = type;
+
+			Map<String, FlightDataType> existing = new HashMap<String, FlightDataType>(EXISTING_TYPES);
+			// existing.put(s.toLowerCase(Locale.ENGLISH), type);
+			existing.put(symbol, type);
+
+			EXISTING_TYPES = existing;
+			TYPES_BY_ORDINAL = types;
+			return type;
+		}
 	}
 
-	private static synchronized FlightDataType newType(String s, String symbol, UnitGroup u, int priority) {
-		FlightDataType type = new FlightDataType(s, symbol, u, FlightDataTypeGroup.CUSTOM, priority);
-		// EXISTING_TYPES.put(s.toLowerCase(Locale.ENGLISH), type);
-		EXISTING_TYPES.put(symbol, type);
-		return type;
+	private static FlightDataType newType(String s, String symbol, UnitGroup u, int priority) {
+		return newType(s, symbol, u, FlightDataTypeGroup.CUSTOM, priority);
 	}
 
 	private final String name;
@@ -465,9 +520,11 @@ public class FlightDataType implements Comparable<FlightDataType> {
 	private final UnitGroup units;
 	private final FlightDataTypeGroup group;
 	private final int priority;
+	private final int ordinal;
 	private final int hashCode;
 
-	private FlightDataType(String typeName, String symbol, UnitGroup units, FlightDataTypeGroup group, int priority) {
+	private FlightDataType(String typeName, String symbol, UnitGroup units, FlightDataTypeGroup group, int priority,
+			int ordinal) {
 		if (typeName == null)
 			throw new IllegalArgumentException("typeName is null");
 		if (units == null)
@@ -477,6 +534,7 @@ public class FlightDataType implements Comparable<FlightDataType> {
 		this.units = units;
 		this.group = group;
 		this.priority = priority;
+		this.ordinal = ordinal;
 		this.hashCode = this.name.toLowerCase(Locale.ENGLISH).hashCode();
 	}
 
@@ -500,6 +558,15 @@ public class FlightDataType implements Comparable<FlightDataType> {
 		return group.getPriority();
 	}
 
+	/**
+	 * Return the ordinal of this type.  Types with the same symbol have the same ordinal.
+	 *
+	 * @see #getOrdinalCount()
+	 */
+	public int getOrdinal() {
+		return ordinal;
+	}
+
 	@Override
 	public String toString() {
 		return name; // +" ("+symbol+") "+units.getDefaultUnit().toString();
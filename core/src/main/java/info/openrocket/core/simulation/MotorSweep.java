@@ -0,0 +1,471 @@
+package info.openrocket.core.simulation;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import info.openrocket.core.database.motor.ThrustCurveMotorSet;
+import info.openrocket.core.database.motor.ThrustCurveMotorSetIndex;
+import info.openrocket.core.database.motor.ThrustCurveMotorSetIndex.Field;
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.logging.SimulationAbort;
+import info.openrocket.core.motor.CaseInfo;
+import info.openrocket.core.motor.Motor;
+import info.openrocket.core.motor.MotorConfiguration;
+import info.openrocket.core.motor.ThrustCurveMotor;
+import info.openrocket.core.rocketcomponent.ComponentChangeEvent;
+import info.openrocket.core.rocketcomponent.FlightConfigurationId;
+import info.openrocket.core.rocketcomponent.MotorMount;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.rocketcomponent.RocketComponent;
+import info.openrocket.core.simulation.exception.SimulationException;
+import info.openrocket.core.util.BugException;
+
+/**
+ * Simulates a flight configuration with each of a list of motors in a motor mount.
+ * <p>
+ * The motors are simulated in parallel.  The rocket is copied when the sweep is created, and
+ * every worker thread simulates on its own copy of that snapshot, where the motor configuration
+ * of the mount is replaced by a transient one for each motor, so the original rocket is neither
+ * modified nor accessed by the workers.  Only the summary values of each flight are
+ * kept, the flight data itself is discarded as soon as the summary has been computed, so the
+ * memory use does not grow with the number of motors.  The flights are simulated as
+ * summary-only simulations, up to apogee and the first recovery device deployment.
+ * <p>
+ * The simulation options and extensions of the given simulation are used for all motors.
+ */
+public class MotorSweep {
+	private static final Logger log = LoggerFactory.getLogger(MotorSweep.class);
+
+	/** The tolerance when matching the motor diameter to the inner diameter of the mount */
+	public static final double DIAMETER_TOLERANCE = 0.001;
+
+	/**
+	 * The summary values the results are computed from.  The deployment velocity is included
+	 * so that the warnings of the recovery device deployment are part of the result.
+	 */
+	private static final Set<SummaryValue> SUMMARY_VALUES = Collections.unmodifiableSet(EnumSet.of(
+			SummaryValue.MAX_ALTITUDE, SummaryValue.MAX_VELOCITY, SummaryValue.LAUNCH_ROD_VELOCITY,
+			SummaryValue.MIN_STABILITY, SummaryValue.OPTIMUM_DELAY, SummaryValue.DEPLOYMENT_VELOCITY));
+
+	/**
+	 * Receives the results of the sweep as they become available.  The results are not
+	 * necessarily delivered in the order of the motors.  The listener is called from the
+	 * thread that runs the sweep.
+	 */
+	public interface Listener {
+		public void motorSimulated(Result result, int computed, int total);
+	}
+
+	/**
+	 * The criteria by which the results can be ranked.  All rank the highest value first,
+	 * results without a value (e.g. failed simulations) last.
+	 */
+	public enum Ranking {
+		APOGEE {
+			@Override
+			public double getValue(Result result) {
+				return result.getApogee();
+			}
+		},
+		MAX_VELOCITY {
+			@Override
+			public double getValue(Result result) {
+				return result.getMaxVelocity();
+			}
+		},
+		RAIL_EXIT_VELOCITY {
+			@Override
+			public double getValue(Result result) {
+				return result.getRailExitVelocity();
+			}
+		},
+		STABILITY {
+			@Override
+			public double getValue(Result result) {
+				return result.getMinStability();
+			}
+		};
+
+		public abstract double getValue(Result result);
+
+		public Comparator<Result> comparator() {
+			return (r1, r2) -> {
+				double v1 = getValue(r1);
+				double v2 = getValue(r2);
+				if (Double.isNaN(v1) || Double.isNaN(v2)) {
+					return Boolean.compare(Double.isNaN(v1), Double.isNaN(v2));
+				}
+				return Double.compare(v2, v1);
+			};
+		}
+	}
+
+	/**
+	 * The summary values of the flight with a single motor.  Values that are not available
+	 * are NaN.
+	 */
+	public static class Result {
+		private final int index;
+		private final ThrustCurveMotor motor;
+		private final double delay;
+		private final double apogee;
+		private final double maxVelocity;
+		private final double railExitVelocity;
+		private final double railExitStability;
+		private final double minStability;
+		private final double optimumDelay;
+		private final int warningCount;
+		private final String error;
+
+		private Result(int index, ThrustCurveMotor motor, double delay, FlightData data, String error) {
+			this.index = index;
+			this.motor = motor;
+			this.delay = delay;
+			this.error = error;
+
+			if (data == null || data.getBranchCount() == 0) {
+				apogee = Double.NaN;
+				maxVelocity = Double.NaN;
+				railExitVelocity = Double.NaN;
+				railExitStability = Double.NaN;
+				minStability = Double.NaN;
+				optimumDelay = Double.NaN;
+				warningCount = 0;
+				return;
+			}
+
+			apogee = data.getMaxAltitude();
+			maxVelocity = data.getMaxVelocity();
+			railExitVelocity = data.getLaunchRodVelocity();
+			optimumDelay = data.getOptimumDelay();
+			warningCount = data.getWarningSet().size();
+
+			double[] stability = getStabilityToApogee(data);
+			railExitStability = stability[0];
+			minStability = stability[1];
+		}
+
+		/** @return the index of the motor in the motor list of the sweep */
+		public int getIndex() {
+			return index;
+		}
+
+		public ThrustCurveMotor getMotor() {
+			return motor;
+		}
+
+		/** @return the ejection delay used, {@link Motor#PLUGGED_DELAY} if plugged */
+		public double getDelay() {
+			return delay;
+		}
+
+		public double getApogee() {
+			return apogee;
+		}
+
+		public double getMaxVelocity() {
+			return maxVelocity;
+		}
+
+		/** @return the velocity at launch rod clearance */
+		public double getRailExitVelocity() {
+			return railExitVelocity;
+		}
+
+		/** @return the stability margin at launch rod clearance, in calibers */
+		public double getRailExitStability() {
+			return railExitStability;
+		}
+
+		/** @return the minimum stability margin between launch rod clearance and apogee, in calibers */
+		public double getMinStability() {
+			return minStability;
+		}
+
+		public double getOptimumDelay() {
+			return optimumDelay;
+		}
+
+		public int getWarningCount() {
+			return warningCount;
+		}
+
+		/** @return the error message if the simulation failed, otherwise <code>null</code> */
+		public String getError() {
+			return error;
+		}
+	}
+
+	/**
+	 * Return the stability margin at launch rod clearance and the minimum stability margin up
+	 * to apogee of the first branch of a flight.  The stability is recorded from launch rod
+	 * clearance on.
+	 *
+	 * @return the stability at launch rod clearance and the minimum stability, NaN if not available
+	 */
+	static double[] getStabilityToApogee(FlightData data) {
+		FlightDataBranch branch = data.getBranch(0);
+		List<Double> time = branch.get(FlightDataType.TYPE_TIME);
+		List<Double> stability = branch.get(FlightDataType.TYPE_STABILITY);
+		double first = Double.NaN;
+		double min = Double.NaN;
+		if (time != null && stability != null) {
+			double apogeeTime = data.getTimeToApogee();
+			for (int i = 0; i < stability.size() && i < time.size(); i++) {
+				Double t = time.get(i);
+				if (t != null && t > apogeeTime) {
+					break;
+				}
+				Double s = stability.get(i);
+				if (s == null || Double.isNaN(s)) {
+					continue;
+				}
+				if (Double.isNaN(first)) {
+					first = s;
+				}
+				if (Double.isNaN(min) || s < min) {
+					min = s;
+				}
+			}
+		}
+		return new double[] { first, min };
+	}
+
+	/**
+	 * @return the description of the abort of the first branch of a flight, or <code>null</code>
+	 *         if the simulation was not aborted
+	 */
+	static String getAbortMessage(FlightData data) {
+		if (data.getBranchCount() == 0) {
+			return null;
+		}
+		FlightEvent abort = data.getBranch(0).getFirstEvent(FlightEvent.Type.SIM_ABORT);
+		if (abort == null) {
+			return null;
+		}
+		return (abort.getData() instanceof SimulationAbort)
+				? ((SimulationAbort) abort.getData()).getMessageDescription()
+				: FlightEvent.Type.SIM_ABORT.toString();
+	}
+
+	private final Simulation simulation;
+	private final Rocket rocket;
+	private final String mountId;
+	private final FlightConfigurationId fcid;
+	private final MotorConfiguration template;
+	private final List<ThrustCurveMotor> motors;
+
+	/**
+	 * Prepare the sweep.  The rocket and the simulation are copied here, so the sweep must be
+	 * created on the thread that may modify the rocket; the rocket may be modified while the
+	 * sweep runs.
+	 *
+	 * @param simulation the simulation whose rocket, flight configuration, options and extensions to use
+	 * @param mount the motor mount of the rocket of the simulation in which to put the motors
+	 * @param motors the motors to simulate
+	 */
+	public MotorSweep(Simulation simulation, MotorMount mount, List<ThrustCurveMotor> motors) {
+		this.mountId = ((RocketComponent) mount).getID();
+		if (simulation.getRocket().findComponent(mountId) != mount) {
+			throw new IllegalArgumentException("Motor mount is not part of the rocket of the simulation");
+		}
+		this.rocket = simulation.getRocket().copyWithOriginalID();
+		this.simulation = simulation.duplicateSimulation(rocket);
+		this.fcid = simulation.getFlightConfigurationId();
+		this.template = ((MotorMount) rocket.findComponent(mountId)).getMotorConfig(fcid);
+		this.motors = Collections.unmodifiableList(new ArrayList<>(motors));
+	}
+
+	/**
+	 * Return the motors that fit a motor mount.  The diameter of a motor must match the inner
+	 * diameter of the mount within {@link #DIAMETER_TOLERANCE} and the motor may not extend past
+	 * the aft end of the mount by more than the maximum overhang.  One motor, the first thrust
+	 * curve, is returned for every matching motor set.
+	 *
+	 * @param index the motor sets to search
+	 * @param mount the motor mount
+	 * @param maximumOverhang the maximum length that the motor may extend past the mount
+	 * @param caseInfo the motor case that the motors must be compatible with, or <code>null</code>
+	 *                 to allow any motor including single-use ones
+	 * @return the compatible motors, in index order
+	 */
+	public static List<ThrustCurveMotor> findCompatibleMotors(ThrustCurveMotorSetIndex index, MotorMount mount,
+															  double maximumOverhang, String caseInfo) {
+		final double diameter = mount.getMotorMountDiameter();
+		final double maxLength = mount.getLength() + Math.max(0, maximumOverhang);
+
+		List<ThrustCurveMotor> result = new ArrayList<>();
+		BitSet positions = index.range(Field.DIAMETER, diameter - DIAMETER_TOLERANCE,
+				diameter + DIAMETER_TOLERANCE);
+		positions.and(index.range(Field.LENGTH, 0, maxLength));
+		for (ThrustCurveMotorSet set : index.getMotorSets(positions)) {
+			if (set.getMotorCount() == 0) {
+				continue;
+			}
+			ThrustCurveMotor motor = set.getMotors().get(0);
+			if (caseInfo == null || isCompatibleCase(caseInfo, motor.getCaseInfo())) {
+				result.add(motor);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Return whether a motor of the given case can be used in place of a motor of another case.
+	 */
+	static boolean isCompatibleCase(String caseInfo, String motorCaseInfo) {
+		if (motorCaseInfo == null) {
+			return false;
+		}
+		if (caseInfo.trim().equalsIgnoreCase(motorCaseInfo.trim())) {
+			return true;
+		}
+		CaseInfo c = CaseInfo.parse(caseInfo);
+		CaseInfo m = CaseInfo.parse(motorCaseInfo);
+		if (c == null || m == null) {
+			return false;
+		}
+		for (CaseInfo compatible : c.getCompatibleCases()) {
+			if (compatible == m) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return the motors to simulate
+	 */
+	public List<ThrustCurveMotor> getMotors() {
+		return motors;
+	}
+
+	/**
+	 * Run the sweep.
+	 *
+	 * @param threadCount the number of worker threads to use
+	 * @param listener the listener to notify of every simulated motor, or <code>null</code>
+	 * @return the results of all motors, in the order of the motors
+	 * @throws InterruptedException if the calling thread is interrupted, the remaining
+	 *                              simulations are then cancelled
+	 */
+	public List<Result> run(int threadCount, Listener listener) throws InterruptedException {
+		final int total = motors.size();
+		final List<Result> results = new ArrayList<>(Collections.nCopies(total, (Result) null));
+		if (total == 0) {
+			return results;
+		}
+
+		// Every worker uses its own copy of the snapshot of the rocket.  The copies are made
+		// one at a time, since the rocket components must not be accessed concurrently.
+		final ThreadLocal<Rocket> rockets = ThreadLocal.withInitial(this::copyRocket);
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threadCount), r -> {
+			Thread t = new Thread(r, "MotorSweep");
+			t.setDaemon(true);
+			return t;
+		});
+		try {
+			CompletionService<Result> completionService = new ExecutorCompletionService<>(executor);
+			for (int i = 0; i < total; i++) {
+				final int index = i;
+				completionService.submit(() -> simulate(rockets.get(), index));
+			}
+
+			for (int computed = 1; computed <= total; computed++) {
+				Future<Result> future = completionService.take();
+				Result result;
+				try {
+					result = future.get();
+				} catch (ExecutionException e) {
+					Throwable cause = e.getCause();
+					if (cause instanceof RuntimeException) {
+						throw (RuntimeException) cause;
+					}
+					throw new BugException("Motor sweep failed", cause);
+				}
+				results.set(result.getIndex(), result);
+				if (listener != null) {
+					listener.motorSimulated(result, computed, total);
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		return results;
+	}
+
+	/**
+	 * Return the results sorted by a ranking, best first.  The sort is stable.
+	 */
+	public static List<Result> rank(List<Result> results, Ranking ranking) {
+		List<Result> ranked = new ArrayList<>(results);
+		ranked.sort(ranking.comparator());
+		return ranked;
+	}
+
+	private synchronized Rocket copyRocket() {
+		return rocket.copyWithOriginalID();
+	}
+
+	private synchronized Simulation newSimulation(Rocket copy) {
+		Simulation sim = simulation.duplicateSimulation(copy);
+		sim.setFlightConfigurationId(fcid);
+		return sim;
+	}
+
+	private Result simulate(Rocket copy, int index) {
+		ThrustCurveMotor motor = motors.get(index);
+		double delay = getDelay(motor);
+
+		MotorMount mount = (MotorMount) copy.findComponent(mountId);
+		MotorConfiguration config = new MotorConfiguration(mount, fcid, template);
+		config.setMotor(motor);
+		config.setEjectionDelay(delay);
+		mount.setMotorConfig(config, fcid);
+		copy.fireComponentChangeEvent(ComponentChangeEvent.MOTOR_CHANGE);
+
+		Simulation sim = newSimulation(copy);
+		try {
+			sim.simulate(SUMMARY_VALUES);
+			FlightData data = sim.getSimulatedData();
+			return new Result(index, motor, delay, data, getAbortMessage(data));
+		} catch (SimulationException e) {
+			log.info("Simulation with motor " + motor.getDesignation() + " failed: " + e.getMessage());
+			return new Result(index, motor, delay, null, e.getMessage());
+		}
+	}
+
+	/**
+	 * Return the standard delay of a motor closest to the delay currently configured in the mount,
+	 * or plugged if the motor has no standard delays.
+	 */
+	private double getDelay(ThrustCurveMotor motor) {
+		double[] delays = motor.getStandardDelays();
+		if (delays.length == 0) {
+			return Motor.PLUGGED_DELAY;
+		}
+		double current = (template != null && !template.isEmpty()) ? template.getEjectionDelay() : delays[0];
+		double best = delays[0];
+		for (double d : delays) {
+			if (Math.abs(d - current) < Math.abs(best - current)) {
+				best = d;
+			}
+		}
+		return best;
+	}
+}
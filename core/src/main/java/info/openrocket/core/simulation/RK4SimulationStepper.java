@@ -463,6 +463,8 @@ public class RK4SimulationStepper extends AbstractSimulationStepper {
 		AtmosphericConditions atmosphere = modelAtmosphericConditions(status);
 		store.flightConditions = new FlightConditions(status.getConfiguration());
 		store.flightConditions.setAtmosphericConditions(atmosphere);
+		store.flightConditions.setAltitude(status.getRocketPosition().z +
+				status.getSimulationConditions().getLaunchSite().getAltitude());
 		
 
 		//// Local wind speed and direction
@@ -0,0 +1,113 @@
+package info.openrocket.core.simulation;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+import info.openrocket.core.l10n.Translator;
+import info.openrocket.core.simulation.customexpression.CustomExpressionSimulationListener;
+import info.openrocket.core.startup.Application;
+
+/**
+ * The flight data types recorded by a simulation.  Types that are not recorded are
+ * not computed during the simulation, and are not plotted, exported or saved.
+ * <p>
+ * Every profile records the types the simulation engine itself uses, and the types the
+ * summary values of the flight are computed from.  The custom expressions of the document and
+ * the types they read are also always recorded, see {@link CustomExpressionSimulationListener}.
+ */
+public enum RecordingProfile {
+
+	/**
+	 * The summary values of the flight, the position and vertical motion, and the stability.
+	 */
+	MINIMAL(new HashSet<>(Arrays.asList(
+			FlightDataType.TYPE_TIME,
+			FlightDataType.TYPE_ALTITUDE,
+			FlightDataType.TYPE_VELOCITY_Z,
+			FlightDataType.TYPE_ACCELERATION_Z,
+			FlightDataType.TYPE_VELOCITY_TOTAL,
+			FlightDataType.TYPE_ACCELERATION_TOTAL,
+			FlightDataType.TYPE_POSITION_X,
+			FlightDataType.TYPE_POSITION_Y,
+			FlightDataType.TYPE_POSITION_XY,
+			FlightDataType.TYPE_AOA,
+			FlightDataType.TYPE_MASS,
+			FlightDataType.TYPE_CP_LOCATION,
+			FlightDataType.TYPE_CG_LOCATION,
+			FlightDataType.TYPE_STABILITY,
+			FlightDataType.TYPE_MACH_NUMBER,
+			FlightDataType.TYPE_THRUST_FORCE,
+			FlightDataType.TYPE_DRAG_FORCE))),
+
+	/**
+	 * All types except the detailed aerodynamic coefficients, inertia and reference values,
+	 * and the simulation diagnostics.
+	 */
+	STANDARD(allTypesExcept(
+			FlightDataType.TYPE_LONGITUDINAL_INERTIA,
+			FlightDataType.TYPE_ROTATIONAL_INERTIA,
+			FlightDataType.TYPE_REYNOLDS_NUMBER,
+			FlightDataType.TYPE_PITCH_MOMENT_COEFF,
+			FlightDataType.TYPE_YAW_MOMENT_COEFF,
+			FlightDataType.TYPE_SIDE_FORCE_COEFF,
+			FlightDataType.TYPE_ROLL_MOMENT_COEFF,
+			FlightDataType.TYPE_ROLL_FORCING_COEFF,
+			FlightDataType.TYPE_ROLL_DAMPING_COEFF,
+			FlightDataType.TYPE_PITCH_DAMPING_MOMENT_COEFF,
+			FlightDataType.TYPE_YAW_DAMPING_MOMENT_COEFF,
+			FlightDataType.TYPE_CORIOLIS_ACCELERATION,
+			FlightDataType.TYPE_REFERENCE_LENGTH,
+			FlightDataType.TYPE_REFERENCE_AREA,
+			FlightDataType.TYPE_TIME_STEP,
+			FlightDataType.TYPE_COMPUTATION_TIME)),
+
+	/**
+	 * All types.
+	 */
+	FULL(null);
+
+	private static final Translator trans = Application.getTranslator();
+
+	private final Set<FlightDataType> types;
+
+	RecordingProfile(Set<FlightDataType> types) {
+		this.types = (types == null) ? null : Collections.unmodifiableSet(types);
+	}
+
+	/**
+	 * Return the types recorded with this profile.
+	 *
+	 * @return the recorded types, or <code>null</code> if all types are recorded
+	 */
+	public Set<FlightDataType> getRecordedTypes() {
+		return types;
+	}
+
+	/**
+	 * Return the name of this recording profile.
+	 */
+	public String getName() {
+		return trans.get(name().toLowerCase(Locale.ENGLISH) + ".name");
+	}
+
+	/**
+	 * Return a description of this recording profile.
+	 */
+	public String getDescription() {
+		return trans.get(name().toLowerCase(Locale.ENGLISH) + ".desc");
+	}
+
+	@Override
+	public String toString() {
+		return getName();
+	}
+
+	private static Set<FlightDataType> allTypesExcept(FlightDataType... excluded) {
+		Set<FlightDataType> set = new HashSet<>(Arrays.asList(FlightDataType.ALL_TYPES));
+		set.removeAll(Arrays.asList(excluded));
+		return set;
+	}
+}
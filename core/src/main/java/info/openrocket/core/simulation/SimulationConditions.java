@@ -1,7 +1,11 @@
 package info.openrocket.core.simulation;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import info.openrocket.core.aerodynamics.AerodynamicCalculator;
 import info.openrocket.core.document.Simulation;
@@ -10,8 +14,10 @@ import info.openrocket.core.models.atmosphere.AtmosphericModel;
 import info.openrocket.core.models.gravity.GravityModel;
 import info.openrocket.core.models.wind.WindModel;
 import info.openrocket.core.rocketcomponent.FlightConfigurationId;
+import info.openrocket.core.rocketcomponent.ReadOnlyRocket;
 import info.openrocket.core.rocketcomponent.Rocket;
 import info.openrocket.core.simulation.listeners.SimulationListener;
+import info.openrocket.core.simulation.listeners.SimulationListenerDispatch;
 import info.openrocket.core.util.BugException;
 import info.openrocket.core.util.Coordinate;
 import info.openrocket.core.util.GeodeticComputationStrategy;
@@ -28,6 +34,9 @@ import info.openrocket.core.util.WorldCoordinate;
 public class SimulationConditions implements Monitorable, Cloneable {
 	
 	private Simulation simulation; // The parent simulation 
+
+	/** A read-only rocket shared with other simulations, overriding the rocket of the simulation */
+	private Rocket sharedRocket = null;
 	
 	private double launchRodLength = 1;
 	
@@ -59,9 +68,17 @@ public class SimulationConditions implements Monitorable, Cloneable {
 
 
 	private List<SimulationListener> simulationListeners = new ArrayList<SimulationListener>();
+	/** the dispatch tables of the listeners, built when first needed */
+	private SimulationListenerDispatch simulationListenerDispatch = null;
 
 	private int randomSeed = 0;
 
+	/** the flight data types to record, or null to record all types */
+	private Set<FlightDataType> recordedTypes = null;
+
+	/** the summary values of a summary-only simulation, or null to simulate the complete flight */
+	private Set<SummaryValue> summaryValues = null;
+
 	private int modID = 0;
 	private int modIDadd = 0;
 
@@ -88,9 +105,24 @@ public class SimulationConditions implements Monitorable, Cloneable {
 	}
 
 	public Rocket getRocket() {
+		if (sharedRocket != null) {
+			return sharedRocket;
+		}
 		return simulation.getRocket();
 	}
 
+	/**
+	 * Simulate a read-only rocket shared with other simulations instead of the rocket of the simulation.
+	 * The simulation engine does not copy a read-only rocket.
+	 * 
+	 * @param rocket	the read-only rocket, or <code>null</code> to use the rocket of the simulation
+	 * @see ReadOnlyRocket
+	 */
+	public void setSharedRocket(ReadOnlyRocket rocket) {
+		this.sharedRocket = (rocket == null) ? null : rocket.getRocket();
+		this.modID++;
+	}
+
 	public FlightConfigurationId getMotorConfigurationID() {
 		return simulation.getId();
 	}
@@ -233,6 +265,52 @@ public class SimulationConditions implements Monitorable, Cloneable {
 		this.modID++;
 	}
 
+	/**
+	 * Return the flight data types to record, or <code>null</code> if all types are recorded.
+	 * A summary-only simulation records the types needed for its summary values instead.
+	 */
+	public Set<FlightDataType> getRecordedTypes() {
+		return recordedTypes;
+	}
+
+	/**
+	 * Set the flight data types to record.
+	 *
+	 * @param types		the types to record, or <code>null</code> to record all types
+	 * @see RecordingProfile
+	 */
+	public void setRecordedTypes(Set<FlightDataType> types) {
+		this.recordedTypes = (types == null) ? null : Collections.unmodifiableSet(new HashSet<>(types));
+		this.modID++;
+	}
+
+	/**
+	 * Return the summary values requested from a summary-only simulation, or <code>null</code>
+	 * if the complete flight is simulated.
+	 */
+	public Set<SummaryValue> getSummaryValues() {
+		return summaryValues;
+	}
+
+	/**
+	 * Make the simulation a summary-only simulation.  Only the data types needed for the given
+	 * summary values are recorded, only the main branch of the flight is simulated, and the
+	 * simulation ends as soon as all the values are determined.
+	 *
+	 * @param values	the summary values to determine, or <code>null</code> to simulate the
+	 * 					complete flight
+	 * @see SummaryValue
+	 */
+	public void setSummaryValues(Set<SummaryValue> values) {
+		if (values == null) {
+			this.summaryValues = null;
+		} else {
+			this.summaryValues = Collections.unmodifiableSet(values.isEmpty()
+					? EnumSet.noneOf(SummaryValue.class) : EnumSet.copyOf(values));
+		}
+		this.modID++;
+	}
+
 	public void setSimulation(Simulation sim) {
 		this.simulation = sim;
 	}
@@ -243,9 +321,23 @@ public class SimulationConditions implements Monitorable, Cloneable {
 
 	// TODO: HIGH: Make cleaner
 	public List<SimulationListener> getSimulationListenerList() {
+		// The caller may modify the list
+		simulationListenerDispatch = null;
 		return simulationListeners;
 	}
 
+	/**
+	 * Return the per-hook dispatch tables of the simulation listeners.  The tables are built
+	 * when first requested, normally when the simulation starts, and rebuilt if the listener
+	 * list is requested for modification.
+	 */
+	public SimulationListenerDispatch getSimulationListenerDispatch() {
+		if (simulationListenerDispatch == null) {
+			simulationListenerDispatch = new SimulationListenerDispatch(simulationListeners);
+		}
+		return simulationListenerDispatch;
+	}
+
 	@Override
 	public int getModID() {
 		//return (modID + modIDadd + rocket.getModID() + windModel.getModID() + atmosphericModel.getModID() +
@@ -263,6 +355,7 @@ public class SimulationConditions implements Monitorable, Cloneable {
 			for (SimulationListener listener : this.simulationListeners) {
 				clone.simulationListeners.add(listener.clone());
 			}
+			clone.simulationListenerDispatch = null;
 
 			return clone;
 		} catch (CloneNotSupportedException e) {
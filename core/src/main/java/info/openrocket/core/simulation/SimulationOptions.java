@@ -76,6 +76,7 @@ public class SimulationOptions implements ChangeSource, Cloneable, SimulationOpt
 	
 	private double timeStep = preferences.getTimeStep();
 	private double maximumAngle = RK4SimulationStepper.RECOMMENDED_ANGLE_STEP;
+	private RecordingProfile recordingProfile = RecordingProfile.FULL;
 	
 	private int randomSeed = new Random().nextInt();
 
@@ -242,6 +243,23 @@ public class SimulationOptions implements ChangeSource, Cloneable, SimulationOpt
 		fireChangeEvent();
 	}
 
+	public RecordingProfile getRecordingProfile() {
+		return recordingProfile;
+	}
+
+	/**
+	 * Set the flight data types recorded by the simulation.
+	 */
+	public void setRecordingProfile(RecordingProfile recordingProfile) {
+		if (this.recordingProfile == recordingProfile)
+			return;
+		if (recordingProfile == null) {
+			throw new IllegalArgumentException("recording profile cannot be null");
+		}
+		this.recordingProfile = recordingProfile;
+		fireChangeEvent();
+	}
+
 	public boolean isISAAtmosphere() {
 		return useISA;
 	}
@@ -425,6 +443,10 @@ public class SimulationOptions implements ChangeSource, Cloneable, SimulationOpt
 			isChanged = true;
 			this.geodeticComputation = src.geodeticComputation;
 		}
+		if (this.recordingProfile != src.recordingProfile) {
+			isChanged = true;
+			this.recordingProfile = src.recordingProfile;
+		}
 
 		if (isChanged) {
 			// Only copy the randomSeed if something else has changed.
@@ -456,7 +478,8 @@ public class SimulationOptions implements ChangeSource, Cloneable, SimulationOpt
 				MathUtil.equals(this.timeStep, o.timeStep) &&
 				MathUtil.equals(this.windAverage, o.windAverage) &&
 				MathUtil.equals(this.windTurbulence, o.windTurbulence) &&
-				MathUtil.equals(this.windDirection, o.windDirection));
+				MathUtil.equals(this.windDirection, o.windDirection) &&
+				this.recordingProfile == o.recordingProfile);
 	}
 
 	/**
@@ -523,6 +546,7 @@ public class SimulationOptions implements ChangeSource, Cloneable, SimulationOpt
 
 		conditions.setTimeStep(getTimeStep());
 		conditions.setMaximumAngleStep(getMaximumStepAngle());
+		conditions.setRecordedTypes(getRecordingProfile().getRecordedTypes());
 
 		return conditions;
 	}
@@ -546,6 +570,7 @@ public class SimulationOptions implements ChangeSource, Cloneable, SimulationOpt
 				.concat(String.format("    launchPressure:  %f\n", launchPressure))
 				.concat(String.format("    timeStep:  %f\n", timeStep))
 				.concat(String.format("    maximumAngle:  %f\n", maximumAngle))
+				.concat("    recordingProfile:  " + recordingProfile.name() + "\n")
 				.concat("]\n");
 	}
 
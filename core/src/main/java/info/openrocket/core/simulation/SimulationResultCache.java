@@ -0,0 +1,550 @@
+package info.openrocket.core.simulation;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import info.openrocket.core.arch.SystemInfo;
+import info.openrocket.core.document.OpenRocketDocument;
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.file.openrocket.OpenRocketSaver;
+import info.openrocket.core.logging.MessagePriority;
+import info.openrocket.core.logging.SimulationAbort;
+import info.openrocket.core.logging.Warning;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.rocketcomponent.RocketComponent;
+import info.openrocket.core.simulation.customexpression.CustomExpression;
+import info.openrocket.core.simulation.extension.SimulationExtension;
+import info.openrocket.core.startup.Application;
+import info.openrocket.core.startup.Preferences;
+import info.openrocket.core.util.BugException;
+import info.openrocket.core.util.BuildProperties;
+import info.openrocket.core.util.Config;
+import info.openrocket.core.util.TextUtil;
+
+/**
+ * A cache of simulation results, addressed by the content of the simulation.
+ * <p>
+ * The key of a simulation ({@link #getKey(Simulation)}) is a SHA-256 hash of everything that
+ * determines its flight: the rocket as it is stored in a design file (including the motors of
+ * all flight configurations), the simulated flight configuration, the simulation options, the
+ * simulation extensions and their configuration, and the custom expressions of the document.
+ * The rocket includes the ids of its components and flight configurations, so only copies of the
+ * same design have the same key: simulations of the same document, duplicated simulations, and
+ * simulations of the same design file opened again.  A change that is undone gives the key of the
+ * state before the change again.
+ * <p>
+ * The random seed is part of the key only when the wind is turbulent, since it determines the wind
+ * turbulence.  Without turbulence it only changes a negligible randomization of the pitch and yaw
+ * moments.  As the seed is randomized before each interactive simulation, running a simulation
+ * with turbulent wind again gives a new flight rather than the cached one.
+ * <p>
+ * The results are kept in memory in a least recently used cache of a fixed number of entries.
+ * With a cache directory, they are also stored on disk, in a least recently used cache of at
+ * most {@link #MAX_DISK_ENTRIES} files, so they are kept between sessions.  The cached flight
+ * data does not include the data of events other than the cause of a simulation abort, nor the
+ * sources of warnings, the same as flight data loaded from a design file.
+ * <p>
+ * The cache is thread-safe, and the flight data it returns is a copy that may be modified.
+ */
+public class SimulationResultCache {
+	private static final Logger log = LoggerFactory.getLogger(SimulationResultCache.class);
+
+	/** Version of the key and of the disk format; changing it invalidates all cached results */
+	private static final String FORMAT = "OpenRocket simulation result 1";
+	private static final String FILE_SUFFIX = ".gz";
+
+	/** Directory of the default cache, in the user application directory */
+	public static final String CACHE_DIRECTORY = "SimulationCache";
+	/** Maximum number of results stored on disk */
+	public static final int MAX_DISK_ENTRIES = 500;
+
+	private static SimulationResultCache defaultCache = null;
+
+	private final int maxEntries;
+	private final boolean keepFlightData;
+	private final File directory;
+
+	private final Map<String, FlightData> memory;
+	private final Object diskLock = new Object();
+
+	private long hitCount = 0;
+	private long missCount = 0;
+
+	/**
+	 * @param maxEntries		the number of results to keep in memory
+	 * @param keepFlightData	whether to keep the flight data branches of the results, or only
+	 * 							their summary values and warnings
+	 * @param directory			the directory in which to store the results on disk, or
+	 * 							<code>null</code> to keep them in memory only
+	 */
+	public SimulationResultCache(final int maxEntries, boolean keepFlightData, File directory) {
+		if (maxEntries < 1) {
+			throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+		}
+		this.maxEntries = maxEntries;
+		this.keepFlightData = keepFlightData;
+		this.directory = directory;
+		this.memory = new LinkedHashMap<String, FlightData>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, FlightData> eldest) {
+				return size() > SimulationResultCache.this.maxEntries;
+			}
+		};
+	}
+
+	/**
+	 * Return the cache shared by the simulations of the application, configured by the
+	 * preferences, or <code>null</code> if the cache is disabled.  The cache is replaced when
+	 * the preferences change.
+	 */
+	public static synchronized SimulationResultCache getDefault() {
+		final Preferences prefs = Application.getPreferences();
+		final int size = prefs.getSimulationCacheSize();
+		if (size <= 0) {
+			defaultCache = null;
+			return null;
+		}
+		final File dir = prefs.isSimulationDiskCacheEnabled() ?
+				new File(SystemInfo.getUserApplicationDirectory(), CACHE_DIRECTORY) : null;
+		if (defaultCache == null || defaultCache.maxEntries != size || !Objects.equals(defaultCache.directory, dir)) {
+			defaultCache = new SimulationResultCache(size, true, dir);
+		}
+		return defaultCache;
+	}
+
+	/**
+	 * Return the content key of a simulation.  The rocket is written in full, so this should not
+	 * be called while the rocket is modified.
+	 *
+	 * @param simulation	the simulation
+	 * @return the key of the simulation, as a hexadecimal string
+	 */
+	public static String getKey(Simulation simulation) {
+		final StringWriter out = new StringWriter();
+		out.append(FORMAT).append('\n').append(BuildProperties.getVersion()).append('\n');
+
+		try {
+			new OpenRocketSaver().saveRocket(out, simulation.getRocket());
+		} catch (IOException e) {
+			throw new BugException("Unable to write the rocket to a string", e);
+		}
+
+		out.append("configuration=").append(simulation.getFlightConfigurationId().key.toString()).append('\n');
+
+		final SimulationOptions options = simulation.getOptions();
+		final double[] values = {
+				options.getLaunchRodLength(), options.getLaunchRodAngle(), options.getLaunchRodDirection(),
+				options.getWindSpeedAverage(), options.getWindTurbulenceIntensity(), options.getWindDirection(),
+				options.getLaunchAltitude(), options.getLaunchLatitude(), options.getLaunchLongitude(),
+				options.getLaunchTemperature(), options.getLaunchPressure(), options.getTimeStep(),
+				options.getMaximumStepAngle() };
+		out.append("options=").append(Arrays.toString(values))
+				.append(',').append(String.valueOf(options.getLaunchIntoWind()))
+				.append(',').append(String.valueOf(options.isISAAtmosphere()))
+				.append(',').append(options.getGeodeticComputation().name())
+				.append(',').append(options.getRecordingProfile().name()).append('\n');
+		if (options.getWindSpeedDeviation() != 0) {
+			out.append("seed=").append(String.valueOf(options.getRandomSeed())).append('\n');
+		}
+
+		for (SimulationExtension extension : simulation.getSimulationExtensions()) {
+			out.append("extension=").append(extension.getId()).append('\n');
+			final Config config = extension.getConfig();
+			if (config != null) {
+				for (String key : new TreeSet<>(config.keySet())) {
+					out.append(key).append('=').append(String.valueOf(config.get(key, null))).append('\n');
+				}
+			}
+		}
+
+		final OpenRocketDocument document = simulation.getDocument();
+		if (document != null) {
+			for (CustomExpression expression : document.getCustomExpressions()) {
+				out.append("expression=").append(expression.getName()).append('\t')
+						.append(expression.getSymbol()).append('\t')
+						.append(expression.getUnit()).append('\t')
+						.append(expression.getExpressionString()).append('\n');
+			}
+		}
+
+		try {
+			final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return TextUtil.hexString(digest.digest(out.toString().getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new BugException("JRE does not support SHA-256 hash algorithm", e);
+		}
+	}
+
+	/**
+	 * Return a copy of the cached result of a key.
+	 *
+	 * @param key		the key of the simulation
+	 * @param rocket	the rocket of the simulation, used to find the sources of the events of a
+	 * 					result read from disk
+	 * @return a copy of the result, or <code>null</code> if there is no result for the key
+	 */
+	public FlightData get(String key, Rocket rocket) {
+		FlightData data;
+		synchronized (memory) {
+			data = memory.get(key);
+			if (data != null) {
+				hitCount++;
+				return data.clone();
+			}
+		}
+
+		data = readFromDisk(key, rocket);
+		synchronized (memory) {
+			if (data == null) {
+				missCount++;
+				return null;
+			}
+			hitCount++;
+			memory.put(key, data);
+		}
+		return data.clone();
+	}
+
+	/**
+	 * Store the result of a key.  The result is copied, so it may be modified afterwards.
+	 *
+	 * @param key	the key of the simulation, obtained before it was run
+	 * @param data	the result of the simulation; <code>null</code> is ignored
+	 */
+	public void put(String key, FlightData data) {
+		if (data == null) {
+			return;
+		}
+		final FlightData copy = keepFlightData ? data.clone() : summaryOf(data);
+		copy.immute();
+		synchronized (memory) {
+			memory.put(key, copy);
+		}
+		writeToDisk(key, copy);
+	}
+
+	/**
+	 * Remove all results from memory and from disk.
+	 */
+	public void clear() {
+		synchronized (memory) {
+			memory.clear();
+		}
+		synchronized (diskLock) {
+			for (File file : listFiles()) {
+				if (!file.delete()) {
+					log.warn("Unable to delete cached simulation result " + file);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the number of results kept in memory
+	 */
+	public int size() {
+		synchronized (memory) {
+			return memory.size();
+		}
+	}
+
+	public long getHitCount() {
+		synchronized (memory) {
+			return hitCount;
+		}
+	}
+
+	public long getMissCount() {
+		synchronized (memory) {
+			return missCount;
+		}
+	}
+
+	/**
+	 * Return the summary values and warnings of flight data, without the data branches.
+	 */
+	private static FlightData summaryOf(FlightData data) {
+		final FlightData summary = new FlightData(data.getMaxAltitude(), data.getMaxVelocity(),
+				data.getMaxAcceleration(), data.getMaxMachNumber(), data.getTimeToApogee(), data.getFlightTime(),
+				data.getGroundHitVelocity(), data.getLaunchRodVelocity(), data.getDeploymentVelocity(),
+				data.getOptimumDelay());
+		summary.getWarningSet().addAll(data.getWarningSet());
+		return summary;
+	}
+
+
+	////////  Disk storage  ////////
+
+	private File getFile(String key) {
+		return new File(directory, key + FILE_SUFFIX);
+	}
+
+	private List<File> listFiles() {
+		final List<File> files = new ArrayList<>();
+		if (directory == null) {
+			return files;
+		}
+		final File[] list = directory.listFiles((dir, name) -> name.endsWith(FILE_SUFFIX));
+		if (list != null) {
+			files.addAll(Arrays.asList(list));
+		}
+		return files;
+	}
+
+	private FlightData readFromDisk(String key, Rocket rocket) {
+		if (directory == null) {
+			return null;
+		}
+		final File file = getFile(key);
+		if (!file.isFile()) {
+			return null;
+		}
+		try (Reader reader = new InputStreamReader(new GZIPInputStream(Files.newInputStream(file.toPath())),
+				StandardCharsets.UTF_8)) {
+			final FlightData data = read(new BufferedReader(reader), rocket);
+			// Mark as recently used
+			file.setLastModified(System.currentTimeMillis());
+			return data;
+		} catch (IOException | RuntimeException e) {
+			log.warn("Unable to read cached simulation result " + file + ", removing it", e);
+			file.delete();
+			return null;
+		}
+	}
+
+	private void writeToDisk(String key, FlightData data) {
+		if (directory == null) {
+			return;
+		}
+		synchronized (diskLock) {
+			try {
+				Files.createDirectories(directory.toPath());
+				final File temp = File.createTempFile(key, ".tmp", directory);
+				try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+						new GZIPOutputStream(Files.newOutputStream(temp.toPath())), StandardCharsets.UTF_8))) {
+					write(writer, data);
+				} catch (IOException e) {
+					temp.delete();
+					throw e;
+				}
+				Files.move(temp.toPath(), getFile(key).toPath(), StandardCopyOption.REPLACE_EXISTING);
+			} catch (IOException e) {
+				log.warn("Unable to store simulation result in " + directory, e);
+				return;
+			}
+
+			// Remove the least recently used results
+			final List<File> files = listFiles();
+			if (files.size() > MAX_DISK_ENTRIES) {
+				files.sort(Comparator.comparingLong(File::lastModified));
+				for (int i = 0; i < files.size() - MAX_DISK_ENTRIES; i++) {
+					files.get(i).delete();
+				}
+			}
+		}
+	}
+
+	/*
+	 * The disk format is line based, with comma separated fields and the free text (names and
+	 * warnings) last on the line:
+	 *
+	 *   summary,<the ten summary values>
+	 *   warning,<priority>,<text>
+	 *   branch,<optimum altitude>,<time to optimum altitude>,<name>
+	 *   type,<symbol>,<name>
+	 *   event,<time>,<type>,<source id>,<abort cause>
+	 *   point,<one value per type>
+	 *
+	 * The types, events and points follow the branch they belong to.
+	 */
+
+	static void write(Writer writer, FlightData data) throws IOException {
+		writer.write(FORMAT + "\n");
+		writer.write("summary," + data.getMaxAltitude() + "," + data.getMaxVelocity() + ","
+				+ data.getMaxAcceleration() + "," + data.getMaxMachNumber() + "," + data.getTimeToApogee() + ","
+				+ data.getFlightTime() + "," + data.getGroundHitVelocity() + "," + data.getLaunchRodVelocity() + ","
+				+ data.getDeploymentVelocity() + "," + data.getOptimumDelay() + "\n");
+		for (Warning warning : data.getWarningSet()) {
+			writer.write("warning," + warning.getPriority().name() + "," + singleLine(warning.toString()) + "\n");
+		}
+
+		for (FlightDataBranch branch : data.getBranches()) {
+			writer.write("branch," + branch.getOptimumAltitude() + "," + branch.getTimeToOptimumAltitude() + ","
+					+ singleLine(branch.getName()) + "\n");
+			final FlightDataType[] types = branch.getTypes();
+			for (FlightDataType type : types) {
+				writer.write("type," + singleLine(type.getSymbol()).replace(',', ' ') + ","
+						+ singleLine(type.getName()) + "\n");
+			}
+			for (FlightEvent event : branch.getEvents()) {
+				writer.write("event," + event.getTime() + "," + event.getType().name() + ",");
+				if (event.getSource() != null) {
+					writer.write(event.getSource().getID());
+				}
+				writer.write(",");
+				if (event.getType() == FlightEvent.Type.SIM_ABORT && event.getData() instanceof SimulationAbort) {
+					writer.write(((SimulationAbort) event.getData()).getCause().name());
+				}
+				writer.write("\n");
+			}
+
+			final List<List<Double>> values = new ArrayList<>(types.length);
+			for (FlightDataType type : types) {
+				values.add(branch.get(type));
+			}
+			final StringBuilder sb = new StringBuilder();
+			for (int i = 0; i < branch.getLength(); i++) {
+				sb.setLength(0);
+				sb.append("point");
+				for (List<Double> column : values) {
+					sb.append(',').append(column.get(i));
+				}
+				sb.append('\n');
+				writer.write(sb.toString());
+			}
+		}
+	}
+
+	static FlightData read(BufferedReader reader, Rocket rocket) throws IOException {
+		String line = reader.readLine();
+		if (!FORMAT.equals(line)) {
+			throw new IOException("Unknown format: " + line);
+		}
+
+		FlightData data = null;
+		final List<FlightDataBranch> branches = new ArrayList<>();
+		final List<FlightDataType> types = new ArrayList<>();
+		String branchName = null;
+		double optimumAltitude = Double.NaN;
+		double timeToOptimumAltitude = Double.NaN;
+		FlightDataBranch branch = null;
+
+		while ((line = reader.readLine()) != null) {
+			final String[] fields = line.split(",", -1);
+			switch (fields[0]) {
+				case "summary":
+					final double[] v = new double[10];
+					for (int i = 0; i < v.length; i++) {
+						v[i] = Double.parseDouble(fields[i + 1]);
+					}
+					data = new FlightData(v[0], v[1], v[2], v[3], v[4], v[5], v[6], v[7], v[8], v[9]);
+					break;
+
+				case "warning":
+					final String[] warning = line.split(",", 3);
+					getData(data).getWarningSet().add(Warning.fromString(warning[2],
+							MessagePriority.valueOf(warning[1])));
+					break;
+
+				case "branch":
+					if (branchName != null) {
+						getBranch(branch, branchName, optimumAltitude, timeToOptimumAltitude, types, branches);
+					}
+					final String[] header = line.split(",", 4);
+					optimumAltitude = Double.parseDouble(header[1]);
+					timeToOptimumAltitude = Double.parseDouble(header[2]);
+					branchName = header[3];
+					types.clear();
+					branch = null;
+					break;
+
+				case "type":
+					if (branch != null) {
+						throw new IOException("Data type after the data of a branch");
+					}
+					final String[] type = line.split(",", 3);
+					types.add(FlightDataType.getType(type[2], type[1], null));
+					break;
+
+				case "event":
+					branch = getBranch(branch, branchName, optimumAltitude, timeToOptimumAltitude, types, branches);
+					final RocketComponent source = fields[3].isEmpty() ? null : rocket.findComponent(fields[3]);
+					final SimulationAbort abort = fields[4].isEmpty() ? null :
+							new SimulationAbort(SimulationAbort.Cause.valueOf(fields[4]));
+					branch.addEvent(new FlightEvent(FlightEvent.Type.valueOf(fields[2]),
+							Double.parseDouble(fields[1]), source, abort));
+					break;
+
+				case "point":
+					branch = getBranch(branch, branchName, optimumAltitude, timeToOptimumAltitude, types, branches);
+					if (fields.length != types.size() + 1) {
+						throw new IOException("Data point with " + (fields.length - 1) + " values, expected "
+								+ types.size());
+					}
+					branch.addPoint();
+					for (int i = 0; i < types.size(); i++) {
+						branch.setValue(types.get(i), Double.parseDouble(fields[i + 1]));
+					}
+					break;
+
+				default:
+					throw new IOException("Unknown line: " + fields[0]);
+			}
+		}
+		if (branchName != null) {
+			getBranch(branch, branchName, optimumAltitude, timeToOptimumAltitude, types, branches);
+		}
+
+		data = getData(data);
+		for (FlightDataBranch b : branches) {
+			b.immute();
+			data.addBranch(b);
+		}
+		return data;
+	}
+
+	private static FlightData getData(FlightData data) throws IOException {
+		if (data == null) {
+			throw new IOException("Missing summary");
+		}
+		return data;
+	}
+
+	/**
+	 * Return the branch being read, creating it after its data types have been read.
+	 */
+	private static FlightDataBranch getBranch(FlightDataBranch branch, String name, double optimumAltitude,
+			double timeToOptimumAltitude, List<FlightDataType> types, List<FlightDataBranch> branches)
+			throws IOException {
+		if (branch != null) {
+			return branch;
+		}
+		if (name == null) {
+			throw new IOException("Data outside of a branch");
+		}
+		final FlightDataBranch created = new FlightDataBranch(name, types.toArray(new FlightDataType[0]));
+		created.setOptimumAltitude(optimumAltitude);
+		created.setTimeToOptimumAltitude(timeToOptimumAltitude);
+		branches.add(created);
+		return created;
+	}
+
+	private static String singleLine(String text) {
+		return text.replace('\n', ' ').replace('\r', ' ');
+	}
+}
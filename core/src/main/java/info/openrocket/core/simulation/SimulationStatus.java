@@ -518,7 +518,8 @@ public class SimulationStatus implements Cloneable, Monitorable {
 	}
 
 	/**
-	 * Store data from current sim status
+	 * Store data from current sim status.  Values of types that are not recorded in the
+	 * flight data branch are not computed.
 	 */
 	public void storeData() {
 		flightDataBranch.setValue(FlightDataType.TYPE_TIME, getSimulationTime());
@@ -529,25 +530,38 @@ public class SimulationStatus implements Cloneable, Monitorable {
 		flightDataBranch.setValue(FlightDataType.TYPE_LATITUDE, getRocketWorldPosition().getLatitudeRad());
 		flightDataBranch.setValue(FlightDataType.TYPE_LONGITUDE, getRocketWorldPosition().getLongitudeRad());
 		
-		flightDataBranch.setValue(FlightDataType.TYPE_POSITION_XY,
-					  MathUtil.hypot(getRocketPosition().x, getRocketPosition().y));
-		flightDataBranch.setValue(FlightDataType.TYPE_POSITION_DIRECTION,
-					  Math.atan2(getRocketPosition().y, getRocketPosition().x));
+		if (flightDataBranch.isRecorded(FlightDataType.TYPE_POSITION_XY)) {
+			flightDataBranch.setValue(FlightDataType.TYPE_POSITION_XY,
+						  MathUtil.hypot(getRocketPosition().x, getRocketPosition().y));
+		}
+		if (flightDataBranch.isRecorded(FlightDataType.TYPE_POSITION_DIRECTION)) {
+			flightDataBranch.setValue(FlightDataType.TYPE_POSITION_DIRECTION,
+						  Math.atan2(getRocketPosition().y, getRocketPosition().x));
+		}
 
-		flightDataBranch.setValue(FlightDataType.TYPE_VELOCITY_XY,
-					  MathUtil.hypot(getRocketVelocity().x, getRocketVelocity().y));
+		if (flightDataBranch.isRecorded(FlightDataType.TYPE_VELOCITY_XY)) {
+			flightDataBranch.setValue(FlightDataType.TYPE_VELOCITY_XY,
+						  MathUtil.hypot(getRocketVelocity().x, getRocketVelocity().y));
+		}
 		flightDataBranch.setValue(FlightDataType.TYPE_VELOCITY_Z, getRocketVelocity().z);
-		flightDataBranch.setValue(FlightDataType.TYPE_VELOCITY_TOTAL, getRocketVelocity().length());
+		if (flightDataBranch.isRecorded(FlightDataType.TYPE_VELOCITY_TOTAL)) {
+			flightDataBranch.setValue(FlightDataType.TYPE_VELOCITY_TOTAL, getRocketVelocity().length());
+		}
 		
-		Coordinate c = getRocketOrientationQuaternion().rotateZ();
-		double theta = Math.atan2(c.z, MathUtil.hypot(c.x, c.y));
-		double phi = Math.atan2(c.y, c.x);
-		if (phi < -(Math.PI - 0.0001))
-			phi = Math.PI;
-		flightDataBranch.setValue(FlightDataType.TYPE_ORIENTATION_THETA, theta);
-		flightDataBranch.setValue(FlightDataType.TYPE_ORIENTATION_PHI, phi);
-		flightDataBranch.setValue(FlightDataType.TYPE_COMPUTATION_TIME,
-				(System.nanoTime() - getSimulationStartWallTime()) / 1000000000.0);
+		if (flightDataBranch.isRecorded(FlightDataType.TYPE_ORIENTATION_THETA) ||
+				flightDataBranch.isRecorded(FlightDataType.TYPE_ORIENTATION_PHI)) {
+			Coordinate c = getRocketOrientationQuaternion().rotateZ();
+			double theta = Math.atan2(c.z, MathUtil.hypot(c.x, c.y));
+			double phi = Math.atan2(c.y, c.x);
+			if (phi < -(Math.PI - 0.0001))
+				phi = Math.PI;
+			flightDataBranch.setValue(FlightDataType.TYPE_ORIENTATION_THETA, theta);
+			flightDataBranch.setValue(FlightDataType.TYPE_ORIENTATION_PHI, phi);
+		}
+		if (flightDataBranch.isRecorded(FlightDataType.TYPE_COMPUTATION_TIME)) {
+			flightDataBranch.setValue(FlightDataType.TYPE_COMPUTATION_TIME,
+					(System.nanoTime() - getSimulationStartWallTime()) / 1000000000.0);
+		}
 	}		
 
 	/**
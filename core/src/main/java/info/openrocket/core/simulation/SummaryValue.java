@@ -0,0 +1,164 @@
+package info.openrocket.core.simulation;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import info.openrocket.core.util.MathUtil;
+
+/**
+ * The summary values of a flight that can be requested from a summary-only simulation.
+ * <p>
+ * Each value is determined once a flight event has occurred in the main branch of the flight,
+ * and needs only a few data types to be recorded.  A summary-only simulation ends as soon as
+ * all requested values are determined and records only the data types they need, see
+ * {@link SimulationConditions#setSummaryValues(Set)}.  Values that are determined at apogee
+ * are computed from the ascent only.
+ */
+public enum SummaryValue {
+	MAX_ALTITUDE(FlightEvent.Type.APOGEE) {
+		@Override
+		public double getValue(FlightData data) {
+			return data.getMaxAltitude();
+		}
+	},
+	TIME_TO_APOGEE(FlightEvent.Type.APOGEE) {
+		@Override
+		public double getValue(FlightData data) {
+			return data.getTimeToApogee();
+		}
+	},
+	MAX_VELOCITY(FlightEvent.Type.APOGEE, FlightDataType.TYPE_VELOCITY_TOTAL) {
+		@Override
+		public double getValue(FlightData data) {
+			return data.getMaxVelocity();
+		}
+	},
+	MAX_MACH_NUMBER(FlightEvent.Type.APOGEE, FlightDataType.TYPE_MACH_NUMBER) {
+		@Override
+		public double getValue(FlightData data) {
+			return data.getMaxMachNumber();
+		}
+	},
+	MAX_ACCELERATION(FlightEvent.Type.APOGEE, FlightDataType.TYPE_ACCELERATION_TOTAL) {
+		@Override
+		public double getValue(FlightData data) {
+			return data.getMaxAcceleration();
+		}
+	},
+	LAUNCH_ROD_VELOCITY(FlightEvent.Type.LAUNCHROD, FlightDataType.TYPE_VELOCITY_TOTAL) {
+		@Override
+		public double getValue(FlightData data) {
+			return data.getLaunchRodVelocity();
+		}
+	},
+	/** The velocity at the burnout of the first motor */
+	BURNOUT_VELOCITY(FlightEvent.Type.BURNOUT, FlightDataType.TYPE_VELOCITY_TOTAL) {
+		@Override
+		public double getValue(FlightData data) {
+			if (data.getBranchCount() == 0) {
+				return Double.NaN;
+			}
+			FlightDataBranch branch = data.getBranch(0);
+			FlightEvent burnout = branch.getFirstEvent(FlightEvent.Type.BURNOUT);
+			List<Double> time = branch.get(FlightDataType.TYPE_TIME);
+			List<Double> velocity = branch.get(FlightDataType.TYPE_VELOCITY_TOTAL);
+			if (burnout == null || time == null || velocity == null) {
+				return Double.NaN;
+			}
+			return MathUtil.interpolate(time, velocity, burnout.getTime());
+		}
+	},
+	/** The minimum stability margin between launch rod clearance and apogee */
+	MIN_STABILITY(FlightEvent.Type.APOGEE, FlightDataType.TYPE_STABILITY) {
+		@Override
+		public double getValue(FlightData data) {
+			return MotorSweep.getStabilityToApogee(data)[1];
+		}
+	},
+	OPTIMUM_DELAY(FlightEvent.Type.APOGEE) {
+		@Override
+		public double getValue(FlightData data) {
+			return data.getOptimumDelay();
+		}
+	},
+	DEPLOYMENT_VELOCITY(FlightEvent.Type.RECOVERY_DEVICE_DEPLOYMENT, FlightDataType.TYPE_VELOCITY_TOTAL) {
+		@Override
+		public double getValue(FlightData data) {
+			return data.getDeploymentVelocity();
+		}
+	},
+	GROUND_HIT_VELOCITY(null, FlightDataType.TYPE_VELOCITY_TOTAL) {
+		@Override
+		public double getValue(FlightData data) {
+			return data.getGroundHitVelocity();
+		}
+	},
+	FLIGHT_TIME(null) {
+		@Override
+		public double getValue(FlightData data) {
+			return data.getFlightTime();
+		}
+	},
+	LANDING_DISTANCE(null, FlightDataType.TYPE_POSITION_XY) {
+		@Override
+		public double getValue(FlightData data) {
+			if (data.getBranchCount() == 0) {
+				return Double.NaN;
+			}
+			return data.getBranch(0).getLast(FlightDataType.TYPE_POSITION_XY);
+		}
+	};
+
+	private final FlightEvent.Type endEvent;
+	private final FlightDataType[] types;
+
+	SummaryValue(FlightEvent.Type endEvent, FlightDataType... types) {
+		this.endEvent = endEvent;
+		this.types = types;
+	}
+
+	/**
+	 * @return the event after which this value is determined, or <code>null</code> if the
+	 *         flight must be simulated until the end
+	 */
+	public FlightEvent.Type getEndEvent() {
+		return endEvent;
+	}
+
+	/**
+	 * Return this value from the flight data of a simulation, NaN if not available.
+	 */
+	public abstract double getValue(FlightData data);
+
+	/**
+	 * Return the data types to record for a set of summary values.  Time and altitude are
+	 * always included, as well as the types the simulation engine itself needs.
+	 */
+	public static Set<FlightDataType> getRecordedTypes(Set<SummaryValue> values) {
+		Set<FlightDataType> recorded = new HashSet<>(BasicEventSimulationEngine.REQUIRED_TYPES);
+		recorded.add(FlightDataType.TYPE_ALTITUDE);
+		for (SummaryValue value : values) {
+			Collections.addAll(recorded, value.types);
+		}
+		return Collections.unmodifiableSet(recorded);
+	}
+
+	/**
+	 * Return the events that all have to occur before a set of summary values is determined.
+	 *
+	 * @return the events, or <code>null</code> if the flight must be simulated until the end
+	 */
+	public static Set<FlightEvent.Type> getEndEvents(Set<SummaryValue> values) {
+		Set<FlightEvent.Type> events = EnumSet.noneOf(FlightEvent.Type.class);
+		for (SummaryValue value : values) {
+			if (value.endEvent == null) {
+				return null;
+			}
+			events.add(value.endEvent);
+		}
+		return Collections.unmodifiableSet(events);
+	}
+}
@@ -1,6 +1,10 @@
 package info.openrocket.core.simulation.customexpression;
 
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -18,6 +22,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import de.congrace.exp4j.Calculable;
+import de.congrace.exp4j.CompiledExpression;
 import de.congrace.exp4j.ExpressionBuilder;
 import de.congrace.exp4j.UnknownFunctionException;
 import de.congrace.exp4j.UnparsableExpressionException;
@@ -40,6 +45,14 @@ public class CustomExpression implements Cloneable {
 	private ExpressionBuilder builder;
 	private final List<CustomExpression> subExpressions = new ArrayList<CustomExpression>();
 
+	// The compiled expression, guarded by this
+	private boolean compiled = false;
+	private CompiledExpression compiledExpression;
+	private String[] compiledVariables;
+	// The evaluator used by calculate, one per thread as evaluators keep state between evaluations.
+	// Replaced when the compiled expression is reset.
+	private volatile ThreadLocal<Evaluator> evaluators = newEvaluators();
+
 	public CustomExpression(OpenRocketDocument doc) {
 		this.doc = doc;
 
@@ -106,6 +119,7 @@ public class CustomExpression implements Cloneable {
 		}
 
 		builder.withCustomFunctions(Functions.getInstance().getAllFunction());
+		resetCompiledExpression();
 		log.info("Built expression " + expression);
 	}
 
@@ -364,6 +378,7 @@ public class CustomExpression implements Cloneable {
 		for (FlightDataType type : doc.getFlightDataTypes()) {
 			builder.withVariable(new Variable(type.getSymbol()));
 		}
+		resetCompiledExpression();
 
 		// Try to build
 		try {
@@ -418,10 +433,31 @@ public class CustomExpression implements Cloneable {
 	 * Returns NaN on any error.
 	 */
 	public Variable evaluate(SimulationStatus status) {
+		double result = Double.NaN;
+		try {
+			result = calculate(status);
+		} catch (java.util.EmptyStackException e) {
+			log.info(Markers.USER_MARKER,
+					"Unable to calculate expression " + this.expression + " due to empty stack exception");
+		}
+
+		return new Variable(name, result);
+	}
+
+	/*
+	 * Calculates the value of the expression using the last variable values from the
+	 * simulation status. Returns NaN if the expression cannot be built.
+	 * Throws an EmptyStackException if the expression is malformed.
+	 */
+	protected double calculate(SimulationStatus status) {
+		Evaluator evaluator = evaluators.get();
+		if (evaluator.compiledExpression != null) {
+			return evaluator.calculate(status);
+		}
 
 		Calculable calc = buildExpression(builder);
 		if (calc == null) {
-			return new Variable("Unknown");
+			return Double.NaN;
 		}
 
 		// Evaluate any sub expressions and set associated variables in the calculable
@@ -429,24 +465,170 @@ public class CustomExpression implements Cloneable {
 			calc.setVariable(expr.evaluate(status));
 		}
 
-		// Set all the built-in variables. Strictly we surely won't need all of them
-		// Going through and checking them to include only the ones used *might* give a
-		// speedup
+		// Set all the built-in variables
 		FlightDataBranch dataBranch = status.getFlightDataBranch();
 		for (FlightDataType type : dataBranch.getTypes()) {
 			double value = dataBranch.getLast(type);
 			calc.setVariable(new Variable(type.getSymbol(), value));
 		}
 
-		double result = Double.NaN;
-		try {
-			result = calc.calculate().getDoubleValue();
-		} catch (java.util.EmptyStackException e) {
-			log.info(Markers.USER_MARKER,
-					"Unable to calculate expression " + this.expression + " due to empty stack exception");
+		return calc.calculate().getDoubleValue();
+	}
+
+	/*
+	 * Returns a new evaluator for evaluating this expression repeatedly during a simulation.
+	 */
+	public Evaluator newEvaluator() {
+		return new Evaluator();
+	}
+
+	/*
+	 * Parses and compiles the expression, once. Returns null if the expression cannot
+	 * be compiled: expressions with range sub-expressions or custom functions operate
+	 * on arrays, they are built and evaluated interpretively on every evaluation.
+	 */
+	synchronized CompiledExpression getCompiledExpression() {
+		if (!compiled) {
+			compiled = true;
+			compiledExpression = null;
+			compiledVariables = new String[0];
+
+			for (CustomExpression exp : subExpressions) {
+				if (!(exp instanceof IndexExpression)) {
+					return null;
+				}
+			}
+			Calculable calc = buildExpression(builder);
+			if (calc != null) {
+				compiledVariables = calc.getUsedVariableNames();
+				compiledExpression = calc.compile(compiledVariables);
+			}
 		}
+		return compiledExpression;
+	}
 
-		return new Variable(name, result);
+	/*
+	 * Returns the names of the variables of the compiled expression, in the order of the
+	 * values passed to it.
+	 */
+	synchronized String[] getCompiledVariables() {
+		getCompiledExpression();
+		return compiledVariables.clone();
+	}
+
+	/*
+	 * Returns the index or range expression substituted for the given variable, or null if
+	 * the variable is not a sub-expression.
+	 */
+	CustomExpression getSubExpression(String variable) {
+		for (CustomExpression exp : subExpressions) {
+			if (exp.hash().equals(variable)) {
+				return exp;
+			}
+		}
+		return null;
+	}
+
+	/*
+	 * Returns the index and range expressions substituted in this expression.
+	 */
+	List<CustomExpression> getSubExpressions() {
+		return Collections.unmodifiableList(subExpressions);
+	}
+
+	private synchronized void resetCompiledExpression() {
+		compiled = false;
+		compiledExpression = null;
+		compiledVariables = null;
+		evaluators = newEvaluators();
+	}
+
+	private ThreadLocal<Evaluator> newEvaluators() {
+		return ThreadLocal.withInitial(Evaluator::new);
+	}
+
+	/**
+	 * Evaluates the expression repeatedly against the flight data of a simulation.
+	 * <p>
+	 * The expression is parsed and compiled only once.  The variables it uses are resolved to the
+	 * data types of the flight data branch when the branch or its types change, and on every
+	 * evaluation only their latest values are read into a reused array.  An evaluator keeps state
+	 * between evaluations, so it must only be used by one simulation at a time.
+	 */
+	public class Evaluator {
+		private final CompiledExpression compiledExpression;
+		private final String[] variables;
+		// The index sub-expression of each variable, or null for flight data variables
+		private final CustomExpression[] variableExpressions;
+		private final FlightDataType[] types;
+		private final double[] values;
+
+		// Weakly referenced, so that an evaluator kept by calculate does not keep the flight data alive
+		private WeakReference<FlightDataBranch> resolvedBranch = new WeakReference<FlightDataBranch>(null);
+		private int resolvedTypeCount = -1;
+
+		private Evaluator() {
+			synchronized (CustomExpression.this) {
+				this.compiledExpression = getCompiledExpression();
+				this.variables = compiledVariables.clone();
+			}
+			this.variableExpressions = new CustomExpression[variables.length];
+			for (int i = 0; i < variables.length; i++) {
+				variableExpressions[i] = getSubExpression(variables[i]);
+			}
+			this.types = new FlightDataType[variables.length];
+			this.values = new double[variables.length];
+		}
+
+		/*
+		 * Evaluate the expression using the last variable values from the simulation
+		 * status, as CustomExpression.evaluateDouble.
+		 */
+		public double evaluate(SimulationStatus status) {
+			if (compiledExpression == null) {
+				return evaluateDouble(status);
+			}
+			double result = calculate(status);
+			if (result == Double.NEGATIVE_INFINITY || result == Double.POSITIVE_INFINITY)
+				result = Double.NaN;
+			return result;
+		}
+
+		private double calculate(SimulationStatus status) {
+			FlightDataBranch dataBranch = status.getFlightDataBranch();
+			if (dataBranch != resolvedBranch.get() || dataBranch.getTypeCount() != resolvedTypeCount) {
+				resolve(dataBranch);
+			}
+
+			for (int i = 0; i < values.length; i++) {
+				if (variableExpressions[i] != null) {
+					values[i] = variableExpressions[i].evaluate(status).getDoubleValue();
+				} else if (types[i] != null) {
+					values[i] = dataBranch.getLast(types[i]);
+				} else {
+					values[i] = Double.NaN;
+				}
+			}
+			return compiledExpression.calculate(values);
+		}
+
+		/*
+		 * Find the data type of each variable. As when setting the variables of the expression,
+		 * the last type with the symbol wins.
+		 */
+		private void resolve(FlightDataBranch dataBranch) {
+			FlightDataType[] branchTypes = dataBranch.getTypes();
+			for (int i = 0; i < variables.length; i++) {
+				types[i] = null;
+				for (FlightDataType type : branchTypes) {
+					if (type.getSymbol().equals(variables[i])) {
+						types[i] = type;
+					}
+				}
+			}
+			resolvedBranch = new WeakReference<FlightDataBranch>(dataBranch);
+			resolvedTypeCount = dataBranch.getTypeCount();
+		}
 	}
 
 	/*
@@ -472,6 +654,49 @@ public class CustomExpression implements Cloneable {
 		return type;
 	}
 
+	/*
+	 * Returns the flight data types this expression reads, including the types read by its
+	 * time-indexed and ranged variables.
+	 */
+	public Set<FlightDataType> getUsedTypes() {
+		Set<String> symbols = getUsedSymbols();
+		Set<FlightDataType> types = new HashSet<FlightDataType>();
+		for (FlightDataType type : doc.getFlightDataTypes()) {
+			if (symbols.contains(type.getSymbol())) {
+				types.add(type);
+			}
+		}
+		return types;
+	}
+
+	/*
+	 * Returns the symbols of the variables this expression reads.
+	 */
+	protected Set<String> getUsedSymbols() {
+		Set<String> symbols = new HashSet<String>();
+		addUsedSymbols(builder, symbols);
+		for (CustomExpression exp : subExpressions) {
+			symbols.add(exp.getSymbol());
+			symbols.addAll(exp.getUsedSymbols());
+		}
+		return symbols;
+	}
+
+	/*
+	 * Adds the symbols of the variables read by an expression, other than sub-expressions.
+	 */
+	protected void addUsedSymbols(ExpressionBuilder b, Set<String> symbols) {
+		Calculable calc = buildExpression(b);
+		if (calc == null) {
+			return;
+		}
+		for (String variable : calc.getUsedVariableNames()) {
+			if (getSubExpression(variable) == null) {
+				symbols.add(variable);
+			}
+		}
+	}
+
 	/*
 	 * Add this expression to the document if valid and not in document already
 	 */
@@ -524,7 +749,10 @@ public class CustomExpression implements Cloneable {
 	 */
 	public Object clone() {
 		try {
-			return super.clone();
+			CustomExpression clone = (CustomExpression) super.clone();
+			// The evaluators belong to this expression
+			clone.evaluators = clone.newEvaluators();
+			return clone;
 		} catch (CloneNotSupportedException e) {
 			return new CustomExpression(doc,
 					new String(this.getName()),
@@ -0,0 +1,384 @@
+package info.openrocket.core.simulation.customexpression;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EmptyStackException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import de.congrace.exp4j.Calculable;
+import de.congrace.exp4j.CompiledExpression;
+import de.congrace.exp4j.Variable;
+import info.openrocket.core.simulation.FlightData;
+import info.openrocket.core.simulation.FlightDataBranch;
+import info.openrocket.core.simulation.FlightDataType;
+import info.openrocket.core.simulation.RK4SimulationStepper;
+import info.openrocket.core.util.BugException;
+import info.openrocket.core.util.LinearInterpolator;
+
+/**
+ * Evaluates custom expressions over the data of completed simulations.
+ * <p>
+ * Instead of being evaluated at every step of a simulation, the expressions are evaluated a column
+ * at a time over all points of a flight data branch: the data of the variables used by an expression
+ * are read once, and the compiled expression is evaluated for every point.  The results are added to
+ * a copy of the branch as new data types, so derived data can be explored without simulating again.
+ * <p>
+ * Index expressions (<code>a[t]</code>) and range expressions (<code>a[t1:t2]</code>) only see the
+ * data up to each point, as during a simulation.  Ranges are sampled from the stored data with a fixed
+ * time step, which should be the time step of the simulations for the same results as during the
+ * simulations.  Expressions using ranges cannot be compiled, they are evaluated point by point.
+ */
+public class CustomExpressionBatch {
+
+	private final List<CustomExpression> expressions;
+	private final FlightDataType[] types;
+	private final double timeStep;
+
+	/**
+	 * Create a batch sampling range expressions with the recommended simulation time step.
+	 *
+	 * @param expressions the expressions to evaluate, in order; an expression may use the results
+	 *                    of the expressions before it
+	 */
+	public CustomExpressionBatch(List<CustomExpression> expressions) {
+		this(expressions, RK4SimulationStepper.RECOMMENDED_TIME_STEP);
+	}
+
+	/**
+	 * @param expressions the expressions to evaluate, in order; an expression may use the results
+	 *                    of the expressions before it
+	 * @param timeStep    the time step with which range expressions are sampled
+	 */
+	public CustomExpressionBatch(List<CustomExpression> expressions, double timeStep) {
+		if (!(timeStep > 0)) {
+			throw new IllegalArgumentException("Invalid time step " + timeStep);
+		}
+		this.expressions = new ArrayList<>(expressions);
+		this.types = new FlightDataType[expressions.size()];
+		this.timeStep = timeStep;
+		for (int i = 0; i < types.length; i++) {
+			types[i] = this.expressions.get(i).getType();
+		}
+	}
+
+	/**
+	 * Evaluate the expressions over all points of a branch.
+	 *
+	 * @param branch the branch, which is not modified
+	 * @return a copy of the branch with the values of the expressions added
+	 */
+	public FlightDataBranch evaluate(FlightDataBranch branch) {
+		FlightDataBranch result = branch.clone();
+		apply(result);
+		return result;
+	}
+
+	/**
+	 * Evaluate the expressions over all branches of the flight data of several simulations.
+	 * The branches are evaluated in parallel.
+	 *
+	 * @param data the flight data, which are not modified
+	 * @param threadCount the number of threads to use
+	 * @return copies of the flight data with the values of the expressions added to every branch
+	 * @throws InterruptedException if the calling thread is interrupted
+	 */
+	public List<FlightData> evaluate(List<FlightData> data, int threadCount) throws InterruptedException {
+		List<FlightData> results = new ArrayList<>(data.size());
+		List<Callable<Void>> tasks = new ArrayList<>();
+		for (FlightData d : data) {
+			FlightData copy = d.clone();
+			results.add(copy);
+			for (final FlightDataBranch branch : copy.getBranches()) {
+				tasks.add(() -> {
+					apply(branch);
+					return null;
+				});
+			}
+		}
+
+		if (tasks.size() <= 1 || threadCount <= 1) {
+			for (Callable<Void> task : tasks) {
+				try {
+					task.call();
+				} catch (RuntimeException e) {
+					throw e;
+				} catch (Exception e) {
+					throw new BugException(e);
+				}
+			}
+			return results;
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(threadCount, tasks.size()), r -> {
+			Thread t = new Thread(r, "CustomExpressionBatch");
+			t.setDaemon(true);
+			return t;
+		});
+		try {
+			for (Future<Void> future : executor.invokeAll(tasks)) {
+				try {
+					future.get();
+				} catch (ExecutionException e) {
+					Throwable cause = e.getCause();
+					if (cause instanceof RuntimeException) {
+						throw (RuntimeException) cause;
+					}
+					throw new BugException("Custom expression evaluation failed", cause);
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		return results;
+	}
+
+	/**
+	 * Add the values of the expressions to a mutable branch.
+	 */
+	private void apply(FlightDataBranch branch) {
+		// The data of every variable symbol, read once per branch
+		Map<String, double[]> columns = new HashMap<>();
+		for (int i = 0; i < types.length; i++) {
+			double[] values = evaluateColumn(expressions.get(i), branch, columns);
+			for (int p = 0; p < values.length; p++) {
+				if (values[p] == Double.NEGATIVE_INFINITY || values[p] == Double.POSITIVE_INFINITY)
+					values[p] = Double.NaN;
+			}
+			branch.setValues(types[i], values);
+			columns.put(types[i].getSymbol(), values);
+		}
+	}
+
+	/**
+	 * Evaluate an expression for every point of the branch.
+	 */
+	private double[] evaluateColumn(CustomExpression expression, FlightDataBranch branch,
+									Map<String, double[]> columns) {
+		final int length = branch.getLength();
+		final double[] result = new double[length];
+
+		final CompiledExpression compiled = expression.getCompiledExpression();
+		if (compiled == null) {
+			return evaluateInterpretedColumn(expression, branch, columns);
+		}
+
+		final String[] variables = expression.getCompiledVariables();
+		final double[][] data = new double[variables.length][];
+		for (int i = 0; i < variables.length; i++) {
+			CustomExpression sub = expression.getSubExpression(variables[i]);
+			if (sub != null) {
+				data[i] = evaluateIndexColumn((IndexExpression) sub, branch, columns);
+			} else {
+				data[i] = getColumn(branch, variables[i], columns);
+			}
+		}
+
+		final double[] values = new double[variables.length];
+		for (int p = 0; p < length; p++) {
+			for (int i = 0; i < values.length; i++) {
+				values[i] = data[i][p];
+			}
+			result[p] = compiled.calculate(values);
+		}
+		return result;
+	}
+
+	/**
+	 * Evaluate an expression that cannot be compiled, because it uses range expressions, for every
+	 * point of the branch.  The expression is built once and its variables are set at every point.
+	 * The values are NaN where the expression cannot be built or calculated, as during a simulation.
+	 */
+	private double[] evaluateInterpretedColumn(CustomExpression expression, FlightDataBranch branch,
+											   Map<String, double[]> columns) {
+		final int length = branch.getLength();
+		final double[] result = new double[length];
+
+		final Calculable calc = expression.buildExpression();
+		if (calc == null) {
+			Arrays.fill(result, Double.NaN);
+			return result;
+		}
+
+		// The data of every symbol of the branch; as during a simulation, the last type with a symbol wins
+		final Map<String, double[]> data = getColumns(branch, columns);
+
+		final List<CustomExpression> subExpressions = expression.getSubExpressions();
+		final double[][] indexes = new double[subExpressions.size()][];
+		final RangeSampler[] ranges = new RangeSampler[subExpressions.size()];
+		for (int i = 0; i < subExpressions.size(); i++) {
+			CustomExpression sub = subExpressions.get(i);
+			if (sub instanceof RangeExpression) {
+				ranges[i] = new RangeSampler((RangeExpression) sub, branch);
+			} else {
+				indexes[i] = evaluateIndexColumn((IndexExpression) sub, branch, columns);
+			}
+		}
+
+		for (int p = 0; p < length; p++) {
+			for (Map.Entry<String, double[]> e : data.entrySet()) {
+				calc.setVariable(new Variable(e.getKey(), e.getValue()[p]));
+			}
+			for (int i = 0; i < subExpressions.size(); i++) {
+				if (ranges[i] != null) {
+					calc.setVariable(ranges[i].sample(p, data));
+				} else {
+					calc.setVariable(new Variable(subExpressions.get(i).hash(), indexes[i][p]));
+				}
+			}
+			try {
+				result[p] = calc.calculate().getDoubleValue();
+			} catch (EmptyStackException e) {
+				result[p] = Double.NaN;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Evaluate an index expression for every point of the branch.  At every point, the data
+	 * is interpolated at the time index, limited to the time of the point.
+	 */
+	private double[] evaluateIndexColumn(IndexExpression expression, FlightDataBranch branch,
+										 Map<String, double[]> columns) {
+		final double[] index = evaluateColumn(expression, branch, columns);
+		final double[] result = new double[index.length];
+
+		FlightDataType type = FlightDataType.getType(null, expression.getSymbol(), null);
+		List<Double> data = branch.get(type);
+		List<Double> time = branch.get(FlightDataType.TYPE_TIME);
+		if (data == null || time == null || time.isEmpty()) {
+			Arrays.fill(result, Double.NaN);
+			return result;
+		}
+
+		LinearInterpolator interp = new LinearInterpolator(time, data);
+		for (int p = 0; p < result.length; p++) {
+			if (Double.isNaN(index[p])) {
+				result[p] = Double.NaN;
+			} else {
+				result[p] = interp.getValue(Math.min(index[p], time.get(p)));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Return the data of every symbol of the branch.
+	 */
+	private static Map<String, double[]> getColumns(FlightDataBranch branch, Map<String, double[]> columns) {
+		Map<String, double[]> data = new LinkedHashMap<>();
+		for (FlightDataType type : branch.getTypes()) {
+			data.computeIfAbsent(type.getSymbol(), symbol -> getColumn(branch, symbol, columns));
+		}
+		return data;
+	}
+
+	/**
+	 * Return the data of the variable with the given symbol, or NaN values if the branch does not
+	 * contain it.  As when evaluating during a simulation, the last type with the symbol is used.
+	 */
+	private static double[] getColumn(FlightDataBranch branch, String symbol, Map<String, double[]> columns) {
+		double[] column = columns.get(symbol);
+		if (column != null) {
+			return column;
+		}
+
+		FlightDataType type = null;
+		for (FlightDataType t : branch.getTypes()) {
+			if (t.getSymbol().equals(symbol)) {
+				type = t;
+			}
+		}
+
+		column = new double[branch.getLength()];
+		if (type == null) {
+			Arrays.fill(column, Double.NaN);
+		} else {
+			List<Double> values = branch.get(type);
+			for (int p = 0; p < column.length; p++) {
+				column[p] = values.get(p);
+			}
+		}
+		columns.put(symbol, column);
+		return column;
+	}
+
+
+	/**
+	 * Samples a range expression at the points of a branch.  As during a simulation, the range at a
+	 * point ends at the latest at the time of the point, and the stored data is sampled with the time
+	 * step from the start of the range.  The ranges of consecutive points usually share their start,
+	 * so the samples of the previous point are extended rather than sampled again.
+	 */
+	private class RangeSampler {
+		private final RangeExpression expression;
+		private final Calculable startCalc;
+		private final Calculable endCalc;
+		private final List<Double> time;
+		private final LinearInterpolator interp;
+
+		private double[] samples = new double[64];
+		private int sampleCount = 0;
+		private double sampledStart = Double.NaN;
+		private double nextTime;
+
+		RangeSampler(RangeExpression expression, FlightDataBranch branch) {
+			this.expression = expression;
+			this.startCalc = expression.buildStartExpression();
+			this.endCalc = expression.buildEndExpression();
+			this.time = branch.get(FlightDataType.TYPE_TIME);
+			List<Double> data = branch.get(FlightDataType.getType(null, expression.getSymbol(), null));
+			if (time == null || data == null || time.isEmpty()) {
+				this.interp = null;
+			} else {
+				this.interp = new LinearInterpolator(time, data);
+			}
+		}
+
+		/**
+		 * Return the range variable at a point, given the data of every symbol of the branch.
+		 */
+		Variable sample(int point, Map<String, double[]> data) {
+			if (startCalc == null || endCalc == null || interp == null) {
+				return new Variable("Unknown");
+			}
+			for (Map.Entry<String, double[]> e : data.entrySet()) {
+				Variable variable = new Variable(e.getKey(), e.getValue()[point]);
+				startCalc.setVariable(variable);
+				endCalc.setVariable(variable);
+			}
+			double[] range = expression.calculateTimeRange(startCalc, endCalc, time.get(point));
+			if (range == null) {
+				return new Variable("Unknown");
+			}
+
+			// Same sample times as ArrayUtils.range(start, end, step)
+			double start = range[0];
+			int size = (int) Math.floor((range[1] - start) / timeStep) + 1;
+			if (size <= 0) {
+				return new Variable("Unknown");
+			}
+			if (start != sampledStart) {
+				sampledStart = start;
+				sampleCount = 0;
+				nextTime = start;
+			}
+			if (size > samples.length) {
+				samples = Arrays.copyOf(samples, Math.max(size, 2 * samples.length));
+			}
+			while (sampleCount < size) {
+				samples[sampleCount++] = interp.getValue(nextTime);
+				nextTime = nextTime + timeStep;
+			}
+			return expression.toVariable(Arrays.copyOf(samples, size), start, timeStep);
+		}
+	}
+}
@@ -1,8 +1,11 @@
 package info.openrocket.core.simulation.customexpression;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import info.openrocket.core.simulation.FlightDataBranch;
+import info.openrocket.core.simulation.FlightDataType;
 import info.openrocket.core.simulation.SimulationStatus;
 import info.openrocket.core.simulation.exception.SimulationException;
 import info.openrocket.core.simulation.listeners.AbstractSimulationListener;
@@ -15,23 +18,49 @@ public class CustomExpressionSimulationListener extends AbstractSimulationListen
 	private static final Logger log = LoggerFactory.getLogger(CustomExpressionSimulationListener.class);
 	private final List<CustomExpression> expressions;
 
+	// Compiled evaluators and data types of the expressions, created on the first step
+	private CustomExpression.Evaluator[] evaluators = null;
+	private FlightDataType[] types = null;
+
 	public CustomExpressionSimulationListener(List<CustomExpression> expressions) {
 		super();
 		this.expressions = expressions;
 	}
 
+	@Override
+	public void startSimulation(SimulationStatus status) throws SimulationException {
+		if (expressions == null || expressions.size() == 0) {
+			return;
+		}
+		// The expressions and the types they read are recorded whatever types the simulation records
+		Set<FlightDataType> recorded = new HashSet<FlightDataType>();
+		for (CustomExpression expression : expressions) {
+			recorded.add(expression.getType());
+			recorded.addAll(expression.getUsedTypes());
+		}
+		status.getFlightDataBranch().addRecordedTypes(recorded);
+	}
+
 	@Override
 	public void postStep(SimulationStatus status) throws SimulationException {
 		if (expressions == null || expressions.size() == 0) {
 			return;
 		}
+		if (evaluators == null) {
+			evaluators = new CustomExpression.Evaluator[expressions.size()];
+			types = new FlightDataType[expressions.size()];
+			for (int i = 0; i < evaluators.length; i++) {
+				evaluators[i] = expressions.get(i).newEvaluator();
+				types[i] = expressions.get(i).getType();
+			}
+		}
 		// Calculate values for custom expressions
 		FlightDataBranch dataBranch = status.getFlightDataBranch();
-		for (CustomExpression expression : expressions) {
-			double value = expression.evaluateDouble(status);
+		for (int i = 0; i < evaluators.length; i++) {
+			double value = evaluators[i].evaluate(status);
 			// log.debug("Setting value of custom expression "+expression.toString()+" =
 			// "+value);
-			dataBranch.setValue(expression.getType(), value);
+			dataBranch.setValue(types[i], value);
 		}
 	}
 
@@ -40,4 +69,13 @@ public class CustomExpressionSimulationListener extends AbstractSimulationListen
 		return true;
 	}
 
+	@Override
+	public CustomExpressionSimulationListener clone() {
+		// The evaluators keep per-simulation state
+		CustomExpressionSimulationListener clone = (CustomExpressionSimulationListener) super.clone();
+		clone.evaluators = null;
+		clone.types = null;
+		return clone;
+	}
+
 }
@@ -5,7 +5,6 @@ import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import de.congrace.exp4j.Calculable;
 import de.congrace.exp4j.Variable;
 import info.openrocket.core.document.OpenRocketDocument;
 import info.openrocket.core.logging.Markers;
@@ -30,11 +29,6 @@ public class IndexExpression extends CustomExpression {
 
 	@Override
 	public Variable evaluate(SimulationStatus status) {
-		Calculable calc = buildExpression();
-		if (calc == null) {
-			return new Variable("Unknown");
-		}
-
 		// From the given datatype, get the time and function values and make an
 		// interpolator
 
@@ -45,20 +39,14 @@ public class IndexExpression extends CustomExpression {
 		FlightDataBranch dataBranch = status.getFlightDataBranch();
 		List<Double> data = dataBranch.get(myType);
 		List<Double> time = dataBranch.get(FlightDataType.TYPE_TIME);
-		LinearInterpolator interp = new LinearInterpolator(time, data);
-
-		// Set the variables in the expression to evaluate
-		for (FlightDataType etype : dataBranch.getTypes()) {
-			double value = dataBranch.getLast(etype);
-			calc.setVariable(new Variable(etype.getSymbol(), value));
-		}
 
 		// Evaluate this expression to get the t value
-		// System.out.println("Evaluating expression to get t value
-		// "+this.getExpressionString());
 		try {
-			double tvalue = calc.calculate().getDoubleValue();
-			// System.out.println("t = "+tvalue);
+			double tvalue = calculate(status);
+			if (Double.isNaN(tvalue)) {
+				return new Variable("Unknown");
+			}
+			LinearInterpolator interp = new LinearInterpolator(time, data);
 			return new Variable(hash(), interp.getValue(tvalue));
 		} catch (java.util.EmptyStackException e) {
 			log.info(Markers.USER_MARKER, "Unable to calculate time index for indexed expression "
@@ -4,7 +4,9 @@
 
 package info.openrocket.core.simulation.customexpression;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -58,11 +60,19 @@ public class RangeExpression extends CustomExpression {
 		}
 	}
 
+	@Override
+	protected Set<String> getUsedSymbols() {
+		Set<String> symbols = new HashSet<String>();
+		addUsedSymbols(startBuilder, symbols);
+		addUsedSymbols(endBuilder, symbols);
+		return symbols;
+	}
+
 	@Override
 	public Variable evaluate(SimulationStatus status) {
 
-		Calculable startCalc = buildExpression(startBuilder);
-		Calculable endCalc = buildExpression(endBuilder);
+		Calculable startCalc = buildStartExpression();
+		Calculable endCalc = buildEndExpression();
 		if (startCalc == null || endCalc == null) {
 			return new Variable("Unknown");
 		}
@@ -87,18 +97,12 @@ public class RangeExpression extends CustomExpression {
 		LinearInterpolator interp = new LinearInterpolator(time, data);
 
 		// Evaluate the expression to get the start and end of the range
-		double startTime, endTime;
-		try {
-			startTime = startCalc.calculate().getDoubleValue();
-			startTime = MathUtil.clamp(startTime, 0, Double.MAX_VALUE);
-
-			endTime = endCalc.calculate().getDoubleValue();
-			endTime = MathUtil.clamp(endTime, 0, time.get(time.size() - 1));
-		} catch (java.util.EmptyStackException e) {
-			log.info(Markers.USER_MARKER, "Unable to calculate time index for range expression " + getSymbol()
-					+ " due to empty stack exception");
+		double[] range = calculateTimeRange(startCalc, endCalc, time.get(time.size() - 1));
+		if (range == null) {
 			return new Variable("Unknown");
 		}
+		double startTime = range[0];
+		double endTime = range[1];
 
 		// generate an array representing the range
 		double step = status.getSimulationConditions().getSimulation().getOptions().getTimeStep();
@@ -110,13 +114,52 @@ public class RangeExpression extends CustomExpression {
 			i++;
 		}
 
-		Variable result;
-		if (y.length == 0) {
-			result = new Variable("Unknown");
-		} else {
-			result = new Variable(hash(), y, startTime, step);
+		return toVariable(y, startTime, step);
+	}
+
+	/*
+	 * Builds the calculator of the start time of the range, returns null in case of error.
+	 */
+	Calculable buildStartExpression() {
+		return buildExpression(startBuilder);
+	}
+
+	/*
+	 * Builds the calculator of the end time of the range, returns null in case of error.
+	 */
+	Calculable buildEndExpression() {
+		return buildExpression(endBuilder);
+	}
+
+	/*
+	 * Calculates the start and end time of the range with calculators whose variables have been set.
+	 * The end time is limited to the last time for which data is available. Returns null if the times
+	 * cannot be calculated.
+	 */
+	double[] calculateTimeRange(Calculable startCalc, Calculable endCalc, double lastTime) {
+		double startTime, endTime;
+		try {
+			startTime = startCalc.calculate().getDoubleValue();
+			startTime = MathUtil.clamp(startTime, 0, Double.MAX_VALUE);
+
+			endTime = endCalc.calculate().getDoubleValue();
+			endTime = MathUtil.clamp(endTime, 0, lastTime);
+		} catch (java.util.EmptyStackException e) {
+			log.info(Markers.USER_MARKER, "Unable to calculate time index for range expression " + getSymbol()
+					+ " due to empty stack exception");
+			return null;
 		}
+		return new double[] { startTime, endTime };
+	}
 
-		return result;
+	/*
+	 * Returns the variable for the data sampled over the range, or an unknown variable if
+	 * there are no samples.
+	 */
+	Variable toVariable(double[] y, double startTime, double step) {
+		if (y.length == 0) {
+			return new Variable("Unknown");
+		}
+		return new Variable(hash(), y, startTime, step);
 	}
 }
@@ -1,5 +1,8 @@
 package info.openrocket.core.simulation.extension.impl;
 
+import java.util.HashSet;
+import java.util.Set;
+
 import javax.script.Invocable;
 import javax.script.ScriptEngine;
 import javax.script.ScriptException;
@@ -12,7 +15,6 @@ import info.openrocket.core.l10n.L10N;
 import info.openrocket.core.simulation.SimulationConditions;
 import info.openrocket.core.simulation.exception.SimulationException;
 import info.openrocket.core.simulation.extension.AbstractSimulationExtension;
-import info.openrocket.core.simulation.listeners.SimulationListener;
 
 import com.google.inject.Inject;
 
@@ -57,8 +59,12 @@ public class ScriptingExtension extends AbstractSimulationExtension {
 
 	@Override
 	public void initialize(SimulationConditions conditions) throws SimulationException {
-		if (isEnabled()) {
-			conditions.getSimulationListenerList().add(getListener());
+		// An empty script implements no hooks, so no script engine is needed
+		if (isEnabled() && !ScriptingUtil.normalize(getScript()).isEmpty()) {
+			ScriptingSimulationListener listener = getListener();
+			if (listener != null) {
+				conditions.getSimulationListenerList().add(listener);
+			}
 		}
 	}
 
@@ -86,7 +92,12 @@ public class ScriptingExtension extends AbstractSimulationExtension {
 		config.put("enabled", enabled);
 	}
 
-	SimulationListener getListener() throws SimulationException {
+	/**
+	 * Evaluate the script and return a listener calling the hooks it implements.
+	 * 
+	 * @return the listener, or <code>null</code> if the script implements no listener hooks
+	 */
+	ScriptingSimulationListener getListener() throws SimulationException {
 		ScriptEngine engine = util.getEngineByName(getLanguage());
 		if (engine == null) {
 			throw new SimulationException("Your JRE does not support the scripting language '" + getLanguage() + "'");
@@ -102,7 +113,18 @@ public class ScriptingExtension extends AbstractSimulationExtension {
 			throw new SimulationException(
 					"The scripting language '" + getLanguage() + "' does not implement the Invocable interface");
 		}
-		return new ScriptingSimulationListener((Invocable) engine);
+
+		// Only the hooks defined by the script are called during the simulation
+		Set<String> hooks = new HashSet<String>();
+		for (String hook : ScriptingSimulationListener.HOOKS) {
+			if (engine.get(hook) != null) {
+				hooks.add(hook);
+			}
+		}
+		if (hooks.isEmpty()) {
+			return null;
+		}
+		return new ScriptingSimulationListener((Invocable) engine, hooks);
 	}
 
 }
@@ -1,7 +1,10 @@
 package info.openrocket.core.simulation.extension.impl;
 
+import java.lang.reflect.Method;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.TreeSet;
 
 import javax.script.Invocable;
 import javax.script.ScriptException;
@@ -38,11 +41,53 @@ public class ScriptingSimulationListener
 	 * so that unimplemented script methods are not called unnecessarily.
 	 */
 
+	/** The names of all listener hooks a script may implement. */
+	public static final Set<String> HOOKS;
+	static {
+		Set<String> hooks = new TreeSet<String>();
+		for (Class<?> c : new Class<?>[] { SimulationListener.class, SimulationEventListener.class,
+				SimulationComputationListener.class }) {
+			for (Method m : c.getDeclaredMethods()) {
+				Class<?>[] params = m.getParameterTypes();
+				if (params.length > 0 && params[0] == SimulationStatus.class) {
+					hooks.add(m.getName());
+				}
+			}
+		}
+		HOOKS = Collections.unmodifiableSet(hooks);
+	}
+
 	private final Invocable invocable;
-	private Set<String> missing = new HashSet<String>();
+	private Set<String> implemented;
 
+	/**
+	 * Create a listener that calls all hooks defined by the script.  Hooks the script does not
+	 * implement are detected on their first call.
+	 */
 	public ScriptingSimulationListener(Invocable invocable) {
+		this(invocable, HOOKS);
+	}
+
+	/**
+	 * Create a listener that only calls the given hooks of the script.
+	 * 
+	 * @param invocable	the script engine the script has been evaluated in
+	 * @param hooks		the names of the hooks the script implements
+	 */
+	public ScriptingSimulationListener(Invocable invocable, Set<String> hooks) {
 		this.invocable = invocable;
+		this.implemented = new HashSet<String>(hooks);
+	}
+
+	/**
+	 * Return whether the script implements the given listener hook.  Hooks that are not
+	 * implemented return their default value without calling into the script.
+	 * 
+	 * @param hook	the name of the listener method
+	 */
+	@Override
+	public boolean isImplemented(String hook) {
+		return implemented.contains(hook);
 	}
 
 	@Override
@@ -54,7 +99,7 @@ public class ScriptingSimulationListener
 	public SimulationListener clone() {
 		try {
 			ScriptingSimulationListener clone = (ScriptingSimulationListener) super.clone();
-			clone.missing = new HashSet<String>(missing);
+			clone.implemented = new HashSet<String>(implemented);
 			return clone;
 		} catch (CloneNotSupportedException e) {
 			throw new BugException(e);
@@ -198,27 +243,30 @@ public class ScriptingSimulationListener
 
 	@SuppressWarnings("unchecked")
 	private <T> T invoke(Class<T> retType, T def, String method, Object... args) throws SimulationException {
+		if (!implemented.contains(method)) {
+			return def;
+		}
 		try {
-			if (!missing.contains(method)) {
-				Object o = invocable.invokeFunction(method, args);
-				if (o == null) {
-					// Use default/null if function returns nothing
-					return def;
-				} else if (!o.getClass().equals(retType)) {
-					throw new SimulationListenerException("Custom script function " + method + " returned type " +
-							o.getClass().getSimpleName() + ", expected " + retType.getSimpleName());
-				} else {
-					return (T) o;
-				}
+			Object o = invocable.invokeFunction(method, args);
+			if (o == null) {
+				// Use default/null if function returns nothing
+				return def;
+			} else if (retType == Double.class && o instanceof Number) {
+				// Script numbers may be returned as any number type, e.g. Integer for whole numbers
+				return (T) Double.valueOf(((Number) o).doubleValue());
+			} else if (!retType.isInstance(o)) {
+				throw new SimulationListenerException("Custom script function " + method + " returned type " +
+						o.getClass().getSimpleName() + ", expected " + retType.getSimpleName());
+			} else {
+				return (T) o;
 			}
 		} catch (NoSuchMethodException e) {
-			missing.add(method);
-			// fall-through
+			implemented.remove(method);
+			return def;
 		} catch (ScriptException e) {
 			logger.warn("Script exception in " + method + ": " + e, e);
 			throw new SimulationException("Script failed: " + e.getMessage());
 		}
-		return def;
 	}
 
 }
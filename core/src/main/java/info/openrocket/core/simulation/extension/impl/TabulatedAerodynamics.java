@@ -0,0 +1,58 @@
+package info.openrocket.core.simulation.extension.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import info.openrocket.core.aerodynamics.AerodynamicTable;
+import info.openrocket.core.aerodynamics.TabulatedAerodynamicCalculator;
+import info.openrocket.core.simulation.SimulationConditions;
+import info.openrocket.core.simulation.exception.SimulationException;
+import info.openrocket.core.simulation.extension.AbstractSimulationExtension;
+import info.openrocket.core.util.StringUtils;
+
+/**
+ * Replaces the aerodynamic calculator of the simulation with a {@link TabulatedAerodynamicCalculator}
+ * reading its coefficients from an {@link AerodynamicTable} file.
+ */
+public class TabulatedAerodynamics extends AbstractSimulationExtension {
+
+	@Override
+	public void initialize(SimulationConditions conditions) throws SimulationException {
+		String fileName = getFileName();
+		if (StringUtils.isEmpty(fileName)) {
+			throw new SimulationException(trans.get("SimulationExtension.tabulatedaero.nofile"));
+		}
+		try (Reader reader = Files.newBufferedReader(new File(fileName).toPath(), StandardCharsets.UTF_8)) {
+			AerodynamicTable table = AerodynamicTable.read(reader);
+			conditions.setAerodynamicCalculator(new TabulatedAerodynamicCalculator(table));
+		} catch (IOException e) {
+			throw new SimulationException(
+					String.format(trans.get("SimulationExtension.tabulatedaero.readerror"), fileName, e.getMessage()), e);
+		}
+	}
+
+	@Override
+	public String getName() {
+		String name = trans.get("SimulationExtension.tabulatedaero.name") + ": ";
+		String fileName = getFileName();
+		if (!StringUtils.isEmpty(fileName)) {
+			name = name + new File(fileName).getName();
+		} else {
+			name = name + trans.get("SimulationExtension.tabulatedaero.name.none");
+		}
+		return name;
+	}
+
+	public String getFileName() {
+		return config.getString("fileName", "");
+	}
+
+	public void setFileName(String fileName) {
+		config.put("fileName", fileName);
+		fireChangeEvent();
+	}
+
+}
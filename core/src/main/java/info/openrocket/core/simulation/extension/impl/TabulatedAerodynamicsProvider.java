@@ -0,0 +1,13 @@
+package info.openrocket.core.simulation.extension.impl;
+
+import info.openrocket.core.plugin.Plugin;
+import info.openrocket.core.simulation.extension.AbstractSimulationExtensionProvider;
+
+@Plugin
+public class TabulatedAerodynamicsProvider extends AbstractSimulationExtensionProvider {
+
+	public TabulatedAerodynamicsProvider() {
+		super(TabulatedAerodynamics.class, "Aerodynamics", "Tabulated coefficients");
+	}
+
+}
@@ -66,6 +66,21 @@ public interface SimulationListener {
 	 */
 	public boolean isSystemListener();
 
+	/**
+	 * Return whether this listener implements the given listener method.  Listeners are
+	 * not called for methods they do not implement.  Methods inherited unmodified from
+	 * {@link AbstractSimulationListener} are detected automatically; this method allows
+	 * e.g. script-backed listeners to declare the methods they implement.
+	 * <p>
+	 * The default implementation returns <code>true</code>.
+	 * 
+	 * @param method the name of the listener method, e.g. <code>"preStep"</code>
+	 * @return whether the method should be called
+	 */
+	public default boolean isImplemented(String method) {
+		return true;
+	}
+
 	/**
 	 * Return a deep copy of this simulation listener including its state.
 	 */
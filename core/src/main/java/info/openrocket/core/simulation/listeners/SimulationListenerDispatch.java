@@ -0,0 +1,166 @@
+package info.openrocket.core.simulation.listeners;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import info.openrocket.core.aerodynamics.AerodynamicForces;
+import info.openrocket.core.aerodynamics.FlightConditions;
+import info.openrocket.core.masscalc.RigidBody;
+import info.openrocket.core.models.atmosphere.AtmosphericConditions;
+import info.openrocket.core.motor.MotorConfigurationId;
+import info.openrocket.core.rocketcomponent.MotorMount;
+import info.openrocket.core.rocketcomponent.RecoveryDevice;
+import info.openrocket.core.simulation.AccelerationData;
+import info.openrocket.core.simulation.FlightEvent;
+import info.openrocket.core.simulation.MotorClusterState;
+import info.openrocket.core.simulation.SimulationStatus;
+import info.openrocket.core.simulation.exception.SimulationException;
+import info.openrocket.core.util.Coordinate;
+
+/**
+ * Per-hook dispatch tables of simulation listeners.
+ * <p>
+ * For every listener method (hook) the table contains, in order, only the listeners that
+ * actually implement the method.  Listeners extending {@link AbstractSimulationListener} that
+ * do not override a method, and listeners whose {@link SimulationListener#isImplemented(String)}
+ * returns <code>false</code>, are left out, so firing a hook without listeners costs nothing.
+ * <p>
+ * The tables are built once when a simulation starts, see
+ * {@link info.openrocket.core.simulation.SimulationConditions#getSimulationListenerDispatch()}.
+ */
+public final class SimulationListenerDispatch {
+
+	/**
+	 * The listener methods.
+	 */
+	public enum Hook {
+		START_SIMULATION(SimulationListener.class, "startSimulation"),
+		END_SIMULATION(SimulationListener.class, "endSimulation", SimulationException.class),
+		PRE_STEP(SimulationListener.class, "preStep"),
+		POST_STEP(SimulationListener.class, "postStep"),
+
+		ADD_FLIGHT_EVENT(SimulationEventListener.class, "addFlightEvent", FlightEvent.class),
+		HANDLE_FLIGHT_EVENT(SimulationEventListener.class, "handleFlightEvent", FlightEvent.class),
+		MOTOR_IGNITION(SimulationEventListener.class, "motorIgnition", MotorConfigurationId.class,
+				MotorMount.class, MotorClusterState.class),
+		RECOVERY_DEVICE_DEPLOYMENT(SimulationEventListener.class, "recoveryDeviceDeployment", RecoveryDevice.class),
+
+		PRE_ATMOSPHERIC_MODEL(SimulationComputationListener.class, "preAtmosphericModel"),
+		POST_ATMOSPHERIC_MODEL(SimulationComputationListener.class, "postAtmosphericModel",
+				AtmosphericConditions.class),
+		PRE_WIND_MODEL(SimulationComputationListener.class, "preWindModel"),
+		POST_WIND_MODEL(SimulationComputationListener.class, "postWindModel", Coordinate.class),
+		PRE_GRAVITY_MODEL(SimulationComputationListener.class, "preGravityModel"),
+		POST_GRAVITY_MODEL(SimulationComputationListener.class, "postGravityModel", double.class),
+		PRE_FLIGHT_CONDITIONS(SimulationComputationListener.class, "preFlightConditions"),
+		POST_FLIGHT_CONDITIONS(SimulationComputationListener.class, "postFlightConditions", FlightConditions.class),
+		PRE_AERODYNAMIC_CALCULATION(SimulationComputationListener.class, "preAerodynamicCalculation"),
+		POST_AERODYNAMIC_CALCULATION(SimulationComputationListener.class, "postAerodynamicCalculation",
+				AerodynamicForces.class),
+		PRE_MASS_CALCULATION(SimulationComputationListener.class, "preMassCalculation"),
+		POST_MASS_CALCULATION(SimulationComputationListener.class, "postMassCalculation", RigidBody.class),
+		PRE_SIMPLE_THRUST_CALCULATION(SimulationComputationListener.class, "preSimpleThrustCalculation"),
+		POST_SIMPLE_THRUST_CALCULATION(SimulationComputationListener.class, "postSimpleThrustCalculation",
+				double.class),
+		PRE_ACCELERATION_CALCULATION(SimulationComputationListener.class, "preAccelerationCalculation"),
+		POST_ACCELERATION_CALCULATION(SimulationComputationListener.class, "postAccelerationCalculation",
+				AccelerationData.class);
+
+		private final Class<?> listenerClass;
+		private final String methodName;
+		private final Class<?>[] parameterTypes;
+
+		Hook(Class<?> listenerClass, String methodName, Class<?>... parameterTypes) {
+			this.listenerClass = listenerClass;
+			this.methodName = methodName;
+			this.parameterTypes = new Class<?>[parameterTypes.length + 1];
+			this.parameterTypes[0] = SimulationStatus.class;
+			System.arraycopy(parameterTypes, 0, this.parameterTypes, 1, parameterTypes.length);
+		}
+
+		/**
+		 * Return the name of the listener method.
+		 */
+		public String getMethodName() {
+			return methodName;
+		}
+	}
+
+	private static final SimulationListener[] NO_LISTENERS = new SimulationListener[0];
+	private static final Hook[] HOOKS = Hook.values();
+
+	/** The hooks overridden by each listener class */
+	private static final ClassValue<Set<Hook>> OVERRIDDEN_HOOKS = new ClassValue<Set<Hook>>() {
+		@Override
+		protected Set<Hook> computeValue(Class<?> c) {
+			return findOverriddenHooks(c);
+		}
+	};
+
+	private final SimulationListener[][] listeners = new SimulationListener[HOOKS.length][];
+
+	/**
+	 * Build the dispatch tables for a list of listeners.
+	 *
+	 * @param listenerList the listeners, in calling order
+	 */
+	public SimulationListenerDispatch(List<SimulationListener> listenerList) {
+		Map<Hook, List<SimulationListener>> tables = new EnumMap<>(Hook.class);
+		for (SimulationListener l : listenerList) {
+			for (Hook hook : OVERRIDDEN_HOOKS.get(l.getClass())) {
+				if (l.isImplemented(hook.methodName)) {
+					tables.computeIfAbsent(hook, h -> new ArrayList<>()).add(l);
+				}
+			}
+		}
+		for (Hook hook : HOOKS) {
+			List<SimulationListener> list = tables.get(hook);
+			listeners[hook.ordinal()] = (list == null) ? NO_LISTENERS : list.toArray(NO_LISTENERS);
+		}
+	}
+
+	/**
+	 * Return the listeners implementing a hook, in calling order.  The returned array must not be modified.
+	 *
+	 * @param hook the hook
+	 * @return the listeners, an empty array if none
+	 */
+	public SimulationListener[] getListeners(Hook hook) {
+		return listeners[hook.ordinal()];
+	}
+
+	/**
+	 * Return whether any listener implements a hook.
+	 */
+	public boolean hasListeners(Hook hook) {
+		return listeners[hook.ordinal()].length > 0;
+	}
+
+	/**
+	 * Find the hooks a listener class implements.  Methods inherited from
+	 * {@link AbstractSimulationListener} have no effect and are not counted.
+	 */
+	private static Set<Hook> findOverriddenHooks(Class<?> c) {
+		Set<Hook> hooks = EnumSet.noneOf(Hook.class);
+		for (Hook hook : HOOKS) {
+			if (!hook.listenerClass.isAssignableFrom(c)) {
+				continue;
+			}
+			try {
+				Method m = c.getMethod(hook.methodName, hook.parameterTypes);
+				if (m.getDeclaringClass() != AbstractSimulationListener.class) {
+					hooks.add(hook);
+				}
+			} catch (NoSuchMethodException | SecurityException e) {
+				// Call it to be safe
+				hooks.add(hook);
+			}
+		}
+		return hooks;
+	}
+}
@@ -16,11 +16,13 @@ import info.openrocket.core.simulation.FlightEvent;
 import info.openrocket.core.simulation.MotorClusterState;
 import info.openrocket.core.simulation.SimulationStatus;
 import info.openrocket.core.simulation.exception.SimulationException;
+import info.openrocket.core.simulation.listeners.SimulationListenerDispatch.Hook;
 import info.openrocket.core.util.Coordinate;
 import info.openrocket.core.util.MathUtil;
 
 /**
- * Helper methods for firing events to simulation listeners.
+ * Helper methods for firing events to simulation listeners.  Each event is only fired to the
+ * listeners implementing it, see {@link SimulationListenerDispatch}.
  * 
  * @author Sampo Niskanen <sampo.niskanen@iki.fi>
  */
@@ -35,9 +37,14 @@ public class SimulationListenerHelper {
 	 */
 	public static void fireStartSimulation(SimulationStatus status)
 			throws SimulationException {
+		SimulationListener[] listeners = getListeners(status, Hook.START_SIMULATION);
+		if (listeners.length == 0) {
+			return;
+		}
+
 		int modID = status.getModID();
 
-		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
+		for (SimulationListener l : listeners) {
 			l.startSimulation(status);
 			if (modID != status.getModID()) {
 				warn(status, l);
@@ -50,9 +57,14 @@ public class SimulationListenerHelper {
 	 * Fire endSimulation event.
 	 */
 	public static void fireEndSimulation(SimulationStatus status, SimulationException exception) {
+		SimulationListener[] listeners = getListeners(status, Hook.END_SIMULATION);
+		if (listeners.length == 0) {
+			return;
+		}
+
 		int modID = status.getModID();
 
-		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
+		for (SimulationListener l : listeners) {
 			l.endSimulation(status, exception);
 			if (modID != status.getModID()) {
 				warn(status, l);
@@ -69,10 +81,15 @@ public class SimulationListenerHelper {
 	 */
 	public static boolean firePreStep(SimulationStatus status)
 			throws SimulationException {
+		SimulationListener[] listeners = getListeners(status, Hook.PRE_STEP);
+		if (listeners.length == 0) {
+			return true;
+		}
+
 		boolean b;
 		int modID = status.getModID();
 
-		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
+		for (SimulationListener l : listeners) {
 			b = l.preStep(status);
 			if (modID != status.getModID()) {
 				warn(status, l);
@@ -91,9 +108,14 @@ public class SimulationListenerHelper {
 	 */
 	public static void firePostStep(SimulationStatus status)
 			throws SimulationException {
+		SimulationListener[] listeners = getListeners(status, Hook.POST_STEP);
+		if (listeners.length == 0) {
+			return;
+		}
+
 		int modID = status.getModID();
 
-		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
+		for (SimulationListener l : listeners) {
 			l.postStep(status);
 			if (modID != status.getModID()) {
 				warn(status, l);
@@ -111,20 +133,23 @@ public class SimulationListenerHelper {
 	 *         skip adding the event.
 	 */
 	public static boolean fireAddFlightEvent(SimulationStatus status, FlightEvent event) throws SimulationException {
+		SimulationListener[] listeners = getListeners(status, Hook.ADD_FLIGHT_EVENT);
+		if (listeners.length == 0) {
+			return true;
+		}
+
 		boolean b;
 		int modID = status.getModID();
 
-		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
-			if (l instanceof SimulationEventListener) {
-				b = ((SimulationEventListener) l).addFlightEvent(status, event);
-				if (modID != status.getModID()) {
-					warn(status, l);
-					modID = status.getModID();
-				}
-				if (b == false) {
-					warn(status, l);
-					return false;
-				}
+		for (SimulationListener l : listeners) {
+			b = ((SimulationEventListener) l).addFlightEvent(status, event);
+			if (modID != status.getModID()) {
+				warn(status, l);
+				modID = status.getModID();
+			}
+			if (b == false) {
+				warn(status, l);
+				return false;
 			}
 		}
 		return true;
@@ -137,20 +162,23 @@ public class SimulationListenerHelper {
 	 *         skip event.
 	 */
 	public static boolean fireHandleFlightEvent(SimulationStatus status, FlightEvent event) throws SimulationException {
+		SimulationListener[] listeners = getListeners(status, Hook.HANDLE_FLIGHT_EVENT);
+		if (listeners.length == 0) {
+			return true;
+		}
+
 		boolean b;
 		int modID = status.getModID();
 
-		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
-			if (l instanceof SimulationEventListener) {
-				b = ((SimulationEventListener) l).handleFlightEvent(status, event);
-				if (modID != status.getModID()) {
-					warn(status, l);
-					modID = status.getModID();
-				}
-				if (b == false) {
-					warn(status, l);
-					return false;
-				}
+		for (SimulationListener l : listeners) {
+			b = ((SimulationEventListener) l).handleFlightEvent(status, event);
+			if (modID != status.getModID()) {
+				warn(status, l);
+				modID = status.getModID();
+			}
+			if (b == false) {
+				warn(status, l);
+				return false;
 			}
 		}
 		return true;
@@ -164,20 +192,23 @@ public class SimulationListenerHelper {
 	 */
 	public static boolean fireMotorIgnition(SimulationStatus status, MotorConfigurationId motorId, MotorMount mount,
 			MotorClusterState instance) throws SimulationException {
+		SimulationListener[] listeners = getListeners(status, Hook.MOTOR_IGNITION);
+		if (listeners.length == 0) {
+			return true;
+		}
+
 		boolean result;
 		int modID = status.getModID(); // Contains also motor instance
 
-		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
-			if (l instanceof SimulationEventListener) {
-				result = ((SimulationEventListener) l).motorIgnition(status, motorId, mount, instance);
-				if (modID != status.getModID()) {
-					warn(status, l);
-					modID = status.getModID();
-				}
-				if (false == result) {
-					warn(status, l);
-					return false;
-				}
+		for (SimulationListener l : listeners) {
+			result = ((SimulationEventListener) l).motorIgnition(status, motorId, mount, instance);
+			if (modID != status.getModID()) {
+				warn(status, l);
+				modID = status.getModID();
+			}
+			if (false == result) {
+				warn(status, l);
+				return false;
 			}
 		}
 		return true;
@@ -191,20 +222,23 @@ public class SimulationListenerHelper {
 	 */
 	public static boolean fireRecoveryDeviceDeployment(SimulationStatus status, RecoveryDevice device)
 			throws SimulationException {
+		SimulationListener[] listeners = getListeners(status, Hook.RECOVERY_DEVICE_DEPLOYMENT);
+		if (listeners.length == 0) {
+			return true;
+		}
+
 		boolean result;
 		int modID = status.getModID(); // Contains also motor instance
 
-		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
-			if (l instanceof SimulationEventListener) {
-				result = ((SimulationEventListener) l).recoveryDeviceDeployment(status, device);
-				if (modID != status.getModID()) {
-					warn(status, l);
-					modID = status.getModID();
-				}
-				if (false == result) {
-					warn(status, l);
-					return false;
-				}
+		for (SimulationListener l : listeners) {
+			result = ((SimulationEventListener) l).recoveryDeviceDeployment(status, device);
+			if (modID != status.getModID()) {
+				warn(status, l);
+				modID = status.getModID();
+			}
+			if (false == result) {
+				warn(status, l);
+				return false;
 			}
 		}
 		return true;
@@ -219,20 +253,23 @@ public class SimulationListenerHelper {
 	 */
 	public static AtmosphericConditions firePreAtmosphericModel(SimulationStatus status)
 			throws SimulationException {
+		SimulationListener[] listeners = getListeners(status, Hook.PRE_ATMOSPHERIC_MODEL);
+		if (listeners.length == 0) {
+			return null;
+		}
+
 		AtmosphericConditions conditions;
 		int modID = status.getModID();
 
-		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
-			if (l instanceof SimulationComputationListener) {
-				conditions = ((SimulationComputationListener) l).preAtmosphericModel(status);
-				if (modID != status.getModID()) {
-					warn(status, l);
-					modID = status.getModID();
-				}
-				if (conditions != null) {
-					warn(status, l);
-					return conditions;
-				}
+		for (SimulationListener l : listeners) {
+			conditions = ((SimulationComputationListener) l).preAtmosphericModel(status);
+			if (modID != status.getModID()) {
+				warn(status, l);
+				modID = status.getModID();
+			}
+			if (conditions != null) {
+				warn(status, l);
+				return conditions;
 			}
 		}
 		return null;
@@ -246,22 +283,25 @@ public class SimulationListenerHelper {
 	public static AtmosphericConditions firePostAtmosphericModel(SimulationStatus status,
 			AtmosphericConditions conditions)
 			throws SimulationException {
+		SimulationListener[] listeners = getListeners(status, Hook.POST_ATMOSPHERIC_MODEL);
+		if (listeners.length == 0) {
+			return conditions;
+		}
+
 		AtmosphericConditions c;
 		AtmosphericConditions clone = conditions.clone();
 		int modID = status.getModID();
 
-		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
-			if (l instanceof SimulationComputationListener) {
-				c = ((SimulationComputationListener) l).postAtmosphericModel(status, clone);
-				if (modID != status.getModID()) {
-					warn(status, l);
-					modID = status.getModID();
-				}
-				if (c != null && !c.equals(conditions)) {
-					warn(status, l);
-					conditions = c;
-					clone = conditions.clone();
-				}
+		for (SimulationListener l : listeners) {
+			c = ((SimulationComputationListener) l).postAtmosphericModel(status, clone);
+			if (modID != status.getModID()) {
+				warn(status, l);
+				modID = status.getModID();
+			}
+			if (c != null && !c.equals(conditions)) {
+				warn(status, l);
+				conditions = c;
+				clone = conditions.clone();
 			}
 		}
 		return conditions;
@@ -274,20 +314,23 @@ public class SimulationListenerHelper {
 	 */
 	public static Coordinate firePreWindModel(SimulationStatus status)
 			throws SimulationException {
+		SimulationListener[] listeners = getListeners(status, Hook.PRE_WIND_MODEL);
+		if (listeners.length == 0) {
+			return null;
+		}
+
 		Coordinate wind;
 		int modID = status.getModID();
 
-		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
-			if (l instanceof SimulationComputationListener) {
-				wind = ((SimulationComputationListener) l).preWindModel(status);
-				if (modID != status.getModID()) {
-					warn(status, l);
-					modID = status.getModID();
-				}
-				if (wind != null) {
-					warn(status, l);
-					return wind;
-				}
+		for (SimulationListener l : listeners) {
+			wind = ((SimulationComputationListener) l).preWindModel(status);
+			if (modID != status.getModID()) {
+				warn(status, l);
+				modID = status.getModID();
+			}
+			if (wind != null) {
+				warn(status, l);
+				return wind;
 			}
 		}
 		return null;
@@ -299,20 +342,23 @@ public class SimulationListenerHelper {
 	 * @return the wind to use.
 	 */
 	public static Coordinate firePostWindModel(SimulationStatus status, Coordinate wind) throws SimulationException {
+		SimulationListener[] listeners = getListeners(status, Hook.POST_WIND_MODEL);
+		if (listeners.length == 0) {
+			return wind;
+		}
+
 		Coordinate w;
 		int modID = status.getModID();
 
-		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
-			if (l instanceof SimulationComputationListener) {
-				w = ((SimulationComputationListener) l).postWindModel(status, wind);
-				if (modID != status.getModID()) {
-					warn(status, l);
-					modID = status.getModID();
-				}
-				if (w != null && !w.equals(wind)) {
-					warn(status, l);
-					wind = w;
-				}
+		for (SimulationListener l : listeners) {
+			w = ((SimulationComputationListener) l).postWindModel(status, wind);
+			if (modID != status.getModID()) {
+				warn(status, l);
+				modID = status.getModID();
+			}
+			if (w != null && !w.equals(wind)) {
+				warn(status, l);
+				wind = w;
 			}
 		}
 		return wind;
@@ -325,20 +371,23 @@ public class SimulationListenerHelper {
 	 */
 	public static double firePreGravityModel(SimulationStatus status)
 			throws SimulationException {
+		SimulationListener[] listeners = getListeners(status, Hook.PRE_GRAVITY_MODEL);
+		if (listeners.length == 0) {
+			return Double.NaN;
+		}
+
 		double gravity;
 		int modID = status.getModID();
 
-		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
-			if (l instanceof SimulationComputationListener) {
-				gravity = ((SimulationComputationListener) l).preGravityModel(status);
-				if (modID != status.getModID()) {
-					warn(status, l);
-					modID = status.getModID();
-				}
-				if (!Double.isNaN(gravity)) {
-					warn(status, l);
-					return gravity;
-				}
+		for (SimulationListener l : listeners) {
+			gravity = ((SimulationComputationListener) l).preGravityModel(status);
+			if (modID != status.getModID()) {
+				warn(status, l);
+				modID = status.getModID();
+			}
+			if (!Double.isNaN(gravity)) {
+				warn(status, l);
+				return gravity;
 			}
 		}
 		return Double.NaN;
@@ -350,20 +399,23 @@ public class SimulationListenerHelper {
 	 * @return the gravity to use.
 	 */
 	public static double firePostGravityModel(SimulationStatus status, double gravity) throws SimulationException {
+		SimulationListener[] listeners = getListeners(status, Hook.POST_GRAVITY_MODEL);
+		if (listeners.length == 0) {
+			return gravity;
+		}
+
 		double g;
 		int modID = status.getModID();
 
-		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
-			if (l instanceof SimulationComputationListener) {
-				g = ((SimulationComputationListener) l).postGravityModel(status, gravity);
-				if (modID != status.getModID()) {
-					warn(status, l);
-					modID = status.getModID();
-				}
-				if (!Double.isNaN(g) && !MathUtil.equals(g, gravity)) {
-					warn(status, l);
-					gravity = g;
-				}
+		for (SimulationListener l : listeners) {
+			g = ((SimulationComputationListener) l).postGravityModel(status, gravity);
+			if (modID != status.getModID()) {
+				warn(status, l);
+				modID = status.getModID();
+			}
+			if (!Double.isNaN(g) && !MathUtil.equals(g, gravity)) {
+				warn(status, l);
+				gravity = g;
 			}
 		}
 		return gravity;
@@ -376,20 +428,23 @@ public class SimulationListenerHelper {
 	 */
 	public static FlightConditions firePreFlightConditions(SimulationStatus status)
 			throws SimulationException {
+		SimulationListener[] listeners = getListeners(status, Hook.PRE_FLIGHT_CONDITIONS);
+		if (listeners.length == 0) {
+			return null;
+		}
+
 		FlightConditions conditions;
 		int modID = status.getModID();
 
-		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
-			if (l instanceof SimulationComputationListener) {
-				conditions = ((SimulationComputationListener) l).preFlightConditions(status);
-				if (modID != status.getModID()) {
-					warn(status, l);
-					modID = status.getModID();
-				}
-				if (conditions != null) {
-					warn(status, l);
-					return conditions;
-				}
+		for (SimulationListener l : listeners) {
+			conditions = ((SimulationComputationListener) l).preFlightConditions(status);
+			if (modID != status.getModID()) {
+				warn(status, l);
+				modID = status.getModID();
+			}
+			if (conditions != null) {
+				warn(status, l);
+				return conditions;
 			}
 		}
 		return null;
@@ -404,22 +459,25 @@ public class SimulationListenerHelper {
 	 */
 	public static FlightConditions firePostFlightConditions(SimulationStatus status, FlightConditions conditions)
 			throws SimulationException {
+		SimulationListener[] listeners = getListeners(status, Hook.POST_FLIGHT_CONDITIONS);
+		if (listeners.length == 0) {
+			return conditions;
+		}
+
 		FlightConditions c;
 		FlightConditions clone = conditions.clone();
 		int modID = status.getModID();
 
-		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
-			if (l instanceof SimulationComputationListener) {
-				c = ((SimulationComputationListener) l).postFlightConditions(status, clone);
-				if (modID != status.getModID()) {
-					warn(status, l);
-					modID = status.getModID();
-				}
-				if (c != null && !c.equals(conditions)) {
-					warn(status, l);
-					conditions = c;
-					clone = conditions.clone();
-				}
+		for (SimulationListener l : listeners) {
+			c = ((SimulationComputationListener) l).postFlightConditions(status, clone);
+			if (modID != status.getModID()) {
+				warn(status, l);
+				modID = status.getModID();
+			}
+			if (c != null && !c.equals(conditions)) {
+				warn(status, l);
+				conditions = c;
+				clone = conditions.clone();
 			}
 		}
 		return conditions;
@@ -432,20 +490,23 @@ public class SimulationListenerHelper {
 	 */
 	public static AerodynamicForces firePreAerodynamicCalculation(SimulationStatus status)
 			throws SimulationException {
+		SimulationListener[] listeners = getListeners(status, Hook.PRE_AERODYNAMIC_CALCULATION);
+		if (listeners.length == 0) {
+			return null;
+		}
+
 		AerodynamicForces forces;
 		int modID = status.getModID();
 
-		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
-			if (l instanceof SimulationComputationListener) {
-				forces = ((SimulationComputationListener) l).preAerodynamicCalculation(status);
-				if (modID != status.getModID()) {
-					warn(status, l);
-					modID = status.getModID();
-				}
-				if (forces != null) {
-					warn(status, l);
-					return forces;
-				}
+		for (SimulationListener l : listeners) {
+			forces = ((SimulationComputationListener) l).preAerodynamicCalculation(status);
+			if (modID != status.getModID()) {
+				warn(status, l);
+				modID = status.getModID();
+			}
+			if (forces != null) {
+				warn(status, l);
+				return forces;
 			}
 		}
 		return null;
@@ -458,22 +519,25 @@ public class SimulationListenerHelper {
 	 */
 	public static AerodynamicForces firePostAerodynamicCalculation(SimulationStatus status, AerodynamicForces forces)
 			throws SimulationException {
+		SimulationListener[] listeners = getListeners(status, Hook.POST_AERODYNAMIC_CALCULATION);
+		if (listeners.length == 0) {
+			return forces;
+		}
+
 		AerodynamicForces f;
 		AerodynamicForces clone = forces.clone();
 		int modID = status.getModID();
 
-		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
-			if (l instanceof SimulationComputationListener) {
-				f = ((SimulationComputationListener) l).postAerodynamicCalculation(status, clone);
-				if (modID != status.getModID()) {
-					warn(status, l);
-					modID = status.getModID();
-				}
-				if (f != null && !f.equals(forces)) {
-					warn(status, l);
-					forces = f;
-					clone = forces.clone();
-				}
+		for (SimulationListener l : listeners) {
+			f = ((SimulationComputationListener) l).postAerodynamicCalculation(status, clone);
+			if (modID != status.getModID()) {
+				warn(status, l);
+				modID = status.getModID();
+			}
+			if (f != null && !f.equals(forces)) {
+				warn(status, l);
+				forces = f;
+				clone = forces.clone();
 			}
 		}
 		return forces;
@@ -486,20 +550,23 @@ public class SimulationListenerHelper {
 	 */
 	public static RigidBody firePreMassCalculation(SimulationStatus status)
 			throws SimulationException {
+		SimulationListener[] listeners = getListeners(status, Hook.PRE_MASS_CALCULATION);
+		if (listeners.length == 0) {
+			return null;
+		}
+
 		RigidBody mass;
 		int modID = status.getModID();
 
-		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
-			if (l instanceof SimulationComputationListener) {
-				mass = ((SimulationComputationListener) l).preMassCalculation(status);
-				if (modID != status.getModID()) {
-					warn(status, l);
-					modID = status.getModID();
-				}
-				if (mass != null) {
-					warn(status, l);
-					return mass;
-				}
+		for (SimulationListener l : listeners) {
+			mass = ((SimulationComputationListener) l).preMassCalculation(status);
+			if (modID != status.getModID()) {
+				warn(status, l);
+				modID = status.getModID();
+			}
+			if (mass != null) {
+				warn(status, l);
+				return mass;
 			}
 		}
 		return null;
@@ -512,20 +579,23 @@ public class SimulationListenerHelper {
 	 */
 	public static RigidBody firePostMassCalculation(SimulationStatus status, RigidBody mass)
 			throws SimulationException {
+		SimulationListener[] listeners = getListeners(status, Hook.POST_MASS_CALCULATION);
+		if (listeners.length == 0) {
+			return mass;
+		}
+
 		RigidBody m;
 		int modID = status.getModID();
 
-		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
-			if (l instanceof SimulationComputationListener) {
-				m = ((SimulationComputationListener) l).postMassCalculation(status, mass);
-				if (modID != status.getModID()) {
-					warn(status, l);
-					modID = status.getModID();
-				}
-				if (m != null && !m.equals(mass)) {
-					warn(status, l);
-					mass = m;
-				}
+		for (SimulationListener l : listeners) {
+			m = ((SimulationComputationListener) l).postMassCalculation(status, mass);
+			if (modID != status.getModID()) {
+				warn(status, l);
+				modID = status.getModID();
+			}
+			if (m != null && !m.equals(mass)) {
+				warn(status, l);
+				mass = m;
 			}
 		}
 		return mass;
@@ -538,20 +608,23 @@ public class SimulationListenerHelper {
 	 */
 	public static double firePreThrustCalculation(SimulationStatus status)
 			throws SimulationException {
+		SimulationListener[] listeners = getListeners(status, Hook.PRE_SIMPLE_THRUST_CALCULATION);
+		if (listeners.length == 0) {
+			return Double.NaN;
+		}
+
 		double thrust;
 		int modID = status.getModID();
 
-		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
-			if (l instanceof SimulationComputationListener) {
-				thrust = ((SimulationComputationListener) l).preSimpleThrustCalculation(status);
-				if (modID != status.getModID()) {
-					warn(status, l);
-					modID = status.getModID();
-				}
-				if (!Double.isNaN(thrust)) {
-					warn(status, l);
-					return thrust;
-				}
+		for (SimulationListener l : listeners) {
+			thrust = ((SimulationComputationListener) l).preSimpleThrustCalculation(status);
+			if (modID != status.getModID()) {
+				warn(status, l);
+				modID = status.getModID();
+			}
+			if (!Double.isNaN(thrust)) {
+				warn(status, l);
+				return thrust;
 			}
 		}
 		return Double.NaN;
@@ -563,20 +636,23 @@ public class SimulationListenerHelper {
 	 * @return the thrust value to use.
 	 */
 	public static double firePostThrustCalculation(SimulationStatus status, double thrust) throws SimulationException {
+		SimulationListener[] listeners = getListeners(status, Hook.POST_SIMPLE_THRUST_CALCULATION);
+		if (listeners.length == 0) {
+			return thrust;
+		}
+
 		double t;
 		int modID = status.getModID();
 
-		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
-			if (l instanceof SimulationComputationListener) {
-				t = ((SimulationComputationListener) l).postSimpleThrustCalculation(status, thrust);
-				if (modID != status.getModID()) {
-					warn(status, l);
-					modID = status.getModID();
-				}
-				if (!Double.isNaN(t) && !MathUtil.equals(t, thrust)) {
-					warn(status, l);
-					thrust = t;
-				}
+		for (SimulationListener l : listeners) {
+			t = ((SimulationComputationListener) l).postSimpleThrustCalculation(status, thrust);
+			if (modID != status.getModID()) {
+				warn(status, l);
+				modID = status.getModID();
+			}
+			if (!Double.isNaN(t) && !MathUtil.equals(t, thrust)) {
+				warn(status, l);
+				thrust = t;
 			}
 		}
 		return thrust;
@@ -588,20 +664,23 @@ public class SimulationListenerHelper {
 	 * @return <code>null</code> normally, or overriding mass data.
 	 */
 	public static AccelerationData firePreAccelerationCalculation(SimulationStatus status) throws SimulationException {
+		SimulationListener[] listeners = getListeners(status, Hook.PRE_ACCELERATION_CALCULATION);
+		if (listeners.length == 0) {
+			return null;
+		}
+
 		AccelerationData acceleration;
 		int modID = status.getModID();
 
-		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
-			if (l instanceof SimulationComputationListener) {
-				acceleration = ((SimulationComputationListener) l).preAccelerationCalculation(status);
-				if (modID != status.getModID()) {
-					warn(status, l);
-					modID = status.getModID();
-				}
-				if (acceleration != null) {
-					warn(status, l);
-					return acceleration;
-				}
+		for (SimulationListener l : listeners) {
+			acceleration = ((SimulationComputationListener) l).preAccelerationCalculation(status);
+			if (modID != status.getModID()) {
+				warn(status, l);
+				modID = status.getModID();
+			}
+			if (acceleration != null) {
+				warn(status, l);
+				return acceleration;
 			}
 		}
 		return null;
@@ -614,25 +693,35 @@ public class SimulationListenerHelper {
 	 */
 	public static AccelerationData firePostAccelerationCalculation(SimulationStatus status,
 			AccelerationData acceleration) throws SimulationException {
+		SimulationListener[] listeners = getListeners(status, Hook.POST_ACCELERATION_CALCULATION);
+		if (listeners.length == 0) {
+			return acceleration;
+		}
+
 		AccelerationData a;
 		int modID = status.getModID();
 
-		for (SimulationListener l : status.getSimulationConditions().getSimulationListenerList()) {
-			if (l instanceof SimulationComputationListener) {
-				a = ((SimulationComputationListener) l).postAccelerationCalculation(status, acceleration);
-				if (modID != status.getModID()) {
-					warn(status, l);
-					modID = status.getModID();
-				}
-				if (a != null && !a.equals(acceleration)) {
-					warn(status, l);
-					acceleration = a;
-				}
+		for (SimulationListener l : listeners) {
+			a = ((SimulationComputationListener) l).postAccelerationCalculation(status, acceleration);
+			if (modID != status.getModID()) {
+				warn(status, l);
+				modID = status.getModID();
+			}
+			if (a != null && !a.equals(acceleration)) {
+				warn(status, l);
+				acceleration = a;
 			}
 		}
 		return acceleration;
 	}
 
+	/**
+	 * Return the listeners implementing a hook.
+	 */
+	private static SimulationListener[] getListeners(SimulationStatus status, Hook hook) {
+		return status.getSimulationConditions().getSimulationListenerDispatch().getListeners(hook);
+	}
+
 	private static void warn(SimulationStatus status, SimulationListener listener) {
 		if (!listener.isSystemListener()) {
 			log.info("Non-system listener " + listener + " affected the simulation");
@@ -105,6 +105,9 @@ public abstract class Preferences implements ChangeSource {
 
 	public static final String CONFIRM_DELETE_SIMULATION = "ConfirmDeleteSimulation";
 	public static final String AUTO_RUN_SIMULATIONS = "AutoRunSimulations";
+	public static final String SIMULATION_THREAD_COUNT = "SimulationThreadCount";
+	public static final String SIMULATION_CACHE_SIZE = "SimulationCacheSize";
+	public static final String SIMULATION_DISK_CACHE = "SimulationDiskCache";
 	public static final String LAUNCH_ROD_LENGTH = "LaunchRodLength";
 	public static final String LAUNCH_INTO_WIND = "LaunchIntoWind";
 	public static final String LAUNCH_ROD_ANGLE = "LaunchRodAngle";
@@ -278,6 +281,42 @@ public abstract class Preferences implements ChangeSource {
 		this.putBoolean(AUTO_RUN_SIMULATIONS, check);
 	}
 	
+	/**
+	 * Return the number of simulations to run in parallel when simulating all flight
+	 * configurations of a rocket.  Defaults to the number of processors.
+	 */
+	public final int getSimulationThreadCount() {
+		return Math.max(1, this.getInt(SIMULATION_THREAD_COUNT, Runtime.getRuntime().availableProcessors()));
+	}
+
+	public final void setSimulationThreadCount(int count) {
+		this.putInt(SIMULATION_THREAD_COUNT, Math.max(1, count));
+	}
+
+	/**
+	 * Return the number of simulation results kept in memory by the simulation result cache,
+	 * zero if the cache is disabled.
+	 */
+	public final int getSimulationCacheSize() {
+		return Math.max(0, this.getInt(SIMULATION_CACHE_SIZE, 64));
+	}
+
+	public final void setSimulationCacheSize(int size) {
+		this.putInt(SIMULATION_CACHE_SIZE, Math.max(0, size));
+	}
+
+	/**
+	 * Return whether the simulation result cache also stores the summaries of the results on disk,
+	 * so they are kept between sessions.
+	 */
+	public final boolean isSimulationDiskCacheEnabled() {
+		return this.getBoolean(SIMULATION_DISK_CACHE, false);
+	}
+
+	public final void setSimulationDiskCacheEnabled(boolean enabled) {
+		this.putBoolean(SIMULATION_DISK_CACHE, enabled);
+	}
+
 	public final boolean getLaunchIntoWind() {
 		return this.getBoolean(LAUNCH_INTO_WIND, false);
 	}
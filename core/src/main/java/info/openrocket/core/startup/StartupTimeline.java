@@ -0,0 +1,282 @@
+package info.openrocket.core.startup;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A timeline of the application startup.
+ * <p>
+ * Startup phases are recorded with their wall time and the bytes allocated by the recording thread,
+ * milestones (such as the main window being shown) with their time only.  All times are relative
+ * to the start of the JVM.  Phases may be recorded from any thread, e.g. the database loaders.
+ * <p>
+ * Usage:
+ * <pre>
+ * try (StartupTimeline.Phase phase = StartupTimeline.begin("Look and feel")) {
+ *     ...
+ * }
+ * </pre>
+ * If the system property <code>openrocket.startup.timeline</code> is set to a file name, the timeline
+ * is written to that file when {@link #finish()} is called.
+ * <p>
+ * Nothing is recorded after {@link #finish()}, and at most {@value #MAX_ENTRIES} entries are kept, so
+ * phases that also occur after startup (e.g. opening a 3D view) do not accumulate for the lifetime of
+ * the application.
+ */
+public final class StartupTimeline {
+	private static final Logger log = LoggerFactory.getLogger(StartupTimeline.class);
+
+	/** System property for the file to write the timeline to */
+	public static final String DUMP_PROPERTY = "openrocket.startup.timeline";
+
+	private static final long ORIGIN_NANOS = System.nanoTime();
+	private static final double ORIGIN_MS = getJvmUptime();
+	private static final ThreadMXBean THREADS = getThreadMXBean();
+
+	/** Maximum number of entries recorded */
+	public static final int MAX_ENTRIES = 1000;
+
+	private static final List<Entry> entries = new ArrayList<>();
+	// Whether entries are recorded, guarded by entries
+	private static boolean recording = true;
+
+	private StartupTimeline() {
+	}
+
+	/**
+	 * Begin a startup phase.  The phase ends when it is closed.
+	 *
+	 * @param name the name of the phase
+	 * @return the phase, to be closed when it ends
+	 */
+	public static Phase begin(String name) {
+		return new Phase(name);
+	}
+
+	/**
+	 * Record a milestone.
+	 *
+	 * @param name the name of the milestone
+	 * @return the time of the milestone in milliseconds since the start of the JVM
+	 */
+	public static double mark(String name) {
+		double time = now();
+		add(new Entry(name, Thread.currentThread().getName(), time, Double.NaN, -1));
+		return time;
+	}
+
+	/**
+	 * @return a copy of the entries recorded so far, in the order they ended
+	 */
+	public static List<Entry> getEntries() {
+		synchronized (entries) {
+			return new ArrayList<>(entries);
+		}
+	}
+
+	/**
+	 * Clear the timeline and start recording again.
+	 */
+	public static void clear() {
+		synchronized (entries) {
+			entries.clear();
+			recording = true;
+		}
+	}
+
+	/**
+	 * Called once startup has completed.  Logs the time to reach this point, stops recording and writes
+	 * the timeline to the file named by the {@value #DUMP_PROPERTY} system property, if it is set.
+	 */
+	public static void finish() {
+		double time = mark("Startup complete");
+		synchronized (entries) {
+			recording = false;
+		}
+		log.info(String.format(Locale.ROOT, "Startup completed in %.0f ms after JVM start", time));
+
+		String fileName = System.getProperty(DUMP_PROPERTY);
+		if (fileName != null && !fileName.isBlank()) {
+			File file = new File(fileName);
+			try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+				write(writer);
+				log.info("Wrote startup timeline to {}", file.getAbsolutePath());
+			} catch (IOException e) {
+				log.warn("Unable to write startup timeline to " + file, e);
+			}
+		}
+	}
+
+	/**
+	 * Write the timeline as tab separated text.  Durations and allocations are empty for milestones and
+	 * allocations are empty if the JVM does not support measuring them.
+	 *
+	 * @param writer the writer to write to, it is flushed but not closed
+	 */
+	public static void write(Writer writer) {
+		PrintWriter out = new PrintWriter(writer);
+		out.println("# OpenRocket startup timeline, times in ms since JVM start");
+		out.println("start\tduration\tallocated_kb\tthread\tname");
+		for (Entry e : getEntries()) {
+			out.print(String.format(Locale.ROOT, "%.1f\t", e.getStart()));
+			out.print(e.isMilestone() ? "" : String.format(Locale.ROOT, "%.1f", e.getDuration()));
+			out.print('\t');
+			out.print(e.getAllocatedBytes() < 0 ? "" : String.valueOf(e.getAllocatedBytes() / 1024));
+			out.print('\t');
+			out.print(e.getThread());
+			out.print('\t');
+			out.println(e.getName());
+		}
+		out.flush();
+	}
+
+	private static void add(Entry entry) {
+		synchronized (entries) {
+			if (recording && entries.size() < MAX_ENTRIES) {
+				entries.add(entry);
+			}
+		}
+	}
+
+	private static double now() {
+		return ORIGIN_MS + (System.nanoTime() - ORIGIN_NANOS) / 1e6;
+	}
+
+	private static double getJvmUptime() {
+		try {
+			return ManagementFactory.getRuntimeMXBean().getUptime();
+		} catch (RuntimeException | LinkageError e) {
+			return 0;
+		}
+	}
+
+	private static ThreadMXBean getThreadMXBean() {
+		try {
+			return ManagementFactory.getThreadMXBean();
+		} catch (RuntimeException | LinkageError e) {
+			return null;
+		}
+	}
+
+	/**
+	 * @return the number of bytes allocated by the current thread, or -1 if not supported
+	 */
+	private static long getAllocatedBytes() {
+		if (THREADS instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+			if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+				return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+			}
+		}
+		return -1;
+	}
+
+
+	/**
+	 * A startup phase being recorded.  Closing a phase more than once has no effect.
+	 */
+	public static final class Phase implements AutoCloseable {
+		private final String name;
+		private final Thread thread;
+		private final double start;
+		private final long startAllocated;
+		private boolean ended = false;
+
+		private Phase(String name) {
+			this.name = name;
+			this.thread = Thread.currentThread();
+			this.startAllocated = getAllocatedBytes();
+			this.start = now();
+		}
+
+		/**
+		 * End the phase.  The allocations are only measured if the phase ends in the thread that began it.
+		 */
+		@Override
+		public void close() {
+			if (ended) {
+				return;
+			}
+			ended = true;
+			double end = now();
+			long allocated = -1;
+			if (startAllocated >= 0 && thread == Thread.currentThread()) {
+				allocated = Math.max(0, getAllocatedBytes() - startAllocated);
+			}
+			add(new Entry(name, thread.getName(), start, end - start, allocated));
+		}
+	}
+
+
+	/**
+	 * A recorded phase or milestone.
+	 */
+	public static final class Entry {
+		private final String name;
+		private final String thread;
+		private final double start;
+		private final double duration;
+		private final long allocatedBytes;
+
+		private Entry(String name, String thread, double start, double duration, long allocatedBytes) {
+			this.name = name;
+			this.thread = thread;
+			this.start = start;
+			this.duration = duration;
+			this.allocatedBytes = allocatedBytes;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public String getThread() {
+			return thread;
+		}
+
+		/**
+		 * @return the start time in milliseconds since the start of the JVM
+		 */
+		public double getStart() {
+			return start;
+		}
+
+		/**
+		 * @return the wall time of the phase in milliseconds, NaN for milestones
+		 */
+		public double getDuration() {
+			return duration;
+		}
+
+		/**
+		 * @return the bytes allocated during the phase, or -1 if unknown
+		 */
+		public long getAllocatedBytes() {
+			return allocatedBytes;
+		}
+
+		public boolean isMilestone() {
+			return Double.isNaN(duration);
+		}
+
+		@Override
+		public String toString() {
+			if (isMilestone()) {
+				return String.format(Locale.ROOT, "%s at %.1f ms", name, start);
+			}
+			return String.format(Locale.ROOT, "%s at %.1f ms took %.1f ms", name, start, duration);
+		}
+	}
+}
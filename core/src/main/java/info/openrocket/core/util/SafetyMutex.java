@@ -37,6 +37,18 @@ public abstract class SafetyMutex {
 		}
 	}
 
+	/**
+	 * Return a new instance of a safety mutex that never performs any checks.
+	 * This is used for objects that are read-only and intentionally shared
+	 * between threads, where the checks of a concrete mutex would report
+	 * false concurrency errors.
+	 * 
+	 * @return a new instance of a bogus safety mutex
+	 */
+	public static SafetyMutex newUncheckedInstance() {
+		return new BogusSafetyMutex();
+	}
+
 	/**
 	 * Verify that this mutex is unlocked, but don't lock it. This has the same
 	 * effect
@@ -19,6 +19,7 @@ open module info.openrocket.core {
 	requires jakarta.activation;
 	requires jakarta.inject;
 	requires java.prefs;
+	requires jdk.management;
 	requires jakarta.xml.bind;
 	requires io.github.classgraph;
 	requires org.glassfish.jakarta.json;
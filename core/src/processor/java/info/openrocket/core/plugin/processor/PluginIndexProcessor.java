@@ -0,0 +1,77 @@
+package info.openrocket.core.plugin.processor;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Annotation processor that writes an index of the classes annotated with
+ * <code>info.openrocket.core.plugin.Plugin</code>.
+ * <p>
+ * The index is a resource in the class output with one binary class name per line.  It is
+ * read by <code>AnnotationFinderImpl</code>, so that the plugins can be found at startup
+ * without scanning the class path.  The processor refers to the annotation by name only,
+ * which allows it to be compiled before the core classes.
+ */
+@SupportedAnnotationTypes(PluginIndexProcessor.PLUGIN_ANNOTATION)
+public class PluginIndexProcessor extends AbstractProcessor {
+
+	static final String PLUGIN_ANNOTATION = "info.openrocket.core.plugin.Plugin";
+
+	/** Must match AnnotationFinderImpl.PLUGIN_INDEX */
+	public static final String PLUGIN_INDEX = "META-INF/openrocket/plugins.idx";
+
+	private final Set<String> classNames = new TreeSet<>();
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		for (TypeElement annotation : annotations) {
+			for (Element e : roundEnv.getElementsAnnotatedWith(annotation)) {
+				if (e instanceof TypeElement) {
+					classNames.add(processingEnv.getElementUtils().getBinaryName((TypeElement) e).toString());
+				}
+			}
+		}
+
+		if (roundEnv.processingOver() && !classNames.isEmpty()) {
+			writeIndex();
+		}
+		return false;
+	}
+
+	private void writeIndex() {
+		try {
+			FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+					PLUGIN_INDEX);
+			try (Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+				writer.write("# Classes annotated with @Plugin, generated by PluginIndexProcessor\n");
+				for (String name : classNames) {
+					writer.write(name);
+					writer.write('\n');
+				}
+			}
+		} catch (IOException e) {
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+					"Unable to write plugin index " + PLUGIN_INDEX + ": " + e);
+		}
+	}
+
+}
@@ -0,0 +1,113 @@
+package info.openrocket.core.aerodynamics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Module;
+
+import info.openrocket.core.ServicesForTesting;
+import info.openrocket.core.logging.WarningSet;
+import info.openrocket.core.plugin.PluginModule;
+import info.openrocket.core.rocketcomponent.BodyTube;
+import info.openrocket.core.rocketcomponent.FlightConfiguration;
+import info.openrocket.core.rocketcomponent.NoseCone;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.rocketcomponent.RocketComponent;
+import info.openrocket.core.startup.Application;
+import info.openrocket.core.util.TestRockets;
+
+public class AerodynamicGeometryTest {
+	protected final double EPSILON = 0.00001;
+
+	@BeforeAll
+	public static void setup() {
+		Module applicationModule = new ServicesForTesting();
+		Module pluginModule = new PluginModule();
+
+		Injector injector = Guice.createInjector(applicationModule, pluginModule);
+		Application.setInjector(injector);
+	}
+
+	private static int indexOf(AerodynamicGeometry geometry, RocketComponent component) {
+		for (int i = 0; i < geometry.getComponentCount(); i++) {
+			if (geometry.getComponent(i) == component) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	@Test
+	public void testSnapshotContents() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		FlightConfiguration config = rocket.getSelectedConfiguration();
+		BarrowmanCalculator calc = new BarrowmanCalculator();
+		AerodynamicGeometry geometry = calc.getGeometry(config);
+
+		NoseCone nose = (NoseCone) rocket.getChild(0).getChild(0);
+		BodyTube body = (BodyTube) rocket.getChild(0).getChild(1);
+
+		int n = indexOf(geometry, nose);
+		int b = indexOf(geometry, body);
+		// The order of the active instances is not defined
+		assertTrue(n >= 0);
+		assertTrue(b >= 0);
+		assertTrue(b != n);
+		assertTrue(geometry.isSymmetric(n));
+		assertEquals(1, geometry.getInstanceCount(b));
+		assertEquals(nose.getAftRadius(), geometry.getAftRadius(n), EPSILON);
+		assertEquals(nose.getAftRadius(), geometry.getPreviousAftRadius(b), EPSILON);
+		assertEquals(body.getForeRadius(), geometry.getNextForeRadius(n), EPSILON);
+		assertEquals(0, geometry.getPreviousAftRadius(n), EPSILON);
+		assertEquals(body.getLength(), geometry.getLength(b), EPSILON);
+		assertEquals(config.getLengthAerodynamic(), geometry.getLengthAerodynamic(), EPSILON);
+		assertEquals(1, geometry.getFinSetCount());
+		assertTrue(geometry.getGeometryWarnings().isEmpty());
+	}
+
+	@Test
+	public void testSnapshotReusedUntilChanged() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		FlightConfiguration config = rocket.getSelectedConfiguration();
+		BarrowmanCalculator calc = new BarrowmanCalculator();
+		FlightConditions conditions = new FlightConditions(config);
+
+		AerodynamicGeometry geometry = calc.getGeometry(config);
+		calc.getAerodynamicForces(config, conditions, new WarningSet());
+		assertSame(geometry, calc.getGeometry(config));
+
+		BodyTube body = (BodyTube) rocket.getChild(0).getChild(1);
+		body.setLength(body.getLength() * 1.5);
+		AerodynamicGeometry changed = calc.getGeometry(config);
+		assertNotSame(geometry, changed);
+		assertEquals(body.getLength(), changed.getLength(indexOf(changed, body)), EPSILON);
+	}
+
+	@Test
+	public void testSnapshotFollowsStages() {
+		Rocket rocket = TestRockets.makeFalcon9Heavy();
+		FlightConfiguration config = rocket.getSelectedConfiguration();
+		BarrowmanCalculator calc = new BarrowmanCalculator();
+		FlightConditions conditions = new FlightConditions(config);
+
+		AerodynamicGeometry all = calc.getGeometry(config);
+		double cnaAll = calc.getCP(config, conditions, new WarningSet()).weight;
+
+		config.setOnlyStage(0);
+		AerodynamicGeometry upper = calc.getGeometry(config);
+		assertNotSame(all, upper);
+		assertTrue(upper.getComponentCount() < all.getComponentCount());
+
+		// Results must match a fresh calculator
+		double cnaUpper = calc.getCP(config, conditions, new WarningSet()).weight;
+		assertEquals(new BarrowmanCalculator().getCP(config, conditions, new WarningSet()).weight, cnaUpper, EPSILON);
+		assertTrue(Math.abs(cnaAll - cnaUpper) > EPSILON);
+	}
+}
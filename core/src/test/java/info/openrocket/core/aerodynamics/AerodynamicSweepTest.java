@@ -0,0 +1,98 @@
+package info.openrocket.core.aerodynamics;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Module;
+
+import info.openrocket.core.ServicesForTesting;
+import info.openrocket.core.logging.WarningSet;
+import info.openrocket.core.plugin.PluginModule;
+import info.openrocket.core.rocketcomponent.FlightConfiguration;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.rocketcomponent.RocketComponent;
+import info.openrocket.core.startup.Application;
+import info.openrocket.core.util.TestRockets;
+
+public class AerodynamicSweepTest {
+	protected final double EPSILON = 0.00001;
+
+	@BeforeAll
+	public static void setup() {
+		Module applicationModule = new ServicesForTesting();
+		Module pluginModule = new PluginModule();
+
+		Injector injector = Guice.createInjector(applicationModule, pluginModule);
+		Application.setInjector(injector);
+	}
+
+	@Test
+	public void testRange() {
+		assertArrayEquals(new double[] { 0.1, 0.2, 0.3 }, AerodynamicSweep.range(0.1, 0.3, 0.1), EPSILON);
+		assertArrayEquals(new double[] { 0.5 }, AerodynamicSweep.range(0.5, 0.5, 0.1), EPSILON);
+		assertArrayEquals(new double[] { 0.5 }, AerodynamicSweep.range(0.5, 1.0, 0), EPSILON);
+		assertArrayEquals(new double[] { 0, 0.4, 0.8 }, AerodynamicSweep.range(0, 1.0, 0.4), EPSILON);
+	}
+
+	/**
+	 * The parallel sweep must give the same results as evaluating every point on its own.
+	 */
+	@Test
+	public void testSweepMatchesForceAnalysis() throws InterruptedException {
+		Rocket rocket = TestRockets.makeFalcon9Heavy();
+		FlightConfiguration config = rocket.getSelectedConfiguration();
+		FlightConditions conditions = new FlightConditions(config);
+		conditions.setTheta(0.3);
+
+		double[] machs = { 0.3, 0.9, 1.5 };
+		double[] aoas = { 0, Math.toRadians(4) };
+		double[] rollRates = { 0, 10 };
+
+		AerodynamicSweep sweep = new AerodynamicSweep(new BarrowmanCalculator(), config, conditions,
+				machs, aoas, rollRates);
+		assertEquals(12, sweep.getPointCount());
+
+		AtomicInteger count = new AtomicInteger();
+		List<AerodynamicSweep.SweepPoint> points = sweep.run(4, (point, computed, total) -> {
+			assertEquals(12, total);
+			assertEquals(count.incrementAndGet(), computed);
+		});
+		assertEquals(12, count.get());
+		assertEquals(12, points.size());
+
+		BarrowmanCalculator calc = new BarrowmanCalculator();
+		for (int i = 0; i < points.size(); i++) {
+			AerodynamicSweep.SweepPoint point = points.get(i);
+			assertEquals(i, point.getIndex());
+			assertEquals(machs[i / 4], point.getMach(), 0);
+			assertEquals(aoas[(i / 2) % 2], point.getAOA(), 0);
+			assertEquals(rollRates[i % 2], point.getRollRate(), 0);
+
+			FlightConditions cond = conditions.clone();
+			cond.setMach(point.getMach());
+			cond.setAOA(point.getAOA());
+			cond.setRollRate(point.getRollRate());
+			Map<RocketComponent, AerodynamicForces> expected = calc.getForceAnalysis(config, cond, new WarningSet());
+
+			assertEquals(expected.keySet(), point.getForces().keySet());
+			for (Map.Entry<RocketComponent, AerodynamicForces> entry : expected.entrySet()) {
+				AerodynamicForces actual = point.getForces().get(entry.getKey());
+				assertNotNull(actual);
+				assertEquals(entry.getValue().getCP().x, actual.getCP().x, EPSILON, "CP of " + entry.getKey());
+				assertEquals(entry.getValue().getCNa(), actual.getCNa(), EPSILON, "CNa of " + entry.getKey());
+				assertEquals(entry.getValue().getCD(), actual.getCD(), EPSILON, "CD of " + entry.getKey());
+				assertEquals(entry.getValue().getCroll(), actual.getCroll(), EPSILON, "Croll of " + entry.getKey());
+			}
+		}
+	}
+}
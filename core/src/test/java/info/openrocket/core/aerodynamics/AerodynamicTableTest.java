@@ -0,0 +1,181 @@
+package info.openrocket.core.aerodynamics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Module;
+
+import info.openrocket.core.ServicesForTesting;
+import info.openrocket.core.logging.WarningSet;
+import info.openrocket.core.models.atmosphere.AtmosphericModel;
+import info.openrocket.core.models.atmosphere.ExtendedISAModel;
+import info.openrocket.core.plugin.PluginModule;
+import info.openrocket.core.rocketcomponent.FlightConfiguration;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.startup.Application;
+import info.openrocket.core.util.TestRockets;
+
+public class AerodynamicTableTest {
+	private static final double EPSILON = 1e-10;
+
+	private static final double[] MACH = { 0.1, 0.5, 0.9, 1.2 };
+	private static final double[] AOA = { 0, Math.toRadians(4), Math.toRadians(10) };
+	private static final double[] ROLL_RATE = { -50, 0, 50 };
+	private static final double[] ALTITUDE = { 0, 3000 };
+
+	@BeforeAll
+	public static void setup() {
+		Module applicationModule = new ServicesForTesting();
+		Module pluginModule = new PluginModule();
+
+		Injector injector = Guice.createInjector(applicationModule, pluginModule);
+		Application.setInjector(injector);
+	}
+
+	/**
+	 * A table of coefficients linear in every axis, which multilinear interpolation reproduces exactly.
+	 */
+	private static AerodynamicTable makeLinearTable() {
+		final int n = AerodynamicTable.COEFFICIENT_COUNT;
+		final double[] values = new double[MACH.length * AOA.length * ROLL_RATE.length * ALTITUDE.length * n];
+		int index = 0;
+		for (double m : MACH) {
+			for (double a : AOA) {
+				for (double r : ROLL_RATE) {
+					for (double h : ALTITUDE) {
+						for (int c = 0; c < n; c++) {
+							values[index++] = linear(c, m, a, r, h);
+						}
+					}
+				}
+			}
+		}
+		return new AerodynamicTable(0.1, 0.01, MACH, AOA, ROLL_RATE, ALTITUDE, values);
+	}
+
+	private static double linear(int c, double mach, double aoa, double rollRate, double altitude) {
+		return c + 0.5 * mach - 2 * aoa + 0.01 * (c + 1) * rollRate + 1e-4 * altitude;
+	}
+
+	@Test
+	public void testInterpolation() {
+		AerodynamicTable table = makeLinearTable();
+		double[] result = new double[AerodynamicTable.COEFFICIENT_COUNT];
+
+		table.interpolate(0.7, 0.1, 12, 1234, result);
+		for (int c = 0; c < result.length; c++) {
+			assertEquals(linear(c, 0.7, 0.1, 12, 1234), result[c], EPSILON);
+		}
+
+		// At a grid point, including the last one of each axis
+		table.interpolate(1.2, Math.toRadians(10), 50, 3000, result);
+		for (int c = 0; c < result.length; c++) {
+			assertEquals(table.getValue(3, 2, 2, 1, c), result[c], EPSILON);
+		}
+
+		// Clamped outside of the grid
+		table.interpolate(3.0, -1, 100, -500, result);
+		for (int c = 0; c < result.length; c++) {
+			assertEquals(linear(c, 1.2, 0, 50, 0), result[c], EPSILON);
+		}
+	}
+
+	@Test
+	public void testWriteAndRead() throws IOException {
+		AerodynamicTable table = makeLinearTable();
+		StringWriter writer = new StringWriter();
+		table.write(writer);
+
+		AerodynamicTable read = AerodynamicTable.read(new StringReader(writer.toString()));
+		assertEquals(table, read);
+	}
+
+	@Test
+	public void testReadColumnOrder() throws IOException {
+		String text = "# test\n" +
+				"refLength=0.1\n" +
+				"refArea=0.01\n" +
+				"mach=0,1\n" +
+				"aoa=0\n" +
+				"rollRate=0\n" +
+				"altitude=0\n" +
+				"Cm,CA,CN,altitude,rollRate,aoa,mach\n" +
+				"3,0.6,1,0,0,0,1\n" +
+				"1.5,0.4,0.5,0,0,0,0\n";
+		AerodynamicTable table = AerodynamicTable.read(new StringReader(text));
+
+		assertEquals(0.5, table.getValue(0, 0, 0, 0, AerodynamicTable.CN), EPSILON);
+		assertEquals(0.6, table.getValue(1, 0, 0, 0, AerodynamicTable.CA), EPSILON);
+		assertEquals(3, table.getValue(1, 0, 0, 0, AerodynamicTable.CM), EPSILON);
+		// CD defaults to CA, Cl and Cmq to zero
+		assertEquals(0.4, table.getValue(0, 0, 0, 0, AerodynamicTable.CD), EPSILON);
+		assertEquals(0, table.getValue(0, 0, 0, 0, AerodynamicTable.CL), EPSILON);
+		assertEquals(0, table.getValue(0, 0, 0, 0, AerodynamicTable.CMQ), EPSILON);
+	}
+
+	@Test
+	public void testReadErrors() {
+		String header = "refLength=0.1\nrefArea=0.01\nmach=0,1\naoa=0\nrollRate=0\naltitude=0\n" +
+				"mach,aoa,rollRate,altitude,CN,CA,Cm\n";
+		// Missing grid point
+		assertThrows(IOException.class, () -> AerodynamicTable.read(new StringReader(header + "0,0,0,0,1,2,3\n")));
+		// Value not on the grid
+		assertThrows(IOException.class, () -> AerodynamicTable.read(new StringReader(header +
+				"0,0,0,0,1,2,3\n0.5,0,0,0,1,2,3\n")));
+		// Decreasing axis
+		assertThrows(IOException.class, () -> AerodynamicTable.read(new StringReader(
+				header.replace("mach=0,1", "mach=1,0") + "0,0,0,0,1,2,3\n1,0,0,0,1,2,3\n")));
+		// Missing coefficient column
+		assertThrows(IOException.class, () -> AerodynamicTable.read(new StringReader(
+				header.replace(",Cm", "") + "0,0,0,0,1,2\n1,0,0,0,1,2\n")));
+	}
+
+	@Test
+	public void testExportedTableMatchesBarrowman() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		FlightConfiguration config = rocket.getSelectedConfiguration();
+		AtmosphericModel atmosphere = new ExtendedISAModel();
+		AerodynamicTable table = AerodynamicTableExporter.export(config, atmosphere, 0.2, MACH, AOA, ROLL_RATE, ALTITUDE);
+
+		BarrowmanCalculator barrowman = new BarrowmanCalculator();
+		barrowman.setDragTableEnabled(false);
+		TabulatedAerodynamicCalculator tabulated = new TabulatedAerodynamicCalculator(table);
+		FlightConditions conditions = new FlightConditions(config);
+
+		// At a grid point the tabulated calculator gives the Barrowman results
+		conditions.setMach(MACH[2]);
+		conditions.setAOA(AOA[1]);
+		conditions.setRollRate(ROLL_RATE[2]);
+		conditions.setAtmosphericConditions(atmosphere.getConditions(ALTITUDE[1]));
+		conditions.setAltitude(ALTITUDE[1]);
+		AerodynamicForces expected = barrowman.getAerodynamicForces(config, conditions, new WarningSet());
+		AerodynamicForces actual = tabulated.getAerodynamicForces(config, conditions, new WarningSet());
+		assertEquals(expected.getCN(), actual.getCN(), EPSILON);
+		assertEquals(expected.getCm(), actual.getCm(), EPSILON);
+		assertEquals(expected.getCD(), actual.getCD(), EPSILON);
+		assertEquals(expected.getCDaxial(), actual.getCDaxial(), EPSILON);
+		assertEquals(expected.getCroll(), actual.getCroll(), EPSILON);
+
+		// Between grid points the interpolated value lies between the grid values
+		conditions.setAOA((AOA[1] + AOA[2]) / 2);
+		actual = tabulated.getAerodynamicForces(config, conditions, new WarningSet());
+		double low = table.getValue(2, 1, 2, 1, AerodynamicTable.CN);
+		double high = table.getValue(2, 2, 2, 1, AerodynamicTable.CN);
+		assertEquals((low + high) / 2, actual.getCN(), EPSILON);
+		assertTrue(low < actual.getCN() && actual.getCN() < high);
+
+		// Coefficients are scaled to the reference area of the conditions
+		conditions.setRefArea(table.getRefArea() * 2);
+		assertEquals(actual.getCN() / 2, tabulated.getAerodynamicForces(config, conditions, null).getCN(), EPSILON);
+	}
+}
@@ -0,0 +1,156 @@
+package info.openrocket.core.aerodynamics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Module;
+
+import info.openrocket.core.ServicesForTesting;
+import info.openrocket.core.logging.WarningSet;
+import info.openrocket.core.plugin.PluginModule;
+import info.openrocket.core.rocketcomponent.BodyTube;
+import info.openrocket.core.rocketcomponent.FlightConfiguration;
+import info.openrocket.core.rocketcomponent.LaunchLug;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.startup.Application;
+import info.openrocket.core.util.TestRockets;
+
+/**
+ * Regression tests of the tabulated friction and pressure drag against the direct calculation.
+ * <p>
+ * The interpolation error of the table is largest next to the kinks of the drag formulae that do
+ * not lie on grid points, such as where the friction coefficient reaches its roughness limit.
+ * There the friction drag differs by up to about 0.5% from the direct calculation; elsewhere the
+ * difference is of the order of 1e-5.
+ */
+public class DragCoefficientTableTest {
+	/** Largest relative difference of the total drag coefficient */
+	private static final double TOLERANCE = 0.005;
+	/** Largest mean relative difference of the total drag coefficient over the sweep */
+	private static final double MEAN_TOLERANCE = 0.0005;
+
+	@BeforeAll
+	public static void setup() {
+		Module applicationModule = new ServicesForTesting();
+		Module pluginModule = new PluginModule();
+
+		Injector injector = Guice.createInjector(applicationModule, pluginModule);
+		Application.setInjector(injector);
+	}
+
+	private static void assertMatchesDirect(Rocket rocket) {
+		FlightConfiguration config = rocket.getSelectedConfiguration();
+		BarrowmanCalculator tabulated = new BarrowmanCalculator();
+		BarrowmanCalculator direct = new BarrowmanCalculator();
+		direct.setDragTableEnabled(false);
+		FlightConditions conditions = new FlightConditions(config);
+
+		double sum = 0;
+		int count = 0;
+		for (double mach = 0.013; mach < 3.0; mach += 0.047) {
+			conditions.setMach(mach);
+			final AerodynamicForces expected = direct.getAerodynamicForces(config, conditions, new WarningSet());
+			final AerodynamicForces actual = tabulated.getAerodynamicForces(config, conditions, new WarningSet());
+
+			final double error = Math.abs(actual.getCD() / expected.getCD() - 1);
+			assertTrue(error < TOLERANCE, "CD at Mach " + mach + ": expected " + expected.getCD() + ", was " + actual.getCD());
+			assertEquals(expected.getBaseCD(), actual.getBaseCD(), 0, "base drag is not tabulated");
+			sum += error;
+			count++;
+		}
+		assertTrue(sum / count < MEAN_TOLERANCE, "mean CD error " + sum / count);
+	}
+
+	@Test
+	public void testMatchesDirectCalculation() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		assertFalse(rocket.isPerfectFinish());
+		assertMatchesDirect(rocket);
+	}
+
+	@Test
+	public void testMatchesDirectCalculationPerfectFinish() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		rocket.setPerfectFinish(true);
+		assertMatchesDirect(rocket);
+	}
+
+	@Test
+	public void testOutsideGridIsDirect() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		FlightConfiguration config = rocket.getSelectedConfiguration();
+		BarrowmanCalculator tabulated = new BarrowmanCalculator();
+		BarrowmanCalculator direct = new BarrowmanCalculator();
+		direct.setDragTableEnabled(false);
+		FlightConditions conditions = new FlightConditions(config);
+
+		conditions.setMach(DragCoefficientTable.MACH_MAX + 1);
+		assertEquals(direct.getAerodynamicForces(config, conditions, null).getCD(),
+				tabulated.getAerodynamicForces(config, conditions, null).getCD(), 1e-12);
+	}
+
+	@Test
+	public void testTubesAreNotTabulated() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		FlightConfiguration config = rocket.getSelectedConfiguration();
+		BarrowmanCalculator calc = new BarrowmanCalculator();
+		AerodynamicGeometry geometry = calc.getGeometry(config);
+		DragCoefficientTable table = calc.getDragTable(geometry);
+		assertNotNull(table);
+
+		for (int i = 0; i < geometry.getComponentCount(); i++) {
+			assertEquals(!(geometry.getComponent(i) instanceof LaunchLug), table.isTabulated(i),
+					geometry.getComponent(i).getName());
+		}
+
+		calc.setDragTableEnabled(false);
+		assertNull(calc.getDragTable(geometry));
+	}
+
+	@Test
+	public void testTableSharedUntilChanged() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		Rocket copy = rocket.copyWithOriginalID();
+
+		BarrowmanCalculator calc = new BarrowmanCalculator();
+		DragCoefficientTable table = calc.getDragTable(calc.getGeometry(rocket.getSelectedConfiguration()));
+
+		// A copy of the rocket shares the table
+		BarrowmanCalculator other = new BarrowmanCalculator();
+		assertSame(table, other.getDragTable(other.getGeometry(copy.getSelectedConfiguration())));
+
+		// A change to the rocket builds a new table
+		BodyTube body = (BodyTube) rocket.getChild(0).getChild(1);
+		body.setLength(body.getLength() * 1.5);
+		assertNotSame(table, calc.getDragTable(calc.getGeometry(rocket.getSelectedConfiguration())));
+		assertSame(table, other.getDragTable(other.getGeometry(copy.getSelectedConfiguration())));
+	}
+
+	@Test
+	public void testFilledWhenUsed() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		FlightConfiguration config = rocket.getSelectedConfiguration();
+		BarrowmanCalculator calc = new BarrowmanCalculator();
+		DragCoefficientTable table = calc.getDragTable(calc.getGeometry(config));
+		assertEquals(0, table.getCalculatedRowCount());
+
+		// Only the rows around the Mach number are calculated
+		FlightConditions conditions = new FlightConditions(config);
+		conditions.setMach(0.31);
+		calc.getAerodynamicForces(config, conditions, new WarningSet());
+		assertEquals(4, table.getCalculatedRowCount());
+		conditions.setMach(0.315);
+		calc.getAerodynamicForces(config, conditions, new WarningSet());
+		assertEquals(4, table.getCalculatedRowCount());
+	}
+}
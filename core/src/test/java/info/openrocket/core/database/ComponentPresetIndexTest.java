@@ -0,0 +1,130 @@
+package info.openrocket.core.database;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.material.Material;
+import info.openrocket.core.motor.Manufacturer;
+import info.openrocket.core.preset.ComponentPreset;
+import info.openrocket.core.preset.ComponentPresetFactory;
+import info.openrocket.core.preset.TypedKey;
+import info.openrocket.core.preset.TypedPropertyMap;
+import info.openrocket.core.preset.xml.OpenRocketComponentLoader;
+import info.openrocket.core.util.BaseTestCase;
+
+public class ComponentPresetIndexTest extends BaseTestCase {
+
+	private static ComponentPreset createPreset(ComponentPreset.Type type, String manufacturer, String partNo,
+			double length) throws Exception {
+		TypedPropertyMap presetspec = new TypedPropertyMap();
+		presetspec.put(ComponentPreset.TYPE, type);
+		presetspec.put(ComponentPreset.MANUFACTURER, Manufacturer.getManufacturer(manufacturer));
+		presetspec.put(ComponentPreset.PARTNO, partNo);
+		presetspec.put(ComponentPreset.LENGTH, length);
+		presetspec.put(ComponentPreset.OUTER_DIAMETER, 2.0);
+		presetspec.put(ComponentPreset.INNER_DIAMETER, 1.0);
+		presetspec.put(ComponentPreset.MASS, 100.0);
+		presetspec.put(ComponentPreset.IMAGE, new byte[] { 1, 2, 3 });
+		return ComponentPresetFactory.create(presetspec);
+	}
+
+	private static ComponentPresetIndex writeAndRead(List<ComponentPreset> presets) throws Exception {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		ComponentPresetIndex.write(presets, bos);
+		return ComponentPresetIndex.read(new ByteArrayInputStream(bos.toByteArray()));
+	}
+
+	@Test
+	public void testWriteAndLoad() throws Exception {
+		ComponentPreset tube1 = createPreset(ComponentPreset.Type.BODY_TUBE, "Estes", "BT-20", 1.0);
+		ComponentPreset tube2 = createPreset(ComponentPreset.Type.BODY_TUBE, "Apogee", "T-1", 2.0);
+		ComponentPreset lug = createPreset(ComponentPreset.Type.LAUNCH_LUG, "Estes", "LL-2", 0.5);
+
+		ComponentPresetIndex index = writeAndRead(Arrays.asList(tube1, lug, tube2));
+		assertEquals(3, index.size());
+		assertEquals(EnumSet.of(ComponentPreset.Type.BODY_TUBE, ComponentPreset.Type.LAUNCH_LUG), index.getTypes());
+		assertEquals(EnumSet.of(ComponentPreset.Type.LAUNCH_LUG), index.getTypes("Estes", "LL-2"));
+		assertTrue(index.getTypes("Apogee", "LL-2").isEmpty());
+
+		List<ComponentPreset> tubes = index.load(ComponentPreset.Type.BODY_TUBE);
+		assertEquals(Arrays.asList(tube1, tube2), tubes);
+		assertEquals(2.0, tubes.get(1).get(ComponentPreset.LENGTH), 0);
+		assertEquals(3, tubes.get(0).get(ComponentPreset.IMAGE).length);
+		assertTrue(index.load(ComponentPreset.Type.NOSE_CONE).isEmpty());
+	}
+
+	@Test
+	public void testDatabaseWithIndex() throws Exception {
+		ComponentPreset tube1 = createPreset(ComponentPreset.Type.BODY_TUBE, "Estes", "BT-20", 1.0);
+		ComponentPreset tube2 = createPreset(ComponentPreset.Type.BODY_TUBE, "Apogee", "T-1", 2.0);
+		ComponentPreset lug = createPreset(ComponentPreset.Type.LAUNCH_LUG, "Estes", "LL-2", 0.5);
+		ComponentPreset userTube = createPreset(ComponentPreset.Type.BODY_TUBE, "Estes", "BT-50", 3.0);
+
+		ComponentPresetDatabase db = new ComponentPresetDatabase();
+		db.addIndex(writeAndRead(Arrays.asList(tube1, lug, tube2)));
+
+		// Duplicates of the indexed presets are not added
+		assertFalse(db.add(createPreset(ComponentPreset.Type.BODY_TUBE, "Estes", "BT-20", 1.0)));
+		assertTrue(db.add(userTube));
+
+		assertEquals(Arrays.asList(tube2, tube1, userTube), db.listForType(ComponentPreset.Type.BODY_TUBE));
+		assertEquals(Arrays.asList(lug), db.find("Estes", "LL-2"));
+		assertTrue(db.find("Apogee", "LL-2").isEmpty());
+		assertEquals(Arrays.asList(tube2, tube1, userTube, lug),
+				db.listForTypes(ComponentPreset.Type.BODY_TUBE, ComponentPreset.Type.LAUNCH_LUG));
+		assertEquals(4, db.size());
+	}
+
+	@Test
+	public void testIndexMatchesPresetFiles() throws Exception {
+		List<ComponentPreset> parsed;
+		try (InputStream stream = getClass().getClassLoader()
+				.getResourceAsStream("datafiles/components/internal/Estes-legacy.orc")) {
+			assertNotNull(stream);
+			parsed = new OpenRocketComponentLoader().load(stream, "Estes-legacy.orc");
+		}
+		assertFalse(parsed.isEmpty());
+		ComponentPresetIndex index = writeAndRead(parsed);
+
+		List<ComponentPreset> loaded = new ArrayList<>();
+		for (ComponentPreset.Type type : ComponentPreset.Type.values()) {
+			loaded.addAll(index.load(type));
+		}
+		assertEquals(parsed.size(), loaded.size());
+
+		int materials = 0;
+		for (ComponentPreset expected : parsed) {
+			ComponentPreset actual = loaded.get(loaded.indexOf(expected));
+			assertEquals(expected.getPartNo(), actual.getPartNo());
+			for (TypedKey<Material> key : List.of(ComponentPreset.MATERIAL, ComponentPreset.LINE_MATERIAL)) {
+				if (!expected.has(key)) {
+					assertFalse(actual.has(key));
+					continue;
+				}
+				Material material = expected.get(key);
+				assertEquals(material.getName(), actual.get(key).getName(), expected.getPartNo());
+				if (!material.isUserDefined()) {
+					// The instance from the material database
+					assertSame(material, actual.get(key), expected.getPartNo());
+					materials++;
+				} else {
+					assertEquals(material, actual.get(key), expected.getPartNo());
+				}
+			}
+		}
+		assertTrue(materials > 0);
+	}
+}
@@ -0,0 +1,161 @@
+package info.openrocket.core.database;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.database.motor.ThrustCurveMotorSet;
+import info.openrocket.core.database.motor.ThrustCurveMotorSetDatabase;
+import info.openrocket.core.database.motor.ThrustCurveMotorSetIndex;
+import info.openrocket.core.database.motor.ThrustCurveMotorSetIndex.Field;
+import info.openrocket.core.motor.Manufacturer;
+import info.openrocket.core.motor.Motor;
+import info.openrocket.core.motor.ThrustCurveMotor;
+import info.openrocket.core.util.Coordinate;
+
+public class ThrustCurveMotorSetIndexTest {
+
+	private static final String[][] MOTORS = {
+			// manufacturer, designation, case info
+			{ "Estes", "C6", null },
+			{ "Estes", "D12", null },
+			{ "AeroTech", "F52T", "RMS 29/40-120" },
+			{ "AeroTech", "H123W", "RMS 38/240" },
+			{ "Cesaroni", "I216CL", "Pro38 2G" },
+			{ "Cesaroni", "J285SS", "Pro38 3G" },
+	};
+
+	private static ThrustCurveMotor createMotor(String manufacturer, String designation, String caseInfo,
+			double diameter, double length, double thrust) {
+		return new ThrustCurveMotor.Builder()
+				.setManufacturer(Manufacturer.getManufacturer(manufacturer))
+				.setDesignation(designation)
+				.setCommonName(designation.replaceAll("[A-Z]+$", ""))
+				.setCaseInfo(caseInfo)
+				.setDescription("")
+				.setMotorType(Motor.Type.SINGLE)
+				.setStandardDelays(new double[] { 5 })
+				.setDiameter(diameter)
+				.setLength(length)
+				.setTimePoints(new double[] { 0, 1, 2 })
+				.setThrustPoints(new double[] { 0, thrust, 0 })
+				.setCGPoints(new Coordinate[] { Coordinate.NUL, Coordinate.NUL, Coordinate.NUL })
+				.setDigest("digest" + designation)
+				.build();
+	}
+
+	private static ThrustCurveMotorSetDatabase createDatabase() {
+		ThrustCurveMotorSetDatabase db = new ThrustCurveMotorSetDatabase();
+		for (int i = 0; i < MOTORS.length; i++) {
+			db.addMotor(createMotor(MOTORS[i][0], MOTORS[i][1], MOTORS[i][2], 0.018 + 0.005 * i, 0.07 + 0.02 * i,
+					10.0 * (i + 1)));
+		}
+		return db;
+	}
+
+	private static BitSet linearSearch(List<ThrustCurveMotorSet> sets, String term) {
+		term = term.toLowerCase(Locale.ROOT);
+		BitSet result = new BitSet();
+		for (int i = 0; i < sets.size(); i++) {
+			ThrustCurveMotorSet set = sets.get(i);
+			List<String> texts = new ArrayList<>(set.getManufacturer().getAllNames());
+			texts.add(set.getManufacturer().getDisplayName());
+			texts.add(set.getDesignation());
+			texts.add(set.getCommonName());
+			if (set.getCaseInfo() != null) {
+				texts.add(set.getCaseInfo());
+			}
+			for (String text : texts) {
+				if (text.toLowerCase(Locale.ROOT).contains(term)) {
+					result.set(i);
+				}
+			}
+		}
+		return result;
+	}
+
+	@Test
+	public void testSearch() {
+		ThrustCurveMotorSetIndex index = createDatabase().getIndex();
+		assertEquals(MOTORS.length, index.size());
+
+		for (String term : new String[] { "e", "es", "EST", "estes", "aerotech", "h123", "123w", "rms", "38/",
+				"pro38 3g", "cl", "xyz", "estesx", "" }) {
+			BitSet expected = term.isEmpty() ? index.all() : linearSearch(index.getMotorSets(), term);
+			assertEquals(expected, index.search(term), term);
+		}
+		assertEquals(2, index.search("cesaroni").cardinality());
+		assertEquals("H123W", index.getMotorSets(index.search("h123")).get(0).getDesignation());
+	}
+
+	@Test
+	public void testRange() {
+		ThrustCurveMotorSetIndex index = createDatabase().getIndex();
+		List<ThrustCurveMotorSet> sets = index.getMotorSets();
+
+		for (Field field : Field.values()) {
+			for (double min : new double[] { Double.NEGATIVE_INFINITY, 0.02, 0.09, 1.5, 30 }) {
+				for (double max : new double[] { 0.03, 0.1, 2, 45, Double.POSITIVE_INFINITY }) {
+					BitSet expected = new BitSet();
+					for (int i = 0; i < sets.size(); i++) {
+						double value = ThrustCurveMotorSetIndex.getValue(sets.get(i), field);
+						if (value >= min && value <= max) {
+							expected.set(i);
+						}
+					}
+					assertEquals(expected, index.range(field, min, max), field + " " + min + " " + max);
+				}
+			}
+		}
+
+		// Inclusive limits
+		double diameter = sets.get(2).getDiameter();
+		assertTrue(index.range(Field.DIAMETER, diameter, diameter).get(2));
+	}
+
+	@Test
+	public void testUndefined() {
+		ThrustCurveMotorSetDatabase db = createDatabase();
+		db.addMotor(createMotor("Estes", "E9", null, 0.024, Double.NaN, 20));
+		ThrustCurveMotorSetIndex index = db.getIndex();
+
+		BitSet undefined = index.undefined(Field.LENGTH);
+		assertEquals(1, undefined.cardinality());
+		assertEquals("E9", index.getMotorSets(undefined).get(0).getDesignation());
+		assertFalse(index.range(Field.LENGTH, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY).intersects(undefined));
+		assertTrue(index.undefined(Field.DIAMETER).isEmpty());
+	}
+
+	@Test
+	public void testFindMotors() {
+		ThrustCurveMotorSetDatabase db = createDatabase();
+		List<ThrustCurveMotor> motors = db.findMotors(null, null, "AeroTech", "H123", 0.033, 0.13);
+		assertEquals(1, motors.size());
+		assertEquals("H123W", motors.get(0).getDesignation());
+
+		assertEquals(2, db.findMotors(null, null, "Cesaroni", null, Double.NaN, Double.NaN).size());
+		assertTrue(db.findMotors(null, null, "AeroTech", "H123", 0.05, Double.NaN).isEmpty());
+
+		// A motor without a length matches any length, as in the linear search
+		db.addMotor(createMotor("Estes", "B4", null, 0.018, Double.NaN, 8));
+		motors = db.findMotors(null, null, "Estes", "B4", 0.018, 0.07);
+		assertEquals(1, motors.size());
+		assertEquals("B4", motors.get(0).getDesignation());
+		assertEquals(1, db.findMotors(null, null, "Estes", "B4", Double.NaN, 0.5).size());
+
+		// Adding a motor invalidates the index
+		ThrustCurveMotorSetIndex index = db.getIndex();
+		assertSame(index, db.getIndex());
+		db.addMotor(createMotor("Estes", "E9", null, 0.024, 0.095, 20));
+		assertEquals(MOTORS.length + 2, db.getIndex().size());
+		assertEquals(1, db.findMotors(null, null, "Estes", "E9", 0.024, Double.NaN).size());
+	}
+}
@@ -29,6 +29,7 @@ import info.openrocket.core.rocketcomponent.Transition;
 import info.openrocket.core.rocketcomponent.TrapezoidFinSet;
 import info.openrocket.core.rocketcomponent.TubeFinSet;
 import info.openrocket.core.startup.Application;
+import info.openrocket.core.util.TestRockets;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
@@ -40,6 +41,7 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class OBJExporterFactoryTest {
     private static final File TMP_DIR = new File("./tmp/");
@@ -205,4 +207,92 @@ public class OBJExporterFactoryTest {
         // Clean up
         Files.delete(tempFile);
     }
+
+    private static List<String> export(Rocket rocket, OBJExportOptions options, Path file, int threadCount)
+            throws IOException {
+        WarningSet warnings = new WarningSet();
+        OBJExporterFactory exporterFactory = new OBJExporterFactory(List.of(rocket), rocket.getSelectedConfiguration(),
+                file.toFile(), options, warnings, threadCount);
+        exporterFactory.doExport();
+        return Files.readAllLines(file);
+    }
+
+    @Test
+    public void testStreamedIndices() throws IOException {
+        Rocket rocket = TestRockets.makeEstesAlphaIII();
+
+        Path tempFile = Files.createTempFile("testExport", ".obj");
+        Path mtlFile = Path.of(tempFile.toString().replaceAll("\\.obj$", ".mtl"));
+
+        OBJExportOptions options = new OBJExportOptions(rocket);
+        options.setExportChildren(true);
+        options.setRemoveOffset(true);
+        options.setExportAppearance(true);
+
+        // The meshes generated in parallel must be written exactly as when they are generated one at a time
+        List<String> sequential = export(rocket, options, tempFile, 1);
+        List<String> sequentialMtl = Files.readAllLines(mtlFile);
+        List<String> parallel = export(rocket, options, tempFile, 8);
+        assertEquals(sequential, parallel);
+        assertEquals(sequentialMtl, Files.readAllLines(mtlFile));
+
+        // Faces may only refer to vertices and normals that are written before them, and the indices of later
+        // components must be offset by the vertices of the earlier components
+        int nrOfVertices = 0;
+        int nrOfNormals = 0;
+        int nrOfFaces = 0;
+        int nrOfGroups = 0;
+        int maxVertexIndex = 0;
+        for (String line : parallel) {
+            if (line.startsWith("v ")) {
+                nrOfVertices++;
+            } else if (line.startsWith("vn ")) {
+                nrOfNormals++;
+            } else if (line.startsWith("g ")) {
+                nrOfGroups++;
+            } else if (line.startsWith("f ")) {
+                nrOfFaces++;
+                for (String vertex : line.substring(2).trim().split(" ")) {
+                    String[] indices = vertex.split("/");
+                    int v = Integer.parseInt(indices[0]);
+                    assertTrue(v > 0 && v <= nrOfVertices, "Invalid vertex index " + v);
+                    maxVertexIndex = Math.max(maxVertexIndex, v);
+                    if (indices.length > 2) {
+                        int vn = Integer.parseInt(indices[2]);
+                        assertTrue(vn > 0 && vn <= nrOfNormals, "Invalid normal index " + vn);
+                    }
+                }
+            }
+        }
+        assertTrue(nrOfFaces > 0);
+        assertTrue(nrOfGroups > 1);
+        assertTrue(maxVertexIndex > nrOfVertices / 2);
+
+        Files.delete(tempFile);
+        Files.delete(mtlFile);
+    }
+
+    @Test
+    public void testExportFromCopy() throws IOException {
+        Rocket rocket = TestRockets.makeEstesAlphaIII();
+        Path tempFile = Files.createTempFile("testExport", ".obj");
+
+        OBJExportOptions options = new OBJExportOptions(rocket);
+        options.setExportChildren(true);
+        List<String> expected = export(rocket, options, tempFile, 1);
+
+        // Changes made after the exporter was created are not exported
+        WarningSet warnings = new WarningSet();
+        OBJExporterFactory exporterFactory = new OBJExporterFactory(List.of(rocket), rocket.getSelectedConfiguration(),
+                tempFile.toFile(), options, warnings, 4);
+        for (RocketComponent component : rocket) {
+            if (component instanceof BodyTube) {
+                ((BodyTube) component).setOuterRadius(0.1);
+            }
+        }
+        exporterFactory.doExport();
+        assertEquals(expected, Files.readAllLines(tempFile));
+
+        Files.delete(tempFile);
+    }
 }
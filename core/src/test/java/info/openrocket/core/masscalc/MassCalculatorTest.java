@@ -513,7 +513,7 @@ public class MassCalculatorTest extends BaseTestCase {
 		// ====== Payload Stage ======
 		// ====== ====== ====== ======
 		{
-			expMass = 0.02255114133733203;
+			expMass = 0.022557100290661276;
 			cc = rkt.getChild(0).getChild(0);
 			compMass = cc.getComponentMass();
 			assertEquals(expMass, compMass, EPSILON, "P/L NoseCone mass calculated incorrectly: ");
@@ -564,7 +564,7 @@ public class MassCalculatorTest extends BaseTestCase {
 		// ====== ====== ======
 		ParallelStage boosters = (ParallelStage) coreStage.getChild(0).getChild(0);
 		{
-			expMass = 0.02109368568877191;
+			expMass = 0.021096761546959126;
 			// think of the casts as an assert that ( child instanceof NoseCone) == true
 			NoseCone nose = (NoseCone) boosters.getChild(0);
 			compMass = nose.getComponentMass();
@@ -597,7 +597,7 @@ public class MassCalculatorTest extends BaseTestCase {
 		// ====== Payload Stage ======
 		// ====== ====== ====== ======
 		{
-			expCMx = 0.08079767055284799;
+			expCMx = 0.08077637187001235;
 			NoseCone nc = (NoseCone) rkt.getChild(0).getChild(0);
 			actCMx = nc.getComponentCG().x;
 			assertEquals(expCMx, actCMx, EPSILON, "P/L NoseCone CMx calculated incorrectly: ");
@@ -648,7 +648,7 @@ public class MassCalculatorTest extends BaseTestCase {
 		// ====== ====== ======
 		ParallelStage boosters = (ParallelStage) coreStage.getChild(0).getChild(0);
 		{
-			expCMx = 0.05383295859557998;
+			expCMx = 0.05382518359298229;
 			// think of the casts as an assert that ( child instanceof NoseCone) == true
 			NoseCone nose = (NoseCone) boosters.getChild(0);
 			actCMx = nose.getComponentCG().x;
@@ -692,7 +692,7 @@ public class MassCalculatorTest extends BaseTestCase {
 			final NoseCone payloadNose = (NoseCone) payloadStage.getChild(0);
 			assertEquals(3.937551444398643E-5, payloadNose.getRotationalInertia(), EPSILON,
 					payloadNose.getName() + " Rotational MOI calculated incorrectly: ");
-			assertEquals(4.983150394809428E-5, payloadNose.getLongitudinalInertia(), EPSILON,
+			assertEquals(4.987027683967901E-5, payloadNose.getLongitudinalInertia(), EPSILON,
 					payloadNose.getName() + " Longitudinal MOI calculated incorrectly: ");
 
 			// Component: Payload BodyTube
@@ -822,8 +822,8 @@ public class MassCalculatorTest extends BaseTestCase {
 		final RigidBody actualStructureData = MassCalculator.calculateStructure(config);
 		final Coordinate actualCM = actualStructureData.cm;
 
-		double expMass = 0.11628853296935873;
-		double expCMx = 0.2780673116227175;
+		double expMass = 0.116294491922688;
+		double expCMx = 0.27805307228015;
 		assertEquals(expMass, actualCM.weight, EPSILON, "Upper Stage Mass is incorrect: ");
 
 		assertEquals(expCMx, actualCM.x, EPSILON, "Upper Stage CM.x is incorrect: ");
@@ -920,8 +920,8 @@ public class MassCalculatorTest extends BaseTestCase {
 		final RigidBody actualData = MassCalculator.calculateStructure(config);
 		final Coordinate actualCM = actualData.getCM();
 
-		double expMass = 0.6063587938961827;
-		double expCMx = 1.0750544407309763;
+		double expMass = 0.6063649456125572;
+		double expCMx = 1.075048449472797;
 		assertEquals(expMass, actualCM.weight, EPSILON, "Heavy Booster Mass is incorrect: ");
 
 		assertEquals(expCMx, actualCM.x, EPSILON, "Heavy Booster CM.x is incorrect: ");
@@ -941,11 +941,11 @@ public class MassCalculatorTest extends BaseTestCase {
 		RigidBody actualBoosterLaunchData = MassCalculator.calculateLaunch(config);
 
 		double actualMass = actualBoosterLaunchData.getMass();
-		double expectedMass = 1.5903587938961827;
+		double expectedMass = 1.5903649456125573;
 		assertEquals(expectedMass, actualMass, EPSILON, " Booster Launch Mass is incorrect: ");
 
 		final Coordinate actualCM = actualBoosterLaunchData.getCM();
-		double expectedCMx = 1.223107189094683;
+		double expectedCMx = 1.2231043320979482;
 		Coordinate expCM = new Coordinate(expectedCMx, 0, 0, expectedMass);
 		assertEquals(expCM.x, actualCM.x, EPSILON, " Booster Launch CM.x is incorrect: ");
 		assertEquals(expCM.y, actualCM.y, EPSILON, " Booster Launch CM.y is incorrect: ");
@@ -966,8 +966,8 @@ public class MassCalculatorTest extends BaseTestCase {
 		RigidBody spentData = MassCalculator.calculateBurnout(config);
 		Coordinate spentCM = spentData.getCM();
 
-		double expSpentMass = 1.1183587938961828;
-		double expSpentCMx = 1.1846026528203366;
+		double expSpentMass = 1.1183649456125573;
+		double expSpentCMx = 1.1845988018426328;
 		Coordinate expLaunchCM = new Coordinate(expSpentCMx, 0, 0, expSpentMass);
 		assertEquals(expLaunchCM.weight, spentCM.weight, EPSILON, " Booster Launch Mass is incorrect: ");
 		assertEquals(expLaunchCM.x, spentCM.x, EPSILON, " Booster Launch CM.x is incorrect: ");
@@ -1040,11 +1040,11 @@ public class MassCalculatorTest extends BaseTestCase {
 
 		RigidBody spent = MassCalculator.calculateBurnout(config);
 
-		double expMOIRotational = 0.009193574474290651;
+		double expMOIRotational = 0.009193611032866414;
 		double boosterMOIRotational = spent.getRotationalInertia();
 		assertEquals(expMOIRotational, boosterMOIRotational, EPSILON, " Booster x-axis MOI is incorrect: ");
 
-		double expMOI_tr = 0.05741546005688325;
+		double expMOI_tr = 0.05741847525382623;
 		double boosterMOI_tr = spent.getLongitudinalInertia();
 		assertEquals(expMOI_tr, boosterMOI_tr, EPSILON, " Booster transverse MOI is incorrect: ");
 	}
@@ -1060,9 +1060,9 @@ public class MassCalculatorTest extends BaseTestCase {
 
 		RigidBody launchData = MassCalculator.calculateLaunch(config);
 
-		final double expIxx = 0.012254081474290652;
+		final double expIxx = 0.012254118032866412;
 		final double actIxx = launchData.getRotationalInertia();
-		final double expIyy = 0.06363179384136365;
+		final double expIyy = 0.06363514982499709;
 		final double actIyy = launchData.getLongitudinalInertia();
 
 		assertEquals(expIxx, actIxx, EPSILON, " Booster x-axis MOI is incorrect: ");
@@ -1103,11 +1103,11 @@ public class MassCalculatorTest extends BaseTestCase {
 		assertEquals(expCM, boosterSetCM, " Booster Launch CM is incorrect: ");
 
 		// Validate MOI
-		double expMOI_axial = 0.005873702474290652;
+		double expMOI_axial = 0.005873739032866414;
 		double boosterMOI_xx = burnout.getRotationalInertia();
 		assertEquals(expMOI_axial, boosterMOI_xx, EPSILON, " Booster x-axis MOI is incorrect: ");
 
-		double expMOI_tr = 17.78089035006232;
+		double expMOI_tr = 17.781111774565915;
 		double boosterMOI_tr = burnout.getLongitudinalInertia();
 		assertEquals(expMOI_tr, boosterMOI_tr, EPSILON, " Booster transverse MOI is incorrect: ");
 	}
@@ -1149,7 +1149,7 @@ public class MassCalculatorTest extends BaseTestCase {
 		double expTotalMass = 3.3565872;
 		assertEquals(expTotalMass, boosterData.getMass(), EPSILON, " Booster Launch Mass is incorrect: ");
 
-		double expCMx = 0.2827146624421746;
+		double expCMx = 0.2827113732370889;
 		Coordinate expCM = new Coordinate(expCMx, 0, 0, expTotalMass);
 		assertEquals(expCM.x, boosterCM.x, EPSILON, " Booster Launch CM.x is incorrect: ");
 		assertEquals(expCM.y, boosterCM.y, EPSILON, " Booster Launch CM.y is incorrect: ");
@@ -1157,11 +1157,11 @@ public class MassCalculatorTest extends BaseTestCase {
 		assertEquals(expCM, boosterCM, " Booster Launch CM is incorrect: ");
 
 		// Validate MOI
-		double expMOI_axial = 0.02493025354590946;
+		double expMOI_axial = 0.024930069407911055;
 		double boosterMOI_xx = boosterData.getRotationalInertia();
 		assertEquals(expMOI_axial, boosterMOI_xx, EPSILON, " Booster x-axis MOI is incorrect: ");
 
-		double expMOI_tr = 0.3488283595364345;
+		double expMOI_tr = 0.3488355484899026;
 		double boosterMOI_tr = boosterData.getLongitudinalInertia();
 		assertEquals(expMOI_tr, boosterMOI_tr, EPSILON, " Booster transverse MOI is incorrect: ");
 	}
@@ -1191,11 +1191,11 @@ public class MassCalculatorTest extends BaseTestCase {
 		mmt.setOverrideCGX(0.395);
 
 		RigidBody structure = MassCalculator.calculateStructure(config);
-		final double expMass = 0.6063587938961827;
+		final double expMass = 0.6063649456125572;
 		double calcTotalMass = structure.getMass();
 		assertEquals(expMass, calcTotalMass, EPSILON, " Booster Launch Mass is incorrect: ");
 
-		final double expCMx = 0.5567081598531745;
+		final double expCMx = 0.5567039322499318;
 		Coordinate expCM = new Coordinate(expCMx, 0, 0, expMass);
 		assertEquals(expCM.x, structure.getCM().x, EPSILON, " Booster Launch CM.x is incorrect: ");
 		assertEquals(expCM.y, structure.getCM().y, EPSILON, " Booster Launch CM.y is incorrect: ");
@@ -1203,11 +1203,11 @@ public class MassCalculatorTest extends BaseTestCase {
 		assertEquals(expCM, structure.getCM(), " Booster Launch CM is incorrect: ");
 
 		// Validate MOI
-		final double expMOI_axial = 0.005873702474290652;
+		final double expMOI_axial = 0.005873739032866414;
 		double boosterMOI_xx = structure.getRotationalInertia();
 		assertEquals(expMOI_axial, boosterMOI_xx, EPSILON, " Booster x-axis MOI is incorrect: ");
 
-		final double expMOI_tr = 0.04063515705066886;
+		final double expMOI_tr = 0.04063624278724578;
 		double boosterMOI_tr = structure.getLongitudinalInertia();
 		assertEquals(expMOI_tr, boosterMOI_tr, EPSILON, " Booster transverse MOI is incorrect: ");
 	}
@@ -0,0 +1,34 @@
+package info.openrocket.core.plugin;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class AnnotationFinderImplTest {
+
+	@Test
+	public void testReadIndex() throws Exception {
+		String index = "# comment\n\ninfo.openrocket.core.plugin.ExamplePluginImpl\n  info.openrocket.core.plugin.MultiPluginImpl  \n";
+		List<String> names = AnnotationFinderImpl.readIndex(new ByteArrayInputStream(index.getBytes(StandardCharsets.UTF_8)));
+		assertEquals(List.of("info.openrocket.core.plugin.ExamplePluginImpl", "info.openrocket.core.plugin.MultiPluginImpl"),
+				names);
+	}
+
+	@Test
+	public void testFindPlugins() {
+		List<Class<?>> classes = new AnnotationFinderImpl().findAnnotatedTypes(Plugin.class);
+		assertTrue(classes.contains(ExamplePlugin.class));
+		assertTrue(classes.contains(Example2Plugin.class));
+		assertTrue(classes.contains(ExamplePluginImpl.class));
+		assertTrue(classes.contains(MultiPluginImpl.class));
+		assertFalse(classes.contains(NotAnExamplePluginImpl.class));
+		assertEquals(classes.size(), classes.stream().distinct().count());
+	}
+
+}
@@ -0,0 +1,126 @@
+package info.openrocket.core.rocketcomponent;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.Coordinate;
+import info.openrocket.core.util.TestRockets;
+
+public class FinSetGeometryTest extends BaseTestCase {
+
+	private static final double EPSILON = 1E-10;
+
+	private static TrapezoidFinSet getFins(Rocket rocket) {
+		for (RocketComponent c : rocket) {
+			if (c instanceof TrapezoidFinSet) {
+				return (TrapezoidFinSet) c;
+			}
+		}
+		throw new IllegalStateException("No fins");
+	}
+
+	private static void assertGeometry(FinSet fins, FinSetGeometry geometry) {
+		final Coordinate[] points = fins.getFinPoints();
+		assertArrayEquals(points, geometry.getFinPoints());
+		assertEquals(points.length, geometry.getFinPointCount());
+		for (int i = 0; i < points.length; i++) {
+			assertEquals(points[i].x, geometry.getFinX(i), EPSILON);
+			assertEquals(points[i].y, geometry.getFinY(i), EPSILON);
+		}
+		assertArrayEquals(fins.getRootPoints(), geometry.getRootPoints());
+		assertArrayEquals(fins.getFinPointsWithRoot(), geometry.getFinPointsWithRoot());
+		assertArrayEquals(fins.getFinPointsWithLowResRoot(), geometry.getFinPointsWithLowResRoot());
+		assertArrayEquals(fins.getTabPointsWithRoot(), geometry.getTabPointsWithRoot());
+		assertEquals(fins.getSpan(), geometry.getSpan(), EPSILON);
+	}
+
+	@Test
+	public void testGeometryIsCached() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		TrapezoidFinSet fins = getFins(rocket);
+
+		FinSetGeometry geometry = fins.getFinGeometry();
+		assertSame(geometry, fins.getFinGeometry());
+		assertGeometry(fins, geometry);
+
+		// Copies of the returned arrays
+		geometry.getFinPoints()[0] = null;
+		assertArrayEquals(fins.getFinPoints(), geometry.getFinPoints());
+
+		// Non-functional changes of other components keep the geometry
+		rocket.getChild(0).getChild(0).setName("Nose");
+		assertSame(geometry, fins.getFinGeometry());
+	}
+
+	@Test
+	public void testInvalidatedByOwnChange() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		TrapezoidFinSet fins = getFins(rocket);
+
+		FinSetGeometry geometry = fins.getFinGeometry();
+		double area = geometry.getPlanformArea();
+		fins.setHeight(fins.getHeight() * 2);
+
+		FinSetGeometry changed = fins.getFinGeometry();
+		assertNotSame(geometry, changed);
+		assertGeometry(fins, changed);
+		assertEquals(fins.getPlanformArea(), changed.getPlanformArea(), EPSILON);
+		assertTrue(changed.getPlanformArea() > area);
+	}
+
+	@Test
+	public void testInvalidatedByParentChange() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		TrapezoidFinSet fins = getFins(rocket);
+		BodyTube body = (BodyTube) fins.getParent();
+
+		FinSetGeometry geometry = fins.getFinGeometry();
+		double inertia = fins.getLongitudinalUnitInertia();
+		body.setOuterRadiusAutomatic(false);
+		body.setOuterRadius(body.getOuterRadius() * 2);
+
+		FinSetGeometry changed = fins.getFinGeometry();
+		assertNotSame(geometry, changed);
+		assertGeometry(fins, changed);
+		assertTrue(fins.getLongitudinalUnitInertia() > inertia);
+	}
+
+	@Test
+	public void testNotCachedOutsideRocket() {
+		BodyTube body = new BodyTube();
+		TrapezoidFinSet fins = new TrapezoidFinSet(3, 0.06, 0.02, 0.02, 0.05);
+		body.addChild(fins);
+
+		assertNotSame(fins.getFinGeometry(), fins.getFinGeometry());
+		assertGeometry(fins, fins.getFinGeometry());
+
+		// Changes of the parent are not tracked outside of a rocket
+		double inertia = fins.getRotationalUnitInertia();
+		body.setOuterRadius(body.getOuterRadius() * 2);
+		assertTrue(fins.getRotationalUnitInertia() > inertia);
+		assertGeometry(fins, fins.getFinGeometry());
+	}
+
+	@Test
+	public void testCopyHasOwnGeometry() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		TrapezoidFinSet fins = getFins(rocket);
+		FinSetGeometry geometry = fins.getFinGeometry();
+
+		Rocket copy = rocket.copyWithOriginalID();
+		TrapezoidFinSet copiedFins = getFins(copy);
+		FinSetGeometry copiedGeometry = copiedFins.getFinGeometry();
+		assertNotSame(geometry, copiedGeometry);
+		assertArrayEquals(geometry.getFinPointsWithRoot(), copiedGeometry.getFinPointsWithRoot());
+
+		copiedFins.setHeight(copiedFins.getHeight() * 2);
+		assertSame(geometry, fins.getFinGeometry());
+		assertGeometry(copiedFins, copiedFins.getFinGeometry());
+	}
+}
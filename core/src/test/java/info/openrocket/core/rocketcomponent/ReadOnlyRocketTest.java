@@ -0,0 +1,107 @@
+package info.openrocket.core.rocketcomponent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.TestRockets;
+
+public class ReadOnlyRocketTest extends BaseTestCase {
+	private static final double EPSILON = 1E-10;
+
+	@Test
+	public void testModificationThrows() {
+		Rocket original = TestRockets.makeEstesAlphaIII();
+		ReadOnlyRocket shared = new ReadOnlyRocket(original);
+
+		assertTrue(shared.getRocket().isReadOnly());
+		assertFalse(original.isReadOnly());
+		assertNotSame(original, shared.getRocket());
+
+		BodyTube body = (BodyTube) shared.getRocket().getChild(0).getChild(1);
+		assertThrows(IllegalStateException.class, () -> body.setLength(1.0));
+
+		// A copy of a read-only rocket may be modified again
+		Rocket copy = shared.getRocket().copyWithOriginalID();
+		assertFalse(copy.isReadOnly());
+		((BodyTube) copy.getChild(0).getChild(1)).setLength(1.0);
+	}
+
+	@Test
+	public void testIndependentOfOriginal() {
+		Rocket original = TestRockets.makeEstesAlphaIII();
+		ReadOnlyRocket shared = new ReadOnlyRocket(original);
+		BodyTube body = (BodyTube) original.getChild(0).getChild(1);
+		final double length = body.getLength();
+
+		body.setLength(length * 2);
+		assertEquals(length, shared.getRocket().getChild(0).getChild(1).getLength(), EPSILON);
+	}
+
+	@Test
+	public void testConfigurationsAreIndependent() {
+		Rocket original = TestRockets.makeFalcon9Heavy();
+		ReadOnlyRocket shared = new ReadOnlyRocket(original);
+		FlightConfigurationId fcid = original.getSelectedConfiguration().getId();
+
+		FlightConfiguration a = shared.newConfiguration(fcid);
+		FlightConfiguration b = shared.newConfiguration(fcid);
+		assertSame(shared.getRocket(), a.getRocket());
+		assertEquals(a.getActiveStageCount(), b.getActiveStageCount());
+
+		// Stage separation in one simulation does not affect another
+		a.setOnlyStage(0);
+		assertEquals(1, a.getActiveStageCount());
+		assertTrue(b.getActiveStageCount() > 1);
+		assertEquals(shared.getRocket().getFlightConfiguration(fcid).getActiveStageCount(), b.getActiveStageCount());
+	}
+
+	@Test
+	public void testConcurrentSimulations() throws Exception {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+
+		Simulation reference = newSimulation(rocket);
+		reference.simulate();
+		final double altitude = reference.getSimulatedData().getMaxAltitude();
+
+		ReadOnlyRocket shared = new ReadOnlyRocket(rocket);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<Double>> results = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				final Simulation sim = newSimulation(rocket);
+				results.add(executor.submit(() -> {
+					sim.simulate(shared);
+					return sim.getSimulatedData().getMaxAltitude();
+				}));
+			}
+			for (Future<Double> result : results) {
+				assertEquals(altitude, result.get(), EPSILON);
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private static Simulation newSimulation(Rocket rocket) {
+		Simulation sim = new Simulation(rocket);
+		sim.getOptions().setISAAtmosphere(true);
+		sim.getOptions().setTimeStep(0.05);
+		sim.getOptions().setRandomSeed(1234);
+		sim.setFlightConfigurationId(TestRockets.TEST_FCID_0);
+		return sim;
+	}
+}
@@ -0,0 +1,129 @@
+package info.openrocket.core.rocketcomponent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.TestRockets;
+
+public class RocketChangeBatchTest extends BaseTestCase {
+
+	private static List<ComponentChangeEvent> listen(Rocket rocket) {
+		final List<ComponentChangeEvent> events = new ArrayList<>();
+		rocket.addComponentChangeListener(events::add);
+		return events;
+	}
+
+	private static <T extends RocketComponent> T find(Rocket rocket, Class<T> type) {
+		for (RocketComponent c : rocket) {
+			if (type.isInstance(c)) {
+				return type.cast(c);
+			}
+		}
+		throw new IllegalStateException("No " + type.getSimpleName());
+	}
+
+	@Test
+	public void testEventsAreMerged() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		NoseCone nose = find(rocket, NoseCone.class);
+		BodyTube body = find(rocket, BodyTube.class);
+		List<ComponentChangeEvent> events = listen(rocket);
+
+		rocket.beginChangeBatch();
+		try {
+			assertTrue(rocket.isInChangeBatch());
+			nose.setLength(nose.getLength() * 1.1);
+			nose.setName("Nose");
+			body.setLength(body.getLength() * 1.1);
+			body.setLength(body.getLength() * 1.1);
+			assertTrue(events.isEmpty());
+		} finally {
+			rocket.commitChangeBatch();
+		}
+		assertFalse(rocket.isInChangeBatch());
+
+		assertEquals(1, events.size());
+		ComponentChangeEvent e = events.get(0);
+		assertTrue(e.isBatch());
+		assertTrue(e.isAerodynamicChange());
+		assertTrue(e.isMassChange());
+		assertTrue(e.isNonFunctionalChange());
+		assertTrue(e.hasSource(nose));
+		assertTrue(e.hasSource(body));
+		assertFalse(e.hasSource(rocket));
+
+		Map<RocketComponent, Integer> changes = e.getChanges();
+		assertTrue(changes.containsKey(nose));
+		assertTrue(changes.containsKey(body));
+		assertTrue(ComponentChangeEvent.TYPE.NON_FUNCTIONAL.matches(changes.get(nose)));
+		assertFalse(ComponentChangeEvent.TYPE.NON_FUNCTIONAL.matches(changes.get(body)));
+	}
+
+	@Test
+	public void testNestedBatches() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		BodyTube body = find(rocket, BodyTube.class);
+		List<ComponentChangeEvent> events = listen(rocket);
+
+		rocket.beginChangeBatch();
+		try {
+			rocket.freeze();
+			try {
+				body.setLength(body.getLength() * 1.1);
+			} finally {
+				rocket.thaw();
+			}
+			assertTrue(events.isEmpty());
+			body.setLength(body.getLength() * 1.1);
+		} finally {
+			rocket.commitChangeBatch();
+		}
+		assertEquals(1, events.size());
+		assertTrue(events.get(0).hasSource(body));
+	}
+
+	@Test
+	public void testEmptyBatch() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		List<ComponentChangeEvent> events = listen(rocket);
+		int modID = rocket.getModID();
+
+		rocket.beginChangeBatch();
+		rocket.commitChangeBatch();
+		assertTrue(events.isEmpty());
+		assertEquals(modID, rocket.getModID());
+	}
+
+	@Test
+	public void testConfigurationsUpdatedOnCommit() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		BodyTube body = find(rocket, BodyTube.class);
+		FlightConfiguration config = rocket.getFlightConfiguration(TestRockets.TEST_FCID_0);
+		int configModID = config.getModID();
+		double length = config.getLength();
+
+		rocket.beginChangeBatch();
+		try {
+			body.setLength(body.getLength() * 2);
+		} finally {
+			rocket.commitChangeBatch();
+		}
+
+		assertNotEquals(configModID, config.getModID());
+		assertTrue(config.getLength() > length);
+		// Single events still carry only their source
+		ComponentChangeEvent single = new ComponentChangeEvent(body, ComponentChangeEvent.MASS_CHANGE);
+		assertFalse(single.isBatch());
+		assertEquals(1, single.getChanges().size());
+		assertTrue(single.hasSource(body));
+	}
+}
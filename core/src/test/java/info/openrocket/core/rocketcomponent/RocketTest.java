@@ -48,6 +48,27 @@ public class RocketTest extends BaseTestCase {
 				"Configurations should bef different match: " + config2.toDebug() + "=?=" + config5.toDebug());
 	}
 
+	@Test
+	public void testComponentModID() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		AxialStage stage = (AxialStage) rocket.getChild(0);
+		NoseCone nose = (NoseCone) stage.getChild(0);
+		BodyTube body = (BodyTube) stage.getChild(1);
+
+		// A non-functional change only affects the changed component
+		int noseModID = nose.getModID();
+		int bodyModID = body.getModID();
+		body.setName("Renamed body");
+		assertEquals(noseModID, nose.getModID(), "Nose cone should not have been modified");
+		assertNotEquals(bodyModID, body.getModID(), "Body tube should have been modified");
+
+		// A geometry change may affect any component
+		bodyModID = body.getModID();
+		body.setLength(body.getLength() * 2);
+		assertNotEquals(noseModID, nose.getModID(), "Nose cone should have been modified");
+		assertNotEquals(bodyModID, body.getModID(), "Body tube should have been modified");
+	}
+
 	@Test
 	public void testCopyRocketFrom() {
 		// Rocket r1 = info.openrocket.core.util.TestRockets.makeBigBlue();
@@ -0,0 +1,150 @@
+package info.openrocket.core.rocketcomponent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.Coordinate;
+import info.openrocket.core.util.TestRockets;
+
+public class SymmetricComponentProfileTest extends BaseTestCase {
+	private static final double EPSILON = 1E-12;
+
+	@Test
+	public void testBodyTubeIsClosedForm() {
+		BodyTube tube = new BodyTube(0.3, 0.02, 0.001);
+		SymmetricComponentProfile profile = tube.getRadiusProfile();
+
+		assertTrue(profile.isLinear());
+		assertEquals(2, profile.getPointCount());
+		assertEquals(0, profile.getX(0), EPSILON);
+		assertEquals(0.3, profile.getX(1), EPSILON);
+		assertEquals(0.02, profile.getRadius(0), EPSILON);
+		assertEquals(0.02, profile.getRadius(1), EPSILON);
+
+		final double volume = Math.PI * (0.02 * 0.02 - 0.019 * 0.019) * 0.3;
+		assertEquals(volume, tube.getComponentVolume(), EPSILON);
+		assertEquals(0.15, tube.getComponentCG().x, EPSILON);
+		assertEquals(2 * Math.PI * 0.02 * 0.3, tube.getComponentWetArea(), EPSILON);
+	}
+
+	@Test
+	public void testStraightPowerSeriesMatchesCone() {
+		NoseCone cone = new NoseCone(Transition.Shape.CONICAL, 0.1, 0.02);
+		cone.setThickness(0.002);
+
+		NoseCone power = new NoseCone(Transition.Shape.POWER, 0.1, 0.02);
+		power.setShapeParameter(1.0);
+		power.setClipped(false);
+		power.setThickness(0.002);
+
+		// The power series is sampled, but all samples lie on a straight line and are merged
+		assertFalse(power.hasLinearProfile());
+		assertTrue(power.getRadiusProfile().isLinear());
+
+		assertEquals(cone.getComponentVolume(), power.getComponentVolume(), EPSILON);
+		assertEquals(cone.getFullVolume(), power.getFullVolume(), EPSILON);
+		assertEquals(cone.getComponentCG().x, power.getComponentCG().x, EPSILON);
+		assertEquals(cone.getLongitudinalUnitInertia(), power.getLongitudinalUnitInertia(), EPSILON);
+		assertEquals(cone.getRotationalUnitInertia(), power.getRotationalUnitInertia(), EPSILON);
+		assertEquals(cone.getComponentWetArea(), power.getComponentWetArea(), EPSILON);
+		assertEquals(cone.getComponentPlanformCenter(), power.getComponentPlanformCenter(), EPSILON);
+	}
+
+	@Test
+	public void testHollowCone() {
+		// The inner wall of a hollow cone closes near the tip
+		NoseCone cone = new NoseCone(Transition.Shape.CONICAL, 0.1, 0.02);
+		cone.setThickness(0.005);
+		final Coordinate cg = cone.getComponentCG();
+		assertTrue(cg.weight > 0);
+		assertTrue(cone.getComponentVolume() < cone.getFullVolume());
+		assertEquals(Math.PI * 0.02 * 0.02 * 0.1 / 3, cone.getFullVolume(), EPSILON);
+	}
+
+	@Test
+	public void testCurvedProfileIsSampled() {
+		NoseCone nose = new NoseCone(Transition.Shape.ELLIPSOID, 0.1, 0.02);
+		SymmetricComponentProfile profile = nose.getRadiusProfile();
+
+		assertFalse(profile.isLinear());
+		// The infinite slope at the tip is refined beyond the divisions
+		assertTrue(profile.getPointCount() > profile.getDivisions() + 1);
+		assertTrue(profile.getX(1) < nose.getLength() / profile.getDivisions());
+		assertEquals(0, profile.getX(0), EPSILON);
+		assertEquals(nose.getLength(), profile.getX(profile.getPointCount() - 1), EPSILON);
+		for (int i = 0; i < profile.getPointCount(); i++) {
+			assertEquals(nose.getRadius(profile.getX(i)), profile.getRadius(i), EPSILON);
+			if (i > 0) {
+				assertTrue(profile.getX(i) > profile.getX(i - 1));
+			}
+		}
+	}
+
+	@Test
+	public void testSmoothProfileIsNotRefined() {
+		NoseCone nose = new NoseCone(Transition.Shape.OGIVE, 0.07, 0.0124);
+		SymmetricComponentProfile profile = nose.getRadiusProfile();
+
+		assertEquals(profile.getDivisions() + 1, profile.getPointCount());
+		for (int i = 0; i < profile.getPointCount(); i++) {
+			assertEquals(i * nose.getLength() / profile.getDivisions(), profile.getX(i), EPSILON);
+		}
+	}
+
+	@Test
+	public void testRefinedTipVolume() {
+		final double k = 0.3;
+		NoseCone nose = new NoseCone(Transition.Shape.POWER, 0.1, 0.02);
+		nose.setShapeParameter(k);
+		nose.setClipped(false);
+
+		final double volume = Math.PI * 0.02 * 0.02 * 0.1 / (2 * k + 1);
+		assertEquals(volume, nose.getFullVolume(), volume * 5e-5);
+	}
+
+	@Test
+	public void testInterpolateRadius() {
+		NoseCone cone = new NoseCone(Transition.Shape.CONICAL, 0.1, 0.02);
+		SymmetricComponentProfile profile = cone.getRadiusProfile();
+		assertEquals(0.01, profile.interpolateRadius(0.05), EPSILON);
+		assertEquals(0, profile.interpolateRadius(-1), EPSILON);
+		assertEquals(0.02, profile.interpolateRadius(1), EPSILON);
+
+		NoseCone nose = new NoseCone(Transition.Shape.ELLIPSOID, 0.1, 0.02);
+		profile = nose.getRadiusProfile();
+		for (int i = 0; i < profile.getPointCount(); i++) {
+			assertEquals(profile.getRadius(i), profile.interpolateRadius(profile.getX(i)), EPSILON);
+		}
+		for (int i = 1; i < 100; i++) {
+			final double x = i * 0.001;
+			assertEquals(nose.getRadius(x), profile.interpolateRadius(x),
+					SymmetricComponentProfile.REFINE_TOLERANCE * 0.02 * 2);
+		}
+	}
+
+	@Test
+	public void testProfileCachedUntilChanged() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		NoseCone nose = null;
+		for (RocketComponent c : rocket) {
+			if (c instanceof NoseCone) {
+				nose = (NoseCone) c;
+			}
+		}
+		SymmetricComponentProfile profile = nose.getRadiusProfile();
+		assertSame(profile, nose.getRadiusProfile());
+
+		final double length = nose.getLength() * 2;
+		nose.setLength(length);
+		SymmetricComponentProfile changed = nose.getRadiusProfile();
+		assertNotSame(profile, changed);
+		assertEquals(length, changed.getLength(), EPSILON);
+		assertEquals(length, changed.getX(changed.getPointCount() - 1), EPSILON);
+	}
+}
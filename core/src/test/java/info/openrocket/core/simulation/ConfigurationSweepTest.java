@@ -0,0 +1,70 @@
+package info.openrocket.core.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.rocketcomponent.FlightConfigurationId;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.TestRockets;
+
+public class ConfigurationSweepTest extends BaseTestCase {
+
+	@Test
+	public void testSweep() throws Exception {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		int modID = rocket.getModID();
+
+		Simulation template = new Simulation(rocket);
+		template.getOptions().setISAAtmosphere(true);
+		template.getOptions().setTimeStep(0.05);
+		template.getOptions().setRandomSeed(1234);
+
+		ConfigurationSweep sweep = new ConfigurationSweep(template);
+		List<FlightConfigurationId> ids = sweep.getConfigurationIds();
+		assertEquals(rocket.getConfigurationCount(), ids.size());
+
+		final int[] calls = { 0 };
+		List<ConfigurationSweep.Result> results = sweep.run(3, (result, computed, total) -> {
+			calls[0]++;
+			assertEquals(ids.size(), total);
+			assertEquals(calls[0], computed);
+		});
+		assertEquals(ids.size(), calls[0]);
+		assertEquals(ids.size(), results.size());
+
+		for (int i = 0; i < results.size(); i++) {
+			ConfigurationSweep.Result result = results.get(i);
+			assertNotNull(result);
+			assertEquals(i, result.getIndex());
+			assertEquals(ids.get(i), result.getFlightConfigurationId());
+			assertEquals(ids.get(i), result.getSimulation().getFlightConfigurationId());
+			assertNotSame(template, result.getSimulation());
+			assertNull(result.getError());
+			assertTrue(result.getApogee() > 0);
+			assertTrue(result.getMaxVelocity() > result.getRailExitVelocity());
+
+			// The same as simulating the configuration on its own
+			Simulation single = template.duplicateSimulation(rocket);
+			single.setFlightConfigurationId(ids.get(i));
+			single.simulate();
+			assertEquals(single.getSimulatedData().getMaxAltitude(), result.getApogee(), 1e-9);
+			assertEquals(single.getSimulatedData().getFlightTime(), result.getFlightTime(), 1e-9);
+		}
+
+		// Header and one line per configuration
+		String summary = ConfigurationSweep.getSummary(results);
+		assertEquals(ids.size() + 1, summary.split("\n").length);
+
+		// The rocket itself is not modified
+		assertEquals(modID, rocket.getModID());
+	}
+}
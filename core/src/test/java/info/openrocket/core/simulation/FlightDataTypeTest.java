@@ -0,0 +1,74 @@
+package info.openrocket.core.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.unit.UnitGroup;
+import info.openrocket.core.util.BaseTestCase;
+
+public class FlightDataTypeTest extends BaseTestCase {
+
+	@Test
+	public void testBuiltInOrdinals() {
+		Set<Integer> ordinals = new HashSet<>();
+		for (FlightDataType type : FlightDataType.ALL_TYPES) {
+			assertTrue(ordinals.add(type.getOrdinal()), type.getName());
+			assertTrue(type.getOrdinal() < FlightDataType.getOrdinalCount());
+			assertSame(type, FlightDataType.getType(type.getOrdinal()));
+			assertSame(type, FlightDataType.getType(null, type.getSymbol(), null));
+			assertSame(type, FlightDataType.getType(type.getName(), type.getSymbol(), type.getUnitGroup()));
+		}
+		assertNull(FlightDataType.getType(-1));
+		assertNull(FlightDataType.getType(FlightDataType.getOrdinalCount()));
+	}
+
+	@Test
+	public void testReplacedTypeKeepsOrdinal() {
+		FlightDataType type = FlightDataType.getType("Test registry type", "TestRegistry1", UnitGroup.UNITS_LENGTH);
+		assertSame(type, FlightDataType.getType("Test registry type", "TestRegistry1", UnitGroup.UNITS_LENGTH));
+		assertSame(type, FlightDataType.getType("", "TestRegistry1", null));
+
+		FlightDataType replaced = FlightDataType.getType("Test registry type", "TestRegistry1",
+				UnitGroup.UNITS_VELOCITY);
+		assertNotSame(type, replaced);
+		assertEquals(type.getOrdinal(), replaced.getOrdinal());
+		assertSame(UnitGroup.UNITS_VELOCITY, replaced.getUnitGroup());
+		assertSame(replaced, FlightDataType.getType(replaced.getOrdinal()));
+		assertSame(replaced, FlightDataType.getType(null, "TestRegistry1", null));
+	}
+
+	@Test
+	public void testConcurrentRegistration() throws Exception {
+		final int threads = 8;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Callable<FlightDataType>> tasks = new ArrayList<>();
+			for (int i = 0; i < threads * 4; i++) {
+				tasks.add(() -> FlightDataType.getType("Test concurrent type", "TestRegistry2", UnitGroup.UNITS_MASS));
+			}
+			FlightDataType first = null;
+			for (Future<FlightDataType> future : executor.invokeAll(tasks)) {
+				if (first == null) {
+					first = future.get();
+				}
+				assertSame(first, future.get());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
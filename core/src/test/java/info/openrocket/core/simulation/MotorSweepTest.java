@@ -0,0 +1,150 @@
+package info.openrocket.core.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.database.motor.ThrustCurveMotorSetDatabase;
+import info.openrocket.core.database.motor.ThrustCurveMotorSetIndex;
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.motor.Manufacturer;
+import info.openrocket.core.motor.Motor;
+import info.openrocket.core.motor.ThrustCurveMotor;
+import info.openrocket.core.rocketcomponent.InnerTube;
+import info.openrocket.core.rocketcomponent.MotorMount;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.rocketcomponent.RocketComponent;
+import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.Coordinate;
+import info.openrocket.core.util.TestRockets;
+
+public class MotorSweepTest extends BaseTestCase {
+
+	private static ThrustCurveMotor createMotor(String designation, String caseInfo, double diameter,
+			double length, double thrust) {
+		return new ThrustCurveMotor.Builder()
+				.setManufacturer(Manufacturer.getManufacturer("Estes"))
+				.setDesignation(designation)
+				.setDescription("")
+				.setCaseInfo(caseInfo)
+				.setMotorType(Motor.Type.SINGLE)
+				.setStandardDelays(new double[] { 0, 3, 5 })
+				.setDiameter(diameter)
+				.setLength(length)
+				.setTimePoints(new double[] { 0, 1, 2 })
+				.setThrustPoints(new double[] { 0, thrust, 0 })
+				.setCGPoints(new Coordinate[] {
+						new Coordinate(length / 2, 0, 0, 0.024), new Coordinate(length / 2, 0, 0, 0.018),
+						new Coordinate(length / 2, 0, 0, 0.013) })
+				.setDigest("digest " + designation + " sweep")
+				.build();
+	}
+
+	private static ThrustCurveMotorSetIndex createIndex() {
+		ThrustCurveMotorSetDatabase db = new ThrustCurveMotorSetDatabase();
+		db.addMotor(createMotor("B6", "SU 18.0x70.0", 0.018, 0.070, 4));
+		db.addMotor(createMotor("C6", "SU 18.0x70.0", 0.018, 0.070, 6));
+		db.addMotor(createMotor("C11", "SU 24.0x70.0", 0.024, 0.070, 11));
+		db.addMotor(createMotor("D12", "SU 18.0x95.0", 0.018, 0.095, 12));
+		return db.getIndex();
+	}
+
+	private static InnerTube getMount(Rocket rocket) {
+		for (RocketComponent c : rocket) {
+			if (c instanceof InnerTube && ((InnerTube) c).isMotorMount()) {
+				return (InnerTube) c;
+			}
+		}
+		throw new IllegalStateException("No motor mount");
+	}
+
+	private static List<String> designations(List<ThrustCurveMotor> motors) {
+		List<String> result = new ArrayList<>();
+		for (ThrustCurveMotor m : motors) {
+			result.add(m.getDesignation());
+		}
+		return result;
+	}
+
+	@Test
+	public void testFindCompatibleMotors() {
+		ThrustCurveMotorSetIndex index = createIndex();
+		MotorMount mount = getMount(TestRockets.makeEstesAlphaIII());
+
+		// The 24mm motor does not fit, the long one only with enough overhang
+		List<String> found = designations(MotorSweep.findCompatibleMotors(index, mount, 0, null));
+		assertEquals(2, found.size());
+		assertTrue(found.contains("B6"));
+		assertTrue(found.contains("C6"));
+		assertEquals(3, MotorSweep.findCompatibleMotors(index, mount, 0.03, null).size());
+
+		assertEquals(designations(MotorSweep.findCompatibleMotors(index, mount, 0.03, "SU 18.0x95.0")),
+				List.of("D12"));
+		assertTrue(MotorSweep.findCompatibleMotors(index, mount, 0.03, "RMS-29/40-120").isEmpty());
+	}
+
+	@Test
+	public void testCompatibleCases() {
+		assertTrue(MotorSweep.isCompatibleCase("RMS-38/240", "rms-38/240"));
+		assertFalse(MotorSweep.isCompatibleCase("RMS-38/240", null));
+		assertFalse(MotorSweep.isCompatibleCase("RMS-38/240", "Pro38-2G"));
+	}
+
+	@Test
+	public void testSweep() throws Exception {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		InnerTube mount = getMount(rocket);
+		Motor original = mount.getMotorConfig(TestRockets.TEST_FCID_0).getMotor();
+
+		Simulation sim = new Simulation(rocket);
+		sim.getOptions().setISAAtmosphere(true);
+		sim.getOptions().setTimeStep(0.05);
+		sim.setFlightConfigurationId(TestRockets.TEST_FCID_0);
+
+		List<ThrustCurveMotor> motors = MotorSweep.findCompatibleMotors(createIndex(), mount, 0.03, null);
+		MotorSweep sweep = new MotorSweep(sim, mount, motors);
+
+		// The sweep simulates a snapshot of the rocket when it was created
+		mount.getMotorConfig(TestRockets.TEST_FCID_0).setEjectionDelay(5);
+		int modID = rocket.getModID();
+
+		final int[] calls = { 0 };
+		List<MotorSweep.Result> results = sweep.run(2, (result, computed, total) -> {
+			calls[0]++;
+			assertEquals(motors.size(), total);
+			assertEquals(calls[0], computed);
+		});
+		assertEquals(motors.size(), calls[0]);
+		assertEquals(motors.size(), results.size());
+
+		for (int i = 0; i < results.size(); i++) {
+			MotorSweep.Result result = results.get(i);
+			assertNotNull(result);
+			assertEquals(i, result.getIndex());
+			assertSame(motors.get(i), result.getMotor());
+			assertNull(result.getError());
+			assertTrue(result.getApogee() > 0);
+			assertTrue(result.getMaxVelocity() > result.getRailExitVelocity());
+			assertTrue(result.getRailExitStability() >= result.getMinStability());
+			// The delay closest to the configured one
+			assertEquals(0, result.getDelay(), 0);
+		}
+
+		// More impulse flies higher
+		List<MotorSweep.Result> ranked = MotorSweep.rank(results, MotorSweep.Ranking.APOGEE);
+		assertEquals(List.of("D12", "C6", "B6"), designations(List.of(ranked.get(0).getMotor(),
+				ranked.get(1).getMotor(), ranked.get(2).getMotor())));
+
+		// The rocket itself is not modified
+		assertSame(original, mount.getMotorConfig(TestRockets.TEST_FCID_0).getMotor());
+		assertEquals(modID, rocket.getModID());
+	}
+}
@@ -0,0 +1,122 @@
+package info.openrocket.core.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.document.OpenRocketDocument;
+import info.openrocket.core.document.OpenRocketDocumentFactory;
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.simulation.customexpression.CustomExpression;
+import info.openrocket.core.simulation.customexpression.CustomExpressionSimulationListener;
+import info.openrocket.core.simulation.listeners.SimulationListener;
+import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.TestRockets;
+
+public class RecordingProfileTest extends BaseTestCase {
+
+	private static Simulation simulate(Rocket rocket, RecordingProfile profile, SimulationListener... listeners)
+			throws Exception {
+		Simulation sim = new Simulation(rocket);
+		sim.getOptions().setISAAtmosphere(true);
+		sim.getOptions().setTimeStep(0.05);
+		sim.getOptions().setRandomSeed(1234);
+		sim.getOptions().setRecordingProfile(profile);
+		sim.setFlightConfigurationId(TestRockets.TEST_FCID_1);
+		sim.simulate(listeners);
+		return sim;
+	}
+
+	@Test
+	public void testRecordedTypes() throws Exception {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		FlightData full = simulate(rocket, RecordingProfile.FULL).getSimulatedData();
+		FlightData standard = simulate(rocket, RecordingProfile.STANDARD).getSimulatedData();
+		FlightData minimal = simulate(rocket, RecordingProfile.MINIMAL).getSimulatedData();
+
+		assertNotNull(full.getBranch(0).get(FlightDataType.TYPE_REYNOLDS_NUMBER));
+		assertNotNull(full.getBranch(0).get(FlightDataType.TYPE_COMPUTATION_TIME));
+
+		assertNull(standard.getBranch(0).get(FlightDataType.TYPE_REYNOLDS_NUMBER));
+		assertNull(standard.getBranch(0).get(FlightDataType.TYPE_COMPUTATION_TIME));
+		assertNotNull(standard.getBranch(0).get(FlightDataType.TYPE_AIR_TEMPERATURE));
+		assertNotNull(standard.getBranch(0).get(FlightDataType.TYPE_DRAG_COEFF));
+
+		for (FlightDataType type : minimal.getBranch(0).getTypes()) {
+			assertTrue(RecordingProfile.MINIMAL.getRecordedTypes().contains(type), type.getName());
+		}
+		assertNull(minimal.getBranch(0).get(FlightDataType.TYPE_DRAG_COEFF));
+
+		// The flight itself is the same
+		for (FlightData data : new FlightData[] { standard, minimal }) {
+			assertEquals(full.getBranch(0).getLength(), data.getBranch(0).getLength());
+			assertEquals(full.getMaxAltitude(), data.getMaxAltitude(), 1e-9);
+			assertEquals(full.getMaxVelocity(), data.getMaxVelocity(), 1e-9);
+			assertEquals(full.getMaxAcceleration(), data.getMaxAcceleration(), 1e-9);
+			assertEquals(full.getFlightTime(), data.getFlightTime(), 1e-9);
+			assertEquals(full.getGroundHitVelocity(), data.getGroundHitVelocity(), 1e-9);
+			assertEquals(full.getOptimumDelay(), data.getOptimumDelay(), 1e-9);
+		}
+	}
+
+	@Test
+	public void testOptions() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		Simulation sim = new Simulation(rocket);
+		assertEquals(RecordingProfile.FULL, sim.getOptions().getRecordingProfile());
+		assertNull(sim.getOptions().toSimulationConditions().getRecordedTypes());
+		String key = SimulationResultCache.getKey(sim);
+
+		SimulationOptions options = sim.getOptions().clone();
+		sim.getOptions().setRecordingProfile(RecordingProfile.MINIMAL);
+		assertNotEquals(options, sim.getOptions());
+		assertNotEquals(key, SimulationResultCache.getKey(sim));
+		assertEquals(RecordingProfile.MINIMAL.getRecordedTypes(),
+				sim.getOptions().toSimulationConditions().getRecordedTypes());
+
+		options.copyConditionsFrom(sim.getOptions());
+		assertEquals(RecordingProfile.MINIMAL, options.getRecordingProfile());
+	}
+
+	@Test
+	public void testCustomExpressions() throws Exception {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		OpenRocketDocument doc = OpenRocketDocumentFactory.createDocumentFromRocket(rocket);
+		// The Reynolds number is not recorded with the standard profile
+		CustomExpression reynolds = new CustomExpression(doc, "Double Reynolds", "R2", "", "2*R");
+		doc.addCustomExpression(reynolds);
+		assertEquals(Set.of(FlightDataType.TYPE_REYNOLDS_NUMBER), reynolds.getUsedTypes());
+		assertEquals(Set.of(FlightDataType.TYPE_REYNOLDS_NUMBER, FlightDataType.TYPE_ALTITUDE, FlightDataType.TYPE_TIME),
+				new CustomExpression(doc, "Mean Reynolds", "Rmean", "", "mean(R[0:t]) + h").getUsedTypes());
+
+		FlightDataBranch branch = simulate(rocket, RecordingProfile.STANDARD,
+				new CustomExpressionSimulationListener(doc.getCustomExpressions())).getSimulatedData().getBranch(0);
+		FlightDataBranch fullBranch = simulate(rocket, RecordingProfile.FULL,
+				new CustomExpressionSimulationListener(doc.getCustomExpressions())).getSimulatedData().getBranch(0);
+		List<Double> values = branch.get(reynolds.getType());
+		assertNotNull(values);
+		assertNotNull(branch.get(FlightDataType.TYPE_REYNOLDS_NUMBER));
+		assertEquals(branch.getLength(), values.size());
+
+		// The expression sees the same values as when all types are recorded
+		assertEquals(fullBranch.get(reynolds.getType()), values);
+		int evaluated = 0;
+		for (double value : values) {
+			if (!Double.isNaN(value)) {
+				evaluated++;
+			}
+		}
+		assertTrue(evaluated > branch.getLength() / 2);
+
+		// Other types excluded by the profile are still not recorded
+		assertNull(branch.get(FlightDataType.TYPE_COMPUTATION_TIME));
+	}
+}
@@ -0,0 +1,181 @@
+package info.openrocket.core.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.rocketcomponent.NoseCone;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.rocketcomponent.RocketComponent;
+import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.TestRockets;
+
+public class SimulationResultCacheTest extends BaseTestCase {
+
+	private static Simulation createSimulation(Rocket rocket) {
+		Simulation sim = new Simulation(rocket);
+		sim.getOptions().setISAAtmosphere(true);
+		sim.getOptions().setTimeStep(0.05);
+		sim.setFlightConfigurationId(TestRockets.TEST_FCID_1);
+		return sim;
+	}
+
+	private static Simulation duplicate(Simulation sim, Rocket rocket) {
+		Simulation copy = sim.duplicateSimulation(rocket);
+		// The random seed is only copied along with other changed options
+		copy.getOptions().setRandomSeed(sim.getOptions().getRandomSeed());
+		return copy;
+	}
+
+	@Test
+	public void testKey() {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		Simulation sim = createSimulation(rocket);
+		String key = SimulationResultCache.getKey(sim);
+		assertEquals(64, key.length());
+
+		// The same content in another rocket and simulation
+		assertEquals(key, SimulationResultCache.getKey(duplicate(sim, rocket.copyWithOriginalID())));
+
+		// The random seed is part of the key only with turbulent wind
+		final int seed = sim.getOptions().getRandomSeed();
+		final double windSpeed = sim.getOptions().getWindSpeedAverage();
+		final double turbulence = sim.getOptions().getWindTurbulenceIntensity();
+		sim.getOptions().setRandomSeed(seed + 1);
+		assertEquals(key, SimulationResultCache.getKey(sim));
+		sim.getOptions().setWindSpeedAverage(2);
+		sim.getOptions().setWindTurbulenceIntensity(0.1);
+		String windKey = SimulationResultCache.getKey(sim);
+		assertNotEquals(key, windKey);
+		sim.getOptions().setRandomSeed(seed);
+		assertNotEquals(windKey, SimulationResultCache.getKey(sim));
+		sim.getOptions().setWindSpeedAverage(windSpeed);
+		sim.getOptions().setWindTurbulenceIntensity(turbulence);
+		assertEquals(key, SimulationResultCache.getKey(sim));
+
+		// A change of the rocket, and undoing it
+		NoseCone nose = (NoseCone) rocket.getChild(0).getChild(0);
+		double length = nose.getLength();
+		nose.setLength(length * 1.1);
+		assertNotEquals(key, SimulationResultCache.getKey(sim));
+		nose.setLength(length);
+		assertEquals(key, SimulationResultCache.getKey(sim));
+
+		// Options and flight configuration
+		double rodLength = sim.getOptions().getLaunchRodLength();
+		sim.getOptions().setLaunchRodLength(rodLength + 1);
+		assertNotEquals(key, SimulationResultCache.getKey(sim));
+		sim.getOptions().setLaunchRodLength(rodLength);
+		assertEquals(key, SimulationResultCache.getKey(sim));
+
+		sim.setFlightConfigurationId(TestRockets.TEST_FCID_2);
+		assertNotEquals(key, SimulationResultCache.getKey(sim));
+	}
+
+	@Test
+	public void testSimulateWithCache() throws Exception {
+		SimulationResultCache cache = new SimulationResultCache(4, true, null);
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+
+		Simulation sim = createSimulation(rocket);
+		sim.getOptions().setWindSpeedAverage(2);
+		sim.getOptions().setWindTurbulenceIntensity(0.1);
+		sim.simulate(cache);
+		assertEquals(0, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+		assertEquals(1, cache.size());
+		FlightData simulated = sim.getSimulatedData();
+
+		// A copy of the simulation takes the result from the cache
+		Simulation copy = duplicate(sim, rocket);
+		copy.simulate(cache);
+		assertEquals(1, cache.getHitCount());
+		assertEquals(Simulation.Status.UPTODATE, copy.getStatus());
+		FlightData cached = copy.getSimulatedData();
+		assertNotSame(simulated, cached);
+		assertEquals(simulated.getMaxAltitude(), cached.getMaxAltitude(), 0);
+		assertEquals(simulated.getOptimumDelay(), cached.getOptimumDelay(), 0);
+		assertEquals(simulated.getBranchCount(), cached.getBranchCount());
+		assertEquals(simulated.getBranch(0).getLength(), cached.getBranch(0).getLength());
+
+		// Without a cache the simulation is run
+		copy.simulate((SimulationResultCache) null);
+		assertEquals(1, cache.getHitCount());
+
+		// With turbulent wind a new random seed gives a new flight
+		copy.getOptions().randomizeSeed();
+		copy.simulate(cache);
+		assertEquals(1, cache.getHitCount());
+		assertEquals(2, cache.getMissCount());
+	}
+
+	@Test
+	public void testLeastRecentlyUsed() {
+		SimulationResultCache cache = new SimulationResultCache(2, false, null);
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		FlightData data = new FlightData(100, 50, 10, 0.2, 5, 20, 4, 15, 8, 2);
+
+		cache.put("a", data);
+		cache.put("b", data);
+		assertNotNull(cache.get("a", rocket));
+		cache.put("c", data);
+
+		assertEquals(2, cache.size());
+		assertNull(cache.get("b", rocket));
+		FlightData a = cache.get("a", rocket);
+		assertEquals(100, a.getMaxAltitude(), 0);
+		assertEquals(2, a.getOptimumDelay(), 0);
+		assertNotNull(cache.get("c", rocket));
+	}
+
+	@Test
+	public void testDiskCache() throws Exception {
+		File directory = Files.createTempDirectory("simulationCache").toFile();
+		try {
+			Rocket rocket = TestRockets.makeEstesAlphaIII();
+			Simulation sim = createSimulation(rocket);
+			String key = SimulationResultCache.getKey(sim);
+			sim.simulate(new SimulationResultCache(4, true, directory));
+			FlightData simulated = sim.getSimulatedData();
+
+			// A new cache reads the result from disk
+			SimulationResultCache cache = new SimulationResultCache(4, true, directory);
+			FlightData read = cache.get(key, rocket);
+			assertNotNull(read);
+			assertEquals(1, cache.getHitCount());
+			assertEquals(simulated.getMaxAltitude(), read.getMaxAltitude(), 0);
+			assertEquals(simulated.getFlightTime(), read.getFlightTime(), 0);
+			assertEquals(simulated.getWarningSet().size(), read.getWarningSet().size());
+			assertEquals(simulated.getBranchCount(), read.getBranchCount());
+			for (int i = 0; i < simulated.getBranchCount(); i++) {
+				FlightDataBranch expected = simulated.getBranch(i);
+				FlightDataBranch actual = read.getBranch(i);
+				assertEquals(expected.getName(), actual.getName());
+				assertEquals(expected.getLength(), actual.getLength());
+				assertEquals(expected.get(FlightDataType.TYPE_ALTITUDE), actual.get(FlightDataType.TYPE_ALTITUDE));
+				assertEquals(expected.getEvents().size(), actual.getEvents().size());
+				for (int j = 0; j < expected.getEvents().size(); j++) {
+					assertEquals(expected.getEvents().get(j).getType(), actual.getEvents().get(j).getType());
+					RocketComponent source = expected.getEvents().get(j).getSource();
+					if (source != null) {
+						assertSame(rocket.findComponent(source.getID()), actual.getEvents().get(j).getSource());
+					}
+				}
+			}
+
+			cache.clear();
+			assertNull(new SimulationResultCache(4, true, directory).get(key, rocket));
+		} finally {
+			directory.delete();
+		}
+	}
+}
@@ -0,0 +1,105 @@
+package info.openrocket.core.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.TestRockets;
+
+public class SummaryValueTest extends BaseTestCase {
+
+	private static Simulation createSimulation(Rocket rocket) {
+		Simulation sim = new Simulation(rocket);
+		sim.getOptions().setISAAtmosphere(true);
+		sim.getOptions().setTimeStep(0.05);
+		sim.getOptions().setRandomSeed(1234);
+		sim.setFlightConfigurationId(TestRockets.TEST_FCID_1);
+		return sim;
+	}
+
+	@Test
+	public void testEndEvents() {
+		assertEquals(EnumSet.of(FlightEvent.Type.APOGEE),
+				SummaryValue.getEndEvents(EnumSet.of(SummaryValue.MAX_ALTITUDE, SummaryValue.MAX_VELOCITY)));
+		assertEquals(EnumSet.of(FlightEvent.Type.LAUNCHROD, FlightEvent.Type.RECOVERY_DEVICE_DEPLOYMENT),
+				SummaryValue.getEndEvents(EnumSet.of(SummaryValue.LAUNCH_ROD_VELOCITY, SummaryValue.DEPLOYMENT_VELOCITY)));
+		assertNull(SummaryValue.getEndEvents(EnumSet.of(SummaryValue.MAX_ALTITUDE, SummaryValue.FLIGHT_TIME)));
+
+		Set<FlightDataType> types = SummaryValue.getRecordedTypes(EnumSet.of(SummaryValue.MAX_VELOCITY));
+		assertTrue(types.contains(FlightDataType.TYPE_TIME));
+		assertTrue(types.contains(FlightDataType.TYPE_ALTITUDE));
+		assertTrue(types.contains(FlightDataType.TYPE_VELOCITY_TOTAL));
+		assertFalse(types.contains(FlightDataType.TYPE_MACH_NUMBER));
+	}
+
+	@Test
+	public void testSummaryToApogee() throws Exception {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		Simulation full = createSimulation(rocket);
+		full.simulate();
+		FlightData fullData = full.getSimulatedData();
+
+		Simulation summary = full.duplicateSimulation(rocket);
+		Set<SummaryValue> values = EnumSet.of(SummaryValue.MAX_ALTITUDE, SummaryValue.MAX_VELOCITY,
+				SummaryValue.MIN_STABILITY, SummaryValue.OPTIMUM_DELAY);
+		summary.simulate(values);
+		FlightData data = summary.getSimulatedData();
+
+		// The same values from a shorter flight
+		for (SummaryValue value : values) {
+			assertEquals(value.getValue(fullData), value.getValue(data), 1e-9, value.name());
+		}
+		assertTrue(data.getFlightTime() < fullData.getFlightTime());
+		assertEquals(fullData.getTimeToApogee(), data.getTimeToApogee(), 1e-9);
+
+		// Only the needed types are recorded
+		FlightDataBranch branch = data.getBranch(0);
+		assertNotNull(branch.get(FlightDataType.TYPE_VELOCITY_TOTAL));
+		assertNotNull(branch.get(FlightDataType.TYPE_STABILITY));
+		assertNull(branch.get(FlightDataType.TYPE_REYNOLDS_NUMBER));
+		assertNull(branch.get(FlightDataType.TYPE_DRAG_COEFF));
+		assertNotNull(branch.getFirstEvent(FlightEvent.Type.APOGEE));
+		assertNull(branch.getFirstEvent(FlightEvent.Type.GROUND_HIT));
+		assertEquals(FlightEvent.Type.SIMULATION_END, branch.getEvents().get(branch.getEvents().size() - 1).getType());
+	}
+
+	@Test
+	public void testSummaryToLaunchRod() throws Exception {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		Simulation full = createSimulation(rocket);
+		full.simulate();
+
+		Simulation summary = full.duplicateSimulation(rocket);
+		summary.simulate(EnumSet.of(SummaryValue.LAUNCH_ROD_VELOCITY));
+		FlightData data = summary.getSimulatedData();
+
+		assertEquals(full.getSimulatedData().getLaunchRodVelocity(), data.getLaunchRodVelocity(), 1e-9);
+		assertNull(data.getBranch(0).getFirstEvent(FlightEvent.Type.APOGEE));
+		assertTrue(data.getFlightTime() < full.getSimulatedData().getTimeToApogee());
+	}
+
+	@Test
+	public void testCompleteFlight() throws Exception {
+		Rocket rocket = TestRockets.makeEstesAlphaIII();
+		Simulation full = createSimulation(rocket);
+		full.simulate();
+
+		Simulation summary = full.duplicateSimulation(rocket);
+		summary.simulate(EnumSet.of(SummaryValue.GROUND_HIT_VELOCITY, SummaryValue.FLIGHT_TIME));
+		FlightData data = summary.getSimulatedData();
+
+		assertEquals(full.getSimulatedData().getFlightTime(), data.getFlightTime(), 1e-9);
+		assertEquals(full.getSimulatedData().getGroundHitVelocity(), data.getGroundHitVelocity(), 1e-9);
+		assertNull(data.getBranch(0).get(FlightDataType.TYPE_MACH_NUMBER));
+	}
+}
@@ -0,0 +1,129 @@
+package info.openrocket.core.simulation.customexpression;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.document.OpenRocketDocument;
+import info.openrocket.core.document.OpenRocketDocumentFactory;
+import info.openrocket.core.simulation.FlightData;
+import info.openrocket.core.simulation.FlightDataBranch;
+import info.openrocket.core.simulation.FlightDataType;
+import info.openrocket.core.util.BaseTestCase;
+
+public class CustomExpressionBatchTest extends BaseTestCase {
+	private static final double EPSILON = 1e-9;
+
+	private static FlightDataBranch createBranch(double altitudeScale) {
+		FlightDataBranch branch = new FlightDataBranch("Test", FlightDataType.TYPE_TIME, FlightDataType.TYPE_ALTITUDE,
+				FlightDataType.TYPE_VELOCITY_Z);
+		for (int i = 0; i <= 10; i++) {
+			branch.addPoint();
+			branch.setValue(FlightDataType.TYPE_TIME, i * 0.5);
+			branch.setValue(FlightDataType.TYPE_ALTITUDE, altitudeScale * i * i);
+			branch.setValue(FlightDataType.TYPE_VELOCITY_Z, 3.0 * i);
+		}
+		return branch;
+	}
+
+	@Test
+	public void testEvaluateBranch() {
+		OpenRocketDocument doc = OpenRocketDocumentFactory.createNewRocket();
+		CustomExpression sum = new CustomExpression(doc, "Batch sum", "Bsum", "", "2*h + Vz - t");
+		doc.addCustomExpression(sum);
+		CustomExpression chained = new CustomExpression(doc, "Batch chained", "Bchain", "", "Bsum / 2");
+		CustomExpression indexed = new CustomExpression(doc, "Batch indexed", "Bidx", "", "h[1.5] + 1");
+
+		FlightDataBranch branch = createBranch(1.0);
+		FlightDataBranch result = new CustomExpressionBatch(Arrays.asList(sum, chained, indexed)).evaluate(branch);
+
+		// The original branch is not modified
+		assertNull(branch.get(sum.getType()));
+
+		List<Double> sums = result.get(sum.getType());
+		List<Double> chains = result.get(chained.getType());
+		List<Double> indexes = result.get(indexed.getType());
+		assertEquals(branch.getLength(), sums.size());
+		for (int i = 0; i < branch.getLength(); i++) {
+			double t = i * 0.5;
+			double h = i * i;
+			double vz = 3.0 * i;
+			assertEquals(2 * h + vz - t, sums.get(i), EPSILON);
+			assertEquals((2 * h + vz - t) / 2, chains.get(i), EPSILON);
+			// Before t=1.5 only the data up to the point is available
+			double expectedIndexed = (t < 1.5 ? h : 9.0) + 1;
+			assertEquals(expectedIndexed, indexes.get(i), EPSILON);
+		}
+		assertEquals(0, result.getMinimum(sum.getType()), EPSILON);
+		assertEquals(2 * 100 + 30 - 5, result.getMaximum(sum.getType()), EPSILON);
+	}
+
+	@Test
+	public void testRangeExpressions() {
+		OpenRocketDocument doc = OpenRocketDocumentFactory.createNewRocket();
+		CustomExpression mean = new CustomExpression(doc, "Batch mean", "Bmean", "", "mean(h[0:t])");
+		doc.addCustomExpression(mean);
+		CustomExpression max = new CustomExpression(doc, "Batch max", "Bmax", "", "max(Vz[t-1:t]) + Bmean");
+		CustomExpression interpolated = new CustomExpression(doc, "Batch interpolated", "Bint", "", "mean(Vz[0:t])");
+
+		// The stored points are 0.5 s apart
+		FlightDataBranch result = new CustomExpressionBatch(Arrays.asList(mean, max), 0.5).evaluate(createBranch(1.0));
+		List<Double> means = result.get(mean.getType());
+		List<Double> maxs = result.get(max.getType());
+		double sum = 0;
+		for (int i = 0; i < means.size(); i++) {
+			// Only the data up to the point is in the range
+			sum += i * i;
+			assertEquals(sum / (i + 1), means.get(i), EPSILON);
+			assertEquals(3.0 * i + sum / (i + 1), maxs.get(i), EPSILON);
+		}
+
+		// Between the stored points the data is interpolated
+		result = new CustomExpressionBatch(Arrays.asList(interpolated), 0.25).evaluate(createBranch(1.0));
+		List<Double> values = result.get(interpolated.getType());
+		for (int i = 0; i < values.size(); i++) {
+			double t = i * 0.5;
+			assertEquals(3 * t, values.get(i), EPSILON);
+		}
+	}
+
+	@Test
+	public void testInvalidTimeStep() {
+		OpenRocketDocument doc = OpenRocketDocumentFactory.createNewRocket();
+		CustomExpression mean = new CustomExpression(doc, "Batch mean", "Bmean", "", "mean(h[0:t])");
+		assertThrows(IllegalArgumentException.class, () -> new CustomExpressionBatch(Arrays.asList(mean), 0));
+	}
+
+	@Test
+	public void testEvaluateInParallel() throws InterruptedException {
+		OpenRocketDocument doc = OpenRocketDocumentFactory.createNewRocket();
+		CustomExpression scaled = new CustomExpression(doc, "Batch scaled", "Bscl", "", "h * 10");
+
+		FlightData data1 = new FlightData(createBranch(1.0), createBranch(2.0));
+		FlightData data2 = new FlightData(createBranch(3.0));
+		List<FlightData> results = new CustomExpressionBatch(Arrays.asList(scaled))
+				.evaluate(Arrays.asList(data1, data2), 4);
+
+		assertEquals(2, results.size());
+		assertEquals(2, results.get(0).getBranchCount());
+		assertEquals(1, results.get(1).getBranchCount());
+		assertFalse(data1.getBranch(0).get(FlightDataType.TYPE_ALTITUDE).isEmpty());
+		assertNull(data1.getBranch(0).get(scaled.getType()));
+
+		double[] scales = { 1.0, 2.0, 3.0 };
+		FlightDataBranch[] branches = { results.get(0).getBranch(0), results.get(0).getBranch(1),
+				results.get(1).getBranch(0) };
+		for (int b = 0; b < branches.length; b++) {
+			List<Double> values = branches[b].get(scaled.getType());
+			for (int i = 0; i < values.size(); i++) {
+				assertEquals(scales[b] * i * i * 10, values.get(i), EPSILON);
+			}
+		}
+	}
+}
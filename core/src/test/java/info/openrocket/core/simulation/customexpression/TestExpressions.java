@@ -1,11 +1,26 @@
 package info.openrocket.core.simulation.customexpression;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
 import info.openrocket.core.document.OpenRocketDocument;
 import info.openrocket.core.document.OpenRocketDocumentFactory;
+import info.openrocket.core.simulation.FlightDataBranch;
+import info.openrocket.core.simulation.FlightDataType;
+import info.openrocket.core.simulation.SimulationConditions;
+import info.openrocket.core.simulation.SimulationStatus;
 import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.TestRockets;
 
 import org.junit.jupiter.api.Test;
 
+import de.congrace.exp4j.Calculable;
+import de.congrace.exp4j.CompiledExpression;
+import de.congrace.exp4j.ExpressionBuilder;
+import de.congrace.exp4j.Variable;
+
 public class TestExpressions extends BaseTestCase {
 
 	@Test
@@ -21,4 +36,108 @@ public class TestExpressions extends BaseTestCase {
 		// System.out.println(exp.getExpressionString());
 
 	}
+
+	/**
+	 * The compiled expressions must give the same results as the interpreted ones.
+	 */
+	@Test
+	public void testCompiledExpressions() throws Exception {
+		String[] expressions = {
+				".5*m*Vt^2",
+				"-h + 2*(Vz - 3) / m",
+				"sqrt(abs(h)) % 7 + log10(m) - exp(-t)",
+				"floor(Vt) + ceil(Vz) + round(t*10)/10",
+				"sin(t)^2 + cos(t)^2 - 1",
+				"2^3 + h",
+				"m / 0"
+		};
+		double[][] points = {
+				{ 0.5, 120.0, 35.2, -4.1, 1.25 },
+				{ 3.25, -2.0, 0.0, 12.5, 0.75 },
+				{ 0, 0, 0, 0, 0 }
+		};
+		String[] symbols = { "t", "h", "Vt", "Vz", "m" };
+
+		for (String expression : expressions) {
+			ExpressionBuilder builder = new ExpressionBuilder(expression);
+			for (String symbol : symbols) {
+				builder.withVariable(new Variable(symbol));
+			}
+			Calculable calc = builder.build();
+			String[] used = calc.getUsedVariableNames();
+			CompiledExpression compiled = calc.compile(used);
+			assertNotNull(compiled, expression);
+
+			for (double[] point : points) {
+				double[] values = new double[used.length];
+				for (int i = 0; i < symbols.length; i++) {
+					calc.setVariable(new Variable(symbols[i], point[i]));
+					for (int j = 0; j < used.length; j++) {
+						if (used[j].equals(symbols[i])) {
+							values[j] = point[i];
+						}
+					}
+				}
+				assertEquals(calc.calculate().getDoubleValue(), compiled.calculate(values), 0, expression);
+			}
+		}
+	}
+
+	@Test
+	public void testUsedVariables() throws Exception {
+		Calculable calc = new ExpressionBuilder("Vt*m + m - 2*t")
+				.withVariableNames("h", "t", "Vt", "m")
+				.build();
+		assertArrayEquals(new String[] { "Vt", "m", "t" }, calc.getUsedVariableNames());
+	}
+
+	@Test
+	public void testCustomFunctionsAreNotCompiled() throws Exception {
+		Calculable calc = new ExpressionBuilder("mean(h)")
+				.withVariableNames("h")
+				.withCustomFunctions(Functions.getInstance().getAllFunction())
+				.build();
+		assertNull(calc.compile(calc.getUsedVariableNames()));
+	}
+
+	private static FlightDataBranch createBranch(double time, double altitude) {
+		FlightDataBranch branch = new FlightDataBranch("Test", FlightDataType.TYPE_TIME, FlightDataType.TYPE_ALTITUDE);
+		addPoint(branch, time, altitude);
+		return branch;
+	}
+
+	private static void addPoint(FlightDataBranch branch, double time, double altitude) {
+		branch.addPoint();
+		branch.setValue(FlightDataType.TYPE_TIME, time);
+		branch.setValue(FlightDataType.TYPE_ALTITUDE, altitude);
+	}
+
+	/**
+	 * The evaluator reused by calculate must follow changes of the flight data and of the expression.
+	 */
+	@Test
+	public void testCalculate() throws Exception {
+		OpenRocketDocument doc = OpenRocketDocumentFactory.createNewRocket();
+		SimulationStatus status = new SimulationStatus(TestRockets.makeEstesAlphaIII().getSelectedConfiguration(),
+				new SimulationConditions());
+		FlightDataBranch branch = createBranch(1, 10);
+		status.setFlightDataBranch(branch);
+
+		CustomExpression exp = new CustomExpression(doc, "Test", "Tst", "", "2*h");
+		assertEquals(20, exp.calculate(status), 0);
+		addPoint(branch, 2, 15);
+		assertEquals(30, exp.calculate(status), 0);
+		status.setFlightDataBranch(createBranch(3, 5));
+		assertEquals(10, exp.calculate(status), 0);
+
+		exp.setExpression("h + t");
+		assertEquals(8, exp.calculate(status), 0);
+
+		// Another thread evaluates with its own evaluator
+		double[] result = new double[1];
+		Thread thread = new Thread(() -> result[0] = exp.calculate(status));
+		thread.start();
+		thread.join();
+		assertEquals(8, result[0], 0);
+	}
 }
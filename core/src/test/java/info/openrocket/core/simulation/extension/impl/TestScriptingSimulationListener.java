@@ -0,0 +1,70 @@
+package info.openrocket.core.simulation.extension.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+
+import javax.script.Invocable;
+import javax.script.ScriptEngine;
+
+import org.junit.jupiter.api.Test;
+
+public class TestScriptingSimulationListener {
+
+	/*
+	 * Note: This class assumes that the JRE supports JavaScript scripting.
+	 */
+
+	@Test
+	public void testHooks() {
+		Set<String> hooks = ScriptingSimulationListener.HOOKS;
+		assertTrue(hooks.contains("startSimulation"));
+		assertTrue(hooks.contains("preStep"));
+		assertTrue(hooks.contains("motorIgnition"));
+		assertTrue(hooks.contains("postWindModel"));
+		assertFalse(hooks.contains("isSystemListener"));
+		assertFalse(hooks.contains("clone"));
+	}
+
+	@Test
+	public void testOnlyImplementedHooksAreCalled() throws Exception {
+		ScriptEngine engine = new ScriptingUtil().getEngineByName("JavaScript");
+		engine.eval("var steps = 0;\n" +
+				"function preStep(status) { steps++; return true; }\n" +
+				"function preGravityModel(status) { return 10; }\n" +
+				"function postGravityModel(status, gravity) { return gravity * 2; }\n");
+
+		ScriptingSimulationListener listener = new ScriptingSimulationListener((Invocable) engine,
+				Set.of("preStep", "preGravityModel", "postGravityModel"));
+		assertTrue(listener.isImplemented("preStep"));
+		assertFalse(listener.isImplemented("postStep"));
+
+		assertTrue(listener.preStep(null));
+		assertTrue(listener.preStep(null));
+		assertEquals(2, ((Number) engine.get("steps")).intValue());
+
+		// Whole numbers returned by the script are converted to doubles
+		assertEquals(10.0, listener.preGravityModel(null), 0);
+		assertEquals(19.6, listener.postGravityModel(null, 9.8), 1e-10);
+
+		// Hooks not implemented by the script return their defaults
+		assertEquals(Double.NaN, listener.preSimpleThrustCalculation(null), 0);
+		assertNull(listener.preWindModel(null));
+		assertTrue(listener.handleFlightEvent(null, null));
+	}
+
+	@Test
+	public void testMissingHooksAreDetected() throws Exception {
+		ScriptEngine engine = new ScriptingUtil().getEngineByName("JavaScript");
+		engine.eval("function postStep(status) { }\n");
+
+		ScriptingSimulationListener listener = new ScriptingSimulationListener((Invocable) engine);
+		assertTrue(listener.isImplemented("preStep"));
+		assertTrue(listener.preStep(null));
+		assertFalse(listener.isImplemented("preStep"));
+		assertTrue(listener.isImplemented("postStep"));
+	}
+}
@@ -0,0 +1,123 @@
+package info.openrocket.core.simulation.listeners;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import info.openrocket.core.aerodynamics.AerodynamicForces;
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.simulation.SimulationStatus;
+import info.openrocket.core.util.BaseTestCase;
+import info.openrocket.core.util.TestRockets;
+
+/**
+ * Measures the listener dispatch overhead of simulations with typical sets of listeners.
+ * <p>
+ * For each listener set the Estes Alpha III is simulated repeatedly, and the mean time per
+ * simulation is compared to simulating without listeners.  Listeners that do not override
+ * a hook are not called for it, so e.g. no-op listeners should add no measurable overhead.
+ * <p>
+ * This is not run as part of the unit tests.  Run the main method with the test classpath.
+ */
+public class SimulationListenerBenchmark extends BaseTestCase {
+
+	private static final int WARMUP = 10;
+	private static final int ROUNDS = 30;
+
+	/** Counts the calls of the hooks it overrides */
+	private static class CountingListener extends AbstractSimulationListener {
+		int calls = 0;
+
+		@Override
+		public SimulationListener clone() {
+			return this;
+		}
+	}
+
+	/** Like a data logger, e.g. the CSV export extension */
+	private static class PostStepListener extends CountingListener {
+		@Override
+		public void postStep(SimulationStatus status) {
+			calls++;
+		}
+	}
+
+	/** Like a controller, e.g. the roll control or damping moment extensions */
+	private static class ControlListener extends CountingListener {
+		@Override
+		public boolean preStep(SimulationStatus status) {
+			calls++;
+			return true;
+		}
+
+		@Override
+		public AerodynamicForces postAerodynamicCalculation(SimulationStatus status, AerodynamicForces forces) {
+			calls++;
+			return null;
+		}
+	}
+
+	public static void main(String[] args) throws Exception {
+		setUp();
+
+		Map<String, Supplier<List<SimulationListener>>> sets = new LinkedHashMap<>();
+		sets.put("none", ArrayList::new);
+		sets.put("logger", () -> listOf(new PostStepListener()));
+		sets.put("controller", () -> listOf(new ControlListener()));
+		sets.put("controller + logger", () -> listOf(new ControlListener(), new PostStepListener()));
+		sets.put("10 no-op + controller", () -> {
+			List<SimulationListener> list = new ArrayList<>();
+			for (int i = 0; i < 10; i++) {
+				list.add(new CountingListener());
+			}
+			list.add(new ControlListener());
+			return list;
+		});
+
+		double baseline = Double.NaN;
+		for (Map.Entry<String, Supplier<List<SimulationListener>>> set : sets.entrySet()) {
+			for (int i = 0; i < WARMUP; i++) {
+				simulate(set.getValue().get());
+			}
+
+			long time = 0;
+			long dispatched = 0;
+			for (int i = 0; i < ROUNDS; i++) {
+				List<SimulationListener> listeners = set.getValue().get();
+				long t0 = System.nanoTime();
+				simulate(listeners);
+				time += System.nanoTime() - t0;
+
+				for (SimulationListener l : listeners) {
+					dispatched += ((CountingListener) l).calls;
+				}
+			}
+
+			double ms = time / 1e6 / ROUNDS;
+			if (Double.isNaN(baseline)) {
+				baseline = ms;
+			}
+			System.out.printf("%-24s %8.2f ms/sim  overhead %+6.2f ms  listener calls %8d/sim%n",
+					set.getKey(), ms, ms - baseline, dispatched / ROUNDS);
+		}
+	}
+
+	private static List<SimulationListener> listOf(SimulationListener... listeners) {
+		List<SimulationListener> list = new ArrayList<>();
+		for (SimulationListener l : listeners) {
+			list.add(l);
+		}
+		return list;
+	}
+
+	private static Simulation simulate(List<SimulationListener> listeners) throws Exception {
+		Simulation sim = new Simulation(TestRockets.makeEstesAlphaIII());
+		sim.getOptions().setISAAtmosphere(true);
+		sim.getOptions().setTimeStep(0.05);
+		sim.setFlightConfigurationId(TestRockets.TEST_FCID_0);
+		sim.simulate(listeners.toArray(new SimulationListener[0]));
+		return sim;
+	}
+}
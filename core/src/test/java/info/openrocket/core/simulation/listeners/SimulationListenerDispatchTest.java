@@ -0,0 +1,129 @@
+package info.openrocket.core.simulation.listeners;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import info.openrocket.core.aerodynamics.AerodynamicForces;
+import info.openrocket.core.simulation.SimulationConditions;
+import info.openrocket.core.simulation.SimulationStatus;
+import info.openrocket.core.simulation.exception.SimulationException;
+import info.openrocket.core.simulation.listeners.SimulationListenerDispatch.Hook;
+import info.openrocket.core.simulation.listeners.system.OptimumCoastListener;
+
+public class SimulationListenerDispatchTest {
+
+	private static class StepListener extends AbstractSimulationListener {
+		@Override
+		public boolean preStep(SimulationStatus status) {
+			return true;
+		}
+	}
+
+	private static class AeroListener extends StepListener {
+		@Override
+		public AerodynamicForces postAerodynamicCalculation(SimulationStatus status, AerodynamicForces forces) {
+			return forces;
+		}
+	}
+
+	private static class PartialListener extends AeroListener {
+		@Override
+		public boolean isImplemented(String method) {
+			return !method.equals("preStep");
+		}
+	}
+
+	@Test
+	public void testOnlyOverridingListenersAreDispatched() {
+		AbstractSimulationListener noop = new AbstractSimulationListener();
+		StepListener step = new StepListener();
+		AeroListener aero = new AeroListener();
+		PartialListener partial = new PartialListener();
+		List<SimulationListener> listeners = Arrays.asList(aero, noop, step, partial);
+
+		SimulationListenerDispatch dispatch = new SimulationListenerDispatch(listeners);
+		assertArrayEquals(new SimulationListener[] { aero, step }, dispatch.getListeners(Hook.PRE_STEP));
+		assertArrayEquals(new SimulationListener[] { aero, partial },
+				dispatch.getListeners(Hook.POST_AERODYNAMIC_CALCULATION));
+		for (Hook hook : Hook.values()) {
+			if (hook != Hook.PRE_STEP && hook != Hook.POST_AERODYNAMIC_CALCULATION) {
+				assertEquals(0, dispatch.getListeners(hook).length, hook.toString());
+				assertFalse(dispatch.hasListeners(hook));
+			}
+		}
+	}
+
+	@Test
+	public void testDirectImplementationsAreDispatched() {
+		SimulationListener listener = new SimulationListener() {
+			@Override
+			public void startSimulation(SimulationStatus status) {
+			}
+
+			@Override
+			public void endSimulation(SimulationStatus status, SimulationException exception) {
+			}
+
+			@Override
+			public boolean preStep(SimulationStatus status) {
+				return true;
+			}
+
+			@Override
+			public void postStep(SimulationStatus status) {
+			}
+
+			@Override
+			public boolean isSystemListener() {
+				return false;
+			}
+
+			@Override
+			public SimulationListener clone() {
+				return this;
+			}
+		};
+
+		SimulationListenerDispatch dispatch = new SimulationListenerDispatch(Arrays.asList(listener));
+		assertTrue(dispatch.hasListeners(Hook.START_SIMULATION));
+		assertTrue(dispatch.hasListeners(Hook.END_SIMULATION));
+		assertTrue(dispatch.hasListeners(Hook.PRE_STEP));
+		assertTrue(dispatch.hasListeners(Hook.POST_STEP));
+		// Not an event or computation listener
+		assertFalse(dispatch.hasListeners(Hook.HANDLE_FLIGHT_EVENT));
+		assertFalse(dispatch.hasListeners(Hook.PRE_WIND_MODEL));
+	}
+
+	@Test
+	public void testSystemListener() {
+		SimulationListenerDispatch dispatch = new SimulationListenerDispatch(
+				Arrays.asList(OptimumCoastListener.INSTANCE));
+		assertTrue(dispatch.hasListeners(Hook.HANDLE_FLIGHT_EVENT));
+		assertTrue(dispatch.hasListeners(Hook.RECOVERY_DEVICE_DEPLOYMENT));
+		assertFalse(dispatch.hasListeners(Hook.PRE_STEP));
+		assertFalse(dispatch.hasListeners(Hook.POST_STEP));
+	}
+
+	@Test
+	public void testConditionsRebuildDispatch() {
+		SimulationConditions conditions = new SimulationConditions();
+		SimulationListenerDispatch empty = conditions.getSimulationListenerDispatch();
+		assertSame(empty, conditions.getSimulationListenerDispatch());
+		assertFalse(empty.hasListeners(Hook.PRE_STEP));
+
+		StepListener step = new StepListener();
+		conditions.getSimulationListenerList().add(step);
+		SimulationListenerDispatch dispatch = conditions.getSimulationListenerDispatch();
+		assertNotSame(empty, dispatch);
+		assertArrayEquals(new SimulationListener[] { step }, dispatch.getListeners(Hook.PRE_STEP));
+	}
+}
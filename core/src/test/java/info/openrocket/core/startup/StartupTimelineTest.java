@@ -0,0 +1,98 @@
+package info.openrocket.core.startup;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringWriter;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class StartupTimelineTest {
+
+	@AfterEach
+	public void tearDown() {
+		StartupTimeline.clear();
+	}
+
+	@Test
+	public void testPhasesAndMilestones() {
+		StartupTimeline.clear();
+		try (StartupTimeline.Phase outer = StartupTimeline.begin("Outer")) {
+			try (StartupTimeline.Phase inner = StartupTimeline.begin("Inner")) {
+				byte[] data = new byte[1 << 20];
+				assertEquals(1 << 20, data.length);
+			}
+			StartupTimeline.mark("Milestone");
+		}
+
+		List<StartupTimeline.Entry> entries = StartupTimeline.getEntries();
+		assertEquals(3, entries.size());
+		StartupTimeline.Entry inner = entries.get(0);
+		StartupTimeline.Entry milestone = entries.get(1);
+		StartupTimeline.Entry outer = entries.get(2);
+
+		assertEquals("Inner", inner.getName());
+		assertFalse(inner.isMilestone());
+		assertTrue(inner.getDuration() >= 0);
+		assertTrue(inner.getAllocatedBytes() < 0 || inner.getAllocatedBytes() >= (1 << 20));
+
+		assertEquals("Milestone", milestone.getName());
+		assertTrue(milestone.isMilestone());
+		assertTrue(milestone.getStart() >= inner.getStart() + inner.getDuration());
+
+		assertEquals("Outer", outer.getName());
+		assertTrue(outer.getStart() <= inner.getStart());
+		assertTrue(outer.getStart() + outer.getDuration() >= milestone.getStart());
+		assertEquals(Thread.currentThread().getName(), outer.getThread());
+	}
+
+	@Test
+	public void testCloseTwice() {
+		StartupTimeline.clear();
+		StartupTimeline.Phase phase = StartupTimeline.begin("Phase");
+		phase.close();
+		phase.close();
+		assertEquals(1, StartupTimeline.getEntries().size());
+	}
+
+	@Test
+	public void testRecordingStops() {
+		StartupTimeline.clear();
+		StartupTimeline.Phase phase = StartupTimeline.begin("Phase");
+		StartupTimeline.finish();
+		phase.close();
+		StartupTimeline.mark("Milestone");
+		assertEquals(1, StartupTimeline.getEntries().size());
+		assertEquals("Startup complete", StartupTimeline.getEntries().get(0).getName());
+
+		StartupTimeline.clear();
+		for (int i = 0; i < StartupTimeline.MAX_ENTRIES + 10; i++) {
+			StartupTimeline.mark("Milestone " + i);
+		}
+		assertEquals(StartupTimeline.MAX_ENTRIES, StartupTimeline.getEntries().size());
+	}
+
+	@Test
+	public void testWrite() {
+		StartupTimeline.clear();
+		try (StartupTimeline.Phase phase = StartupTimeline.begin("Phase")) {
+			StartupTimeline.mark("Milestone");
+		}
+		StringWriter writer = new StringWriter();
+		StartupTimeline.write(writer);
+
+		String[] lines = writer.toString().split("\\R");
+		assertEquals(4, lines.length);
+		assertTrue(lines[0].startsWith("#"));
+		String[] milestone = lines[2].split("\t", -1);
+		assertEquals(5, milestone.length);
+		assertEquals("", milestone[1]);
+		assertEquals("Milestone", milestone[4]);
+		String[] phase = lines[3].split("\t", -1);
+		assertEquals("Phase", phase[4]);
+		assertTrue(Double.parseDouble(phase[1]) >= 0);
+	}
+}
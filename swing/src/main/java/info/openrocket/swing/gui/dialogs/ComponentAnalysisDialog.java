@@ -418,6 +418,15 @@ public class ComponentAnalysisDialog extends JDialog implements StateChangeListe
 				trans.get("componentanalysisdlg.rollTableModel.ttip"));
 
 
+		// Create the sweep panel
+		final ComponentAnalysisSweepPanel sweepPanel = new ComponentAnalysisSweepPanel(rkt, conditions,
+				aerodynamicCalculator);
+
+		//// Sweep and Sweep tooltip
+		tabbedPane.addTab(trans.get("componentanalysisdlg.sweep"), null, sweepPanel,
+				trans.get("componentanalysisdlg.sweep.ttip"));
+
+
 
 		// Add the data updater to listen to changes
 		rkt.addChangeListener(this);
@@ -433,6 +442,7 @@ public class ComponentAnalysisDialog extends JDialog implements StateChangeListe
 		this.addWindowListener(new WindowAdapter() {
 			@Override
 			public void windowClosed(WindowEvent e) {
+				sweepPanel.cancel();
 				theta.setValue(initTheta);
 
 				//System.out.println("Closing method called: " + this);
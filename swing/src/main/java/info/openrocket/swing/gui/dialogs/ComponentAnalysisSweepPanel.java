@@ -0,0 +1,460 @@
+package info.openrocket.swing.gui.dialogs;
+
+import static info.openrocket.core.unit.Unit.NOUNIT;
+import static info.openrocket.core.util.Chars.ALPHA;
+
+import java.awt.Dimension;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+
+import javax.swing.JButton;
+import javax.swing.JFileChooser;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JProgressBar;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.ListSelectionModel;
+import javax.swing.SwingWorker;
+
+import net.miginfocom.swing.MigLayout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import info.openrocket.core.aerodynamics.AerodynamicCalculator;
+import info.openrocket.core.aerodynamics.AerodynamicForces;
+import info.openrocket.core.aerodynamics.AerodynamicSweep;
+import info.openrocket.core.aerodynamics.FlightConditions;
+import info.openrocket.core.l10n.Translator;
+import info.openrocket.core.rocketcomponent.ComponentAssembly;
+import info.openrocket.core.rocketcomponent.FlightConfiguration;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.rocketcomponent.RocketComponent;
+import info.openrocket.core.startup.Application;
+import info.openrocket.core.unit.Unit;
+import info.openrocket.core.unit.UnitGroup;
+import info.openrocket.core.util.MathUtil;
+import info.openrocket.core.util.StateChangeListener;
+import info.openrocket.core.util.TextUtil;
+import info.openrocket.swing.gui.adaptors.Column;
+import info.openrocket.swing.gui.adaptors.ColumnTable;
+import info.openrocket.swing.gui.adaptors.ColumnTableModel;
+import info.openrocket.swing.gui.adaptors.DoubleModel;
+import info.openrocket.swing.gui.components.CsvOptionPanel;
+import info.openrocket.swing.gui.components.EditableSpinner;
+import info.openrocket.swing.gui.components.UnitSelector;
+import info.openrocket.swing.gui.util.FileHelper;
+import info.openrocket.swing.gui.util.SwingPreferences;
+import info.openrocket.swing.gui.widgets.SaveFileChooser;
+import info.openrocket.swing.gui.widgets.SelectColorButton;
+
+/**
+ * Panel of the component analysis dialog that computes the per-component CP, CNa and CD
+ * over a grid of Mach numbers, angles of attack and roll rates.  The grid points are computed
+ * in the background on all processors, and the results are added to the table as they come in.
+ */
+@SuppressWarnings("serial")
+public class ComponentAnalysisSweepPanel extends JPanel {
+	private static final Logger log = LoggerFactory.getLogger(ComponentAnalysisSweepPanel.class);
+	private static final Translator trans = Application.getTranslator();
+
+	private final Rocket rocket;
+	private final FlightConditions conditions;
+	private final AerodynamicCalculator calculator;
+
+	private final DoubleModel machMin, machMax, machStep;
+	private final DoubleModel aoaMin, aoaMax, aoaStep;
+	private final DoubleModel rollMin, rollMax, rollStep;
+
+	private final List<SweepRow> rows = new ArrayList<>();
+	private final ColumnTableModel tableModel;
+
+	private final JButton runButton;
+	private final JButton exportButton;
+	private final JProgressBar progressBar;
+
+	private SweepWorker worker = null;
+
+	/**
+	 * @param rocket the rocket to analyze, its selected configuration is used
+	 * @param conditions the flight conditions of the component analysis (reference values and wind direction)
+	 * @param calculator the calculator whose type to use
+	 */
+	public ComponentAnalysisSweepPanel(Rocket rocket, FlightConditions conditions, AerodynamicCalculator calculator) {
+		super(new MigLayout("fill", "[][65lp::, sg value][65lp::, sg value][65lp::, sg value][]push"));
+		this.rocket = rocket;
+		this.conditions = conditions;
+		this.calculator = calculator;
+
+		double defaultMach = Application.getPreferences().getDefaultMach();
+		machMin = new DoubleModel(0.1, UnitGroup.UNITS_COEFFICIENT, 0);
+		machMax = new DoubleModel(Math.max(defaultMach, 1.5), UnitGroup.UNITS_COEFFICIENT, 0);
+		machStep = new DoubleModel(0.1, UnitGroup.UNITS_COEFFICIENT, 0);
+		aoaMin = new DoubleModel(0, UnitGroup.UNITS_ANGLE, 0, Math.PI);
+		aoaMax = new DoubleModel(Math.toRadians(10), UnitGroup.UNITS_ANGLE, 0, Math.PI);
+		aoaStep = new DoubleModel(Math.toRadians(2), UnitGroup.UNITS_ANGLE, 0, Math.PI);
+		rollMin = new DoubleModel(0, UnitGroup.UNITS_ROLL);
+		rollMax = new DoubleModel(0, UnitGroup.UNITS_ROLL);
+		rollStep = new DoubleModel(0, UnitGroup.UNITS_ROLL, 0);
+
+		//// Min / Max / Step
+		add(new JLabel(""));
+		add(new JLabel(trans.get("componentanalysisdlg.sweep.lbl.min")));
+		add(new JLabel(trans.get("componentanalysisdlg.sweep.lbl.max")));
+		add(new JLabel(trans.get("componentanalysisdlg.sweep.lbl.step")), "wrap");
+
+		//// Mach number:
+		addRange(trans.get("componentanalysisdlg.lbl.machnumber"), machMin, machMax, machStep, false);
+		//// Angle of attack:
+		addRange(trans.get("componentanalysisdlg.lbl.angleofattack"), aoaMin, aoaMax, aoaStep, true);
+		//// Roll rate:
+		addRange(trans.get("componentanalysisdlg.lbl.rollrate"), rollMin, rollMax, rollStep, true);
+
+		//// Run sweep
+		runButton = new SelectColorButton(trans.get("componentanalysisdlg.sweep.but.run"));
+		runButton.addActionListener(e -> {
+			if (worker != null) {
+				cancel();
+			} else {
+				runSweep();
+			}
+		});
+		add(runButton, "spanx, split 3");
+
+		progressBar = new JProgressBar(0, 100);
+		progressBar.setStringPainted(true);
+		add(progressBar, "growx, pushx");
+
+		//// Export CSV
+		exportButton = new SelectColorButton(trans.get("componentanalysisdlg.sweep.but.export"));
+		exportButton.setEnabled(false);
+		exportButton.addActionListener(e -> exportCSV());
+		add(exportButton, "wrap");
+
+
+		tableModel = new ColumnTableModel(
+				//// Mach
+				new Column(trans.get("componentanalysisdlg.sweep.Col.mach")) {
+					@Override
+					public Object getValueAt(int row) {
+						return rows.get(row).mach;
+					}
+				},
+				//// Angle of attack
+				new UnitColumn(trans.get("componentanalysisdlg.sweep.Col.aoa"), UnitGroup.UNITS_ANGLE) {
+					@Override
+					protected double getSIValue(SweepRow row) {
+						return row.aoa;
+					}
+				},
+				//// Roll rate
+				new UnitColumn(trans.get("componentanalysisdlg.sweep.Col.rollrate"), UnitGroup.UNITS_ROLL) {
+					@Override
+					protected double getSIValue(SweepRow row) {
+						return row.rollRate;
+					}
+				},
+				//// Component
+				new Column(trans.get("componentanalysisdlg.sweep.Col.component")) {
+					@Override
+					public Object getValueAt(int row) {
+						return rows.get(row).name;
+					}
+
+					@Override
+					public int getDefaultWidth() {
+						return 200;
+					}
+				},
+				//// CP
+				new UnitColumn(trans.get("componentanalysisdlg.TabStability.Col.CP"), UnitGroup.UNITS_LENGTH) {
+					@Override
+					protected double getSIValue(SweepRow row) {
+						return row.cpx;
+					}
+				},
+				new Column("<html>C<sub>N<sub>" + ALPHA + "</sub></sub>") {
+					@Override
+					public Object getValueAt(int row) {
+						return NOUNIT.toUnit(rows.get(row).cna);
+					}
+				},
+				//// <html>Total C<sub>D</sub>
+				new Column(trans.get("componentanalysisdlg.dragTableModel.Col.total")) {
+					@Override
+					public Object getValueAt(int row) {
+						return rows.get(row).cd;
+					}
+				},
+				//// <html>Total C<sub>l</sub>
+				new Column(trans.get("componentanalysisdlg.rollTableModel.Col.total")) {
+					@Override
+					public Object getValueAt(int row) {
+						return rows.get(row).croll;
+					}
+				}
+				) {
+			@Override
+			public int getRowCount() {
+				return rows.size();
+			}
+		};
+
+		JTable table = new ColumnTable(tableModel);
+		table.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
+		tableModel.setColumnWidths(table.getColumnModel());
+
+		JScrollPane scrollpane = new JScrollPane(table);
+		scrollpane.setPreferredSize(new Dimension(600, 200));
+		add(scrollpane, "spanx, grow, push");
+	}
+
+	private void addRange(String label, DoubleModel min, DoubleModel max, DoubleModel step, boolean unitSelector) {
+		add(new JLabel(label));
+		add(new EditableSpinner(min.getSpinnerModel()), "growx");
+		add(new EditableSpinner(max.getSpinnerModel()), "growx");
+		add(new EditableSpinner(step.getSpinnerModel()), "growx");
+		if (unitSelector) {
+			// One unit selector for the whole row
+			add(new UnitSelector(min), "wrap");
+			min.addChangeListener((StateChangeListener) e -> {
+				max.setCurrentUnit(min.getCurrentUnit());
+				step.setCurrentUnit(min.getCurrentUnit());
+			});
+		} else {
+			add(new JLabel(""), "wrap");
+		}
+	}
+
+	/**
+	 * Cancel a running sweep.
+	 */
+	public void cancel() {
+		if (worker != null) {
+			worker.cancel(true);
+		}
+	}
+
+	private void runSweep() {
+		double[] machs = AerodynamicSweep.range(machMin.getValue(), machMax.getValue(), machStep.getValue());
+		double[] aoas = AerodynamicSweep.range(aoaMin.getValue(), aoaMax.getValue(), aoaStep.getValue());
+		double[] rollRates = AerodynamicSweep.range(rollMin.getValue(), rollMax.getValue(), rollStep.getValue());
+
+		// Analyze a copy, so that the rocket can be edited while the sweep is running
+		FlightConfiguration configuration = rocket.getSelectedConfiguration().clone(rocket.copyWithOriginalID());
+		AerodynamicSweep sweep = new AerodynamicSweep(calculator, configuration, conditions,
+				machs, aoas, rollRates);
+		log.info("Running component analysis sweep over " + sweep.getPointCount() + " points");
+
+		rows.clear();
+		tableModel.fireTableDataChanged();
+		progressBar.setValue(0);
+		exportButton.setEnabled(false);
+		runButton.setText(trans.get("componentanalysisdlg.sweep.but.cancel"));
+
+		worker = new SweepWorker(sweep);
+		worker.addPropertyChangeListener(evt -> {
+			if ("progress".equals(evt.getPropertyName())) {
+				progressBar.setValue((Integer) evt.getNewValue());
+			}
+		});
+		worker.execute();
+	}
+
+	private void addRows(AerodynamicSweep.SweepPoint point) {
+		for (Map.Entry<RocketComponent, AerodynamicForces> entry : point.getForces().entrySet()) {
+			RocketComponent comp = entry.getKey();
+			if ((comp instanceof ComponentAssembly) && !(comp instanceof Rocket)) {
+				continue;
+			}
+			AerodynamicForces forces = entry.getValue();
+
+			SweepRow row = new SweepRow();
+			row.index = point.getIndex();
+			row.mach = point.getMach();
+			row.aoa = point.getAOA();
+			row.rollRate = point.getRollRate();
+			row.name = (comp instanceof Rocket) ? trans.get("componentanalysisdlg.TOTAL") : comp.getName();
+			if ((comp instanceof Rocket) && (forces.getCP().weight < MathUtil.EPSILON)) {
+				row.cpx = Double.NaN;
+			} else {
+				row.cpx = forces.getCP().x;
+			}
+			row.cna = forces.getCNa();
+			row.cd = forces.getCD();
+			row.croll = forces.getCroll();
+			rows.add(row);
+		}
+	}
+
+	private void exportCSV() {
+		CsvOptionPanel csvOptions = new CsvOptionPanel(ComponentAnalysisSweepPanel.class,
+				trans.get("componentanalysisdlg.sweep.export.header"),
+				trans.get("componentanalysisdlg.sweep.export.header.ttip"));
+
+		JFileChooser chooser = new SaveFileChooser();
+		chooser.setFileFilter(FileHelper.CSV_FILTER);
+		chooser.setCurrentDirectory(((SwingPreferences) Application.getPreferences()).getDefaultDirectory());
+		chooser.setAccessory(csvOptions);
+
+		if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION)
+			return;
+
+		File file = chooser.getSelectedFile();
+		if (file == null)
+			return;
+
+		file = FileHelper.forceExtension(file, "csv");
+		if (!FileHelper.confirmWrite(file, this)) {
+			return;
+		}
+
+		String fieldSeparator = csvOptions.getFieldSeparator();
+		if (fieldSeparator.equals(trans.get("CsvOptionPanel.separator.space"))) {
+			fieldSeparator = " ";
+		} else if (fieldSeparator.equals(trans.get("CsvOptionPanel.separator.tab"))) {
+			fieldSeparator = "\t";
+		}
+		String commentCharacter = csvOptions.getCommentCharacter();
+		int decimalPlaces = csvOptions.getDecimalPlaces();
+		boolean exponentialNotation = csvOptions.isExponentialNotation();
+		boolean includeHeader = csvOptions.getSelectionOption(0);
+		csvOptions.storePreferences();
+
+		log.info("Saving component analysis sweep to " + file);
+
+		final Unit angleUnit = UnitGroup.UNITS_ANGLE.getDefaultUnit();
+		final Unit rollUnit = UnitGroup.UNITS_ROLL.getDefaultUnit();
+		final Unit lengthUnit = UnitGroup.UNITS_LENGTH.getDefaultUnit();
+
+		try (Writer writer = new BufferedWriter(new FileWriter(file))) {
+			if (includeHeader) {
+				writer.write(commentCharacter);
+				writer.write(String.join(fieldSeparator,
+						trans.get("componentanalysisdlg.sweep.Col.mach"),
+						trans.get("componentanalysisdlg.sweep.Col.aoa") + " (" + angleUnit.getUnit() + ")",
+						trans.get("componentanalysisdlg.sweep.Col.rollrate") + " (" + rollUnit.getUnit() + ")",
+						trans.get("componentanalysisdlg.sweep.Col.component"),
+						trans.get("componentanalysisdlg.sweep.Col.cp") + " (" + lengthUnit.getUnit() + ")",
+						trans.get("componentanalysisdlg.sweep.Col.cna"),
+						trans.get("componentanalysisdlg.sweep.Col.cd"),
+						trans.get("componentanalysisdlg.sweep.Col.cl")));
+				writer.write("\n");
+			}
+
+			for (SweepRow row : rows) {
+				writer.write(String.join(fieldSeparator,
+						TextUtil.doubleToString(row.mach, decimalPlaces, exponentialNotation),
+						TextUtil.doubleToString(angleUnit.toUnit(row.aoa), decimalPlaces, exponentialNotation),
+						TextUtil.doubleToString(rollUnit.toUnit(row.rollRate), decimalPlaces, exponentialNotation),
+						row.name,
+						TextUtil.doubleToString(lengthUnit.toUnit(row.cpx), decimalPlaces, exponentialNotation),
+						TextUtil.doubleToString(row.cna, decimalPlaces, exponentialNotation),
+						TextUtil.doubleToString(row.cd, decimalPlaces, exponentialNotation),
+						TextUtil.doubleToString(row.croll, decimalPlaces, exponentialNotation)));
+				writer.write("\n");
+			}
+		} catch (IOException e) {
+			log.warn("Error writing component analysis sweep to " + file, e);
+			JOptionPane.showMessageDialog(this, e.getMessage(), trans.get("componentanalysisdlg.sweep.export.error"),
+					JOptionPane.ERROR_MESSAGE);
+		}
+	}
+
+	/**
+	 * Runs the sweep in the background and adds the rows of each computed point to the table.
+	 */
+	private class SweepWorker extends SwingWorker<Void, AerodynamicSweep.SweepPoint> {
+		private final AerodynamicSweep sweep;
+
+		SweepWorker(AerodynamicSweep sweep) {
+			this.sweep = sweep;
+		}
+
+		@Override
+		protected Void doInBackground() throws Exception {
+			sweep.run(SwingPreferences.getMaxThreadCount(), (point, computed, total) -> {
+				publish(point);
+				setProgress(100 * computed / total);
+			});
+			return null;
+		}
+
+		@Override
+		protected void process(List<AerodynamicSweep.SweepPoint> points) {
+			if (isCancelled()) {
+				return;
+			}
+			int first = rows.size();
+			for (AerodynamicSweep.SweepPoint point : points) {
+				addRows(point);
+			}
+			if (rows.size() > first) {
+				tableModel.fireTableRowsInserted(first, rows.size() - 1);
+			}
+		}
+
+		@Override
+		protected void done() {
+			worker = null;
+			runButton.setText(trans.get("componentanalysisdlg.sweep.but.run"));
+			try {
+				get();
+				// Points arrive in completion order, present them in grid order
+				rows.sort(Comparator.comparingInt(row -> row.index));
+				tableModel.fireTableDataChanged();
+				exportButton.setEnabled(!rows.isEmpty());
+			} catch (CancellationException e) {
+				log.info("Component analysis sweep cancelled");
+				exportButton.setEnabled(!rows.isEmpty());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} catch (ExecutionException e) {
+				log.warn("Component analysis sweep failed", e.getCause());
+				JOptionPane.showMessageDialog(ComponentAnalysisSweepPanel.this, e.getCause().getMessage(),
+						trans.get("componentanalysisdlg.sweep.error"), JOptionPane.ERROR_MESSAGE);
+			}
+		}
+	}
+
+	/**
+	 * A column of a value in SI units that is shown in the default unit of its unit group.
+	 */
+	private abstract class UnitColumn extends Column {
+		private final UnitGroup unitGroup;
+
+		UnitColumn(String name, UnitGroup unitGroup) {
+			super(name + " (" + unitGroup.getDefaultUnit().getUnit() + ")");
+			this.unitGroup = unitGroup;
+		}
+
+		@Override
+		public Object getValueAt(int row) {
+			return unitGroup.getDefaultUnit().toUnit(getSIValue(rows.get(row)));
+		}
+
+		protected abstract double getSIValue(SweepRow row);
+	}
+
+	private static class SweepRow {
+		int index;
+		double mach;
+		double aoa;
+		double rollRate;
+		String name;
+		double cpx;
+		double cna;
+		double cd;
+		double croll;
+	}
+}
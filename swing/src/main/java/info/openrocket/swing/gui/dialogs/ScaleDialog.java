@@ -531,17 +531,23 @@ public class ScaleDialog extends JDialog {
 			throw new BugException("Unknown item selected, item=" + item);
 		}
 
-		// Perform the scaling
+		// Perform the scaling, firing a single change event for all components
+		final Rocket rocket = document.getRocket();
 		try {
-			// Scale the offsets
-			if (scaleOffsets.isSelected()) {
+			rocket.beginChangeBatch();
+			try {
+				// Scale the offsets
+				if (scaleOffsets.isSelected()) {
+					for (RocketComponent component : scaleComponents) {
+						scaleOffset(component, mul, scaleMass);
+					}
+				}
+				// Scale the components
 				for (RocketComponent component : scaleComponents) {
-					scaleOffset(component, mul, scaleMass);
+					scale(component, mul, scaleMass);
 				}
-			}
-			// Scale the components
-			for (RocketComponent component : scaleComponents) {
-				scale(component, mul, scaleMass);
+			} finally {
+				rocket.commitChangeBatch();
 			}
 		} finally {
 			document.stopUndo();
@@ -0,0 +1,394 @@
+package info.openrocket.swing.gui.dialogs.motor;
+
+import java.awt.Component;
+import java.awt.Dialog;
+import java.awt.Dimension;
+import java.awt.Window;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+
+import javax.swing.DefaultListCellRenderer;
+import javax.swing.JButton;
+import javax.swing.JCheckBox;
+import javax.swing.JComboBox;
+import javax.swing.JDialog;
+import javax.swing.JLabel;
+import javax.swing.JList;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JProgressBar;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.ListSelectionModel;
+import javax.swing.SwingWorker;
+
+import net.miginfocom.swing.MigLayout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import info.openrocket.core.database.motor.ThrustCurveMotorSetIndex;
+import info.openrocket.core.document.OpenRocketDocument;
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.l10n.Translator;
+import info.openrocket.core.motor.MotorConfiguration;
+import info.openrocket.core.motor.ThrustCurveMotor;
+import info.openrocket.core.rocketcomponent.FlightConfigurationId;
+import info.openrocket.core.rocketcomponent.MotorMount;
+import info.openrocket.core.rocketcomponent.Rocket;
+import info.openrocket.core.rocketcomponent.RocketComponent;
+import info.openrocket.core.simulation.MotorSweep;
+import info.openrocket.core.startup.Application;
+import info.openrocket.core.unit.UnitGroup;
+import info.openrocket.swing.gui.adaptors.Column;
+import info.openrocket.swing.gui.adaptors.ColumnTable;
+import info.openrocket.swing.gui.adaptors.ColumnTableModel;
+import info.openrocket.swing.gui.adaptors.DoubleModel;
+import info.openrocket.swing.gui.components.EditableSpinner;
+import info.openrocket.swing.gui.components.UnitSelector;
+import info.openrocket.swing.gui.util.GUIUtil;
+import info.openrocket.swing.gui.util.SwingPreferences;
+import info.openrocket.swing.gui.widgets.SelectColorButton;
+
+/**
+ * Dialog that simulates a flight configuration with every motor of the motor database that
+ * fits a motor mount, and shows the results ranked by apogee, velocity or stability.
+ * The simulations run in the background on a copy of the rocket; a motor can then be
+ * selected for the mount.
+ */
+@SuppressWarnings("serial")
+public class MotorSweepDialog extends JDialog {
+	private static final Logger log = LoggerFactory.getLogger(MotorSweepDialog.class);
+	private static final Translator trans = Application.getTranslator();
+
+	private final Simulation simulation;
+	private final MotorMount mount;
+	private final String caseInfo;
+
+	private final DoubleModel maximumOverhang;
+	private final JCheckBox sameCase;
+	private final JComboBox<MotorSweep.Ranking> rankingCombo;
+
+	private final List<MotorSweep.Result> results = new ArrayList<>();
+	private final ColumnTableModel tableModel;
+	private final JTable table;
+
+	private final JButton runButton;
+	private final JButton selectButton;
+	private final JProgressBar progressBar;
+
+	private SweepWorker worker = null;
+	private MotorSweep.Result selectedResult = null;
+
+	/**
+	 * @param owner the owner window
+	 * @param document the document, the options of its first simulation of the flight configuration are used
+	 * @param mount the motor mount to sweep
+	 * @param fcid the flight configuration to simulate
+	 */
+	public MotorSweepDialog(Window owner, OpenRocketDocument document, MotorMount mount, FlightConfigurationId fcid) {
+		super(owner, trans.get("MotorSweepDialog.title"), Dialog.ModalityType.APPLICATION_MODAL);
+
+		// Simulate a copy, the simulations must not see edits of the rocket
+		Simulation template = null;
+		for (Simulation s : document.getSimulations()) {
+			if (fcid.equals(s.getFlightConfigurationId())) {
+				template = s;
+				break;
+			}
+		}
+		Rocket copy = document.getRocket().copyWithOriginalID();
+		if (template != null) {
+			this.simulation = template.duplicateSimulation(copy);
+		} else {
+			this.simulation = new Simulation(document, copy);
+		}
+		this.simulation.setFlightConfigurationId(fcid);
+		this.mount = (MotorMount) copy.findComponent(((RocketComponent) mount).getID());
+
+		MotorConfiguration current = mount.getMotorConfig(fcid);
+		this.caseInfo = (current.getMotor() instanceof ThrustCurveMotor)
+				? ((ThrustCurveMotor) current.getMotor()).getCaseInfo() : null;
+
+		JPanel panel = new JPanel(new MigLayout("fill", "[][65lp::][]push"));
+
+		//// Motor mount: diameter x length
+		panel.add(new JLabel(trans.get("MotorSweepDialog.lbl.mount") + " " + ((RocketComponent) mount).getName() + ", "
+				+ UnitGroup.UNITS_MOTOR_DIMENSIONS.toStringUnit(mount.getMotorMountDiameter()) + " x "
+				+ UnitGroup.UNITS_MOTOR_DIMENSIONS.toStringUnit(mount.getLength())), "spanx, wrap para");
+
+		//// Maximum overhang
+		maximumOverhang = new DoubleModel(Math.max(0, mount.getMotorOverhang()), UnitGroup.UNITS_MOTOR_DIMENSIONS, 0);
+		panel.add(new JLabel(trans.get("MotorSweepDialog.lbl.overhang")));
+		panel.add(new EditableSpinner(maximumOverhang.getSpinnerModel()), "growx");
+		panel.add(new UnitSelector(maximumOverhang), "wrap");
+
+		//// Only motors compatible with the current case
+		sameCase = new JCheckBox(trans.get("MotorSweepDialog.checkbox.sameCase"));
+		sameCase.setEnabled(caseInfo != null);
+		panel.add(sameCase, "spanx, wrap");
+
+		//// Rank by
+		panel.add(new JLabel(trans.get("MotorSweepDialog.lbl.rankBy")));
+		rankingCombo = new JComboBox<>(MotorSweep.Ranking.values());
+		rankingCombo.setRenderer(new DefaultListCellRenderer() {
+			@Override
+			public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+														  boolean isSelected, boolean cellHasFocus) {
+				return super.getListCellRendererComponent(list,
+						trans.get("MotorSweepDialog.ranking." + ((MotorSweep.Ranking) value).name()),
+						index, isSelected, cellHasFocus);
+			}
+		});
+		rankingCombo.addActionListener(e -> sortResults());
+		panel.add(rankingCombo, "spanx 2, wrap para");
+
+		//// Run sweep
+		runButton = new SelectColorButton(trans.get("MotorSweepDialog.but.run"));
+		runButton.addActionListener(e -> {
+			if (worker != null) {
+				worker.cancel(true);
+			} else {
+				runSweep();
+			}
+		});
+		panel.add(runButton, "spanx, split 2");
+
+		progressBar = new JProgressBar(0, 100);
+		progressBar.setStringPainted(true);
+		panel.add(progressBar, "growx, pushx, wrap");
+
+		tableModel = new ColumnTableModel(
+				//// Motor
+				new Column(trans.get("MotorSweepDialog.Col.motor")) {
+					@Override
+					public Object getValueAt(int row) {
+						MotorSweep.Result r = results.get(row);
+						return r.getMotor().getManufacturer().getDisplayName() + " "
+								+ r.getMotor().getMotorName(r.getDelay());
+					}
+
+					@Override
+					public int getDefaultWidth() {
+						return 150;
+					}
+				},
+				//// Total impulse
+				new UnitColumn(trans.get("MotorSweepDialog.Col.impulse"), UnitGroup.UNITS_IMPULSE) {
+					@Override
+					protected double getSIValue(MotorSweep.Result r) {
+						return r.getMotor().getTotalImpulseEstimate();
+					}
+				},
+				//// Apogee
+				new UnitColumn(trans.get("MotorSweepDialog.Col.apogee"), UnitGroup.UNITS_DISTANCE) {
+					@Override
+					protected double getSIValue(MotorSweep.Result r) {
+						return r.getApogee();
+					}
+				},
+				//// Max. velocity
+				new UnitColumn(trans.get("MotorSweepDialog.Col.maxVelocity"), UnitGroup.UNITS_VELOCITY) {
+					@Override
+					protected double getSIValue(MotorSweep.Result r) {
+						return r.getMaxVelocity();
+					}
+				},
+				//// Rail exit velocity
+				new UnitColumn(trans.get("MotorSweepDialog.Col.railExitVelocity"), UnitGroup.UNITS_VELOCITY) {
+					@Override
+					protected double getSIValue(MotorSweep.Result r) {
+						return r.getRailExitVelocity();
+					}
+				},
+				//// Rail exit stability
+				new UnitColumn(trans.get("MotorSweepDialog.Col.railExitStability"), UnitGroup.UNITS_STABILITY_CALIBERS) {
+					@Override
+					protected double getSIValue(MotorSweep.Result r) {
+						return r.getRailExitStability();
+					}
+				},
+				//// Min. stability
+				new UnitColumn(trans.get("MotorSweepDialog.Col.minStability"), UnitGroup.UNITS_STABILITY_CALIBERS) {
+					@Override
+					protected double getSIValue(MotorSweep.Result r) {
+						return r.getMinStability();
+					}
+				},
+				//// Status
+				new Column(trans.get("MotorSweepDialog.Col.status")) {
+					@Override
+					public Object getValueAt(int row) {
+						MotorSweep.Result r = results.get(row);
+						if (r.getError() != null) {
+							return r.getError();
+						}
+						if (r.getWarningCount() > 0) {
+							return trans.get("MotorSweepDialog.status.warnings").replace("{0}",
+									Integer.toString(r.getWarningCount()));
+						}
+						return "";
+					}
+
+					@Override
+					public int getDefaultWidth() {
+						return 150;
+					}
+				}
+				) {
+			@Override
+			public int getRowCount() {
+				return results.size();
+			}
+		};
+
+		table = new ColumnTable(tableModel);
+		table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+		tableModel.setColumnWidths(table.getColumnModel());
+		table.getSelectionModel().addListSelectionListener(e -> updateButtonState());
+
+		JScrollPane scrollpane = new JScrollPane(table);
+		scrollpane.setPreferredSize(new Dimension(800, 300));
+		panel.add(scrollpane, "spanx, grow, push, wrap para");
+
+		//// Use selected motor
+		selectButton = new SelectColorButton(trans.get("MotorSweepDialog.but.select"));
+		selectButton.addActionListener(e -> {
+			int row = table.getSelectedRow();
+			if (row >= 0) {
+				selectedResult = results.get(row);
+				close();
+			}
+		});
+		panel.add(selectButton, "spanx, split 2, right");
+
+		//// Close
+		JButton closeButton = new SelectColorButton(trans.get("dlg.but.close"));
+		closeButton.addActionListener(e -> close());
+		panel.add(closeButton);
+
+		add(panel);
+		updateButtonState();
+
+		pack();
+		setLocationRelativeTo(owner);
+		GUIUtil.setDisposableDialogOptions(this, closeButton);
+	}
+
+	/**
+	 * Return the result of the motor the user selected, or <code>null</code> if none was selected.
+	 * The motor and delay of the result should be set in the mount.
+	 */
+	public MotorSweep.Result getSelectedResult() {
+		return selectedResult;
+	}
+
+	private void close() {
+		if (worker != null) {
+			worker.cancel(true);
+		}
+		dispose();
+	}
+
+	private void updateButtonState() {
+		selectButton.setEnabled(worker == null && table.getSelectedRow() >= 0);
+	}
+
+	private void runSweep() {
+		ThrustCurveMotorSetIndex index = Application.getThrustCurveMotorSetDatabase().getIndex();
+		List<ThrustCurveMotor> motors = MotorSweep.findCompatibleMotors(index, mount, maximumOverhang.getValue(),
+				sameCase.isSelected() ? caseInfo : null);
+		log.info("Running motor sweep over " + motors.size() + " motors");
+		if (motors.isEmpty()) {
+			JOptionPane.showMessageDialog(this, trans.get("MotorSweepDialog.msg.nomotors"),
+					trans.get("MotorSweepDialog.title"), JOptionPane.INFORMATION_MESSAGE);
+			return;
+		}
+
+		results.clear();
+		tableModel.fireTableDataChanged();
+		progressBar.setValue(0);
+		runButton.setText(trans.get("MotorSweepDialog.but.cancel"));
+
+		worker = new SweepWorker(new MotorSweep(simulation, mount, motors));
+		worker.addPropertyChangeListener(evt -> {
+			if ("progress".equals(evt.getPropertyName())) {
+				progressBar.setValue((Integer) evt.getNewValue());
+			}
+		});
+		updateButtonState();
+		worker.execute();
+	}
+
+	private void sortResults() {
+		results.sort(((MotorSweep.Ranking) rankingCombo.getSelectedItem()).comparator());
+		tableModel.fireTableDataChanged();
+	}
+
+	/**
+	 * Runs the sweep in the background and adds the results to the table as they come in.
+	 */
+	private class SweepWorker extends SwingWorker<Void, MotorSweep.Result> {
+		private final MotorSweep sweep;
+
+		SweepWorker(MotorSweep sweep) {
+			this.sweep = sweep;
+		}
+
+		@Override
+		protected Void doInBackground() throws Exception {
+			sweep.run(SwingPreferences.getMaxThreadCount(), (result, computed, total) -> {
+				publish(result);
+				setProgress(100 * computed / total);
+			});
+			return null;
+		}
+
+		@Override
+		protected void process(List<MotorSweep.Result> chunk) {
+			if (isCancelled()) {
+				return;
+			}
+			results.addAll(chunk);
+			sortResults();
+		}
+
+		@Override
+		protected void done() {
+			worker = null;
+			runButton.setText(trans.get("MotorSweepDialog.but.run"));
+			updateButtonState();
+			try {
+				get();
+			} catch (CancellationException e) {
+				log.info("Motor sweep cancelled");
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} catch (ExecutionException e) {
+				log.warn("Motor sweep failed", e.getCause());
+				JOptionPane.showMessageDialog(MotorSweepDialog.this, e.getCause().getMessage(),
+						trans.get("MotorSweepDialog.error"), JOptionPane.ERROR_MESSAGE);
+			}
+		}
+	}
+
+	/**
+	 * A column of a value in SI units that is shown in the default unit of its unit group.
+	 */
+	private abstract class UnitColumn extends Column {
+		private final UnitGroup unitGroup;
+
+		UnitColumn(String name, UnitGroup unitGroup) {
+			super(name + " (" + unitGroup.getDefaultUnit().getUnit() + ")");
+			this.unitGroup = unitGroup;
+		}
+
+		@Override
+		public Object getValueAt(int row) {
+			return unitGroup.getDefaultUnit().toUnit(getSIValue(results.get(row)));
+		}
+
+		protected abstract double getSIValue(MotorSweep.Result r);
+	}
+}
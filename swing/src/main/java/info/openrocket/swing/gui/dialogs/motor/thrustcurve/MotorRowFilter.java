@@ -1,21 +1,28 @@
 package info.openrocket.swing.gui.dialogs.motor.thrustcurve;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.Callable;
 
 import javax.swing.RowFilter;
 import javax.swing.table.TableModel;
 
 import info.openrocket.core.database.motor.ThrustCurveMotorSet;
+import info.openrocket.core.database.motor.ThrustCurveMotorSetIndex;
+import info.openrocket.core.database.motor.ThrustCurveMotorSetIndex.Field;
 import info.openrocket.core.motor.Manufacturer;
 import info.openrocket.core.motor.MotorConfiguration;
 import info.openrocket.core.motor.ThrustCurveMotor;
 import info.openrocket.core.rocketcomponent.MotorMount;
+import info.openrocket.core.unit.Unit;
+import info.openrocket.core.unit.UnitGroup;
 import info.openrocket.core.util.AbstractChangeSource;
+import info.openrocket.core.util.BugException;
 import info.openrocket.core.util.ChangeSource;
 import info.openrocket.core.util.StateChangeListener;
 
@@ -23,6 +30,10 @@ import info.openrocket.core.util.StateChangeListener;
 
 /**
  * Abstract adapter class.
+ * <p>
+ * The rows matching the filter are resolved at once using the motor set index of the model, and
+ * cached until the filter changes.  The matches can be computed in a background thread using
+ * {@link #createMatcher()} and {@link #setMatches(BitSet, int)}.
  */
 public class MotorRowFilter extends RowFilter<TableModel, Integer> implements ChangeSource {
 
@@ -59,6 +70,16 @@ public class MotorRowFilter extends RowFilter<TableModel, Integer> implements Ch
 	// Show only available motors
 	private boolean hideUnavailable = false;
 
+	// The rows matching the filter, valid if matchesVersion == version
+	private int version = 0;
+	private BitSet matches = null;
+	private int matchesVersion = -1;
+
+	// Lower case text of the columns not covered by the index, computed when first needed, and the
+	// motor dimension unit the text was formatted in
+	private String[] columnText = null;
+	private Unit columnTextUnit = null;
+
 
 	public MotorRowFilter(ThrustCurveMotorDatabaseModel model) {
 		super();
@@ -75,16 +96,18 @@ public class MotorRowFilter extends RowFilter<TableModel, Integer> implements Ch
 				}
 			}
 		}
+		changed();
 	}
 
 	public void setSearchTerms(final List<String> searchTerms) {
 		this.searchTerms = new ArrayList<String>();
 		for (String s : searchTerms) {
-			s = s.trim().toLowerCase(Locale.getDefault());
+			s = s.trim().toLowerCase(Locale.ROOT);
 			if (s.length() > 0) {
 				this.searchTerms.add(s);
 			}
 		}
+		changed();
 	}
 
 	public double getMinimumLength() {
@@ -94,6 +117,7 @@ public class MotorRowFilter extends RowFilter<TableModel, Integer> implements Ch
 	public void setMinimumLength(double minimumLength) {
 		if ( this.minimumLength != minimumLength ) {
 			this.minimumLength = minimumLength;
+			changed();
 			fireChangeEvent(change);
 		}
 	}
@@ -105,6 +129,7 @@ public class MotorRowFilter extends RowFilter<TableModel, Integer> implements Ch
 	public void setMaximumLength(double maximumLength) {
 		if ( this.maximumLength != maximumLength ) {
 			this.maximumLength = maximumLength;
+			changed();
 			fireChangeEvent(change);
 		}
 	}
@@ -115,6 +140,7 @@ public class MotorRowFilter extends RowFilter<TableModel, Integer> implements Ch
 
 	void setMinimumDiameter(Double minimumDiameter) {
 		this.minimumDiameter = minimumDiameter;
+		changed();
 	}
 
 	Double getMaximumDiameter() {
@@ -123,10 +149,12 @@ public class MotorRowFilter extends RowFilter<TableModel, Integer> implements Ch
 
 	void setMaximumDiameter(Double maximumDiameter) {
 		this.maximumDiameter = maximumDiameter;
+		changed();
 	}
 
 	void setHideUsedMotors(boolean hideUsedMotors) {
 		this.hideUsedMotors = hideUsedMotors;
+		changed();
 	}
 
 	List<Manufacturer> getExcludedManufacturers() {
@@ -136,6 +164,7 @@ public class MotorRowFilter extends RowFilter<TableModel, Integer> implements Ch
 	void setExcludedManufacturers(Collection<Manufacturer> excludedManufacturers) {
 		this.excludedManufacturers.clear();
 		this.excludedManufacturers.addAll(excludedManufacturers);
+		changed();
 	}
 
 	ImpulseClass getMinimumImpulse() {
@@ -144,6 +173,7 @@ public class MotorRowFilter extends RowFilter<TableModel, Integer> implements Ch
 
 	void setMinimumImpulse(ImpulseClass minimumImpulse) {
 		this.minimumImpulse = minimumImpulse;
+		changed();
 	}
 
 	ImpulseClass getMaximumImpulse() {
@@ -152,6 +182,7 @@ public class MotorRowFilter extends RowFilter<TableModel, Integer> implements Ch
 
 	void setMaximumImpulse(ImpulseClass maximumImpulse) {
 		this.maximumImpulse = maximumImpulse;
+		changed();
 	}
 
 	public boolean isHideUnavailable() {
@@ -160,107 +191,155 @@ public class MotorRowFilter extends RowFilter<TableModel, Integer> implements Ch
 
 	public void setHideUnavailable(boolean hideUnavailable) {
 		this.hideUnavailable = hideUnavailable;
+		changed();
 	}
 
 	@Override
 	public boolean include(RowFilter.Entry<? extends TableModel, ? extends Integer> entry) {
-		int index = entry.getIdentifier();
-		ThrustCurveMotorSet m = model.getMotorSet(index);
-		return filterManufacturers(m) && filterUsed(m) && filterBySize(m) && filterByString(m) && filterByImpulseClass(m) && filterUnavailable(m);
+		if (matchesVersion != version) {
+			// Not computed in the background, resolve the matches of all rows at once
+			try {
+				matches = createMatcher().call();
+			} catch (Exception e) {
+				throw new BugException(e);
+			}
+			matchesVersion = version;
+		}
+		return matches.get(entry.getIdentifier());
 	}
 
-	private boolean filterManufacturers(ThrustCurveMotorSet m) {
-		if (excludedManufacturers.contains(m.getManufacturer())) {
-			return false;
-		} else {
-			return true;
-		}
+	/**
+	 * Return the current version of the filter criteria, which changes every time the criteria change.
+	 */
+	public int getVersion() {
+		return version;
 	}
 
-	private boolean filterUsed(ThrustCurveMotorSet m) {
-		if (!hideUsedMotors) {
-			return true;
+	/**
+	 * Set the rows matching the filter, computed by a matcher.  The matches are ignored if the
+	 * filter has changed since the matcher was created.
+	 *
+	 * @param matches	the matching rows
+	 * @param version	the filter version when the matcher was created
+	 */
+	public void setMatches(BitSet matches, int version) {
+		if (version == this.version) {
+			this.matches = matches;
+			this.matchesVersion = version;
 		}
-		for (ThrustCurveMotor motor : usedMotors) {
-			if (m.matches(motor)) {
-				return false;
-			}
-		}
-		return true;
 	}
 
-	private boolean filterBySize(ThrustCurveMotorSet m) {
-
-		if ( minimumDiameter != null ) {
-			if ( m.getDiameter() <= minimumDiameter - 0.0015 ) {
-				return false;
+	/**
+	 * Create a task computing the rows matching the current filter criteria.  The task uses a
+	 * copy of the criteria, so it can be run in a background thread while the filter is modified.
+	 */
+	public Callable<BitSet> createMatcher() {
+		final ThrustCurveMotorSetIndex index = model.getMotorSetIndex();
+		final List<String> terms = new ArrayList<String>(searchTerms);
+		final List<ThrustCurveMotor> used = hideUsedMotors ? new ArrayList<ThrustCurveMotor>(usedMotors)
+				: Collections.<ThrustCurveMotor> emptyList();
+		final List<Manufacturer> excluded = new ArrayList<Manufacturer>(excludedManufacturers);
+		final Double minDiameter = minimumDiameter;
+		final Double maxDiameter = maximumDiameter;
+		final double minLength = minimumLength;
+		final double maxLength = maximumLength;
+		final ImpulseClass minImpulse = minimumImpulse;
+		final ImpulseClass maxImpulse = maximumImpulse;
+		final boolean unavailable = hideUnavailable;
+
+		return () -> {
+			BitSet result = index.all();
+
+			// Size, diameter limits include some slop
+			if (minDiameter != null) {
+				result.and(range(index, Field.DIAMETER, Math.nextUp(minDiameter - 0.0015), Double.POSITIVE_INFINITY));
 			}
-		}
-
-		if ( maximumDiameter != null ) {
-			if ( m.getDiameter() >= maximumDiameter + 0.0004 ) {
-				return false;
+			if (maxDiameter != null) {
+				result.and(range(index, Field.DIAMETER, Double.NEGATIVE_INFINITY, Math.nextDown(maxDiameter + 0.0004)));
 			}
-		}
-
-		if ( m.getLength() > maximumLength ) {
-			return false;
-		}
-		
-		if ( m.getLength() < minimumLength ) {
-			return false;
-		}
-
-		return true;
-	}
+			result.and(range(index, Field.LENGTH, minLength, maxLength));
 
+			// Impulse class
+			if (minImpulse != null) {
+				result.and(range(index, Field.TOTAL_IMPULSE, Math.nextUp(minImpulse.getLow()), Double.POSITIVE_INFINITY));
+			}
+			if (maxImpulse != null) {
+				result.and(range(index, Field.TOTAL_IMPULSE, Double.NEGATIVE_INFINITY, maxImpulse.getHigh()));
+			}
 
-	private boolean filterByString(ThrustCurveMotorSet m) {
-		main: for (String s : searchTerms) {
-			for (ThrustCurveMotorColumns col : ThrustCurveMotorColumns.values()) {
-				String str = col.getValue(m).toString().toLowerCase(Locale.getDefault());
-				if (str.contains(s)) {
-					continue main;
+			// Search terms
+			for (String s : terms) {
+				if (result.isEmpty()) {
+					break;
 				}
+				BitSet found = index.search(s);
+				String[] text = getColumnText();
+				for (int i = result.nextSetBit(0); i >= 0; i = result.nextSetBit(i + 1)) {
+					if (!found.get(i) && text[i].contains(s)) {
+						found.set(i);
+					}
+				}
+				result.and(found);
 			}
 
-			// Make sure that you can search on both the common name, and designation
-			// Yes, there is some duplication here because the common name or designation is already checked in the previous loop
-			// but it's not worth checking that...
-			String common = m.getCommonName().toLowerCase(Locale.getDefault());
-			String designation = m.getDesignation().toLowerCase(Locale.getDefault());
-			if (common.contains(s) || designation.contains(s)) {
-				continue main;
+			// Remaining per-set criteria
+			for (int i = result.nextSetBit(0); i >= 0; i = result.nextSetBit(i + 1)) {
+				ThrustCurveMotorSet m = model.getMotorSet(i);
+				if (excluded.contains(m.getManufacturer()) || !filterUsed(m, used) ||
+						(unavailable && !m.isAvailable())) {
+					result.clear(i);
+				}
 			}
-			return false;
-		}
-	return true;
+			return result;
+		};
 	}
 
-	private boolean filterByImpulseClass(ThrustCurveMotorSet m) {
-		if ( minimumImpulse != null ) {
-			if( m.getTotalImpulse() <= minimumImpulse.getLow() ) {
-				return false;
-			}
-		}
+	private void changed() {
+		version++;
+	}
 
-		if ( maximumImpulse != null ) {
-			if( m.getTotalImpulse() > maximumImpulse.getHigh() ) {
+	/**
+	 * Return the motor sets within a range of a field.  Motor sets without a value for the field
+	 * are not filtered out.
+	 */
+	private static BitSet range(ThrustCurveMotorSetIndex index, Field field, double min, double max) {
+		BitSet result = index.range(field, min, max);
+		result.or(index.undefined(field));
+		return result;
+	}
+
+	private static boolean filterUsed(ThrustCurveMotorSet m, List<ThrustCurveMotor> used) {
+		for (ThrustCurveMotor motor : used) {
+			if (m.matches(motor)) {
 				return false;
 			}
 		}
-
 		return true;
 	}
 
-	private boolean filterUnavailable(ThrustCurveMotorSet m) {
-		if (!hideUnavailable) {
-			return true;
+	/**
+	 * Return the lower case text of the columns that are not covered by the text index of the
+	 * motor sets, for every row.  The text is formatted again when the motor dimension unit changes.
+	 */
+	private synchronized String[] getColumnText() {
+		Unit unit = UnitGroup.UNITS_MOTOR_DIMENSIONS.getDefaultUnit();
+		if (columnText == null || unit != columnTextUnit) {
+			String[] text = new String[model.getRowCount()];
+			for (int i = 0; i < text.length; i++) {
+				ThrustCurveMotorSet m = model.getMotorSet(i);
+				StringBuilder sb = new StringBuilder();
+				for (ThrustCurveMotorColumns col : new ThrustCurveMotorColumns[] { ThrustCurveMotorColumns.TOTAL_IMPULSE,
+						ThrustCurveMotorColumns.DIAMETER, ThrustCurveMotorColumns.LENGTH }) {
+					sb.append(col.getValue(m).toString().toLowerCase(Locale.ROOT)).append('\n');
+				}
+				text[i] = sb.toString();
+			}
+			columnText = text;
+			columnTextUnit = unit;
 		}
-		return m.isAvailable();
+		return columnText;
 	}
 
-
 	public final void addChangeListener(StateChangeListener listener) {
 		changeSourceDelegate.addChangeListener(listener);
 	}
@@ -5,12 +5,22 @@ import java.util.List;
 import javax.swing.table.AbstractTableModel;
 
 import info.openrocket.core.database.motor.ThrustCurveMotorSet;
+import info.openrocket.core.database.motor.ThrustCurveMotorSetIndex;
 
 public class ThrustCurveMotorDatabaseModel extends AbstractTableModel {
 	private final List<ThrustCurveMotorSet> database;
+	private final ThrustCurveMotorSetIndex index;
 	
 	public ThrustCurveMotorDatabaseModel(List<ThrustCurveMotorSet> database) {
-		this.database = database;
+		this(new ThrustCurveMotorSetIndex(database));
+	}
+	
+	/**
+	 * Create a model of the motor sets of an index.  The rows are in the order of the index.
+	 */
+	public ThrustCurveMotorDatabaseModel(ThrustCurveMotorSetIndex index) {
+		this.index = index;
+		this.database = index.getMotorSets();
 	}
 	
 	@Override
@@ -35,6 +45,13 @@ public class ThrustCurveMotorDatabaseModel extends AbstractTableModel {
 	}
 	
 	
+	/**
+	 * Return the index of the motor sets; its positions are the row indexes of this model.
+	 */
+	public ThrustCurveMotorSetIndex getMotorSetIndex() {
+		return index;
+	}
+	
 	public ThrustCurveMotorSet getMotorSet(int rowIndex) {
 		return database.get(rowIndex);
 	}
@@ -10,11 +10,14 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.EventObject;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.prefs.Preferences;
 
 import javax.swing.ButtonGroup;
@@ -35,6 +38,7 @@ import javax.swing.ListCellRenderer;
 import javax.swing.ListSelectionModel;
 import javax.swing.RowSorter;
 import javax.swing.SortOrder;
+import javax.swing.SwingWorker;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
 import javax.swing.event.ListSelectionEvent;
@@ -52,6 +56,7 @@ import org.slf4j.LoggerFactory;
 
 import info.openrocket.core.util.StateChangeListener;
 import info.openrocket.core.database.motor.ThrustCurveMotorSet;
+import info.openrocket.core.database.motor.ThrustCurveMotorSetIndex;
 import info.openrocket.core.l10n.Translator;
 import info.openrocket.core.logging.Markers;
 import info.openrocket.core.motor.Manufacturer;
@@ -92,6 +97,7 @@ public class ThrustCurveMotorSelectionPanel extends JPanel implements MotorSelec
 	private final JTable table;
 	private final TableRowSorter<TableModel> sorter;
 	private final MotorRowFilter rowFilter;
+	private SwingWorker<BitSet, Void> filterWorker = null;
 
 	private final JCheckBox hideSimilarBox;
 	private final JCheckBox hideUnavailableBox;
@@ -128,9 +134,10 @@ public class ThrustCurveMotorSelectionPanel extends JPanel implements MotorSelec
 		super(new MigLayout("fill", "[grow][]"));
 
 		// Construct the database (adding the current motor if not in the db already)
-		database = Application.getThrustCurveMotorSetDatabase().getMotorSets();
+		ThrustCurveMotorSetIndex index = Application.getThrustCurveMotorSetDatabase().getIndex();
+		database = index.getMotorSets();
 
-		model = new ThrustCurveMotorDatabaseModel(database);
+		model = new ThrustCurveMotorDatabaseModel(index);
 		rowFilter = new MotorRowFilter(model);
 		motorInformationPanel = new MotorInformationPanel();
 
@@ -147,8 +154,7 @@ public class ThrustCurveMotorSelectionPanel extends JPanel implements MotorSelec
 
 				@Override
 				public void onSelectionChanged() {
-					sorter.sort();
-					scrollSelectionVisible();
+					applyFilter();
 				}
 			};
 
@@ -382,8 +388,7 @@ public class ThrustCurveMotorSelectionPanel extends JPanel implements MotorSelec
 					String text = searchField.getText().trim();
 					String[] split = text.split("\\s+");
 					rowFilter.setSearchTerms(Arrays.asList(split));
-					sorter.sort();
-					scrollSelectionVisible();
+					applyFilter();
 				}
 			});
 			panel.add(searchField, "span, growx");
@@ -586,6 +591,39 @@ public class ThrustCurveMotorSelectionPanel extends JPanel implements MotorSelec
 		return motors;
 	}
 
+	/**
+	 * Filter the motor table.  The matching motors are resolved in a background thread,
+	 * and the table is sorted when done, unless the filter has changed meanwhile.
+	 */
+	private void applyFilter() {
+		final int version = rowFilter.getVersion();
+		final Callable<BitSet> matcher = rowFilter.createMatcher();
+		if (filterWorker != null) {
+			filterWorker.cancel(false);
+		}
+		filterWorker = new SwingWorker<BitSet, Void>() {
+			@Override
+			protected BitSet doInBackground() throws Exception {
+				return matcher.call();
+			}
+
+			@Override
+			protected void done() {
+				if (isCancelled() || rowFilter.getVersion() != version) {
+					return;
+				}
+				try {
+					rowFilter.setMatches(get(), version);
+				} catch (InterruptedException | ExecutionException e) {
+					throw new BugException("Motor filtering failed", e);
+				}
+				sorter.sort();
+				scrollSelectionVisible();
+			}
+		};
+		filterWorker.execute();
+	}
+
 	private void updateNrOfMotors() {
 		if (table != null && nrOfMotorsLabel != null) {
 			int rowCount = table.getRowCount();
@@ -47,6 +47,7 @@ import info.openrocket.core.rocketcomponent.Rocket;
 import info.openrocket.core.rocketcomponent.RocketComponent;
 import info.openrocket.core.startup.Application;
 import info.openrocket.core.startup.Preferences;
+import info.openrocket.core.startup.StartupTimeline;
 import info.openrocket.core.util.Coordinate;
 import info.openrocket.core.util.MathUtil;
 import info.openrocket.core.util.BoundingBox;
@@ -81,6 +82,7 @@ public class RocketFigure3d extends JPanel implements GLEventListener {
 	private final OpenRocketDocument document;
 	private final Rocket rkt;
 	private Component canvas;
+	private boolean glInitialized = false;
 	
 	
 	private Overlay extrasOverlay, caretOverlay;
@@ -111,6 +113,22 @@ public class RocketFigure3d extends JPanel implements GLEventListener {
 		this.document = document;
 		this.rkt = document.getRocket();
 		this.setLayout(new BorderLayout());
+	}
+	
+	/**
+	 * GL is initialized when the figure is first shown, so that the 3d libraries are not
+	 * loaded at startup or for documents that are never viewed in 3d.
+	 */
+	@Override
+	public void addNotify() {
+		initGLIfNeeded();
+		super.addNotify();
+	}
+	
+	private void initGLIfNeeded() {
+		if (glInitialized)
+			return;
+		glInitialized = true;
 		
 		//Only initialize GL if 3d is enabled.
 		if (is3dEnabled()) {
@@ -119,7 +137,9 @@ public class RocketFigure3d extends JPanel implements GLEventListener {
 			if (splash != null && splash.isVisible())
 				splash.close();
 			
-			initGLCanvas();
+			try (StartupTimeline.Phase phase = StartupTimeline.begin("3D view")) {
+				initGLCanvas();
+			}
 		}
 	}
 
@@ -133,6 +153,8 @@ public class RocketFigure3d extends JPanel implements GLEventListener {
 	}
 
 	public void flushTextureCaches() {
+		if (canvas == null)
+			return;
 		((GLAutoDrawable) canvas).invoke(true, new GLRunnable() {
 			@Override
 			public boolean run(GLAutoDrawable drawable) {
@@ -695,7 +717,7 @@ public class RocketFigure3d extends JPanel implements GLEventListener {
 	
 	public void setType(final int t) {
 		//There is no canvas if there was an error while creating it.
-		if (canvas == null)
+		if (canvas == null && glInitialized)
 			return;
 		
 		// The first time the user selects any 3d figure types,  the canvas' internal _drawable
@@ -718,7 +740,10 @@ public class RocketFigure3d extends JPanel implements GLEventListener {
 			newRR = new FigureRenderer();
 		}
 		
-		if (canvas instanceof GLCanvas && !((GLCanvas) canvas).isRealized()) {
+		if (canvas == null) {
+			// GL is initialized later, the renderer is initialized with it
+			rr = newRR;
+		} else if (canvas instanceof GLCanvas && !((GLCanvas) canvas).isRealized()) {
 			rr = newRR;
 		} else if (canvas instanceof GLJPanel && !((GLJPanel) canvas).isRealized()) {
 			rr = newRR;
@@ -18,7 +18,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.openrocket.swing.gui.figure3d.geometry.ComponentRenderer;
-import info.openrocket.swing.gui.figure3d.geometry.DisplayListComponentRenderer;
+import info.openrocket.swing.gui.figure3d.geometry.VertexBufferComponentRenderer;
 import info.openrocket.swing.gui.figure3d.geometry.Geometry;
 import info.openrocket.swing.gui.figure3d.geometry.Geometry.Surface;
 import info.openrocket.core.motor.Motor;
@@ -38,7 +38,7 @@ import info.openrocket.core.util.Transformation;
 public abstract class RocketRenderer {
 	protected static final Logger log = LoggerFactory.getLogger(RocketRenderer.class);
 	
-	final ComponentRenderer cr = new DisplayListComponentRenderer();
+	final ComponentRenderer cr = new VertexBufferComponentRenderer();
 	
 	private final float[] selectedEmissive = { 1, 0, 0, 1 };
 	private final float[] colorBlack = { 0, 0, 0, 1 };
@@ -48,6 +48,7 @@ public abstract class RocketRenderer {
 	}
 	
 	public void dispose(GLAutoDrawable drawable) {
+		cr.dispose(drawable);
 	}
 	
 	public void updateFigure(GLAutoDrawable drawable) {
@@ -37,7 +37,7 @@ public class ComponentRenderer {
 	@SuppressWarnings("unused")
 	private static final Logger log = LoggerFactory.getLogger(ComponentRenderer.class);
 
-	private int LOD = 80;		// Level of detail for rendering
+	protected int LOD = 80;		// Level of detail for rendering
 
 	GLU glu;
 	GLUquadric q;
@@ -58,6 +58,13 @@ public class ComponentRenderer {
 
 	}
 
+	/**
+	 * Release any GL resources held by this renderer.
+	 */
+	public void dispose(GLAutoDrawable drawable) {
+
+	}
+
 	public Geometry getComponentGeometry(final RocketComponent comp) {
 	    return getComponentGeometry(comp, Transformation.IDENTITY); 
 	}
@@ -9,37 +9,88 @@ import com.jogamp.opengl.GLAutoDrawable;
 import info.openrocket.swing.gui.figure3d.geometry.Geometry.Surface;
 import info.openrocket.core.rocketcomponent.RocketComponent;
 
+/**
+ * A component renderer that compiles each component surface into a display list.
+ * <p>
+ * Lists are keyed by component and surface and tagged with the component modification
+ * ID, so they survive figure updates that do not affect the component.  Like the
+ * texture cache, lists that have not been used during two figure update generations
+ * are deleted.
+ */
 public class DisplayListComponentRenderer extends ComponentRenderer {
-	private Map<Key, Integer> lists = new HashMap<Key, Integer>();
-	
+	private Map<Key, CachedList> oldLists = new HashMap<Key, CachedList>();
+	private Map<Key, CachedList> lists = new HashMap<Key, CachedList>();
+
 	@Override
 	public void updateFigure(GLAutoDrawable drawable) {
 		super.updateFigure(drawable);
-		
+
 		GL2 gl = drawable.getGL().getGL2();
-		for (int i : lists.values()) {
-			gl.glDeleteLists(i, 1);
+		for (CachedList l : oldLists.values()) {
+			gl.glDeleteLists(l.list, 1);
 		}
+		oldLists = lists;
+		lists = new HashMap<Key, CachedList>();
+	}
+
+	@Override
+	public void dispose(GLAutoDrawable drawable) {
+		GL2 gl = drawable.getGL().getGL2();
+		for (CachedList l : oldLists.values()) {
+			gl.glDeleteLists(l.list, 1);
+		}
+		for (CachedList l : lists.values()) {
+			gl.glDeleteLists(l.list, 1);
+		}
+		oldLists.clear();
 		lists.clear();
+		super.dispose(drawable);
 	}
-	
+
 	@Override
 	protected void renderInstance(GL2 gl, RocketComponent c, Surface which) {
 		Key k = new Key(c, which);
-		if (lists.containsKey(k)) {
-			gl.glCallList(lists.get(k));
+		CachedList l = lists.get(k);
+		if (l == null) {
+			// Rescue the list from the previous generation if it is still valid
+			l = oldLists.remove(k);
+			if (l != null) {
+				lists.put(k, l);
+			}
+		}
+		if (l != null && l.modID != c.getModID()) {
+			gl.glDeleteLists(l.list, 1);
+			lists.remove(k);
+			l = null;
+		}
+
+		if (l != null) {
+			gl.glCallList(l.list);
 		} else {
 			int list = gl.glGenLists(1);
 			gl.glNewList(list, GL2.GL_COMPILE_AND_EXECUTE);
 			super.renderInstance(gl, c, which);
 			gl.glEndList();
-			lists.put(k, list);
+			lists.put(k, new CachedList(list, c.getModID()));
+		}
+	}
+
+	private static class CachedList {
+		final int list;
+		final int modID;
+
+		CachedList(final int list, final int modID) {
+			this.list = list;
+			this.modID = modID;
 		}
 	}
-	
-	private static class Key {
+
+	/**
+	 * Cache key of a component surface.
+	 */
+	static class Key {
 		final RocketComponent c;
-		
+
 		@Override
 		public int hashCode() {
 			final int prime = 31;
@@ -48,7 +99,7 @@ public class DisplayListComponentRenderer extends ComponentRenderer {
 			result = prime * result + ((which == null) ? 0 : which.hashCode());
 			return result;
 		}
-		
+
 		@Override
 		public boolean equals(Object obj) {
 			if (this == obj)
@@ -67,9 +118,9 @@ public class DisplayListComponentRenderer extends ComponentRenderer {
 				return false;
 			return true;
 		}
-		
+
 		final Surface which;
-		
+
 		Key(final RocketComponent c, final Surface which) {
 			this.c = c;
 			this.which = which;
@@ -11,6 +11,7 @@ import com.jogamp.opengl.glu.GLUtessellatorCallbackAdapter;
 
 import info.openrocket.core.rocketcomponent.EllipticalFinSet;
 import info.openrocket.core.rocketcomponent.FinSet;
+import info.openrocket.core.rocketcomponent.FinSetGeometry;
 import info.openrocket.core.rocketcomponent.InsideColorComponent;
 import info.openrocket.core.util.BoundingBox;
 import info.openrocket.core.util.Coordinate;
@@ -36,8 +37,9 @@ public class FinRenderer {
 		gl.glTranslated(-bounds.min.x, -bounds.min.y - finSet.getBodyRadius(), 0);
 		gl.glMatrixMode(GLMatrixFunc.GL_MODELVIEW);
 
-		Coordinate[] finPoints = finSet.getFinPointsWithLowResRoot();
-		Coordinate[] tabPoints = finSet.getTabPointsWithRootLowRes();
+		final FinSetGeometry geometry = finSet.getFinGeometry();
+		Coordinate[] finPoints = geometry.getFinPointsWithLowResRoot();
+		Coordinate[] tabPoints = geometry.getTabPointsWithLowResRoot();
 
 		{
 		    gl.glPushMatrix();
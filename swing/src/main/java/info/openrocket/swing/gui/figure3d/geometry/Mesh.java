@@ -0,0 +1,94 @@
+package info.openrocket.swing.gui.figure3d.geometry;
+
+import java.nio.FloatBuffer;
+
+import com.jogamp.common.nio.Buffers;
+import com.jogamp.opengl.GL;
+import com.jogamp.opengl.GL2;
+import com.jogamp.opengl.fixedfunc.GLPointerFunc;
+
+/**
+ * An immutable triangle mesh with interleaved position, normal and texture
+ * coordinates, drawn from a vertex buffer object.
+ * <p>
+ * The buffer is uploaded lazily on the first draw.  If the GL implementation
+ * does not provide buffer objects the mesh is drawn from client-side vertex
+ * arrays instead, which only requires OpenGL 1.1.
+ */
+final class Mesh {
+	/** Number of floats per vertex: x, y, z, nx, ny, nz, s, t */
+	static final int STRIDE = 8;
+
+	private static final int STRIDE_BYTES = STRIDE * Buffers.SIZEOF_FLOAT;
+	private static final int NORMAL_OFFSET = 3;
+	private static final int TEXCOORD_OFFSET = 6;
+
+	private final FloatBuffer data;
+	private final int vertexCount;
+
+	// 0 = not uploaded yet, -1 = buffer objects not available
+	private int vbo = 0;
+
+	Mesh(final float[] vertices, final int floatCount) {
+		this.vertexCount = floatCount / STRIDE;
+		this.data = Buffers.newDirectFloatBuffer(vertices, 0, floatCount);
+	}
+
+	int getVertexCount() {
+		return vertexCount;
+	}
+
+	void draw(final GL2 gl) {
+		if (vertexCount == 0) {
+			return;
+		}
+		if (vbo == 0) {
+			upload(gl);
+		}
+
+		gl.glEnableClientState(GLPointerFunc.GL_VERTEX_ARRAY);
+		gl.glEnableClientState(GLPointerFunc.GL_NORMAL_ARRAY);
+		gl.glEnableClientState(GLPointerFunc.GL_TEXTURE_COORD_ARRAY);
+
+		if (vbo > 0) {
+			gl.glBindBuffer(GL.GL_ARRAY_BUFFER, vbo);
+			gl.glVertexPointer(3, GL.GL_FLOAT, STRIDE_BYTES, 0);
+			gl.glNormalPointer(GL.GL_FLOAT, STRIDE_BYTES, NORMAL_OFFSET * Buffers.SIZEOF_FLOAT);
+			gl.glTexCoordPointer(2, GL.GL_FLOAT, STRIDE_BYTES, TEXCOORD_OFFSET * Buffers.SIZEOF_FLOAT);
+		} else {
+			gl.glVertexPointer(3, GL.GL_FLOAT, STRIDE_BYTES, data.position(0));
+			gl.glNormalPointer(GL.GL_FLOAT, STRIDE_BYTES, data.duplicate().position(NORMAL_OFFSET));
+			gl.glTexCoordPointer(2, GL.GL_FLOAT, STRIDE_BYTES, data.duplicate().position(TEXCOORD_OFFSET));
+		}
+
+		gl.glDrawArrays(GL.GL_TRIANGLES, 0, vertexCount);
+
+		if (vbo > 0) {
+			gl.glBindBuffer(GL.GL_ARRAY_BUFFER, 0);
+		}
+		gl.glDisableClientState(GLPointerFunc.GL_TEXTURE_COORD_ARRAY);
+		gl.glDisableClientState(GLPointerFunc.GL_NORMAL_ARRAY);
+		gl.glDisableClientState(GLPointerFunc.GL_VERTEX_ARRAY);
+	}
+
+	void dispose(final GL2 gl) {
+		if (vbo > 0) {
+			gl.glDeleteBuffers(1, new int[] { vbo }, 0);
+		}
+		vbo = 0;
+	}
+
+	private void upload(final GL2 gl) {
+		if (!gl.isFunctionAvailable("glGenBuffers") || !gl.isFunctionAvailable("glBindBuffer")) {
+			vbo = -1;
+			return;
+		}
+		final int[] ids = new int[1];
+		gl.glGenBuffers(1, ids, 0);
+		gl.glBindBuffer(GL.GL_ARRAY_BUFFER, ids[0]);
+		gl.glBufferData(GL.GL_ARRAY_BUFFER, (long) data.capacity() * Buffers.SIZEOF_FLOAT,
+				data.position(0), GL.GL_STATIC_DRAW);
+		gl.glBindBuffer(GL.GL_ARRAY_BUFFER, 0);
+		vbo = ids[0];
+	}
+}
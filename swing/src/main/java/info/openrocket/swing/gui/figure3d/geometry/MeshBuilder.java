@@ -0,0 +1,219 @@
+package info.openrocket.swing.gui.figure3d.geometry;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+import com.jogamp.opengl.GL;
+import com.jogamp.opengl.GL2;
+
+/**
+ * Collects geometry through an interface resembling OpenGL immediate mode
+ * (begin / normal / texCoord / vertex / end and a model matrix stack) and
+ * assembles it into an independent triangle list for a {@link Mesh}.
+ * <p>
+ * Vertices and normals are transformed by the current matrix when they are
+ * recorded, so the resulting mesh is in the component coordinate system.
+ * Strips, fans and quads are split into triangles preserving their winding.
+ */
+final class MeshBuilder {
+
+	private float[] triangles = new float[Mesh.STRIDE * 1024];
+	private int size = 0;
+
+	// Vertices of the primitive currently being recorded
+	private float[] primitive = new float[Mesh.STRIDE * 256];
+	private int primitiveCount = 0;
+	private int mode = -1;
+
+	private double nx = 0, ny = 0, nz = 1;
+	private double s = 0, t = 0;
+
+	private boolean reverseWinding = false;
+
+	// Column-major model matrix, as used by OpenGL
+	private double[] matrix = identity();
+	private final Deque<double[]> matrixStack = new ArrayDeque<double[]>();
+
+	void begin(final int mode) {
+		if (this.mode != -1)
+			throw new IllegalStateException("begin() called inside begin/end");
+		this.mode = mode;
+		this.primitiveCount = 0;
+	}
+
+	void end() {
+		if (mode == -1)
+			throw new IllegalStateException("end() called without begin()");
+
+		final int n = primitiveCount;
+		switch (mode) {
+		case GL.GL_TRIANGLES:
+			for (int i = 0; i + 2 < n; i += 3) {
+				triangle(i, i + 1, i + 2);
+			}
+			break;
+		case GL.GL_TRIANGLE_STRIP:
+			for (int i = 0; i + 2 < n; i++) {
+				if (i % 2 == 0) {
+					triangle(i, i + 1, i + 2);
+				} else {
+					triangle(i + 1, i, i + 2);
+				}
+			}
+			break;
+		case GL.GL_TRIANGLE_FAN:
+			for (int i = 1; i + 1 < n; i++) {
+				triangle(0, i, i + 1);
+			}
+			break;
+		case GL2.GL_QUADS:
+			for (int i = 0; i + 3 < n; i += 4) {
+				triangle(i, i + 1, i + 2);
+				triangle(i, i + 2, i + 3);
+			}
+			break;
+		case GL2.GL_QUAD_STRIP:
+			for (int i = 0; i + 3 < n; i += 2) {
+				triangle(i, i + 1, i + 3);
+				triangle(i + 3, i + 2, i);
+			}
+			break;
+		default:
+			throw new IllegalArgumentException("Unsupported primitive mode " + mode);
+		}
+		mode = -1;
+	}
+
+	void normal(final double x, final double y, final double z) {
+		nx = x;
+		ny = y;
+		nz = z;
+	}
+
+	void texCoord(final double s, final double t) {
+		this.s = s;
+		this.t = t;
+	}
+
+	void vertex(final double x, final double y, final double z) {
+		if (mode == -1)
+			throw new IllegalStateException("vertex() called outside begin/end");
+
+		final double[] m = matrix;
+		final int offset = primitiveCount * Mesh.STRIDE;
+		if (offset + Mesh.STRIDE > primitive.length) {
+			primitive = Arrays.copyOf(primitive, primitive.length * 2);
+		}
+		primitive[offset] = (float) (m[0] * x + m[4] * y + m[8] * z + m[12]);
+		primitive[offset + 1] = (float) (m[1] * x + m[5] * y + m[9] * z + m[13]);
+		primitive[offset + 2] = (float) (m[2] * x + m[6] * y + m[10] * z + m[14]);
+		primitive[offset + 3] = (float) (m[0] * nx + m[4] * ny + m[8] * nz);
+		primitive[offset + 4] = (float) (m[1] * nx + m[5] * ny + m[9] * nz);
+		primitive[offset + 5] = (float) (m[2] * nx + m[6] * ny + m[10] * nz);
+		primitive[offset + 6] = (float) s;
+		primitive[offset + 7] = (float) t;
+		primitiveCount++;
+	}
+
+	/**
+	 * Reverse the winding of all subsequently recorded triangles.  This has the
+	 * same effect as switching glFrontFace while drawing in immediate mode.
+	 */
+	void setReverseWinding(final boolean reverse) {
+		this.reverseWinding = reverse;
+	}
+
+	void pushMatrix() {
+		matrixStack.push(matrix.clone());
+	}
+
+	void popMatrix() {
+		matrix = matrixStack.pop();
+	}
+
+	void translate(final double x, final double y, final double z) {
+		final double[] tr = identity();
+		tr[12] = x;
+		tr[13] = y;
+		tr[14] = z;
+		multiply(tr);
+	}
+
+	/**
+	 * Rotate around the given axis, same as glRotated.
+	 *
+	 * @param angle	the rotation angle, in degrees
+	 */
+	void rotate(final double angle, double x, double y, double z) {
+		final double len = Math.sqrt(x * x + y * y + z * z);
+		if (len == 0)
+			return;
+		x /= len;
+		y /= len;
+		z /= len;
+
+		final double a = Math.toRadians(angle);
+		final double c = Math.cos(a);
+		final double sn = Math.sin(a);
+		final double ic = 1 - c;
+
+		final double[] r = identity();
+		r[0] = x * x * ic + c;
+		r[1] = y * x * ic + z * sn;
+		r[2] = x * z * ic - y * sn;
+		r[4] = x * y * ic - z * sn;
+		r[5] = y * y * ic + c;
+		r[6] = y * z * ic + x * sn;
+		r[8] = x * z * ic + y * sn;
+		r[9] = y * z * ic - x * sn;
+		r[10] = z * z * ic + c;
+		multiply(r);
+	}
+
+	Mesh build() {
+		if (mode != -1)
+			throw new IllegalStateException("build() called inside begin/end");
+		return new Mesh(triangles, size);
+	}
+
+	private void triangle(final int a, final int b, final int c) {
+		if (size + 3 * Mesh.STRIDE > triangles.length) {
+			triangles = Arrays.copyOf(triangles, triangles.length * 2);
+		}
+		copyVertex(a);
+		if (reverseWinding) {
+			copyVertex(c);
+			copyVertex(b);
+		} else {
+			copyVertex(b);
+			copyVertex(c);
+		}
+	}
+
+	private void copyVertex(final int index) {
+		System.arraycopy(primitive, index * Mesh.STRIDE, triangles, size, Mesh.STRIDE);
+		size += Mesh.STRIDE;
+	}
+
+	private void multiply(final double[] r) {
+		final double[] m = matrix;
+		final double[] result = new double[16];
+		for (int col = 0; col < 4; col++) {
+			for (int row = 0; row < 4; row++) {
+				double sum = 0;
+				for (int k = 0; k < 4; k++) {
+					sum += m[k * 4 + row] * r[col * 4 + k];
+				}
+				result[col * 4 + row] = sum;
+			}
+		}
+		matrix = result;
+	}
+
+	private static double[] identity() {
+		final double[] m = new double[16];
+		m[0] = m[5] = m[10] = m[15] = 1;
+		return m;
+	}
+}
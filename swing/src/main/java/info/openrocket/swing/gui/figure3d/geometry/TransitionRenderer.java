@@ -116,6 +116,7 @@ package info.openrocket.swing.gui.figure3d.geometry;
 
 import com.jogamp.opengl.GL2;
 
+import info.openrocket.core.rocketcomponent.SymmetricComponentProfile;
 import info.openrocket.core.rocketcomponent.Transition;
 
 final class TransitionRenderer {
@@ -135,6 +136,7 @@ final class TransitionRenderer {
 		
 		double ds = 1.0f / slices;
 		
+		final SymmetricComponentProfile profile = tr.getRadiusProfile();
 		z = 0.0f;
 		while (z < tr.getLength()) {
 			double t = z / tr.getLength();
@@ -145,8 +147,8 @@ final class TransitionRenderer {
 			double dz = t < 0.025 ? dzBase / 8.0 : dzBase;
 			double zNext = Math.min(z + dz, tr.getLength());
 			
-			r = Math.max(0, tr.getRadius(z) + offsetRadius);
-			double rNext = Math.max(0, tr.getRadius(zNext) + offsetRadius);
+			r = Math.max(0, profile.interpolateRadius(z) + offsetRadius);
+			double rNext = Math.max(0, profile.interpolateRadius(zNext) + offsetRadius);
 			
 			// Z component of normal vectors
 			nz = (r - rNext) / dz;
@@ -0,0 +1,569 @@
+package info.openrocket.swing.gui.figure3d.geometry;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.jogamp.opengl.GL;
+import com.jogamp.opengl.GL2;
+import com.jogamp.opengl.GLAutoDrawable;
+import com.jogamp.opengl.glu.GLU;
+import com.jogamp.opengl.glu.GLUtessellator;
+import com.jogamp.opengl.glu.GLUtessellatorCallback;
+import com.jogamp.opengl.glu.GLUtessellatorCallbackAdapter;
+
+import info.openrocket.core.rocketcomponent.AxialStage;
+import info.openrocket.core.rocketcomponent.BodyTube;
+import info.openrocket.core.rocketcomponent.EllipticalFinSet;
+import info.openrocket.core.rocketcomponent.FinSet;
+import info.openrocket.core.rocketcomponent.FinSetGeometry;
+import info.openrocket.core.rocketcomponent.InnerTube;
+import info.openrocket.core.rocketcomponent.InsideColorComponent;
+import info.openrocket.core.rocketcomponent.LaunchLug;
+import info.openrocket.core.rocketcomponent.ParallelStage;
+import info.openrocket.core.rocketcomponent.PodSet;
+import info.openrocket.core.rocketcomponent.RingComponent;
+import info.openrocket.core.rocketcomponent.RocketComponent;
+import info.openrocket.core.rocketcomponent.SymmetricComponentProfile;
+import info.openrocket.core.rocketcomponent.Transition;
+import info.openrocket.core.rocketcomponent.Transition.Shape;
+import info.openrocket.core.rocketcomponent.TubeFinSet;
+import info.openrocket.core.util.BoundingBox;
+import info.openrocket.core.util.Coordinate;
+import info.openrocket.swing.gui.figure3d.geometry.Geometry.Surface;
+
+/**
+ * A component renderer that draws components from vertex buffer objects.
+ * <p>
+ * The triangles and normals of each component surface are generated once, on the CPU,
+ * and uploaded to a buffer object.  Meshes are cached per component and tagged with the
+ * component modification ID, so they are only regenerated when the component (or
+ * something it depends on) changes.  All instances of a component (fin sets, clustered
+ * inner tubes, pods) share the same buffer; each instance only costs a matrix change and
+ * a single draw call.
+ * <p>
+ * Only fixed-function OpenGL 1.5 features are used, so this works with software renderers
+ * such as Mesa.  Components without a mesh generator (mass objects, rail buttons, ...)
+ * fall back to display lists.
+ */
+public class VertexBufferComponentRenderer extends DisplayListComponentRenderer {
+
+	private Map<RocketComponent, CachedMeshes> oldMeshes = new HashMap<RocketComponent, CachedMeshes>();
+	private Map<RocketComponent, CachedMeshes> meshes = new HashMap<RocketComponent, CachedMeshes>();
+
+	@Override
+	public void updateFigure(GLAutoDrawable drawable) {
+		super.updateFigure(drawable);
+
+		GL2 gl = drawable.getGL().getGL2();
+		for (CachedMeshes m : oldMeshes.values()) {
+			m.dispose(gl);
+		}
+		oldMeshes = meshes;
+		meshes = new HashMap<RocketComponent, CachedMeshes>();
+	}
+
+	@Override
+	public void dispose(GLAutoDrawable drawable) {
+		GL2 gl = drawable.getGL().getGL2();
+		for (CachedMeshes m : oldMeshes.values()) {
+			m.dispose(gl);
+		}
+		for (CachedMeshes m : meshes.values()) {
+			m.dispose(gl);
+		}
+		oldMeshes.clear();
+		meshes.clear();
+		super.dispose(drawable);
+	}
+
+	@Override
+	protected void renderInstance(GL2 gl, RocketComponent c, Surface which) {
+		if (!c.isVisible()) {
+			return;
+		}
+
+		CachedMeshes cached = meshes.get(c);
+		if (cached == null) {
+			// Rescue the meshes from the previous generation
+			cached = oldMeshes.remove(c);
+			if (cached != null) {
+				meshes.put(c, cached);
+			}
+		}
+		if (cached != null && cached.modID != c.getModID()) {
+			cached.dispose(gl);
+			cached = null;
+		}
+		if (cached == null) {
+			cached = new CachedMeshes(c.getModID());
+			meshes.put(c, cached);
+		}
+
+		if (!cached.surfaces.containsKey(which)) {
+			cached.surfaces.put(which, buildMesh(c, which));
+		}
+		Mesh mesh = cached.surfaces.get(which);
+		if (mesh != null) {
+			mesh.draw(gl);
+		} else {
+			super.renderInstance(gl, c, which);
+		}
+	}
+
+	/**
+	 * Generate the mesh of a component surface.
+	 *
+	 * @return	the mesh, or null if the component has no mesh generator
+	 */
+	private Mesh buildMesh(RocketComponent c, Surface which) {
+		MeshBuilder b = new MeshBuilder();
+
+		if (c instanceof BodyTube) {
+			BodyTube t = (BodyTube) c;
+			buildTube(b, which, t.getOuterRadius(), t.getInnerRadius(), t.getLength());
+		} else if (c instanceof InnerTube) {
+			InnerTube t = (InnerTube) c;
+			buildTube(b, which, t.getOuterRadius(), t.getInnerRadius(), t.getLength());
+		} else if (c instanceof LaunchLug) {
+			LaunchLug t = (LaunchLug) c;
+			buildTube(b, which, t.getOuterRadius(), t.getInnerRadius(), t.getLength());
+		} else if (c instanceof RingComponent) {
+			if (which == Surface.OUTSIDE)
+				buildRing(b, (RingComponent) c);
+		} else if (c instanceof Transition) {
+			buildTransition(b, (Transition) c, which);
+		} else if (c instanceof FinSet) {
+			buildFinSet(b, (FinSet) c, which);
+		} else if (c instanceof TubeFinSet) {
+			TubeFinSet fs = (TubeFinSet) c;
+			b.pushMatrix();
+			b.translate(0, fs.getOuterRadius(), 0);
+			buildTube(b, which, fs.getOuterRadius(), fs.getInnerRadius(), fs.getLength());
+			b.popMatrix();
+		} else if (c instanceof AxialStage || c instanceof ParallelStage || c instanceof PodSet) {
+			// Assemblies have no geometry of their own
+		} else {
+			return null;
+		}
+
+		return b.build();
+	}
+
+	private void buildTube(final MeshBuilder b, final Surface which, final double oR, final double iR, final double len) {
+		b.pushMatrix();
+		//outside
+		b.rotate(90, 0, 1.0, 0);
+		if (which == Surface.OUTSIDE)
+			cylinder(b, oR, oR, len, LOD, 1, false);
+
+		//edges
+		b.rotate(180, 0, 1.0, 0);
+		if (which == Surface.EDGES)
+			disk(b, iR, oR, LOD, 2, false);
+
+		b.rotate(180, 0, 1.0, 0);
+		b.translate(0, 0, len);
+		if (which == Surface.EDGES)
+			disk(b, iR, oR, LOD, 2, false);
+
+		//inside
+		if (which == Surface.INSIDE)
+			cylinder(b, iR, iR, -len, LOD, 1, true);
+		b.popMatrix();
+	}
+
+	private void buildRing(final MeshBuilder b, final RingComponent r) {
+		b.rotate(90, 0, 1.0, 0);
+		cylinder(b, r.getOuterRadius(), r.getOuterRadius(), r.getLength(), LOD, 1, false);
+
+		b.rotate(180, 0, 1.0, 0);
+		disk(b, r.getInnerRadius(), r.getOuterRadius(), LOD, 2, false);
+
+		b.rotate(180, 0, 1.0, 0);
+		b.translate(0, 0, r.getLength());
+		disk(b, r.getInnerRadius(), r.getOuterRadius(), LOD, 2, false);
+
+		cylinder(b, r.getInnerRadius(), r.getInnerRadius(), -r.getLength(), LOD, 1, true);
+	}
+
+	private void buildTransition(final MeshBuilder b, final Transition t, final Surface which) {
+		if (which == Surface.OUTSIDE || which == Surface.INSIDE) {
+			b.pushMatrix();
+			b.rotate(90, 0, 1.0, 0);
+			b.setReverseWinding(which == Surface.INSIDE);
+			transitionSurface(b, t, LOD, t.getShapeType() == Shape.CONICAL ? 4 : LOD / 2,
+					which == Surface.INSIDE ? -t.getThickness() : 0);
+			b.setReverseWinding(false);
+			b.popMatrix();
+		}
+
+		if (which == Surface.EDGES || which == Surface.INSIDE) {
+			//Render aft edge
+			b.pushMatrix();
+			b.translate(t.getLength(), 0, 0);
+			b.rotate(which == Surface.EDGES ? 90 : 270, 0, 1.0, 0);
+			disk(b, Math.max(0, t.getAftRadius() - t.getThickness()), t.getAftRadius(), LOD, 2, false);
+			b.popMatrix();
+
+			// Render AFT shoulder
+			if (t.getAftShoulderLength() > 0) {
+				b.pushMatrix();
+				b.translate(t.getLength(), 0, 0);
+				double iR = (t.isFilled() || t.isAftShoulderCapped()) ? 0 : t.getAftShoulderRadius() - t.getAftShoulderThickness();
+				buildShoulder(b, which, t.getAftShoulderRadius(), iR, t.getAftShoulderLength(), t.getAftRadius());
+				b.popMatrix();
+			}
+
+			//Render Fore edge
+			b.pushMatrix();
+			b.rotate(180, 0, 1.0, 0);
+			b.rotate(which == Surface.EDGES ? 90 : 270, 0, 1.0, 0);
+			disk(b, Math.max(0, t.getForeRadius() - t.getThickness()), t.getForeRadius(), LOD, 2, false);
+			b.popMatrix();
+
+			// Render Fore shoulder
+			if (t.getForeShoulderLength() > 0) {
+				b.pushMatrix();
+				b.rotate(180, 0, 1.0, 0);
+				double iR = (t.isFilled() || t.isForeShoulderCapped()) ? 0 : t.getForeShoulderRadius() - t.getForeShoulderThickness();
+				buildShoulder(b, which, t.getForeShoulderRadius(), iR, t.getForeShoulderLength(), t.getForeRadius());
+				b.popMatrix();
+			}
+		}
+	}
+
+	private void buildShoulder(final MeshBuilder b, final Surface which, final double shoulderRadius,
+			final double innerRadius, final double length, final double edgeRadius) {
+		if (which == Surface.EDGES) {
+			buildTube(b, Surface.OUTSIDE, shoulderRadius, innerRadius, length);
+			buildTube(b, Surface.EDGES, shoulderRadius, innerRadius, length);
+			b.pushMatrix();
+			b.rotate(90, 0, 1.0, 0);
+			disk(b, shoulderRadius, edgeRadius, LOD, 2, false);
+			b.popMatrix();
+		} else {
+			buildTube(b, Surface.INSIDE, shoulderRadius, innerRadius, length);
+			b.pushMatrix();
+			b.rotate(270, 0, 1.0, 0);
+			disk(b, shoulderRadius, edgeRadius, LOD, 2, false);
+			b.popMatrix();
+		}
+	}
+
+	/**
+	 * Same tessellation as {@link TransitionRenderer#drawTransition}.
+	 */
+	private static void transitionSurface(final MeshBuilder b, final Transition tr,
+			final int slices, final int stacks, final double offsetRadius) {
+		final double da = 2.0f * Math.PI / slices;
+		final double dzBase = tr.getLength() / stacks;
+		final double ds = 1.0f / slices;
+		double lnz = 0;
+
+		final SymmetricComponentProfile profile = tr.getRadiusProfile();
+		double z = 0.0f;
+		while (z < tr.getLength()) {
+			double t = z / tr.getLength();
+			if (tr.getForeRadius() > tr.getAftRadius()) {
+				t = 1 - t;
+			}
+
+			double dz = t < 0.025 ? dzBase / 8.0 : dzBase;
+			double zNext = Math.min(z + dz, tr.getLength());
+
+			double r = Math.max(0, profile.interpolateRadius(z) + offsetRadius);
+			double rNext = Math.max(0, profile.interpolateRadius(zNext) + offsetRadius);
+
+			// Z component of normal vectors
+			double nz = (r - rNext) / dz;
+
+			double s = 0.0f;
+			b.begin(GL2.GL_QUAD_STRIP);
+			for (int i = 0; i <= slices; i++) {
+				double x = Math.sin(i == slices ? 0 : i * da);
+				double y = Math.cos(i == slices ? 0 : i * da);
+
+				if (r == 0) {
+					switch (tr.getShapeType()) {
+					case CONICAL:
+					case OGIVE:
+					case PARABOLIC:
+						normal(b, x, y, nz);
+						break;
+					case ELLIPSOID:
+					case POWER:
+					case HAACK:
+						normal(b, 0, 0, -1);
+						break;
+					}
+				} else {
+					normal(b, x, y, lnz);
+				}
+				b.texCoord(s, z / tr.getLength());
+				b.vertex(x * r, y * r, z);
+
+				normal(b, x, y, nz);
+				b.texCoord(s, zNext / tr.getLength());
+				b.vertex(x * rNext, y * rNext, zNext);
+
+				s += ds;
+			}
+			b.end();
+			lnz = nz;
+			z = zNext;
+		}
+	}
+
+	private static void normal(final MeshBuilder b, double x, double y, double z) {
+		double mag = Math.sqrt(x * x + y * y + z * z);
+		if (mag > 0.00001F) {
+			x /= mag;
+			y /= mag;
+			z /= mag;
+		}
+		b.normal(x, y, z);
+	}
+
+	private void buildFinSet(final MeshBuilder b, final FinSet finSet, final Surface which) {
+		final BoundingBox bounds = finSet.getInstanceBoundingBox();
+		final double bodyRadius = finSet.getBodyRadius();
+		final double halfThickness = finSet.getThickness() / 2.0;
+
+		// Same texture mapping as FinRenderer, which sets up the texture matrix.
+		// Mirror the right side fin texture to avoid e.g. mirrored decal text.
+		final boolean mirror = which == Surface.INSIDE &&
+				((InsideColorComponent) finSet).getInsideColorComponentHandler().isSeparateInsideOutside();
+		final double sScale = (mirror ? -1 : 1) / (bounds.max.x - bounds.min.x);
+		final double tScale = 1 / (bounds.max.y - bounds.min.y);
+		final double sOffset = -bounds.min.x;
+		final double tOffset = -bounds.min.y - bodyRadius;
+
+		final FinSetGeometry geometry = finSet.getFinGeometry();
+		final Coordinate[] finPoints = geometry.getFinPointsWithLowResRoot();
+		final Coordinate[] tabPoints = geometry.getTabPointsWithLowResRoot();
+		final boolean hasTab = finSet.getTabHeight() > 0 && finSet.getTabLength() > 0;
+
+		b.pushMatrix();
+		b.translate(0, -bodyRadius, 0);		// Move to the parent centerline
+		b.rotate(Math.toDegrees(finSet.getCantAngle()), 0, 1, 0);
+
+		GLUtessellator tess = GLU.gluNewTess();
+		GLUtessellatorCallback cb = new GLUtessellatorCallbackAdapter() {
+			@Override
+			public void vertex(Object vertexData) {
+				double[] d = (double[]) vertexData;
+				b.texCoord(sScale * (d[0] + sOffset), tScale * (d[1] + tOffset));
+				b.vertex(d[0], d[1], d[2]);
+			}
+
+			@Override
+			public void begin(int type) {
+				b.begin(type);
+			}
+
+			@Override
+			public void end() {
+				b.end();
+			}
+
+			@Override
+			public void combine(double[] coords, Object[] data, float[] weight, Object[] outData) {
+				outData[0] = new double[] { coords[0], coords[1], coords[2] };
+			}
+		};
+		GLU.gluTessCallback(tess, GLU.GLU_TESS_VERTEX, cb);
+		GLU.gluTessCallback(tess, GLU.GLU_TESS_BEGIN, cb);
+		GLU.gluTessCallback(tess, GLU.GLU_TESS_END, cb);
+		GLU.gluTessCallback(tess, GLU.GLU_TESS_COMBINE, cb);
+
+		if (which == Surface.INSIDE) {		// Right side: +z
+			b.normal(0, 0, 1);
+			if (finSet.getSpan() > 0) {
+				Coordinate[] reversed = new Coordinate[finPoints.length];
+				for (int i = 0; i < finPoints.length; i++) {
+					reversed[i] = finPoints[finPoints.length - 1 - i];
+				}
+				tessellate(tess, reversed, bodyRadius, halfThickness);
+			}
+			if (hasTab) {
+				tessellate(tess, tabPoints, bodyRadius, halfThickness);
+			}
+		} else if (which == Surface.OUTSIDE) {		// Left side: -z
+			b.normal(0, 0, -1);
+			if (finSet.getSpan() > 0) {
+				tessellate(tess, finPoints, bodyRadius, -halfThickness);
+			}
+			if (hasTab) {
+				Coordinate[] reversed = new Coordinate[tabPoints.length];
+				for (int i = 0; i < tabPoints.length; i++) {
+					reversed[i] = tabPoints[tabPoints.length - 1 - i];
+				}
+				tessellate(tess, reversed, bodyRadius, -halfThickness);
+			}
+		}
+		GLU.gluDeleteTess(tess);
+
+		if (which == Surface.EDGES) {
+			final boolean smooth = finSet instanceof EllipticalFinSet;
+			// Fin strip around the edge
+			if (finSet.getSpan() > 0) {
+				final int n = finPoints.length;
+				Coordinate[] strip = new Coordinate[n + 1];
+				Coordinate[] previous = new Coordinate[n + 1];
+				for (int i = 0; i <= n; i++) {
+					strip[i] = finPoints[i % n];
+					previous[i] = finPoints[(i - 1 + n) % n];
+				}
+				edgeStrip(b, strip, previous, smooth, bodyRadius, halfThickness, sScale, sOffset, tScale, tOffset);
+			}
+			// Tab strip around the edge
+			if (hasTab) {
+				final int n = tabPoints.length;
+				Coordinate[] strip = new Coordinate[n + 1];
+				Coordinate[] previous = new Coordinate[n + 1];
+				for (int i = 0; i <= n; i++) {
+					strip[i] = tabPoints[(n - i) % n];
+					previous[i] = tabPoints[(n - i - 1 + n) % n];
+				}
+				edgeStrip(b, strip, previous, smooth, bodyRadius, halfThickness, sScale, sOffset, tScale, tOffset);
+			}
+		}
+
+		b.popMatrix();
+	}
+
+	private static void tessellate(final GLUtessellator tess, final Coordinate[] points,
+			final double bodyRadius, final double zOffset) {
+		GLU.gluTessBeginPolygon(tess, null);
+		GLU.gluTessBeginContour(tess);
+		for (Coordinate c : points) {
+			double[] p = new double[] { c.x, c.y + bodyRadius, c.z + zOffset };
+			GLU.gluTessVertex(tess, p, 0, p);
+		}
+		GLU.gluTessEndContour(tess);
+		GLU.gluTessEndPolygon(tess);
+	}
+
+	/**
+	 * Build the edge band of a fin or tab outline.  FinRenderer draws it as a triangle strip
+	 * using flat shading for all but elliptical fins; flat shading is reproduced by giving each
+	 * segment its own vertices and face normal.
+	 */
+	private static void edgeStrip(final MeshBuilder b, final Coordinate[] strip, final Coordinate[] previous,
+			final boolean smooth, final double bodyRadius, final double halfThickness,
+			final double sScale, final double sOffset, final double tScale, final double tOffset) {
+		if (smooth) {
+			b.begin(GL.GL_TRIANGLE_STRIP);
+			for (int i = 0; i < strip.length; i++) {
+				Coordinate c = strip[i];
+				Coordinate c2 = previous[i];
+				b.normal(c2.y - c.y, c.x - c2.x, 0);
+				b.texCoord(sScale * (c.x + sOffset), tScale * (c.y + bodyRadius + tOffset));
+				b.vertex(c.x, c.y + bodyRadius, c.z - halfThickness);
+				b.vertex(c.x, c.y + bodyRadius, c.z + halfThickness);
+			}
+			b.end();
+		} else {
+			b.begin(GL2.GL_QUADS);
+			for (int i = 1; i < strip.length; i++) {
+				Coordinate c0 = strip[i - 1];
+				Coordinate c1 = strip[i];
+				Coordinate c2 = previous[i];
+				b.normal(c2.y - c1.y, c1.x - c2.x, 0);
+				b.texCoord(sScale * (c0.x + sOffset), tScale * (c0.y + bodyRadius + tOffset));
+				b.vertex(c0.x, c0.y + bodyRadius, c0.z - halfThickness);
+				b.vertex(c0.x, c0.y + bodyRadius, c0.z + halfThickness);
+				b.texCoord(sScale * (c1.x + sOffset), tScale * (c1.y + bodyRadius + tOffset));
+				b.vertex(c1.x, c1.y + bodyRadius, c1.z + halfThickness);
+				b.vertex(c1.x, c1.y + bodyRadius, c1.z - halfThickness);
+			}
+			b.end();
+		}
+	}
+
+	/**
+	 * Generate a cylinder the same way gluCylinder does with smooth normals and
+	 * texture coordinates enabled.
+	 */
+	private static void cylinder(final MeshBuilder b, final double baseRadius, final double topRadius,
+			final double height, final int slices, final int stacks, final boolean inside) {
+		final double nsign = inside ? -1 : 1;
+		final double da = 2.0 * Math.PI / slices;
+		final double dr = (topRadius - baseRadius) / stacks;
+		final double dz = height / stacks;
+		final double nz = (baseRadius - topRadius) / height;
+		final double ds = 1.0 / slices;
+		final double dt = 1.0 / stacks;
+
+		double t = 0;
+		double z = 0;
+		double r = baseRadius;
+		for (int j = 0; j < stacks; j++) {
+			double s = 0;
+			b.begin(GL.GL_TRIANGLE_STRIP);
+			for (int i = 0; i <= slices; i++) {
+				double x = Math.sin(i == slices ? 0 : i * da);
+				double y = Math.cos(i == slices ? 0 : i * da);
+				b.normal(x * nsign, y * nsign, nz * nsign);
+				b.texCoord(s, t);
+				b.vertex(x * r, y * r, z);
+				b.texCoord(s, t + dt);
+				b.vertex(x * (r + dr), y * (r + dr), z + dz);
+				s += ds;
+			}
+			b.end();
+			r += dr;
+			t += dt;
+			z += dz;
+		}
+	}
+
+	/**
+	 * Generate a disk the same way gluDisk does with texture coordinates enabled.
+	 */
+	private static void disk(final MeshBuilder b, final double innerRadius, final double outerRadius,
+			final int slices, final int loops, final boolean inside) {
+		final double da = 2.0 * Math.PI / slices;
+		final double dr = (outerRadius - innerRadius) / loops;
+		final double dtc = 2.0 * outerRadius;
+
+		b.normal(0, 0, inside ? -1 : 1);
+		double r1 = innerRadius;
+		for (int l = 0; l < loops; l++) {
+			double r2 = r1 + dr;
+			b.begin(GL.GL_TRIANGLE_STRIP);
+			for (int k = 0; k <= slices; k++) {
+				int i = inside ? slices - k : k;
+				double a = (i == slices) ? 0 : i * da;
+				double sa = Math.sin(a);
+				double ca = Math.cos(a);
+				double sign = inside ? -1 : 1;
+				b.texCoord(0.5 + sign * sa * r2 / dtc, 0.5 + ca * r2 / dtc);
+				b.vertex(r2 * sa, r2 * ca, 0);
+				b.texCoord(0.5 + sign * sa * r1 / dtc, 0.5 + ca * r1 / dtc);
+				b.vertex(r1 * sa, r1 * ca, 0);
+			}
+			b.end();
+			r1 = r2;
+		}
+	}
+
+	private static class CachedMeshes {
+		final int modID;
+		final Map<Surface, Mesh> surfaces = new EnumMap<Surface, Mesh>(Surface.class);
+
+		CachedMeshes(final int modID) {
+			this.modID = modID;
+		}
+
+		void dispose(GL2 gl) {
+			for (Mesh m : surfaces.values()) {
+				if (m != null) {
+					m.dispose(gl);
+				}
+			}
+			surfaces.clear();
+		}
+	}
+}
@@ -85,6 +85,7 @@ import info.openrocket.swing.gui.adaptors.ColumnTableModel;
 import info.openrocket.swing.gui.adaptors.ColumnTableRowSorter;
 import info.openrocket.swing.gui.adaptors.ValueColumn;
 import info.openrocket.swing.gui.components.StyledLabel;
+import info.openrocket.swing.gui.simulation.ConfigurationSweepDialog;
 import info.openrocket.swing.gui.simulation.SimulationRunDialog;
 import info.openrocket.swing.gui.util.Icons;
 import info.openrocket.swing.gui.widgets.IconButton;
@@ -120,6 +121,7 @@ public class SimulationPanel extends JPanel {
 	private final SimulationAction copySimulationAction;
 	private final SimulationAction pasteSimulationAction;
 	private final SimulationAction runSimulationAction;
+	private final SimulationAction simulateAllConfigurationsAction;
 	private final SimulationAction plotSimulationAction;
 	private final SimulationAction duplicateSimulationAction;
 	private final SimulationAction deleteSimulationAction;
@@ -139,7 +141,7 @@ public class SimulationPanel extends JPanel {
 	}
 
 	public SimulationPanel(Window parent, OpenRocketDocument doc) {
-		super(new MigLayout("fill", "[grow][][][][][][grow]"));
+		super(new MigLayout("fill", "[grow][][][][][][][grow]"));
 
 		this.parent = parent;
 		this.document = doc;
@@ -152,6 +154,7 @@ public class SimulationPanel extends JPanel {
 		copySimulationAction = new CopySimulationAction();
 		pasteSimulationAction = new PasteSimulationAction();
 		runSimulationAction = new RunSimulationAction();
+		simulateAllConfigurationsAction = new SimulateAllConfigurationsAction();
 		plotSimulationAction = new PlotSimulationAction();
 		duplicateSimulationAction = new DuplicateSimulationAction();
 		deleteSimulationAction = new DeleteSimulationAction();
@@ -187,7 +190,13 @@ public class SimulationPanel extends JPanel {
 		//// Plot / export button
 		plotButton = new IconButton();
 		RocketActions.tieActionToButton(plotButton, plotSimulationAction, trans.get("simpanel.but.plotexport"));
-		this.add(plotButton, "wrap para");
+		this.add(plotButton, "gapright para");
+
+		//// Simulate all flight configurations
+		JButton simulateAllButton = new IconButton();
+		RocketActions.tieActionToButton(simulateAllButton, simulateAllConfigurationsAction,
+				trans.get("simpanel.pop.runAllConfigurations"));
+		this.add(simulateAllButton, "wrap para");
 
 		//// Run then Dump simulations
 		simTableExportButton = new IconButton();
@@ -228,6 +237,7 @@ public class SimulationPanel extends JPanel {
 		pm.add(deleteSimulationAction);
 		pm.addSeparator();
 		pm.add(runSimulationAction);
+		pm.add(simulateAllConfigurationsAction);
 		pm.add(plotSimulationAction);
 		pm.add(selectedSimsExportAction);
 
@@ -736,6 +746,7 @@ public class SimulationPanel extends JPanel {
 		duplicateSimulationAction.updateEnabledState();
 		deleteSimulationAction.updateEnabledState();
 		runSimulationAction.updateEnabledState();
+		simulateAllConfigurationsAction.updateEnabledState();
 		plotSimulationAction.updateEnabledState();
 		simTableExportAction.updateEnabledState();
 		selectedSimsExportAction.updateEnabledState();
@@ -1097,6 +1108,34 @@ public class SimulationPanel extends JPanel {
 		}
 	}
 
+	class SimulateAllConfigurationsAction extends SimulationAction {
+		public SimulateAllConfigurationsAction() {
+			this.putValue(NAME, trans.get("simpanel.pop.runAllConfigurations"));
+			this.putValue(SHORT_DESCRIPTION, trans.get("simpanel.pop.runAllConfigurations.ttip"));
+			this.putValue(SMALL_ICON, Icons.SIM_RUN);
+		}
+
+		@Override
+		public void actionPerformed(ActionEvent e) {
+			// Use the options of the selected simulation, or of the first one
+			Simulation template = null;
+			int selected = simulationTable.getSelectedRow();
+			if (selected >= 0) {
+				template = document.getSimulations().get(simulationTable.convertRowIndexToModel(selected));
+			} else if (document.getSimulationCount() > 0) {
+				template = document.getSimulation(0);
+			}
+			new ConfigurationSweepDialog(SwingUtilities.getWindowAncestor(SimulationPanel.this), document, template)
+					.setVisible(true);
+			simulationTableModel.fireTableDataChanged();
+		}
+
+		@Override
+		public void updateEnabledState() {
+			this.setEnabled(document.getRocket().getConfigurationCount() > 0);
+		}
+	}
+
 	class PlotSimulationAction extends SimulationAction {
 		public PlotSimulationAction() {
 			this.putValue(NAME, trans.get("simpanel.pop.plot"));
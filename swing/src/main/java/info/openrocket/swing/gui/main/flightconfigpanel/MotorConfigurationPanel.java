@@ -38,6 +38,7 @@ import info.openrocket.core.rocketcomponent.InnerTube;
 import info.openrocket.core.rocketcomponent.MotorMount;
 import info.openrocket.core.rocketcomponent.Rocket;
 import info.openrocket.core.rocketcomponent.RocketComponent;
+import info.openrocket.core.simulation.MotorSweep;
 import info.openrocket.core.unit.UnitGroup;
 import info.openrocket.core.util.ArrayList;
 import info.openrocket.core.util.Chars;
@@ -46,6 +47,7 @@ import net.miginfocom.swing.MigLayout;
 import info.openrocket.swing.gui.dialogs.flightconfiguration.IgnitionSelectionDialog;
 import info.openrocket.swing.gui.dialogs.flightconfiguration.MotorMountConfigurationPanel;
 import info.openrocket.swing.gui.dialogs.motor.MotorChooserDialog;
+import info.openrocket.swing.gui.dialogs.motor.MotorSweepDialog;
 import info.openrocket.swing.gui.main.FlightConfigurationPanel;
 import info.openrocket.swing.gui.widgets.SelectColorButton;
 
@@ -54,7 +56,7 @@ public class MotorConfigurationPanel extends FlightConfigurablePanel<MotorMount>
 
 	private static final String NONE = trans.get("edtmotorconfdlg.tbl.None");
 
-	private final JButton selectMotorButton, deleteMotorButton, selectIgnitionButton, resetIgnitionButton;
+	private final JButton selectMotorButton, deleteMotorButton, motorSweepButton, selectIgnitionButton, resetIgnitionButton;
 
 	private final JPanel cards;
 	private final static String HELP_LABEL = "help";
@@ -89,6 +91,7 @@ public class MotorConfigurationPanel extends FlightConfigurablePanel<MotorMount>
 		// Get all the actions
 		AbstractAction selectMotorAction = new SelectMotorAction();
 		AbstractAction deleteMotorAction = new DeleteMotorAction();
+		AbstractAction motorSweepAction = new MotorSweepAction();
 		AbstractAction selectIgnitionAction = new SelectIgnitionAction();
 		AbstractAction resetIgnitionAction = new ResetIgnitionAction();
 		AbstractAction renameConfigAction = flightConfigurationPanel.getRenameConfigAction();
@@ -99,6 +102,7 @@ public class MotorConfigurationPanel extends FlightConfigurablePanel<MotorMount>
 		popupMenuFull = new JPopupMenu();
 		popupMenuFull.add(selectMotorAction);
 		popupMenuFull.add(deleteMotorAction);
+		popupMenuFull.add(motorSweepAction);
 		popupMenuFull.addSeparator();
 		popupMenuFull.add(selectIgnitionAction);
 		popupMenuFull.add(resetIgnitionAction);
@@ -125,6 +129,10 @@ public class MotorConfigurationPanel extends FlightConfigurablePanel<MotorMount>
 		deleteMotorButton = new SelectColorButton(deleteMotorAction);
 		configurationPanel.add(deleteMotorButton, "sizegroup button");
 
+		//// Motor sweep button
+		motorSweepButton = new SelectColorButton(motorSweepAction);
+		configurationPanel.add(motorSweepButton, "sizegroup button");
+
 		//// Select Ignition button
 		selectIgnitionButton = new SelectColorButton(selectIgnitionAction);
 		configurationPanel.add(selectIgnitionButton, "sizegroup button, gapleft para");
@@ -278,12 +286,14 @@ public class MotorConfigurationPanel extends FlightConfigurablePanel<MotorMount>
 			boolean haveSelection = (null != getSelectedComponent());
 			selectMotorButton.setEnabled( haveSelection );
 			deleteMotorButton.setEnabled( haveSelection );
+			motorSweepButton.setEnabled( haveSelection );
 			selectIgnitionButton.setEnabled( haveSelection );
 			resetIgnitionButton.setEnabled( haveSelection );
 		} else {
 			showEmptyText();
 			selectMotorButton.setEnabled(false);
 			deleteMotorButton.setEnabled(false);
+			motorSweepButton.setEnabled(false);
 			selectIgnitionButton.setEnabled(false);
 			resetIgnitionButton.setEnabled(false);
 		}
@@ -359,6 +369,34 @@ public class MotorConfigurationPanel extends FlightConfigurablePanel<MotorMount>
 		fireTableDataChanged(ComponentChangeEvent.MOTOR_CHANGE, fcIds.toArray(new FlightConfigurationId[0]));
 	}
 
+	private void motorSweep() {
+		MotorMount mount = getSelectedComponent();
+		FlightConfigurationId fcId = getSelectedConfigurationId();
+		if ((mount == null) || (fcId == null) || fcId.equals(FlightConfigurationId.DEFAULT_VALUE_FCID)) {
+			return;
+		}
+
+		MotorSweepDialog dialog = new MotorSweepDialog(SwingUtilities.getWindowAncestor(flightConfigurationPanel),
+				document, mount, fcId);
+		dialog.setVisible(true);
+
+		MotorSweep.Result result = dialog.getSelectedResult();
+		if (result == null) {
+			table.requestFocusInWindow();
+			return;
+		}
+
+		document.addUndoPosition("Select motor");
+
+		final MotorConfiguration templateConfig = mount.getMotorConfig(fcId);
+		final MotorConfiguration newConfig = new MotorConfiguration(mount, fcId, templateConfig);
+		newConfig.setMotor(result.getMotor());
+		newConfig.setEjectionDelay(result.getDelay());
+		mount.setMotorConfig(newConfig, fcId);
+
+		fireTableDataChanged(ComponentChangeEvent.MOTOR_CHANGE, new FlightConfigurationId[] { fcId });
+	}
+
 	private void selectIgnition() {
 		List<MotorMount> mounts = getSelectedComponents();
 		List<FlightConfigurationId> fcIds = getSelectedConfigurationIds();
@@ -474,6 +512,17 @@ public class MotorConfigurationPanel extends FlightConfigurablePanel<MotorMount>
 		}
 	}
 
+	private class MotorSweepAction extends AbstractAction {
+		public MotorSweepAction() {
+			putValue(NAME, trans.get("MotorConfigurationPanel.btn.motorSweep"));
+		}
+
+		@Override
+		public void actionPerformed(ActionEvent e) {
+			motorSweep();
+		}
+	}
+
 	private class SelectIgnitionAction extends AbstractAction {
 		public SelectIgnitionAction() {
 			putValue(NAME, trans.get("MotorConfigurationPanel.btn.selectIgnition"));
@@ -4,6 +4,7 @@
 package info.openrocket.swing.gui.print;
 
 import info.openrocket.core.rocketcomponent.FinSet;
+import info.openrocket.core.rocketcomponent.FinSetGeometry;
 import info.openrocket.core.util.Coordinate;
 
 import java.awt.Graphics2D;
@@ -50,8 +51,9 @@ public class PrintableFinSet extends AbstractPrintable<FinSet> {
      */
     protected void init (FinSet component) {
 
-        Coordinate[] points = component.getFinPointsWithRoot();
-        Coordinate[] tabPoints = component.getTabPointsWithRoot();
+        final FinSetGeometry geometry = component.getFinGeometry();
+        Coordinate[] points = geometry.getFinPointsWithRoot();
+        Coordinate[] tabPoints = geometry.getTabPointsWithRoot();
 
         finPolygon = new GeneralPath(GeneralPath.WIND_NON_ZERO, points.length);
         finTabPolygon = new GeneralPath(GeneralPath.WIND_NON_ZERO, tabPoints.length);
@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 
 import info.openrocket.core.rocketcomponent.FinSet;
+import info.openrocket.core.rocketcomponent.FinSetGeometry;
 import info.openrocket.core.rocketcomponent.RocketComponent;
 import info.openrocket.core.util.Coordinate;
 import info.openrocket.core.util.MathUtil;
@@ -38,9 +39,10 @@ public class FinSetShapes extends RocketComponentShapes {
 
         final Transformation compositeTransform = transformation.applyTransformation(cantRotation);
 		
-		Coordinate[] finPoints = finset.getFinPoints();
-        Coordinate[] tabPoints = finset.getTabPointsWithRoot();
-        Coordinate[] rootPoints = finset.getRootPoints();
+		final FinSetGeometry geometry = finset.getFinGeometry();
+		Coordinate[] finPoints = geometry.getFinPoints();
+        Coordinate[] tabPoints = geometry.getTabPointsWithRoot();
+        Coordinate[] rootPoints = geometry.getRootPoints();
 
 		// Translate & rotate points into place
         finPoints = compositeTransform.transform( finPoints );
@@ -113,7 +115,7 @@ public class FinSetShapes extends RocketComponentShapes {
 		cTab[3]=new Coordinate(0, -tabHeight,-thickness/2);
 
 		// y translate the back view (if there is a fin point with non-zero y value)
-		Coordinate[] points = finset.getFinPoints();
+		Coordinate[] points = finset.getFinGeometry().getFinPoints();
 		double yOffset = Double.MAX_VALUE;
 		for (Coordinate point : points) {
 			yOffset = MathUtil.min(yOffset, point.y);
@@ -157,7 +159,7 @@ public class FinSetShapes extends RocketComponentShapes {
 		Coordinate[] backPoints;
 		int maxIndex;
 
-		Coordinate[] points = finset.getFinPoints();
+		Coordinate[] points = finset.getFinGeometry().getFinPoints();
 		
 		// this loop finds the index @ max-y, as visible from the back
 		for (maxIndex = points.length-1; maxIndex > 0; maxIndex--) {
@@ -208,7 +210,7 @@ public class FinSetShapes extends RocketComponentShapes {
 		Coordinate[] backPoints;
 		int minIndex;
 
-		Coordinate[] points = finset.getTabPointsWithRoot();
+		Coordinate[] points = finset.getFinGeometry().getTabPointsWithRoot();
 
 		// this loop finds the index @ min-y, as visible from the back
 		for (minIndex = points.length-1; minIndex > 0; minIndex--) {
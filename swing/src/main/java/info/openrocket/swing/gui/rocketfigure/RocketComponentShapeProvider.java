@@ -3,11 +3,15 @@ package info.openrocket.swing.gui.rocketfigure;
 import info.openrocket.core.rocketcomponent.RocketComponent;
 import info.openrocket.core.util.Transformation;
 
+import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class RocketComponentShapeProvider {
 	private static RocketComponentShapeProvider provider;
 	private final ServiceLoader<RocketComponentShapeService> loader;
+	// Service found for each component class, so the loader is iterated only once per class
+	private final Map<Class<?>, RocketComponentShapeService> services = new ConcurrentHashMap<>();
 
 	private RocketComponentShapeProvider() {
 		loader = ServiceLoader.load(RocketComponentShapeService.class);
@@ -32,12 +36,18 @@ public class RocketComponentShapeProvider {
 
 	private static RocketComponentShapeService findShapeService(RocketComponent component) {
 		RocketComponentShapeProvider provider = getInstance();
+		RocketComponentShapeService cached = provider.services.get(component.getClass());
+		if (cached != null) {
+			return cached;
+		}
+
 		ServiceLoader<RocketComponentShapeService> loader = provider.loader;
 		Class<?> componentClass = component.getClass();
 
 		while (componentClass != null && componentClass != Object.class) {
 			for (RocketComponentShapeService service : loader) {
 				if (service.getShapeClass().equals(componentClass)) {
+					provider.services.put(component.getClass(), service);
 					return service;
 				}
 			}
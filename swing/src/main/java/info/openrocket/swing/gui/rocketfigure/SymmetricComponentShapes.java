@@ -2,6 +2,7 @@ package info.openrocket.swing.gui.rocketfigure;
 
 import info.openrocket.core.rocketcomponent.RocketComponent;
 import info.openrocket.core.rocketcomponent.SymmetricComponent;
+import info.openrocket.core.rocketcomponent.SymmetricComponentProfile;
 import info.openrocket.core.util.Coordinate;
 import info.openrocket.core.util.MathUtil;
 import info.openrocket.core.util.Transformation;
@@ -11,7 +12,6 @@ import java.util.ArrayList;
 
 
 public class SymmetricComponentShapes extends RocketComponentShapes {
-	private static final int MINPOINTS = 91;
 	private static final double ACCEPTABLE_ANGLE = Math.cos(7.0 * Math.PI / 180.0);
 	
 	// TODO: HIGH: adaptiveness sucks, remove it.
@@ -38,13 +38,13 @@ public class SymmetricComponentShapes extends RocketComponentShapes {
 		final double delta = 0.0000001;
 		double x;
 		
+		// Start from the radius profile of the component, its straight parts need no intermediate points
+		final SymmetricComponentProfile profile = c.getRadiusProfile();
 		ArrayList<Coordinate> points = new ArrayList<Coordinate>();
 		x = delta;
 		points.add(new Coordinate(x, c.getRadius(x), 0));
-		for (i = 1; i < MINPOINTS - 1; i++) {
-			x = c.getLength() * i / (MINPOINTS - 1);
-			points.add(new Coordinate(x, c.getRadius(x), 0));
-			//System.out.println("Starting with x="+x);
+		for (i = 1; i < profile.getPointCount() - 1; i++) {
+			points.add(new Coordinate(profile.getX(i), profile.getRadius(i), 0));
 		}
 		x = c.getLength() - delta;
 		points.add(new Coordinate(x, c.getRadius(x), 0));
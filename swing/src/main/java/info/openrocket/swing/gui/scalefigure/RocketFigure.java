@@ -1,10 +1,13 @@
 package info.openrocket.swing.gui.scalefigure;
 
 
+import java.awt.AlphaComposite;
 import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsDevice;
 import java.awt.Point;
 import java.awt.Rectangle;
 import java.awt.RenderingHints;
@@ -14,6 +17,7 @@ import java.awt.geom.Ellipse2D;
 import java.awt.geom.NoninvertibleTransformException;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
 import java.util.*;
 import java.util.Map.Entry;
 
@@ -92,6 +96,23 @@ public class RocketFigure extends AbstractScaleFigure {
 			Comparator.comparingInt(o -> -o.component.getDisplayOrder_side()));
 	private final PriorityQueue<RocketComponentShapes> figureShapes_back = new PriorityQueue<>(
 			Comparator.comparingInt(o -> -o.component.getDisplayOrder_back()));
+
+	/**
+	 * The shapes of each component instance, reused across repaints until the modification ID
+	 * of the component changes.  Entries that are not used during a shape update are dropped.
+	 */
+	private Map<ShapeKey, CachedShapes> shapeCache = new HashMap<>();
+
+	/**
+	 * The components and motors rendered into an image of the visible region, so that a repaint
+	 * that only changes the extras does not redraw the rocket.  Invalidated by {@link #updateFigure()}
+	 * and whenever the projection, the visible region or the device scaling changes.
+	 */
+	private BufferedImage componentLayer = null;
+	private AffineTransform componentLayerProjection = null;
+	private Rectangle componentLayerBounds = null;
+	private double componentLayerScaleX = 0;
+	private double componentLayerScaleY = 0;
 	
 	
 	private final ArrayList<FigureElement> relativeExtra = new ArrayList<FigureElement>();
@@ -250,8 +271,105 @@ public class RocketFigure extends AbstractScaleFigure {
         
         updateShapes(figureShapes);
 
-		g2.transform(projection);
+		if (isScreenDevice(g2)) {
+			paintComponentLayer(g2, baseTransform, figureShapes);
+			g2.transform(projection);
+		} else {
+			// Printing and exporting get vector output
+			g2.transform(projection);
+			paintComponents(g2, figureShapes);
+		}
+
+		// Draw relative extras
+		if (drawCarets) {
+			for (FigureElement e : relativeExtra) {
+				e.paint(g2, scale);
+			}
+		}
+
 		
+		// Draw absolute extras
+		g2.setTransform(baseTransform);
+		Rectangle rect = this.getVisibleRect();
+		
+		for (FigureElement e : absoluteExtra) {
+			e.paint(g2, 1.0, rect);
+		}
+		
+	}
+
+	@Override
+	public void updateFigure() {
+		componentLayer = null;
+		super.updateFigure();
+	}
+
+	private static boolean isScreenDevice(Graphics2D g2) {
+		GraphicsConfiguration gc = g2.getDeviceConfiguration();
+		return gc != null && gc.getDevice().getType() == GraphicsDevice.TYPE_RASTER_SCREEN;
+	}
+
+	/**
+	 * Draw the components and motors from the cached component layer, rendering the layer
+	 * first if it is out of date.
+	 *
+	 * @param g2 the graphics to draw to
+	 * @param baseTransform the transformation of the graphics, including the device scaling
+	 * @param figureShapes the component shapes to draw
+	 */
+	private void paintComponentLayer(Graphics2D g2, AffineTransform baseTransform,
+									 PriorityQueue<RocketComponentShapes> figureShapes) {
+		final Rectangle visible = getVisibleRect();
+		if (visible.isEmpty()) {
+			return;
+		}
+		final double scaleX = Math.abs(baseTransform.getScaleX());
+		final double scaleY = Math.abs(baseTransform.getScaleY());
+		if (scaleX == 0 || scaleY == 0) {
+			return;
+		}
+
+		if (componentLayer == null || !projection.equals(componentLayerProjection) ||
+				!visible.equals(componentLayerBounds) ||
+				scaleX != componentLayerScaleX || scaleY != componentLayerScaleY) {
+			final int width = (int) Math.ceil(visible.width * scaleX);
+			final int height = (int) Math.ceil(visible.height * scaleY);
+			BufferedImage image = componentLayer;
+			if (image == null || image.getWidth() != width || image.getHeight() != height) {
+				image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+			}
+
+			Graphics2D ig = image.createGraphics();
+			try {
+				ig.setComposite(AlphaComposite.Clear);
+				ig.fillRect(0, 0, width, height);
+				ig.setComposite(AlphaComposite.SrcOver);
+				ig.scale(scaleX, scaleY);
+				ig.translate(-visible.x, -visible.y);
+				ig.transform(projection);
+				paintComponents(ig, figureShapes);
+			} finally {
+				ig.dispose();
+			}
+
+			componentLayer = image;
+			componentLayerProjection = new AffineTransform(projection);
+			componentLayerBounds = visible;
+			componentLayerScaleX = scaleX;
+			componentLayerScaleY = scaleY;
+		}
+
+		g2.drawImage(componentLayer,
+				new AffineTransform(1 / scaleX, 0, 0, 1 / scaleY, visible.x, visible.y), null);
+	}
+
+	/**
+	 * Draw the component shapes and the motors.
+	 *
+	 * @param g2 the graphics to draw to, transformed to model coordinates
+	 * @param figureShapes the component shapes to draw
+	 */
+	private void paintComponents(Graphics2D g2, PriorityQueue<RocketComponentShapes> figureShapes) {
 		// Set rendering hints appropriately
 		g2.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL,
 				RenderingHints.VALUE_STROKE_NORMALIZE);
@@ -361,24 +479,6 @@ public class RocketFigure extends AbstractScaleFigure {
 				}
 			}
 		}
-		
-
-		// Draw relative extras
-		if (drawCarets) {
-			for (FigureElement e : relativeExtra) {
-				e.paint(g2, scale);
-			}
-		}
-
-		
-		// Draw absolute extras
-		g2.setTransform(baseTransform);
-		Rectangle rect = this.getVisibleRect();
-		
-		for (FigureElement e : absoluteExtra) {
-			e.paint(g2, 1.0, rect);
-		}
-		
 	}
 	
 	public RocketComponent[] getComponentsByPoint(double x, double y) {
@@ -418,11 +518,17 @@ public class RocketFigure extends AbstractScaleFigure {
 		// allShapes is an output buffer -- it stores all the generated shapes
 		allShapes.clear();
 
-		addShapesFromInstanceEntries(allShapes, config.getActiveInstances().entrySet());
-		addShapesFromInstanceEntries(allShapes, config.getExtraRenderInstances().entrySet());
+		// Shapes that are not used during this update are dropped from the cache
+		final Map<ShapeKey, CachedShapes> previousCache = shapeCache;
+		shapeCache = new HashMap<>();
+
+		addShapesFromInstanceEntries(allShapes, previousCache, config.getActiveInstances().entrySet());
+		addShapesFromInstanceEntries(allShapes, previousCache, config.getExtraRenderInstances().entrySet());
 	}
 
-	private void addShapesFromInstanceEntries(PriorityQueue<RocketComponentShapes> allShapes, Set<Entry<RocketComponent, ArrayList<InstanceContext>>> entries) {
+	private void addShapesFromInstanceEntries(PriorityQueue<RocketComponentShapes> allShapes,
+											  Map<ShapeKey, CachedShapes> previousCache,
+											  Set<Entry<RocketComponent, ArrayList<InstanceContext>>> entries) {
 		for (Entry<RocketComponent, ArrayList<InstanceContext>> entry : entries) {
 			final RocketComponent comp = entry.getKey();
 
@@ -444,11 +550,64 @@ public class RocketFigure extends AbstractScaleFigure {
 
 			for (InstanceContext context : contextList) {
 				final Transformation currentTransform = getFigureRotation().applyTransformation(context.transform);
-				allShapes = addThisShape(allShapes, this.currentViewType, comp, currentTransform);
+				final ShapeKey key = new ShapeKey(comp, this.currentViewType, currentTransform);
+
+				CachedShapes cached = shapeCache.get(key);
+				if (cached == null) {
+					cached = previousCache.get(key);
+				}
+				if (cached == null || cached.modID != comp.getModID()) {
+					PriorityQueue<RocketComponentShapes> shapes = new PriorityQueue<>(allShapes.comparator());
+					addThisShape(shapes, this.currentViewType, comp, currentTransform);
+					cached = new CachedShapes(comp.getModID(), shapes.toArray(new RocketComponentShapes[0]));
+				}
+				shapeCache.put(key, cached);
+				allShapes.addAll(Arrays.asList(cached.shapes));
 			}
 		}
 	}
 
+	/**
+	 * Cache key of the shapes of a single component instance.
+	 */
+	private static class ShapeKey {
+		private final RocketComponent component;
+		private final RocketPanel.VIEW_TYPE viewType;
+		private final Transformation transformation;
+
+		ShapeKey(RocketComponent component, RocketPanel.VIEW_TYPE viewType, Transformation transformation) {
+			this.component = component;
+			this.viewType = viewType;
+			this.transformation = transformation;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof ShapeKey))
+				return false;
+			ShapeKey other = (ShapeKey) obj;
+			return component == other.component && viewType == other.viewType &&
+					transformation.equals(other.transformation);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(System.identityHashCode(component), viewType, transformation);
+		}
+	}
+
+	private static class CachedShapes {
+		private final int modID;
+		private final RocketComponentShapes[] shapes;
+
+		CachedShapes(int modID, RocketComponentShapes[] shapes) {
+			this.modID = modID;
+			this.shapes = shapes;
+		}
+	}
+
 	/**
 	 * Gets the shapes required to draw the component.
 	 *
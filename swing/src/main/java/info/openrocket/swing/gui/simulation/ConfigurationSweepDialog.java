@@ -0,0 +1,334 @@
+package info.openrocket.swing.gui.simulation;
+
+import java.awt.Dialog;
+import java.awt.Dimension;
+import java.awt.Toolkit;
+import java.awt.Window;
+import java.awt.datatransfer.StringSelection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+
+import javax.swing.JButton;
+import javax.swing.JDialog;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JProgressBar;
+import javax.swing.JScrollPane;
+import javax.swing.JSpinner;
+import javax.swing.JTable;
+import javax.swing.SpinnerNumberModel;
+import javax.swing.SwingWorker;
+
+import net.miginfocom.swing.MigLayout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import info.openrocket.core.document.OpenRocketDocument;
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.l10n.Translator;
+import info.openrocket.core.simulation.ConfigurationSweep;
+import info.openrocket.core.startup.Application;
+import info.openrocket.core.startup.Preferences;
+import info.openrocket.core.unit.UnitGroup;
+import info.openrocket.swing.gui.adaptors.Column;
+import info.openrocket.swing.gui.adaptors.ColumnTable;
+import info.openrocket.swing.gui.adaptors.ColumnTableModel;
+import info.openrocket.swing.gui.adaptors.ColumnTableRowSorter;
+import info.openrocket.swing.gui.util.GUIUtil;
+import info.openrocket.swing.gui.widgets.SelectColorButton;
+
+/**
+ * Dialog that simulates every flight configuration of the rocket of a document in parallel
+ * and shows a comparison of the results.  The simulations use the options and extensions of
+ * a template simulation; they can be added to the document when done.
+ */
+@SuppressWarnings("serial")
+public class ConfigurationSweepDialog extends JDialog {
+	private static final Logger log = LoggerFactory.getLogger(ConfigurationSweepDialog.class);
+	private static final Translator trans = Application.getTranslator();
+	private static final Preferences prefs = Application.getPreferences();
+
+	private final OpenRocketDocument document;
+	private final Simulation template;
+
+	private final SpinnerNumberModel threadCount;
+	private final List<ConfigurationSweep.Result> results = new ArrayList<>();
+	private final ColumnTableModel tableModel;
+
+	private final JButton runButton;
+	private final JButton copyButton;
+	private final JButton addButton;
+	private final JProgressBar progressBar;
+
+	private SweepWorker worker = null;
+
+	/**
+	 * @param owner the owner window
+	 * @param document the document whose rocket to simulate
+	 * @param template the simulation whose options and extensions to use, or <code>null</code>
+	 *                 for the default options
+	 */
+	public ConfigurationSweepDialog(Window owner, OpenRocketDocument document, Simulation template) {
+		super(owner, trans.get("ConfigurationSweepDialog.title"), Dialog.ModalityType.APPLICATION_MODAL);
+		this.document = document;
+		if (template == null) {
+			template = new Simulation(document, document.getRocket());
+			template.setName(document.getNextSimulationName());
+		}
+		this.template = template;
+
+		JPanel panel = new JPanel(new MigLayout("fill", "[][65lp::][]push"));
+
+		panel.add(new JLabel(String.format(trans.get("ConfigurationSweepDialog.lbl.configurations"),
+				document.getRocket().getIds().size(), this.template.getName())), "spanx, wrap para");
+
+		//// Parallel simulations
+		threadCount = new SpinnerNumberModel(prefs.getSimulationThreadCount(), 1,
+				Math.max(prefs.getSimulationThreadCount(), 4 * Runtime.getRuntime().availableProcessors()), 1);
+		panel.add(new JLabel(trans.get("ConfigurationSweepDialog.lbl.threads")));
+		panel.add(new JSpinner(threadCount), "growx, wrap para");
+
+		//// Run
+		runButton = new SelectColorButton(trans.get("ConfigurationSweepDialog.but.run"));
+		runButton.addActionListener(e -> {
+			if (worker != null) {
+				worker.cancel(true);
+			} else {
+				runSweep();
+			}
+		});
+		panel.add(runButton, "spanx, split 2");
+
+		progressBar = new JProgressBar(0, 100);
+		progressBar.setStringPainted(true);
+		panel.add(progressBar, "growx, pushx, wrap");
+
+		tableModel = new ColumnTableModel(
+				//// Configuration
+				new Column(trans.get("ConfigurationSweepDialog.Col.configuration")) {
+					@Override
+					public Object getValueAt(int row) {
+						return results.get(row).getName();
+					}
+
+					@Override
+					public int getDefaultWidth() {
+						return 200;
+					}
+				},
+				new UnitColumn(trans.get("simpanel.col.Apogee"), UnitGroup.UNITS_DISTANCE) {
+					@Override
+					protected double getSIValue(ConfigurationSweep.Result r) {
+						return r.getApogee();
+					}
+				},
+				new UnitColumn(trans.get("ConfigurationSweepDialog.Col.maxVelocity"), UnitGroup.UNITS_VELOCITY) {
+					@Override
+					protected double getSIValue(ConfigurationSweep.Result r) {
+						return r.getMaxVelocity();
+					}
+				},
+				new UnitColumn(trans.get("simpanel.col.Velocityoffrod"), UnitGroup.UNITS_VELOCITY) {
+					@Override
+					protected double getSIValue(ConfigurationSweep.Result r) {
+						return r.getRailExitVelocity();
+					}
+				},
+				new UnitColumn(trans.get("ConfigurationSweepDialog.Col.minStability"),
+						UnitGroup.UNITS_STABILITY_CALIBERS) {
+					@Override
+					protected double getSIValue(ConfigurationSweep.Result r) {
+						return r.getMinStability();
+					}
+				},
+				new UnitColumn(trans.get("simpanel.col.OptimumCoastTime"), UnitGroup.UNITS_SHORT_TIME) {
+					@Override
+					protected double getSIValue(ConfigurationSweep.Result r) {
+						return r.getOptimumDelay();
+					}
+				},
+				new UnitColumn(trans.get("ConfigurationSweepDialog.Col.groundHitVelocity"), UnitGroup.UNITS_VELOCITY) {
+					@Override
+					protected double getSIValue(ConfigurationSweep.Result r) {
+						return r.getGroundHitVelocity();
+					}
+				},
+				//// Status
+				new Column(trans.get("simpanel.col.Status")) {
+					@Override
+					public Object getValueAt(int row) {
+						ConfigurationSweep.Result r = results.get(row);
+						if (r.getError() != null) {
+							return r.getError();
+						}
+						if (r.getWarningCount() > 0) {
+							return trans.get("ConfigurationSweepDialog.status.warnings").replace("{0}",
+									Integer.toString(r.getWarningCount()));
+						}
+						return "";
+					}
+
+					@Override
+					public int getDefaultWidth() {
+						return 150;
+					}
+				}
+				) {
+			@Override
+			public int getRowCount() {
+				return results.size();
+			}
+		};
+
+		JTable table = new ColumnTable(tableModel);
+		table.setRowSorter(new ColumnTableRowSorter(tableModel));
+		tableModel.setColumnWidths(table.getColumnModel());
+
+		JScrollPane scrollpane = new JScrollPane(table);
+		scrollpane.setPreferredSize(new Dimension(900, 300));
+		panel.add(scrollpane, "spanx, grow, push, wrap para");
+
+		//// Copy summary
+		copyButton = new SelectColorButton(trans.get("ConfigurationSweepDialog.but.copy"));
+		copyButton.setToolTipText(trans.get("ConfigurationSweepDialog.but.copy.ttip"));
+		copyButton.addActionListener(e -> Toolkit.getDefaultToolkit().getSystemClipboard()
+				.setContents(new StringSelection(ConfigurationSweep.getSummary(results)), null));
+		panel.add(copyButton, "spanx, split 3, right");
+
+		//// Add simulations to the document
+		addButton = new SelectColorButton(trans.get("ConfigurationSweepDialog.but.add"));
+		addButton.addActionListener(e -> addSimulations());
+		panel.add(addButton);
+
+		//// Close
+		JButton closeButton = new SelectColorButton(trans.get("dlg.but.close"));
+		closeButton.addActionListener(e -> close());
+		panel.add(closeButton);
+
+		add(panel);
+		updateButtonState();
+
+		pack();
+		setLocationRelativeTo(owner);
+		GUIUtil.setDisposableDialogOptions(this, closeButton);
+	}
+
+	private void close() {
+		if (worker != null) {
+			worker.cancel(true);
+		}
+		dispose();
+	}
+
+	private void updateButtonState() {
+		copyButton.setEnabled(worker == null && !results.isEmpty());
+		addButton.setEnabled(worker == null && !results.isEmpty());
+	}
+
+	private void runSweep() {
+		int threads = threadCount.getNumber().intValue();
+		prefs.setSimulationThreadCount(threads);
+
+		results.clear();
+		tableModel.fireTableDataChanged();
+		progressBar.setValue(0);
+		runButton.setText(trans.get("ConfigurationSweepDialog.but.cancel"));
+
+		// The rocket is copied and the simulations are created here, on the event dispatch thread
+		ConfigurationSweep sweep = new ConfigurationSweep(template);
+		log.info("Simulating " + sweep.getConfigurationIds().size() + " flight configurations using " +
+				threads + " threads");
+		worker = new SweepWorker(sweep, threads);
+		worker.addPropertyChangeListener(evt -> {
+			if ("progress".equals(evt.getPropertyName())) {
+				progressBar.setValue((Integer) evt.getNewValue());
+			}
+		});
+		updateButtonState();
+		worker.execute();
+	}
+
+	private void addSimulations() {
+		for (ConfigurationSweep.Result r : results) {
+			document.addSimulation(r.getSimulation());
+		}
+		results.clear();
+		tableModel.fireTableDataChanged();
+		updateButtonState();
+		close();
+	}
+
+	/**
+	 * Runs the sweep in the background and adds the results to the table as they come in.
+	 */
+	private class SweepWorker extends SwingWorker<Void, ConfigurationSweep.Result> {
+		private final ConfigurationSweep sweep;
+		private final int threads;
+
+		SweepWorker(ConfigurationSweep sweep, int threads) {
+			this.sweep = sweep;
+			this.threads = threads;
+		}
+
+		@Override
+		protected Void doInBackground() throws Exception {
+			sweep.run(threads, (result, computed, total) -> {
+				publish(result);
+				setProgress(100 * computed / total);
+			});
+			return null;
+		}
+
+		@Override
+		protected void process(List<ConfigurationSweep.Result> chunk) {
+			if (isCancelled()) {
+				return;
+			}
+			results.addAll(chunk);
+			results.sort((r1, r2) -> Integer.compare(r1.getIndex(), r2.getIndex()));
+			tableModel.fireTableDataChanged();
+		}
+
+		@Override
+		protected void done() {
+			worker = null;
+			runButton.setText(trans.get("ConfigurationSweepDialog.but.run"));
+			try {
+				get();
+			} catch (CancellationException e) {
+				log.info("Configuration sweep cancelled");
+				results.clear();
+				tableModel.fireTableDataChanged();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} catch (ExecutionException e) {
+				log.warn("Configuration sweep failed", e.getCause());
+				JOptionPane.showMessageDialog(ConfigurationSweepDialog.this, e.getCause().getMessage(),
+						trans.get("ConfigurationSweepDialog.error"), JOptionPane.ERROR_MESSAGE);
+			}
+			updateButtonState();
+		}
+	}
+
+	/**
+	 * A column of a value in SI units that is shown in the default unit of its unit group.
+	 */
+	private abstract class UnitColumn extends Column {
+		private final UnitGroup unitGroup;
+
+		UnitColumn(String name, UnitGroup unitGroup) {
+			super(name + " (" + unitGroup.getDefaultUnit().getUnit() + ")");
+			this.unitGroup = unitGroup;
+		}
+
+		@Override
+		public Object getValueAt(int row) {
+			return unitGroup.getDefaultUnit().toUnit(getSIValue(results.get(row)));
+		}
+
+		protected abstract double getSIValue(ConfigurationSweep.Result r);
+	}
+}
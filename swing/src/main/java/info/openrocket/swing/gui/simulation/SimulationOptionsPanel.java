@@ -27,6 +27,7 @@ import info.openrocket.core.document.OpenRocketDocument;
 import info.openrocket.core.document.Simulation;
 import info.openrocket.core.l10n.Translator;
 import info.openrocket.core.simulation.RK4SimulationStepper;
+import info.openrocket.core.simulation.RecordingProfile;
 import info.openrocket.core.simulation.SimulationOptions;
 import info.openrocket.core.simulation.extension.SimulationExtension;
 import info.openrocket.core.simulation.extension.SimulationExtensionProvider;
@@ -141,6 +142,24 @@ class SimulationOptionsPanel extends JPanel {
 		gcsTTipListener.actionPerformed(null);
 		subsub.add(gcsCombo, "span 3, wrap para");
 		
+		// // Recorded flight data:
+		label = new JLabel(trans.get("simedtdlg.lbl.RecordingProfile"));
+		label.setToolTipText(trans.get("simedtdlg.lbl.ttip.RecordingProfile"));
+		subsub.add(label, "gapright para");
+		
+		EnumModel<RecordingProfile> profileModel = new EnumModel<RecordingProfile>(conditions, "RecordingProfile");
+		final JComboBox<RecordingProfile> profileCombo = new JComboBox<RecordingProfile>(profileModel);
+		ActionListener profileTTipListener = new ActionListener() {
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				RecordingProfile profile = (RecordingProfile) profileCombo.getSelectedItem();
+				profileCombo.setToolTipText(profile.getDescription());
+			}
+		};
+		profileCombo.addActionListener(profileTTipListener);
+		profileTTipListener.actionPerformed(null);
+		subsub.add(profileCombo, "span 3, wrap para");
+		
 		
 		// // Time step:
 		label = new JLabel(trans.get("simedtdlg.lbl.Timestep"));
@@ -187,6 +206,7 @@ class SimulationOptionsPanel extends JPanel {
 				conditions.setGeodeticComputation(preferences.getEnum(
 						Preferences.GEODETIC_COMPUTATION,
 						GeodeticComputationStrategy.SPHERICAL));
+				conditions.setRecordingProfile(RecordingProfile.FULL);
 			}
 		});
 		
@@ -6,6 +6,7 @@ import javax.swing.SwingWorker;
 
 import info.openrocket.core.document.Simulation;
 import info.openrocket.core.simulation.FlightData;
+import info.openrocket.core.simulation.SimulationResultCache;
 import info.openrocket.core.simulation.SimulationStatus;
 import info.openrocket.core.simulation.exception.SimulationCancelledException;
 import info.openrocket.core.simulation.listeners.AbstractSimulationListener;
@@ -52,7 +53,7 @@ public abstract class SimulationWorker extends SwingWorker<FlightData, Simulatio
 		listeners[listeners.length - 1] = new CancelListener();
 		
 		try {
-			simulation.simulate(listeners);
+			simulation.simulate(SimulationResultCache.getDefault(), listeners);
 		} catch (Throwable e) {
 			throwable = e;
 			return null;
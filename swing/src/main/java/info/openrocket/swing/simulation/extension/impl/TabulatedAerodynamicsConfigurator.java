@@ -0,0 +1,131 @@
+package info.openrocket.swing.simulation.extension.impl;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import javax.swing.JButton;
+import javax.swing.JComponent;
+import javax.swing.JFileChooser;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JTextField;
+
+import info.openrocket.core.aerodynamics.AerodynamicSweep;
+import info.openrocket.core.aerodynamics.AerodynamicTable;
+import info.openrocket.core.aerodynamics.AerodynamicTableExporter;
+import info.openrocket.core.document.Simulation;
+import info.openrocket.core.plugin.Plugin;
+import info.openrocket.core.simulation.extension.impl.TabulatedAerodynamics;
+import info.openrocket.core.startup.Application;
+import info.openrocket.core.util.StringUtils;
+import info.openrocket.swing.gui.util.FileHelper;
+import info.openrocket.swing.gui.util.SwingPreferences;
+import info.openrocket.swing.gui.widgets.SaveFileChooser;
+import info.openrocket.swing.simulation.extension.AbstractSwingSimulationExtensionConfigurator;
+
+@Plugin
+public class TabulatedAerodynamicsConfigurator extends AbstractSwingSimulationExtensionConfigurator<TabulatedAerodynamics> {
+
+	/** Grid of the exported table; the roll moment is linear in the roll rate */
+	private static final double[] EXPORT_MACH = AerodynamicSweep.range(0, 2.0, 0.05);
+	private static final double[] EXPORT_AOA = AerodynamicSweep.range(0, Math.toRadians(20), Math.toRadians(1));
+	private static final double[] EXPORT_ROLL_RATE = { -100, 0, 100 };
+	private static final double[] EXPORT_ALTITUDE = AerodynamicSweep.range(0, 10000, 2000);
+
+	private TabulatedAerodynamics extension;
+	private JTextField fileNameField;
+
+	public TabulatedAerodynamicsConfigurator() {
+		super(TabulatedAerodynamics.class);
+	}
+
+	@Override
+	protected JComponent getConfigurationComponent(final TabulatedAerodynamics extension, final Simulation simulation,
+			JPanel panel) {
+		this.extension = extension;
+		panel.add(new JLabel(trans.get("SimulationExtension.tabulatedaero.desc")), "span, wrap para");
+		panel.add(new JLabel(trans.get("SimulationExtension.tabulatedaero.file")), "span, wrap rel");
+		fileNameField = new JTextField(extension.getFileName(), 30);
+		panel.add(fileNameField, "growx");
+
+		JButton browse = new JButton(trans.get("SimulationExtension.tabulatedaero.browse"));
+		browse.addActionListener(new ActionListener() {
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				JFileChooser chooser = new JFileChooser();
+				chooser.setCurrentDirectory(getDirectory());
+				if (chooser.showOpenDialog(getDialog()) == JFileChooser.APPROVE_OPTION) {
+					setFile(chooser.getSelectedFile(), chooser.getCurrentDirectory());
+				}
+			}
+		});
+		panel.add(browse, "wrap para");
+
+		JButton export = new JButton(trans.get("SimulationExtension.tabulatedaero.export"));
+		export.setToolTipText(trans.get("SimulationExtension.tabulatedaero.export.ttip"));
+		export.addActionListener(new ActionListener() {
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				exportTable(simulation);
+			}
+		});
+		panel.add(export, "span, wrap");
+
+		return panel;
+	}
+
+	private File getDirectory() {
+		String fileName = fileNameField.getText().trim();
+		if (!StringUtils.isEmpty(fileName) && new File(fileName).getParentFile() != null) {
+			return new File(fileName).getParentFile();
+		}
+		return ((SwingPreferences) Application.getPreferences()).getDefaultDirectory();
+	}
+
+	private void setFile(File file, File directory) {
+		((SwingPreferences) Application.getPreferences()).setDefaultDirectory(directory);
+		fileNameField.setText(file.getAbsolutePath());
+	}
+
+	private void exportTable(Simulation simulation) {
+		JFileChooser chooser = new SaveFileChooser();
+		chooser.setCurrentDirectory(getDirectory());
+		if (chooser.showSaveDialog(getDialog()) != JFileChooser.APPROVE_OPTION || chooser.getSelectedFile() == null) {
+			return;
+		}
+		File file = chooser.getSelectedFile();
+		if (!FileHelper.confirmWrite(file, getDialog())) {
+			return;
+		}
+
+		AerodynamicTable table = AerodynamicTableExporter.export(simulation.getActiveConfiguration(),
+				EXPORT_MACH, EXPORT_AOA, EXPORT_ROLL_RATE, EXPORT_ALTITUDE);
+		try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+			table.write(writer);
+		} catch (IOException e) {
+			FileHelper.errorWriting(e, getDialog());
+			return;
+		}
+
+		setFile(file, chooser.getCurrentDirectory());
+		int points = EXPORT_MACH.length * EXPORT_AOA.length * EXPORT_ROLL_RATE.length * EXPORT_ALTITUDE.length;
+		JOptionPane.showMessageDialog(getDialog(),
+				String.format(trans.get("SimulationExtension.tabulatedaero.export.done"), points, file.getName()),
+				trans.get("SimulationExtension.tabulatedaero.name"), JOptionPane.INFORMATION_MESSAGE);
+	}
+
+	@Override
+	protected void close() {
+		if (this.extension != null && this.fileNameField != null) {
+			this.extension.setFileName(this.fileNameField.getText().trim());
+		}
+		super.close();
+	}
+
+}
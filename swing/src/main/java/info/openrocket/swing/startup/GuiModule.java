@@ -65,9 +65,10 @@ public class GuiModule extends AbstractModule {
 	 * startLoader must be called after the Injector created with this module is registered
 	 * in the Application object.  This is because loading the database data requires the Application
 	 * object's locator methods to return the correct objects.
+	 * <p>
+	 * The component presets are not needed at startup, they are loaded when first requested.
 	 */
 	public void startLoader() {
-		presetLoader.startLoading();
 		motorLoader.startLoading();
 	}
 	
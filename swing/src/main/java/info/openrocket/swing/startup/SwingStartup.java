@@ -16,6 +16,7 @@ import javax.swing.ToolTipManager;
 
 import info.openrocket.core.startup.Application;
 import info.openrocket.core.startup.Preferences;
+import info.openrocket.core.startup.StartupTimeline;
 import net.miginfocom.layout.LayoutUtil;
 import info.openrocket.core.arch.SystemInfo;
 import info.openrocket.core.arch.SystemInfo.Platform;
@@ -66,7 +67,9 @@ public class SwingStartup {
 		}
 		
 		// Initialize logging first so we can use it
-		initializeLogging();
+		try (StartupTimeline.Phase phase = StartupTimeline.begin("Logging")) {
+			initializeLogging();
+		}
 		log.info("Starting up OpenRocket version {}", BuildProperties.getVersion());
 
 		// Check JRE version
@@ -81,7 +84,9 @@ public class SwingStartup {
 		
 		// If running on a MAC set up OSX UI Elements.
 		if (SystemInfo.getPlatform() == Platform.MAC_OS) {
-			OSXSetup.setupOSX();
+			try (StartupTimeline.Phase phase = StartupTimeline.begin("OSX setup")) {
+				OSXSetup.setupOSX();
+			}
 		}
 		
 		final SwingStartup runner = new SwingStartup();
@@ -180,7 +185,9 @@ public class SwingStartup {
 		
 		// Initialize the splash screen with version info
 		log.info("Initializing the splash screen");
-		Splash.init();
+		try (StartupTimeline.Phase phase = StartupTimeline.begin("Splash screen")) {
+			Splash.init();
+		}
 		
 		// Setup the uncaught exception handler
 		log.info("Registering exception handler");
@@ -192,33 +199,36 @@ public class SwingStartup {
 		log.info("Loading databases");
 		
 		GuiModule guiModule = new GuiModule();
-		Module pluginModule = new PluginModule();
-		Injector injector = Guice.createInjector(guiModule, pluginModule);
-		Application.setInjector(injector);
+		try (StartupTimeline.Phase phase = StartupTimeline.begin("Guice injector and plugins")) {
+			Module pluginModule = new PluginModule();
+			Injector injector = Guice.createInjector(guiModule, pluginModule);
+			Application.setInjector(injector);
+		}
 		
 		guiModule.startLoader();
 		
-		// Start update info fetching
-		final UpdateInfoRetriever updateRetriever = startUpdateChecker();
-		
 		// Set the look-and-feel
 		log.info("Setting LAF");
-		String cmdLAF = System.getProperty("openrocket.laf");
-		if (cmdLAF != null) {
-			log.info("Setting cmd line LAF '{}'", cmdLAF);
-			Preferences prefs = Application.getPreferences();
-			prefs.setUITheme(UITheme.Themes.valueOf(cmdLAF));
+		try (StartupTimeline.Phase phase = StartupTimeline.begin("Look and feel")) {
+			String cmdLAF = System.getProperty("openrocket.laf");
+			if (cmdLAF != null) {
+				log.info("Setting cmd line LAF '{}'", cmdLAF);
+				Preferences prefs = Application.getPreferences();
+				prefs.setUITheme(UITheme.Themes.valueOf(cmdLAF));
+			}
+			GUIUtil.applyLAF();
 		}
-		GUIUtil.applyLAF();
 		
 		// Set tooltip delay time.  Tooltips are used in MotorChooserDialog extensively.
 		ToolTipManager.sharedInstance().setDismissDelay(30000);
 		
 		// Load defaults
-		((SwingPreferences) Application.getPreferences()).loadDefaultUnits();
-		((SwingPreferences) Application.getPreferences()).loadDefaultComponentMaterials();
+		try (StartupTimeline.Phase phase = StartupTimeline.begin("Default units and materials")) {
+			((SwingPreferences) Application.getPreferences()).loadDefaultUnits();
+			((SwingPreferences) Application.getPreferences()).loadDefaultComponentMaterials();
 
-		Databases.fakeMethod();
+			Databases.fakeMethod();
+		}
 
 		// Set up the OSX file open handler here so that it can handle files that are opened when OR is not yet running.
 		if (SystemInfo.getPlatform() == Platform.MAC_OS) {
@@ -227,12 +237,25 @@ public class SwingStartup {
 		
 		// Starting action (load files or open new document)
 		log.info("Opening main application window");
-		if (!handleCommandLine(args)) {
-			BasicFrame startupFrame = BasicFrame.reopen();
-			BasicFrame.setStartupFrame(startupFrame);
+		boolean opened;
+		try (StartupTimeline.Phase phase = StartupTimeline.begin("Main window")) {
+			opened = handleCommandLine(args);
+			if (!opened) {
+				BasicFrame startupFrame = BasicFrame.reopen();
+				BasicFrame.setStartupFrame(startupFrame);
+			}
+		}
+		
+		// Startup is complete once the events queued while opening the window have been processed
+		SwingUtilities.invokeLater(StartupTimeline::finish);
+		
+		if (!opened) {
 			showWelcomeDialog();
 		}
 		
+		// Update info is not needed before the main window is shown
+		final UpdateInfoRetriever updateRetriever = startUpdateChecker();
+		
 		// Check whether update info has been fetched or whether it needs more time
 		log.info("Checking update status");
 		checkUpdateStatus(updateRetriever);
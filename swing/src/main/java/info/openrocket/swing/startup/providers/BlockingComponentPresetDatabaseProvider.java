@@ -27,6 +27,8 @@ public class BlockingComponentPresetDatabaseProvider implements Provider<Compone
 	
 	@Override
 	public ComponentPresetDatabase get() {
+		// The presets are not needed at startup, they are loaded when first used
+		loader.startLoadingIfNeeded();
 		loader.blockUntilLoaded();
 		return loader.getDatabase();
 	}
@@ -0,0 +1,89 @@
+package info.openrocket.swing.startup;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import info.openrocket.core.startup.StartupTimeline;
+
+/**
+ * Measures the time from JVM start until the main window is interactive.
+ * <p>
+ * OpenRocket is started repeatedly in a new JVM with the startup timeline enabled, and the
+ * time of the "Startup complete" milestone is read from the written timeline.  The timeline
+ * of the last run is printed, showing what each startup phase costs.
+ * <p>
+ * This is not run as part of the unit tests.  Run the main method with the test classpath
+ * on a machine with a display, optionally giving the number of runs as argument.
+ */
+public class StartupBenchmark {
+
+	private static final long TIMEOUT_SECONDS = 120;
+
+	public static void main(String[] args) throws Exception {
+		int runs = (args.length > 0) ? Integer.parseInt(args[0]) : 5;
+
+		List<Double> times = new ArrayList<>();
+		List<String> lastTimeline = null;
+		for (int i = 0; i < runs; i++) {
+			File file = File.createTempFile("startup-timeline", ".txt");
+			file.delete();
+			try {
+				lastTimeline = runOnce(file);
+				double time = getStartupTime(lastTimeline);
+				times.add(time);
+				System.out.printf("Run %d: %8.0f ms%n", i + 1, time);
+			} finally {
+				file.delete();
+			}
+		}
+
+		times.sort(null);
+		System.out.printf("Time to interactive window: min %.0f ms, median %.0f ms%n",
+				times.get(0), times.get(times.size() / 2));
+		System.out.println();
+		lastTimeline.forEach(System.out::println);
+	}
+
+	private static List<String> runOnce(File file) throws Exception {
+		String java = new File(System.getProperty("java.home"), "bin/java").getPath();
+		ProcessBuilder pb = new ProcessBuilder(java,
+				"-D" + StartupTimeline.DUMP_PROPERTY + "=" + file.getAbsolutePath(),
+				"-cp", System.getProperty("java.class.path"),
+				SwingStartup.class.getName());
+		pb.redirectErrorStream(true);
+		pb.redirectOutput(ProcessBuilder.Redirect.DISCARD);
+		Process process = pb.start();
+		try {
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+			while (!file.exists() || file.length() == 0) {
+				if (!process.isAlive()) {
+					throw new IllegalStateException("OpenRocket exited with " + process.exitValue());
+				}
+				if (System.nanoTime() > deadline) {
+					throw new IllegalStateException("OpenRocket did not start in " + TIMEOUT_SECONDS + " s");
+				}
+				Thread.sleep(50);
+			}
+			// Let the writer finish
+			Thread.sleep(200);
+			return Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+		} finally {
+			process.destroy();
+			process.waitFor();
+		}
+	}
+
+	private static double getStartupTime(List<String> timeline) {
+		for (String line : timeline) {
+			String[] fields = line.split("\t");
+			if (fields.length == 5 && fields[4].equals("Startup complete")) {
+				return Double.parseDouble(fields[0]);
+			}
+		}
+		throw new IllegalStateException("No startup milestone in timeline");
+	}
+}